@@ -0,0 +1,90 @@
+package com.ss.rlib.benchmarks.common;
+
+import com.ss.rlib.common.util.array.ArrayFactory;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedList;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The benchmark of single thread operations of {@link com.ss.rlib.common.util.array.Array} implementations compared
+ * with JDK lists by the common {@link Collection} API.
+ *
+ * @author JavaSaBr
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class ArrayBenchmark {
+
+    @Param({"fast-array", "array-set", "array-list", "linked-list"})
+    private String arrayType;
+
+    @Param({"16", "1024"})
+    private int size;
+
+    private Integer[] values;
+    private Collection<Integer> filled;
+    private Integer missing;
+
+    @Setup(Level.Trial)
+    public void setup() {
+
+        values = new Integer[size];
+
+        for (int i = 0; i < size; i++) {
+            values[i] = i;
+        }
+
+        missing = -1;
+        filled = newCollection();
+
+        for (var value : values) {
+            filled.add(value);
+        }
+    }
+
+    private Collection<Integer> newCollection() {
+        switch (arrayType) {
+            case "fast-array":
+                return ArrayFactory.newArray(Integer.class);
+            case "array-set":
+                return ArrayFactory.newArraySet(Integer.class);
+            case "linked-list":
+                return new LinkedList<>();
+            default:
+                return new ArrayList<>();
+        }
+    }
+
+    @Benchmark
+    public Collection<Integer> add() {
+
+        var collection = newCollection();
+
+        for (var value : values) {
+            collection.add(value);
+        }
+
+        return collection;
+    }
+
+    @Benchmark
+    public int iterate() {
+
+        var sum = 0;
+
+        for (var value : filled) {
+            sum += value;
+        }
+
+        return sum;
+    }
+
+    @Benchmark
+    public boolean containsMissing() {
+        return filled.contains(missing);
+    }
+}
@@ -0,0 +1,112 @@
+package com.ss.rlib.benchmarks.common;
+
+import com.ss.rlib.common.util.array.ArrayFactory;
+import com.ss.rlib.common.util.array.ConcurrentArray;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The benchmark of {@link ConcurrentArray} implementations compared with JDK thread-safe lists under mixes of
+ * reads and writes. A read gets a random element and a write replaces the last element.
+ *
+ * @author JavaSaBr
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class ConcurrentArrayBenchmark {
+
+    private static final int SIZE = 256;
+
+    @Param({"stamped-lock", "atomic-arsw-lock", "reentrant-rw-lock", "synchronized-list", "copy-on-write-list"})
+    private String arrayType;
+
+    @Param({"50", "90", "99"})
+    private int readPercent;
+
+    private ConcurrentArray<Integer> array;
+    private List<Integer> list;
+
+    @Setup(Level.Trial)
+    public void setup() {
+
+        switch (arrayType) {
+            case "stamped-lock":
+                array = ArrayFactory.newConcurrentStampedLockArray(Integer.class);
+                break;
+            case "atomic-arsw-lock":
+                array = ArrayFactory.newConcurrentAtomicARSWLockArray(Integer.class);
+                break;
+            case "reentrant-rw-lock":
+                array = ArrayFactory.newConcurrentReentrantRWLockArray(Integer.class);
+                break;
+            case "copy-on-write-list":
+                list = new CopyOnWriteArrayList<>();
+                break;
+            default:
+                list = Collections.synchronizedList(new ArrayList<>());
+        }
+
+        for (int i = 0; i < SIZE; i++) {
+            if (array != null) {
+                array.add(i);
+            } else {
+                list.add(i);
+            }
+        }
+    }
+
+    @Benchmark
+    @Threads(4)
+    public Integer mix4() {
+        return operation();
+    }
+
+    @Benchmark
+    @Threads(8)
+    public Integer mix8() {
+        return operation();
+    }
+
+    private Integer operation() {
+
+        var random = ThreadLocalRandom.current();
+        var index = random.nextInt(SIZE);
+
+        if (random.nextInt(100) < readPercent) {
+            return array != null ? read(array, index) : list.get(index);
+        }
+
+        if (array != null) {
+            return write(array, index);
+        }
+
+        return list.set(SIZE - 1, index);
+    }
+
+    private static Integer read(ConcurrentArray<Integer> array, int index) {
+        var stamp = array.readLock();
+        try {
+            return array.get(index);
+        } finally {
+            array.readUnlock(stamp);
+        }
+    }
+
+    private static Integer write(ConcurrentArray<Integer> array, int value) {
+        var stamp = array.writeLock();
+        try {
+            var last = array.pop();
+            array.add(value);
+            return last;
+        } finally {
+            array.writeUnlock(stamp);
+        }
+    }
+}
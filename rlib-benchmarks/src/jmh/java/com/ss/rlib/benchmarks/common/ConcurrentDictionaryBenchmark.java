@@ -0,0 +1,112 @@
+package com.ss.rlib.benchmarks.common;
+
+import com.ss.rlib.common.util.dictionary.ConcurrentObjectDictionary;
+import com.ss.rlib.common.util.dictionary.DictionaryFactory;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The benchmark of {@link ConcurrentObjectDictionary} implementations compared with JDK thread-safe maps under
+ * mixes of reads and writes of random keys.
+ *
+ * @author JavaSaBr
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class ConcurrentDictionaryBenchmark {
+
+    private static final int SIZE = 1024;
+
+    @Param({"atomic-arsw-lock", "stamped-lock", "concurrent-hash-map", "synchronized-map"})
+    private String dictionaryType;
+
+    @Param({"50", "90", "99"})
+    private int readPercent;
+
+    private Integer[] keys;
+
+    private ConcurrentObjectDictionary<Integer, Integer> dictionary;
+    private Map<Integer, Integer> map;
+
+    @Setup(Level.Trial)
+    public void setup() {
+
+        switch (dictionaryType) {
+            case "atomic-arsw-lock":
+                dictionary = DictionaryFactory.newConcurrentAtomicObjectDictionary();
+                break;
+            case "stamped-lock":
+                dictionary = DictionaryFactory.newConcurrentStampedLockObjectDictionary();
+                break;
+            case "concurrent-hash-map":
+                map = new ConcurrentHashMap<>();
+                break;
+            default:
+                map = Collections.synchronizedMap(new HashMap<>());
+        }
+
+        keys = new Integer[SIZE];
+
+        for (int i = 0; i < SIZE; i++) {
+
+            keys[i] = i;
+
+            if (dictionary != null) {
+                dictionary.put(i, i);
+            } else {
+                map.put(i, i);
+            }
+        }
+    }
+
+    @Benchmark
+    @Threads(4)
+    public Integer mix4() {
+        return operation();
+    }
+
+    @Benchmark
+    @Threads(8)
+    public Integer mix8() {
+        return operation();
+    }
+
+    private Integer operation() {
+
+        var random = ThreadLocalRandom.current();
+        var key = keys[random.nextInt(SIZE)];
+
+        if (random.nextInt(100) < readPercent) {
+            return dictionary != null ? read(dictionary, key) : map.get(key);
+        } else if (dictionary != null) {
+            return write(dictionary, key);
+        } else {
+            return map.put(key, key);
+        }
+    }
+
+    private static Integer read(ConcurrentObjectDictionary<Integer, Integer> dictionary, Integer key) {
+        var stamp = dictionary.readLock();
+        try {
+            return dictionary.get(key);
+        } finally {
+            dictionary.readUnlock(stamp);
+        }
+    }
+
+    private static Integer write(ConcurrentObjectDictionary<Integer, Integer> dictionary, Integer key) {
+        var stamp = dictionary.writeLock();
+        try {
+            return dictionary.put(key, key);
+        } finally {
+            dictionary.writeUnlock(stamp);
+        }
+    }
+}
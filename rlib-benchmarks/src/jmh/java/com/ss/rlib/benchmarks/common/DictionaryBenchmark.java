@@ -0,0 +1,98 @@
+package com.ss.rlib.benchmarks.common;
+
+import com.ss.rlib.common.util.dictionary.DictionaryFactory;
+import com.ss.rlib.common.util.dictionary.IntegerDictionary;
+import com.ss.rlib.common.util.dictionary.ObjectDictionary;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The benchmark of single thread operations of {@link ObjectDictionary} and {@link IntegerDictionary} compared
+ * with {@link HashMap}.
+ *
+ * @author JavaSaBr
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class DictionaryBenchmark {
+
+    @Param({"object-dictionary", "integer-dictionary", "hash-map"})
+    private String dictionaryType;
+
+    @Param({"16", "1024"})
+    private int size;
+
+    private Integer[] keys;
+
+    private ObjectDictionary<Integer, Integer> objectDictionary;
+    private IntegerDictionary<Integer> integerDictionary;
+    private Map<Integer, Integer> map;
+
+    @Setup(Level.Trial)
+    public void setup() {
+
+        keys = new Integer[size];
+
+        for (int i = 0; i < size; i++) {
+            // spread keys to have collisions of hashes
+            keys[i] = i * 31;
+        }
+
+        objectDictionary = DictionaryFactory.newObjectDictionary();
+        integerDictionary = DictionaryFactory.newIntegerDictionary();
+        map = new HashMap<>();
+
+        put();
+    }
+
+    @Benchmark
+    public int put() {
+
+        switch (dictionaryType) {
+            case "object-dictionary":
+                for (var key : keys) {
+                    objectDictionary.put(key, key);
+                }
+                return objectDictionary.size();
+            case "integer-dictionary":
+                for (var key : keys) {
+                    integerDictionary.put(key.intValue(), key);
+                }
+                return integerDictionary.size();
+            default:
+                for (var key : keys) {
+                    map.put(key, key);
+                }
+                return map.size();
+        }
+    }
+
+    @Benchmark
+    public int get() {
+
+        var sum = 0;
+
+        switch (dictionaryType) {
+            case "object-dictionary":
+                for (var key : keys) {
+                    sum += objectDictionary.get(key);
+                }
+                break;
+            case "integer-dictionary":
+                for (var key : keys) {
+                    sum += integerDictionary.get(key.intValue());
+                }
+                break;
+            default:
+                for (var key : keys) {
+                    sum += map.get(key);
+                }
+        }
+
+        return sum;
+    }
+}
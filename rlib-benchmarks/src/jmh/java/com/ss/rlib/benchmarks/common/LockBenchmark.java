@@ -0,0 +1,230 @@
+package com.ss.rlib.benchmarks.common;
+
+import com.ss.rlib.common.concurrent.lock.AsyncReadSyncWriteLock;
+import com.ss.rlib.common.concurrent.lock.LockFactory;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.StampedLock;
+
+/**
+ * The benchmark of each lock of {@link LockFactory} under mixes of reads and writes of a shared counter. Exclusive
+ * locks are used for reads and writes in the same way.
+ *
+ * @author JavaSaBr
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class LockBenchmark {
+
+    /**
+     * The common view of read/write and exclusive locks.
+     */
+    private interface BenchmarkLock {
+
+        long readLock();
+
+        void readUnlock(long stamp);
+
+        long writeLock();
+
+        void writeUnlock(long stamp);
+    }
+
+    @Param({
+        "reentrant-arsw",
+        "atomic-arsw",
+        "stamped",
+        "reentrant-rw",
+        "reentrant",
+        "atomic",
+        "reentrant-atomic"
+    })
+    private String lockType;
+
+    @Param({"0", "50", "90", "99"})
+    private int readPercent;
+
+    private BenchmarkLock lock;
+    private long counter;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        switch (lockType) {
+            case "reentrant-arsw":
+                lock = wrap(LockFactory.newReentrantARSWLock());
+                break;
+            case "atomic-arsw":
+                lock = wrap(LockFactory.newAtomicARSWLock());
+                break;
+            case "stamped":
+                lock = wrap(LockFactory.newStampedLock());
+                break;
+            case "reentrant-rw":
+                lock = wrap(LockFactory.newReentrantRWLock());
+                break;
+            case "reentrant":
+                lock = wrap(LockFactory.newReentrantLock());
+                break;
+            case "atomic":
+                lock = wrap(LockFactory.newAtomicLock());
+                break;
+            case "reentrant-atomic":
+                lock = wrap(LockFactory.newReentrantAtomicLock());
+                break;
+            default:
+                throw new IllegalArgumentException("Unknown lock type: " + lockType);
+        }
+    }
+
+    @Benchmark
+    @Threads(1)
+    public long mix1() {
+        return operation();
+    }
+
+    @Benchmark
+    @Threads(4)
+    public long mix4() {
+        return operation();
+    }
+
+    @Benchmark
+    @Threads(8)
+    public long mix8() {
+        return operation();
+    }
+
+    private long operation() {
+
+        if (ThreadLocalRandom.current().nextInt(100) < readPercent) {
+            var stamp = lock.readLock();
+            try {
+                return counter;
+            } finally {
+                lock.readUnlock(stamp);
+            }
+        }
+
+        var stamp = lock.writeLock();
+        try {
+            return ++counter;
+        } finally {
+            lock.writeUnlock(stamp);
+        }
+    }
+
+    private static BenchmarkLock wrap(AsyncReadSyncWriteLock lock) {
+        return new BenchmarkLock() {
+
+            @Override
+            public long readLock() {
+                lock.asyncLock();
+                return 0;
+            }
+
+            @Override
+            public void readUnlock(long stamp) {
+                lock.asyncUnlock();
+            }
+
+            @Override
+            public long writeLock() {
+                lock.syncLock();
+                return 0;
+            }
+
+            @Override
+            public void writeUnlock(long stamp) {
+                lock.syncUnlock();
+            }
+        };
+    }
+
+    private static BenchmarkLock wrap(StampedLock lock) {
+        return new BenchmarkLock() {
+
+            @Override
+            public long readLock() {
+                return lock.readLock();
+            }
+
+            @Override
+            public void readUnlock(long stamp) {
+                lock.unlockRead(stamp);
+            }
+
+            @Override
+            public long writeLock() {
+                return lock.writeLock();
+            }
+
+            @Override
+            public void writeUnlock(long stamp) {
+                lock.unlockWrite(stamp);
+            }
+        };
+    }
+
+    private static BenchmarkLock wrap(ReadWriteLock lock) {
+
+        var readLock = lock.readLock();
+        var writeLock = lock.writeLock();
+
+        return new BenchmarkLock() {
+
+            @Override
+            public long readLock() {
+                readLock.lock();
+                return 0;
+            }
+
+            @Override
+            public void readUnlock(long stamp) {
+                readLock.unlock();
+            }
+
+            @Override
+            public long writeLock() {
+                writeLock.lock();
+                return 0;
+            }
+
+            @Override
+            public void writeUnlock(long stamp) {
+                writeLock.unlock();
+            }
+        };
+    }
+
+    private static BenchmarkLock wrap(Lock lock) {
+        return new BenchmarkLock() {
+
+            @Override
+            public long readLock() {
+                lock.lock();
+                return 0;
+            }
+
+            @Override
+            public void readUnlock(long stamp) {
+                lock.unlock();
+            }
+
+            @Override
+            public long writeLock() {
+                lock.lock();
+                return 0;
+            }
+
+            @Override
+            public void writeUnlock(long stamp) {
+                lock.unlock();
+            }
+        };
+    }
+}
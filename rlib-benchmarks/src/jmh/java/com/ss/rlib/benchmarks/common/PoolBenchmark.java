@@ -0,0 +1,138 @@
+package com.ss.rlib.benchmarks.common;
+
+import com.ss.rlib.common.util.pools.Pool;
+import com.ss.rlib.common.util.pools.PoolFactory;
+import com.ss.rlib.common.util.pools.Reusable;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The benchmark of thread-safe {@link Pool} implementations of {@link PoolFactory} under contention compared with
+ * a pool based on {@link ConcurrentLinkedQueue}. Every operation takes a few objects from a pool and puts them back.
+ *
+ * @author JavaSaBr
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class PoolBenchmark {
+
+    private static final int BATCH = 4;
+
+    private static final class PooledObject implements Reusable {
+    }
+
+    /**
+     * The pool based on a JDK lock-free queue.
+     */
+    private static final class QueuePool implements Pool<PooledObject> {
+
+        private final Queue<PooledObject> queue = new ConcurrentLinkedQueue<>();
+
+        @Override
+        public boolean isEmpty() {
+            return queue.isEmpty();
+        }
+
+        @Override
+        public void put(@NotNull PooledObject object) {
+            queue.offer(object);
+        }
+
+        @Override
+        public void remove(@NotNull PooledObject object) {
+            queue.remove(object);
+        }
+
+        @Override
+        public @Nullable PooledObject take() {
+            return queue.poll();
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class Taken {
+
+        private final PooledObject[] objects = new PooledObject[BATCH];
+    }
+
+    @Param({
+        "atomic-arsw-lock",
+        "stamped-lock",
+        "atomic-arsw-lock-reusable",
+        "stamped-lock-reusable",
+        "reentrant-rw-lock-reusable",
+        "synchronized-reusable",
+        "concurrent-queue"
+    })
+    private String poolType;
+
+    private Pool<PooledObject> pool;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        switch (poolType) {
+            case "atomic-arsw-lock":
+                pool = PoolFactory.newConcurrentAtomicARSWLockPool(PooledObject.class);
+                break;
+            case "stamped-lock":
+                pool = PoolFactory.newConcurrentStampedLockPool(PooledObject.class);
+                break;
+            case "atomic-arsw-lock-reusable":
+                pool = PoolFactory.newConcurrentAtomicARSWLockReusablePool(PooledObject.class);
+                break;
+            case "stamped-lock-reusable":
+                pool = PoolFactory.newConcurrentStampedLockReusablePool(PooledObject.class);
+                break;
+            case "reentrant-rw-lock-reusable":
+                pool = PoolFactory.newConcurrentReentrantRWLockReusablePool(PooledObject.class);
+                break;
+            case "synchronized-reusable":
+                pool = PoolFactory.newSynchronizedReusablePool(PooledObject.class);
+                break;
+            case "concurrent-queue":
+                pool = new QueuePool();
+                break;
+            default:
+                throw new IllegalArgumentException("Unknown pool type: " + poolType);
+        }
+    }
+
+    @Benchmark
+    @Threads(1)
+    @OperationsPerInvocation(BATCH)
+    public void takeAndPut1(Taken taken) {
+        takeAndPut(taken.objects);
+    }
+
+    @Benchmark
+    @Threads(4)
+    @OperationsPerInvocation(BATCH)
+    public void takeAndPut4(Taken taken) {
+        takeAndPut(taken.objects);
+    }
+
+    @Benchmark
+    @Threads(8)
+    @OperationsPerInvocation(BATCH)
+    public void takeAndPut8(Taken taken) {
+        takeAndPut(taken.objects);
+    }
+
+    private void takeAndPut(PooledObject[] objects) {
+
+        for (int i = 0; i < objects.length; i++) {
+            objects[i] = pool.take(PooledObject::new);
+        }
+
+        for (int i = 0; i < objects.length; i++) {
+            pool.put(objects[i]);
+            objects[i] = null;
+        }
+    }
+}
@@ -0,0 +1,104 @@
+package com.ss.rlib.benchmarks.network;
+
+import com.ss.rlib.network.packet.impl.DeflatePacketCompressor;
+import org.openjdk.jmh.annotations.*;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The benchmark of compression of packet's data by {@link DeflatePacketCompressor} with different levels for
+ * repetitive (text-like) and random payloads. The auxiliary counters report the bytes before and after
+ * compression to compare saved bytes with the CPU cost of compression.
+ *
+ * @author JavaSaBr
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class CompressionBenchmark {
+
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class CompressedBytes {
+
+        public long inputBytes;
+        public long outputBytes;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            inputBytes = 0;
+            outputBytes = 0;
+        }
+    }
+
+    @Param({"repetitive", "random"})
+    private String payloadType;
+
+    @Param({"256", "4096", "65536"})
+    private int payloadSize;
+
+    // Deflater.BEST_SPEED and the default level of zlib
+    @Param({"1", "6"})
+    private int level;
+
+    private DeflatePacketCompressor compressor;
+
+    private ByteBuffer source;
+    private ByteBuffer compressed;
+    private ByteBuffer target;
+    private ByteBuffer decompressed;
+
+    @Setup(Level.Trial)
+    public void setup() {
+
+        var payload = new byte[payloadSize];
+
+        if ("random".equals(payloadType)) {
+            new Random(42).nextBytes(payload);
+        } else {
+
+            var pattern = "{\"id\":12345,\"name\":\"player\",\"x\":10.5,\"y\":20.25,\"state\":\"RUNNING\"}"
+                .getBytes(StandardCharsets.UTF_8);
+
+            for (int i = 0; i < payloadSize; i++) {
+                payload[i] = pattern[i % pattern.length];
+            }
+        }
+
+        compressor = new DeflatePacketCompressor(level, 1);
+        source = ByteBuffer.allocateDirect(payloadSize).put(payload).flip();
+        compressed = ByteBuffer.allocateDirect(payloadSize * 2 + 64);
+        decompressed = ByteBuffer.allocateDirect(payloadSize);
+        target = ByteBuffer.allocateDirect(payloadSize * 2 + 64);
+
+        compressor.compress(source.position(0), compressed.clear());
+        compressed.flip();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        compressor.close();
+    }
+
+    @Benchmark
+    public ByteBuffer compress(CompressedBytes counters) {
+
+        var destination = target.clear();
+
+        if (compressor.compress(source.position(0), destination)) {
+            counters.inputBytes += payloadSize;
+            counters.outputBytes += destination.position();
+        }
+
+        return destination;
+    }
+
+    @Benchmark
+    public ByteBuffer decompress() {
+        compressor.decompress(compressed.position(0), decompressed.clear());
+        return decompressed;
+    }
+}
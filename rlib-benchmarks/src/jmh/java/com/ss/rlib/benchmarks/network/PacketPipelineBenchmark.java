@@ -0,0 +1,195 @@
+package com.ss.rlib.benchmarks.network;
+
+import com.ss.rlib.common.util.StringUtils;
+import com.ss.rlib.network.Connection;
+import com.ss.rlib.network.NetworkConfig;
+import com.ss.rlib.network.NetworkFactory;
+import com.ss.rlib.network.ServerNetworkConfig;
+import com.ss.rlib.network.annotation.PacketDescription;
+import com.ss.rlib.network.client.ClientNetwork;
+import com.ss.rlib.network.impl.DefaultBufferAllocator;
+import com.ss.rlib.network.impl.DefaultConnection;
+import com.ss.rlib.network.packet.impl.DefaultReadablePacket;
+import com.ss.rlib.network.packet.impl.DefaultWritablePacket;
+import com.ss.rlib.network.packet.impl.StringReadablePacket;
+import com.ss.rlib.network.packet.impl.StringWritablePacket;
+import com.ss.rlib.network.packet.registry.ReadablePacketRegistry;
+import com.ss.rlib.network.server.ServerNetwork;
+import com.ss.rlib.network.util.NetworkUtils;
+import org.jetbrains.annotations.NotNull;
+import org.openjdk.jmh.annotations.*;
+
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The benchmark of the whole packet pipeline on loopback for {@link DefaultConnection},
+ * {@link com.ss.rlib.network.impl.StringDataConnection} and {@link com.ss.rlib.network.impl.StringDataSSLConnection}.
+ * The throughput is measured by sending a window of messages and waiting for all echoes of them, the latency is
+ * measured by the round trip of one message.
+ *
+ * @author JavaSaBr
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class PacketPipelineBenchmark {
+
+    private static final int WINDOW = 64;
+
+    @PacketDescription(id = 1)
+    public static class EchoMessage extends DefaultWritablePacket {
+
+        private final String data;
+
+        public EchoMessage(String data) {
+            this.data = data;
+        }
+
+        @Override
+        protected void writeImpl(@NotNull ByteBuffer buffer) {
+            super.writeImpl(buffer);
+            writeString(buffer, data);
+        }
+    }
+
+    @PacketDescription(id = 1)
+    public static class Echo extends DefaultReadablePacket {
+
+        private volatile String data;
+
+        @Override
+        protected void readImpl(@NotNull DefaultConnection connection, @NotNull ByteBuffer buffer) {
+            super.readImpl(connection, buffer);
+            data = readString(buffer);
+        }
+    }
+
+    @Param({"default", "string", "string-ssl"})
+    private String connectionType;
+
+    @Param({"16", "4096"})
+    private int messageLength;
+
+    private ServerNetwork<?> serverNetwork;
+    private ClientNetwork<?> clientNetwork;
+
+    private Connection<?, ?> connection;
+    private Runnable sender;
+    private Semaphore echoes;
+
+    @Setup(Level.Trial)
+    public void setup() {
+
+        var message = StringUtils.generate(messageLength);
+
+        echoes = new Semaphore(0);
+
+        if ("default".equals(connectionType)) {
+            setupDefault(message);
+        } else {
+            setupString(message, "string-ssl".equals(connectionType));
+        }
+    }
+
+    private void setupDefault(String message) {
+
+        var serverConfig = ServerNetworkConfig.DEFAULT_SERVER;
+        var clientConfig = NetworkConfig.DEFAULT_CLIENT;
+        var registry = ReadablePacketRegistry.of(DefaultReadablePacket.class, Echo.class);
+
+        var serverNetwork = NetworkFactory.newDefaultServerNetwork(
+            serverConfig,
+            new DefaultBufferAllocator(serverConfig),
+            registry
+        );
+        var clientNetwork = NetworkFactory.newDefaultClientNetwork(
+            clientConfig,
+            new DefaultBufferAllocator(clientConfig),
+            registry
+        );
+
+        serverNetwork.onAccept(accepted -> accepted.onReceive((conn, packet) ->
+            conn.send(new EchoMessage(((Echo) packet).data))));
+
+        var connection = clientNetwork.connect(serverNetwork.start()).join();
+        connection.onReceive((conn, packet) -> echoes.release());
+
+        this.serverNetwork = serverNetwork;
+        this.clientNetwork = clientNetwork;
+        this.connection = connection;
+        this.sender = () -> connection.send(new EchoMessage(message));
+    }
+
+    private void setupString(String message, boolean ssl) {
+
+        var serverConfig = ServerNetworkConfig.DEFAULT_SERVER;
+        var clientConfig = NetworkConfig.DEFAULT_CLIENT;
+
+        ServerNetwork<? extends Connection<StringReadablePacket, StringWritablePacket>> serverNetwork;
+        ClientNetwork<? extends Connection<StringReadablePacket, StringWritablePacket>> clientNetwork;
+
+        if (ssl) {
+
+            var keystore = PacketPipelineBenchmark.class.getResourceAsStream("/ssl/rlib_test_cert.p12");
+
+            serverNetwork = NetworkFactory.newStringDataSSLServerNetwork(
+                serverConfig,
+                new DefaultBufferAllocator(serverConfig),
+                NetworkUtils.createSslContext(keystore, "test")
+            );
+            clientNetwork = NetworkFactory.newStringDataSSLClientNetwork(
+                clientConfig,
+                new DefaultBufferAllocator(clientConfig),
+                NetworkUtils.createAllTrustedClientSslContext()
+            );
+
+        } else {
+            serverNetwork = NetworkFactory.newStringDataServerNetwork(serverConfig);
+            clientNetwork = NetworkFactory.newStringDataClientNetwork(clientConfig);
+        }
+
+        serverNetwork.onAccept(accepted -> accepted.onReceive((conn, packet) ->
+            conn.send(new StringWritablePacket(packet.getData()))));
+
+        InetSocketAddress serverAddress = serverNetwork.start();
+
+        Connection<StringReadablePacket, StringWritablePacket> connection = clientNetwork.connect(serverAddress)
+            .join();
+
+        connection.onReceive((conn, packet) -> echoes.release());
+
+        this.serverNetwork = serverNetwork;
+        this.clientNetwork = clientNetwork;
+        this.connection = connection;
+        this.sender = () -> connection.send(new StringWritablePacket(message));
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        connection.close();
+        clientNetwork.shutdown();
+        serverNetwork.shutdown();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(WINDOW)
+    public void throughput() throws InterruptedException {
+
+        for (int i = 0; i < WINDOW; i++) {
+            sender.run();
+        }
+
+        echoes.acquire(WINDOW);
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.SampleTime)
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    public void roundTrip() throws InterruptedException {
+        sender.run();
+        echoes.acquire();
+    }
+}
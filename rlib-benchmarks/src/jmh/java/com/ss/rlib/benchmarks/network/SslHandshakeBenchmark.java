@@ -0,0 +1,155 @@
+package com.ss.rlib.benchmarks.network;
+
+import com.ss.rlib.network.NetworkConfig.SimpleNetworkConfig;
+import com.ss.rlib.network.NetworkFactory;
+import com.ss.rlib.network.ServerNetworkConfig.SimpleServerNetworkConfig;
+import com.ss.rlib.network.client.ClientNetwork;
+import com.ss.rlib.network.impl.DefaultBufferAllocator;
+import com.ss.rlib.network.impl.StringDataSSLConnection;
+import com.ss.rlib.network.packet.impl.StringReadablePacket;
+import com.ss.rlib.network.packet.impl.StringWritablePacket;
+import com.ss.rlib.network.server.ServerNetwork;
+import com.ss.rlib.network.util.NetworkUtils;
+import org.openjdk.jmh.annotations.*;
+
+import javax.net.ssl.SSLContext;
+import java.net.InetSocketAddress;
+import java.util.Collections;
+import java.util.concurrent.*;
+
+/**
+ * The benchmark of SSL handshakes. The benchmark {@link #handshake()} measures how many new connections can finish
+ * a handshake and exchange one packet per second, the group "storm" measures latency of reading packets from
+ * an established connection while other threads are doing handshakes on the same server.
+ *
+ * @author JavaSaBr
+ */
+@State(Scope.Benchmark)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class SslHandshakeBenchmark {
+
+    @Param({"network-thread", "executor"})
+    private String sslTasks;
+
+    @Param({"true", "false"})
+    private boolean resumption;
+
+    private ExecutorService executor;
+    private ServerNetwork<StringDataSSLConnection> serverNetwork;
+    private ClientNetwork<StringDataSSLConnection> clientNetwork;
+    private SSLContext clientSslContext;
+    private InetSocketAddress serverAddress;
+
+    private StringDataSSLConnection echoConnection;
+    private BlockingQueue<StringReadablePacket> echoResponses;
+
+    @Setup(Level.Trial)
+    public void setup() {
+
+        executor = "executor".equals(sslTasks) ?
+            Executors.newFixedThreadPool(Runtime.getRuntime().availableProcessors()) : null;
+
+        var serverConfig = SimpleServerNetworkConfig.builder()
+            .threadGroupSize(2)
+            .sslTaskExecutor(executor)
+            .build();
+
+        var clientConfig = SimpleNetworkConfig.builder()
+            .sslTaskExecutor(executor)
+            .build();
+
+        var keystore = SslHandshakeBenchmark.class.getResourceAsStream("/ssl/rlib_test_cert.p12");
+
+        serverNetwork = NetworkFactory.newStringDataSSLServerNetwork(
+            serverConfig,
+            new DefaultBufferAllocator(serverConfig),
+            NetworkUtils.createSslContext(keystore, "test")
+        );
+        serverNetwork.onAccept(connection -> connection.onReceive((conn, packet) ->
+            conn.send(new StringWritablePacket(packet.getData()))));
+
+        serverAddress = serverNetwork.start();
+
+        clientSslContext = NetworkUtils.createAllTrustedClientSslContext();
+        clientNetwork = NetworkFactory.newStringDataSSLClientNetwork(
+            clientConfig,
+            new DefaultBufferAllocator(clientConfig),
+            clientSslContext
+        );
+
+        echoResponses = new LinkedBlockingQueue<>();
+        echoConnection = clientNetwork.connect(serverAddress).join();
+        echoConnection.onReceive((connection, packet) -> echoResponses.add(packet));
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+
+        echoConnection.close();
+        clientNetwork.shutdown();
+        serverNetwork.shutdown();
+
+        if (executor != null) {
+            executor.shutdownNow();
+        }
+    }
+
+    @Benchmark
+    @Threads(4)
+    @BenchmarkMode(Mode.Throughput)
+    public String handshake() throws Exception {
+        return connectAndPing();
+    }
+
+    @Benchmark
+    @Group("storm")
+    @GroupThreads(4)
+    @BenchmarkMode(Mode.SampleTime)
+    public String stormHandshake() throws Exception {
+        return connectAndPing();
+    }
+
+    @Benchmark
+    @Group("storm")
+    @GroupThreads(1)
+    @BenchmarkMode(Mode.SampleTime)
+    public String stormRead() throws Exception {
+        echoConnection.send(new StringWritablePacket("ping"));
+        return echoResponses.take().getData();
+    }
+
+    private String connectAndPing() throws Exception {
+
+        if (!resumption) {
+            invalidateSessions();
+        }
+
+        var connection = clientNetwork.connect(serverAddress).join();
+        try {
+
+            var response = new CompletableFuture<String>();
+
+            connection.onReceive((conn, packet) -> response.complete(packet.getData()));
+            connection.send(new StringWritablePacket("hello"));
+
+            return response.get(10, TimeUnit.SECONDS);
+
+        } finally {
+            connection.close();
+        }
+    }
+
+    private void invalidateSessions() {
+
+        var sessionContext = clientSslContext.getClientSessionContext();
+
+        for (var id : Collections.list(sessionContext.getIds())) {
+
+            var session = sessionContext.getSession(id);
+
+            if (session != null) {
+                session.invalidate();
+            }
+        }
+    }
+}
@@ -0,0 +1,132 @@
+package com.ss.rlib.benchmarks.network;
+
+import com.ss.rlib.common.util.StringUtils;
+import com.ss.rlib.network.Connection;
+import com.ss.rlib.network.NetworkConfig;
+import com.ss.rlib.network.NetworkCryptor;
+import com.ss.rlib.network.NetworkFactory;
+import com.ss.rlib.network.ServerNetworkConfig;
+import com.ss.rlib.network.client.ClientNetwork;
+import com.ss.rlib.network.impl.DefaultBufferAllocator;
+import com.ss.rlib.network.impl.StreamCipherNetworkCryptor;
+import com.ss.rlib.network.packet.impl.StringReadablePacket;
+import com.ss.rlib.network.packet.impl.StringWritablePacket;
+import com.ss.rlib.network.server.ServerNetwork;
+import com.ss.rlib.network.util.NetworkUtils;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Arrays;
+import java.util.Random;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The benchmark of echo throughput of {@link com.ss.rlib.network.impl.StringDataSSLConnection} compared with
+ * {@link com.ss.rlib.network.impl.StringDataConnection} without encryption and with stream ciphers of
+ * {@link StreamCipherNetworkCryptor} for small and large messages. Every invocation sends a window of messages
+ * and waits for all echoes of them.
+ *
+ * @author JavaSaBr
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class SslThroughputBenchmark {
+
+    private static final int WINDOW = 64;
+
+    @Param({"plain", "ssl", "aes-ctr", "chacha20"})
+    private String connectionType;
+
+    @Param({"16", "4096"})
+    private int messageLength;
+
+    private ServerNetwork<? extends Connection<StringReadablePacket, StringWritablePacket>> serverNetwork;
+    private ClientNetwork<? extends Connection<StringReadablePacket, StringWritablePacket>> clientNetwork;
+
+    private Connection<StringReadablePacket, StringWritablePacket> connection;
+    private Semaphore echoes;
+    private String message;
+
+    @Setup(Level.Trial)
+    public void setup() {
+
+        var serverConfig = ServerNetworkConfig.DEFAULT_SERVER;
+        var clientConfig = NetworkConfig.DEFAULT_CLIENT;
+
+        if ("ssl".equals(connectionType)) {
+
+            var keystore = SslThroughputBenchmark.class.getResourceAsStream("/ssl/rlib_test_cert.p12");
+
+            serverNetwork = NetworkFactory.newStringDataSSLServerNetwork(
+                serverConfig,
+                new DefaultBufferAllocator(serverConfig),
+                NetworkUtils.createSslContext(keystore, "test")
+            );
+            clientNetwork = NetworkFactory.newStringDataSSLClientNetwork(
+                clientConfig,
+                new DefaultBufferAllocator(clientConfig),
+                NetworkUtils.createAllTrustedClientSslContext()
+            );
+
+        } else {
+            serverNetwork = NetworkFactory.newStringDataServerNetwork(serverConfig);
+            clientNetwork = NetworkFactory.newStringDataClientNetwork(clientConfig);
+        }
+
+        var key = new byte[32];
+        var clientIv = new byte[16];
+        var serverIv = new byte[16];
+
+        var random = new Random(42);
+        random.nextBytes(key);
+        random.nextBytes(clientIv);
+        random.nextBytes(serverIv);
+
+        serverNetwork.onAccept(accepted -> {
+            accepted.setCryptor(newCryptor(key, serverIv, clientIv));
+            accepted.onReceive((conn, packet) -> conn.send(new StringWritablePacket(packet.getData())));
+        });
+
+        var serverAddress = serverNetwork.start();
+
+        message = StringUtils.generate(messageLength);
+        echoes = new Semaphore(0);
+        connection = clientNetwork.connect(serverAddress).join();
+        connection.setCryptor(newCryptor(key, clientIv, serverIv));
+        connection.onReceive((conn, packet) -> echoes.release());
+    }
+
+    private NetworkCryptor newCryptor(byte[] key, byte[] encryptIv, byte[] decryptIv) {
+        switch (connectionType) {
+            case "aes-ctr":
+                return StreamCipherNetworkCryptor.newAesCtr(key, encryptIv, decryptIv);
+            case "chacha20":
+                return StreamCipherNetworkCryptor.newChaCha20(
+                    key,
+                    Arrays.copyOf(encryptIv, 12),
+                    Arrays.copyOf(decryptIv, 12)
+                );
+            default:
+                return NetworkCryptor.NULL;
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        connection.close();
+        clientNetwork.shutdown();
+        serverNetwork.shutdown();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(WINDOW)
+    public void echo() throws InterruptedException {
+
+        for (int i = 0; i < WINDOW; i++) {
+            connection.send(new StringWritablePacket(message));
+        }
+
+        echoes.acquire(WINDOW);
+    }
+}
@@ -0,0 +1,66 @@
+package com.ss.rlib.benchmarks.network;
+
+import com.ss.rlib.common.util.linkedlist.LinkedList;
+import com.ss.rlib.common.util.linkedlist.LinkedListFactory;
+import com.ss.rlib.network.packet.WritablePacket;
+import com.ss.rlib.network.packet.WritablePacketQueue;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.concurrent.locks.StampedLock;
+
+/**
+ * The previous implementation of pending packets of connections, a linked list guarded by a stamped lock.
+ *
+ * @author JavaSaBr
+ */
+public class StampedLockWritablePacketQueue implements WritablePacketQueue {
+
+    private final @NotNull LinkedList<WritablePacket> packets;
+    private final @NotNull StampedLock lock;
+
+    public StampedLockWritablePacketQueue() {
+        this.packets = LinkedListFactory.newLinkedList(WritablePacket.class);
+        this.lock = new StampedLock();
+    }
+
+    @Override
+    public void add(@NotNull WritablePacket packet) {
+        long stamp = lock.writeLock();
+        try {
+            packets.add(packet);
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    @Override
+    public void addPriority(@NotNull WritablePacket packet) {
+        long stamp = lock.writeLock();
+        try {
+            packets.addFirst(packet);
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    @Override
+    public @Nullable WritablePacket poll() {
+        long stamp = lock.writeLock();
+        try {
+            return packets.poll();
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    @Override
+    public boolean isEmpty() {
+        long stamp = lock.readLock();
+        try {
+            return packets.isEmpty();
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+}
@@ -0,0 +1,73 @@
+package com.ss.rlib.benchmarks.network;
+
+import com.ss.rlib.network.packet.WritablePacket;
+import com.ss.rlib.network.packet.WritablePacketQueue;
+import com.ss.rlib.network.packet.impl.LockFreeWritablePacketQueue;
+import com.ss.rlib.network.packet.impl.StringWritablePacket;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * The benchmark of pending packet queues under contention. Every thread works like a sender of a connection:
+ * it adds a packet and if nobody is writing right now, it becomes the writer and polls all pending packets.
+ *
+ * @author JavaSaBr
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class WritablePacketQueueBenchmark {
+
+    private static final WritablePacket PACKET = new StringWritablePacket("test");
+
+    @Param({"lock-free", "stamped-lock"})
+    private String queueType;
+
+    private WritablePacketQueue queue;
+    private AtomicBoolean writing;
+
+    @Setup(Level.Iteration)
+    public void setup() {
+        this.writing = new AtomicBoolean(false);
+        this.queue = "lock-free".equals(queueType) ?
+            new LockFreeWritablePacketQueue() : new StampedLockWritablePacketQueue();
+    }
+
+    @Benchmark
+    @Threads(1)
+    public void send1(Blackhole blackhole) {
+        send(blackhole);
+    }
+
+    @Benchmark
+    @Threads(4)
+    public void send4(Blackhole blackhole) {
+        send(blackhole);
+    }
+
+    @Benchmark
+    @Threads(8)
+    public void send8(Blackhole blackhole) {
+        send(blackhole);
+    }
+
+    private void send(Blackhole blackhole) {
+
+        queue.add(PACKET);
+
+        if (!writing.compareAndSet(false, true)) {
+            return;
+        }
+
+        try {
+            for (var packet = queue.poll(); packet != null; packet = queue.poll()) {
+                blackhole.consume(packet);
+            }
+        } finally {
+            writing.set(false);
+        }
+    }
+}
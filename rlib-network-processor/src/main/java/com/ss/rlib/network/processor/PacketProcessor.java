@@ -0,0 +1,455 @@
+package com.ss.rlib.network.processor;
+
+import javax.annotation.processing.*;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.*;
+import javax.lang.model.type.ArrayType;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.util.ElementFilter;
+import javax.tools.Diagnostic;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.io.UncheckedIOException;
+import java.util.*;
+
+/**
+ * The annotation processor which generates code of network packets at compile time to avoid reflection and
+ * polymorphic calls on hot paths:
+ * <ul>
+ * <li>for packets with fields marked by {@code @PacketField} it generates a class with the suffix 'Codec' with
+ * static methods to read and write the fields and to calculate the exact expected length of a writable packet;</li>
+ * <li>for types marked by {@code @GeneratePacketRegistry} it generates a class with the suffix 'Registry' which
+ * registers nested readable packets with {@code @PacketDescription} by their ids and constructors.</li>
+ * </ul>
+ * The processor is used by adding the module to the annotation processor path like lombok.
+ *
+ * @author JavaSaBr
+ * @since 9.9.0
+ */
+@SupportedAnnotationTypes({
+    PacketProcessor.PACKET_FIELD,
+    PacketProcessor.GENERATE_PACKET_REGISTRY
+})
+public class PacketProcessor extends AbstractProcessor {
+
+    public static final String PACKET_DESCRIPTION = "com.ss.rlib.network.annotation.PacketDescription";
+    public static final String PACKET_FIELD = "com.ss.rlib.network.annotation.PacketField";
+    public static final String GENERATE_PACKET_REGISTRY = "com.ss.rlib.network.annotation.GeneratePacketRegistry";
+
+    private static final String READABLE_PACKET = "com.ss.rlib.network.packet.ReadablePacket";
+    private static final String WRITABLE_PACKET = "com.ss.rlib.network.packet.WritablePacket";
+    private static final String ID_BASED_READABLE_PACKET = "com.ss.rlib.network.packet.IdBasedReadablePacket";
+    private static final String STRING_CODEC = "com.ss.rlib.network.packet.StringCodec";
+    private static final String READABLE_PACKET_REGISTRY = "com.ss.rlib.network.packet.registry.ReadablePacketRegistry";
+    private static final String ID_BASED_READABLE_PACKET_REGISTRY =
+        "com.ss.rlib.network.packet.registry.impl.IdBasedReadablePacketRegistry";
+
+    private static final String CODEC_SUFFIX = "Codec";
+    private static final String REGISTRY_SUFFIX = "Registry";
+
+    @Override
+    public SourceVersion getSupportedSourceVersion() {
+        return SourceVersion.latestSupported();
+    }
+
+    @Override
+    public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+
+        var packetField = processingEnv.getElementUtils().getTypeElement(PACKET_FIELD);
+
+        if (packetField != null) {
+
+            var packetTypes = new LinkedHashSet<TypeElement>();
+
+            for (var field : ElementFilter.fieldsIn(roundEnv.getElementsAnnotatedWith(packetField))) {
+                packetTypes.add((TypeElement) field.getEnclosingElement());
+            }
+
+            packetTypes.forEach(this::generateCodec);
+        }
+
+        var generateRegistry = processingEnv.getElementUtils().getTypeElement(GENERATE_PACKET_REGISTRY);
+
+        if (generateRegistry != null) {
+            ElementFilter.typesIn(roundEnv.getElementsAnnotatedWith(generateRegistry))
+                .forEach(this::generateRegistry);
+        }
+
+        return true;
+    }
+
+    private void generateCodec(TypeElement packetType) {
+
+        var readable = isSubtype(packetType, READABLE_PACKET);
+        var writable = isSubtype(packetType, WRITABLE_PACKET);
+
+        if (!readable && !writable) {
+            error(packetType, "Packet fields can be used only in readable or writable packets.");
+            return;
+        }
+
+        var fields = new ArrayList<PacketFieldType>();
+        var names = new ArrayList<String>();
+
+        for (var field : ElementFilter.fieldsIn(packetType.getEnclosedElements())) {
+
+            if (!hasAnnotation(field, PACKET_FIELD)) {
+                continue;
+            }
+
+            var modifiers = field.getModifiers();
+
+            if (modifiers.contains(Modifier.PRIVATE) || modifiers.contains(Modifier.STATIC)) {
+                error(field, "Packet field shouldn't be private or static.");
+                return;
+            } else if (readable && modifiers.contains(Modifier.FINAL)) {
+                error(field, "Packet field of readable packet shouldn't be final.");
+                return;
+            }
+
+            var fieldType = PacketFieldType.of(field.asType());
+
+            if (fieldType == null) {
+                error(field, "Unsupported type of packet field: " + field.asType());
+                return;
+            }
+
+            fields.add(fieldType);
+            names.add(field.getSimpleName().toString());
+        }
+
+        var packageName = getPackageName(packetType);
+        var codecName = getFlatName(packetType) + CODEC_SUFFIX;
+        var packetName = packetType.getQualifiedName().toString();
+        var hasStrings = fields.contains(PacketFieldType.STRING);
+
+        try (var out = createSourceFile(packageName, codecName, packetType)) {
+
+            out.println("package " + packageName + ";");
+            out.println();
+            out.println("/**");
+            out.println(" * The generated codec of fields of {@link " + packetName + "}.");
+            out.println(" */");
+            out.println("@javax.annotation.processing.Generated(\"" + PacketProcessor.class.getName() + "\")");
+            out.println("public final class " + codecName + " {");
+
+            if (readable) {
+                out.println();
+                out.println("    public static void read(");
+                out.println("        " + packetName + " packet,");
+                out.println("        com.ss.rlib.network.Connection<?, ?> connection,");
+                out.println("        java.nio.ByteBuffer buffer");
+                out.println("    ) {");
+
+                if (hasStrings) {
+                    out.println("        " + STRING_CODEC + " stringCodec = connection == null ?");
+                    out.println("            " + STRING_CODEC + ".UTF_16 : connection.getStringCodec();");
+                }
+
+                for (int i = 0; i < fields.size(); i++) {
+                    fields.get(i).writeRead(out, "packet." + names.get(i), "bytes" + i);
+                }
+
+                out.println("    }");
+            }
+
+            if (writable) {
+                out.println();
+                out.println("    public static void write(" + packetName + " packet, java.nio.ByteBuffer buffer) {");
+
+                if (hasStrings) {
+                    out.println("        " + STRING_CODEC + " stringCodec = packet.getStringCodec();");
+                }
+
+                for (int i = 0; i < fields.size(); i++) {
+                    fields.get(i).writeWrite(out, "packet." + names.get(i));
+                }
+
+                out.println("    }");
+                out.println();
+                out.println("    public static int getExpectedLength(" + packetName + " packet) {");
+
+                if (hasStrings) {
+                    out.println("        " + STRING_CODEC + " stringCodec = packet.getStringCodec();");
+                }
+
+                var fixedLength = fields.stream()
+                    .mapToInt(PacketFieldType::getFixedLength)
+                    .sum();
+
+                out.print("        return " + fixedLength);
+
+                for (int i = 0; i < fields.size(); i++) {
+                    fields.get(i).writeVariableLength(out, "packet." + names.get(i));
+                }
+
+                out.println(";");
+                out.println("    }");
+            }
+
+            out.println();
+            out.println("    private " + codecName + "() {");
+            out.println("    }");
+            out.println("}");
+        }
+    }
+
+    private void generateRegistry(TypeElement holderType) {
+
+        var packets = new TreeMap<Integer, TypeElement>();
+
+        for (var packetType : ElementFilter.typesIn(holderType.getEnclosedElements())) {
+
+            var id = getPacketId(packetType);
+
+            if (id == null || packetType.getModifiers().contains(Modifier.ABSTRACT) ||
+                !isSubtype(packetType, ID_BASED_READABLE_PACKET)) {
+                continue;
+            }
+
+            var modifiers = packetType.getModifiers();
+
+            if (modifiers.contains(Modifier.PRIVATE)) {
+                error(packetType, "Registered packet shouldn't be private.");
+                return;
+            } else if (packetType.getKind() != ElementKind.CLASS) {
+                error(packetType, "Registered packet should be a class.");
+                return;
+            } else if (!modifiers.contains(Modifier.STATIC) && holderType.getKind() == ElementKind.CLASS) {
+                error(packetType, "Registered packet should be a static class.");
+                return;
+            } else if (!hasDefaultConstructor(packetType)) {
+                error(packetType, "Registered packet should have an accessible constructor without arguments.");
+                return;
+            }
+
+            var existed = packets.put(id, packetType);
+
+            if (existed != null) {
+                error(packetType, "Packet " + existed.getQualifiedName() + " has the same id " + id);
+                return;
+            }
+        }
+
+        var packageName = getPackageName(holderType);
+        var registryName = getFlatName(holderType) + REGISTRY_SUFFIX;
+        var holderName = holderType.getQualifiedName().toString();
+
+        try (var out = createSourceFile(packageName, registryName, holderType)) {
+
+            out.println("package " + packageName + ";");
+            out.println();
+            out.println("/**");
+            out.println(" * The generated table of readable packets of {@link " + holderName + "}.");
+            out.println(" */");
+            out.println("@javax.annotation.processing.Generated(\"" + PacketProcessor.class.getName() + "\")");
+            out.println("public final class " + registryName + " {");
+            out.println();
+            out.println("    public static <R extends " + ID_BASED_READABLE_PACKET + "<R>>");
+            out.println("        " + ID_BASED_READABLE_PACKET_REGISTRY + "<R> register(");
+            out.println("            " + ID_BASED_READABLE_PACKET_REGISTRY + "<R> registry");
+            out.println("        ) {");
+
+            packets.forEach((id, packetType) -> {
+                var packetName = packetType.getQualifiedName();
+                out.println("        registry.register(" + id + ", " + packetName + ".class, " +
+                    packetName + "::new);");
+            });
+
+            out.println("        return registry;");
+            out.println("    }");
+            out.println();
+            out.println("    public static <R extends " + ID_BASED_READABLE_PACKET + "<R>>");
+            out.println("        " + READABLE_PACKET_REGISTRY + "<R> newRegistry(");
+            out.println("            Class<R> type");
+            out.println("        ) {");
+            out.println("        return register(");
+            out.println("            new " + ID_BASED_READABLE_PACKET_REGISTRY + "<>(type)");
+            out.println("        );");
+            out.println("    }");
+            out.println();
+            out.println("    private " + registryName + "() {");
+            out.println("    }");
+            out.println("}");
+        }
+    }
+
+    private boolean hasDefaultConstructor(TypeElement type) {
+
+        var constructors = ElementFilter.constructorsIn(type.getEnclosedElements());
+
+        return constructors.stream()
+            .filter(constructor -> constructor.getParameters().isEmpty())
+            .anyMatch(constructor -> !constructor.getModifiers().contains(Modifier.PRIVATE));
+    }
+
+    private Integer getPacketId(TypeElement type) {
+
+        for (var mirror : type.getAnnotationMirrors()) {
+
+            var annotationType = (TypeElement) mirror.getAnnotationType().asElement();
+
+            if (!annotationType.getQualifiedName().contentEquals(PACKET_DESCRIPTION)) {
+                continue;
+            }
+
+            for (var entry : mirror.getElementValues().entrySet()) {
+                if (entry.getKey().getSimpleName().contentEquals("id")) {
+                    return (Integer) entry.getValue().getValue();
+                }
+            }
+        }
+
+        return null;
+    }
+
+    private boolean hasAnnotation(Element element, String annotationName) {
+        return element.getAnnotationMirrors().stream()
+            .map(mirror -> (TypeElement) mirror.getAnnotationType().asElement())
+            .anyMatch(type -> type.getQualifiedName().contentEquals(annotationName));
+    }
+
+    private boolean isSubtype(TypeElement type, String superTypeName) {
+
+        var superType = processingEnv.getElementUtils().getTypeElement(superTypeName);
+
+        if (superType == null) {
+            return false;
+        }
+
+        var types = processingEnv.getTypeUtils();
+
+        return types.isSubtype(types.erasure(type.asType()), types.erasure(superType.asType()));
+    }
+
+    private String getPackageName(TypeElement type) {
+        return processingEnv.getElementUtils()
+            .getPackageOf(type)
+            .getQualifiedName()
+            .toString();
+    }
+
+    /**
+     * Get a name of the type with names of its enclosing types separated by '_'.
+     */
+    private String getFlatName(TypeElement type) {
+
+        var name = type.getSimpleName().toString();
+        var enclosing = type.getEnclosingElement();
+
+        while (enclosing instanceof TypeElement) {
+            name = enclosing.getSimpleName() + "_" + name;
+            enclosing = enclosing.getEnclosingElement();
+        }
+
+        return name;
+    }
+
+    private PrintWriter createSourceFile(String packageName, String name, Element originatingElement) {
+
+        var qualifiedName = packageName.isEmpty() ? name : packageName + "." + name;
+
+        try {
+            var file = processingEnv.getFiler().createSourceFile(qualifiedName, originatingElement);
+            return new PrintWriter(file.openWriter());
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private void error(Element element, String message) {
+        processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR, message, element);
+    }
+
+    /**
+     * The supported types of packet fields with their generated code.
+     */
+    private enum PacketFieldType {
+        BYTE(Byte.BYTES, "buffer.get()", "buffer.put(%s)"),
+        BOOLEAN(Byte.BYTES, "buffer.get() != 0", "buffer.put((byte) (%s ? 1 : 0))"),
+        SHORT(Short.BYTES, "buffer.getShort()", "buffer.putShort(%s)"),
+        CHAR(Character.BYTES, "buffer.getChar()", "buffer.putChar(%s)"),
+        INT(Integer.BYTES, "buffer.getInt()", "buffer.putInt(%s)"),
+        LONG(Long.BYTES, "buffer.getLong()", "buffer.putLong(%s)"),
+        FLOAT(Float.BYTES, "buffer.getFloat()", "buffer.putFloat(%s)"),
+        DOUBLE(Double.BYTES, "buffer.getDouble()", "buffer.putDouble(%s)"),
+        STRING(0, "stringCodec.read(buffer)", "stringCodec.write(buffer, %s)"),
+        BYTES(Integer.BYTES, null, null);
+
+        static PacketFieldType of(TypeMirror type) {
+            switch (type.getKind()) {
+                case BYTE:
+                    return BYTE;
+                case BOOLEAN:
+                    return BOOLEAN;
+                case SHORT:
+                    return SHORT;
+                case CHAR:
+                    return CHAR;
+                case INT:
+                    return INT;
+                case LONG:
+                    return LONG;
+                case FLOAT:
+                    return FLOAT;
+                case DOUBLE:
+                    return DOUBLE;
+                case ARRAY:
+                    var componentType = ((ArrayType) type).getComponentType();
+                    return componentType.getKind() == TypeKind.BYTE ? BYTES : null;
+                case DECLARED:
+                    return type.toString().equals(String.class.getName()) ? STRING : null;
+                default:
+                    return null;
+            }
+        }
+
+        private final int fixedLength;
+        private final String read;
+        private final String write;
+
+        PacketFieldType(int fixedLength, String read, String write) {
+            this.fixedLength = fixedLength;
+            this.read = read;
+            this.write = write;
+        }
+
+        int getFixedLength() {
+            return fixedLength;
+        }
+
+        void writeRead(PrintWriter out, String field, String localName) {
+            if (this == BYTES) {
+                var length = localName + "Length";
+                out.println("        int " + length + " = buffer.getInt();");
+                out.println("        if (" + length + " < 0 || " + length + " > buffer.remaining()) {");
+                out.println("            throw new IllegalStateException(\"Found too long byte array \" + " +
+                    length + " + \" from buffer \" + buffer);");
+                out.println("        }");
+                out.println("        byte[] " + localName + " = new byte[" + length + "];");
+                out.println("        buffer.get(" + localName + ");");
+                out.println("        " + field + " = " + localName + ";");
+            } else {
+                out.println("        " + field + " = " + read + ";");
+            }
+        }
+
+        void writeWrite(PrintWriter out, String field) {
+            if (this == BYTES) {
+                out.println("        buffer.putInt(" + field + ".length);");
+                out.println("        buffer.put(" + field + ");");
+            } else {
+                out.println("        " + String.format(write, field) + ";");
+            }
+        }
+
+        void writeVariableLength(PrintWriter out, String field) {
+            if (this == BYTES) {
+                out.print(" + " + field + ".length");
+            } else if (this == STRING) {
+                out.print(" + stringCodec.getLength(" + field + ")");
+            }
+        }
+    }
+}
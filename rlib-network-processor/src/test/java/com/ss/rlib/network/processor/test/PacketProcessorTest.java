@@ -0,0 +1,242 @@
+package com.ss.rlib.network.processor.test;
+
+import com.ss.rlib.network.packet.ReadablePacket;
+import com.ss.rlib.network.packet.WritablePacket;
+import com.ss.rlib.network.packet.impl.DefaultReadablePacket;
+import com.ss.rlib.network.packet.registry.ReadablePacketRegistry;
+import com.ss.rlib.network.processor.PacketProcessor;
+import lombok.SneakyThrows;
+import org.jetbrains.annotations.NotNull;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import javax.tools.*;
+import java.net.URI;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+/**
+ * The test of generated codecs and registries of packets.
+ *
+ * @author JavaSaBr
+ */
+public class PacketProcessorTest {
+
+    private static final String PACKETS_SOURCE = String.join("\n",
+        "package test.packets;",
+        "",
+        "import com.ss.rlib.network.Connection;",
+        "import com.ss.rlib.network.annotation.GeneratePacketRegistry;",
+        "import com.ss.rlib.network.annotation.PacketDescription;",
+        "import com.ss.rlib.network.annotation.PacketField;",
+        "import com.ss.rlib.network.packet.impl.DefaultReadablePacket;",
+        "import com.ss.rlib.network.packet.impl.DefaultWritablePacket;",
+        "import com.ss.rlib.network.impl.DefaultConnection;",
+        "import java.nio.ByteBuffer;",
+        "",
+        "@GeneratePacketRegistry",
+        "public interface TestPackets {",
+        "",
+        "    @PacketDescription(id = 1)",
+        "    class PlayerState extends DefaultReadablePacket {",
+        "",
+        "        @PacketField public int id;",
+        "        @PacketField public String name;",
+        "        @PacketField public boolean online;",
+        "        @PacketField public double x;",
+        "        @PacketField public byte[] data;",
+        "",
+        "        @Override",
+        "        protected void readImpl(DefaultConnection connection, ByteBuffer buffer) {",
+        "            TestPackets_PlayerStateCodec.read(this, connection, buffer);",
+        "        }",
+        "    }",
+        "",
+        "    @PacketDescription(id = 3)",
+        "    class Ping extends DefaultReadablePacket {",
+        "    }",
+        "",
+        "    @PacketDescription(id = 1)",
+        "    class PlayerStateMessage extends DefaultWritablePacket {",
+        "",
+        "        @PacketField final int id;",
+        "        @PacketField final String name;",
+        "        @PacketField final boolean online;",
+        "        @PacketField final double x;",
+        "        @PacketField final byte[] data;",
+        "",
+        "        public PlayerStateMessage(int id, String name, boolean online, double x, byte[] data) {",
+        "            this.id = id;",
+        "            this.name = name;",
+        "            this.online = online;",
+        "            this.x = x;",
+        "            this.data = data;",
+        "        }",
+        "",
+        "        @Override",
+        "        protected void writeImpl(ByteBuffer buffer) {",
+        "            TestPackets_PlayerStateMessageCodec.write(this, buffer);",
+        "        }",
+        "",
+        "        @Override",
+        "        public int getExpectedLength() {",
+        "            return TestPackets_PlayerStateMessageCodec.getExpectedLength(this);",
+        "        }",
+        "    }",
+        "}"
+    );
+
+    private static final String PRIVATE_FIELD_SOURCE = String.join("\n",
+        "package test.packets;",
+        "",
+        "import com.ss.rlib.network.annotation.PacketField;",
+        "import com.ss.rlib.network.packet.impl.DefaultReadablePacket;",
+        "",
+        "public class WrongPacket extends DefaultReadablePacket {",
+        "    @PacketField private int id;",
+        "}"
+    );
+
+    @Test
+    @SneakyThrows
+    void shouldGenerateCodecsAndRegistry() {
+
+        var outputDir = Files.createTempDirectory("packet-processor");
+        var diagnostics = compile(outputDir, "test.packets.TestPackets", PACKETS_SOURCE);
+
+        Assertions.assertTrue(
+            diagnostics.stream().noneMatch(diagnostic -> diagnostic.getKind() == Diagnostic.Kind.ERROR),
+            () -> "Compilation failed: " + diagnostics
+        );
+
+        var urls = new URL[] {outputDir.toUri().toURL()};
+
+        try (var classLoader = new URLClassLoader(urls, getClass().getClassLoader())) {
+
+            var registryType = classLoader.loadClass("test.packets.TestPacketsRegistry");
+            var registry = (ReadablePacketRegistry<?>) registryType.getMethod("newRegistry", Class.class)
+                .invoke(null, DefaultReadablePacket.class);
+
+            var messageType = classLoader.loadClass("test.packets.TestPackets$PlayerStateMessage");
+            var message = (WritablePacket) messageType
+                .getConstructor(int.class, String.class, boolean.class, double.class, byte[].class)
+                .newInstance(15, "Player", true, 10.5D, new byte[] {1, 2, 3});
+
+            var buffer = ByteBuffer.allocate(256);
+
+            Assertions.assertTrue(message.write(buffer));
+            Assertions.assertEquals(buffer.position(), message.getExpectedLength());
+
+            buffer.flip();
+
+            ReadablePacket packet = registry.newInstance(1);
+
+            Assertions.assertEquals("test.packets.TestPackets$PlayerState", packet.getClass().getName());
+            Assertions.assertNotSame(packet, registry.newInstance(1));
+            Assertions.assertTrue(packet.read(null, buffer, buffer.limit()));
+            Assertions.assertEquals(15, getField(packet, "id"));
+            Assertions.assertEquals("Player", getField(packet, "name"));
+            Assertions.assertEquals(true, getField(packet, "online"));
+            Assertions.assertEquals(10.5D, getField(packet, "x"));
+            Assertions.assertArrayEquals(new byte[] {1, 2, 3}, (byte[]) getField(packet, "data"));
+            Assertions.assertEquals("test.packets.TestPackets$Ping", registry.findById(3).getClass().getName());
+        }
+    }
+
+    @Test
+    @SneakyThrows
+    void shouldFailReadingForgedLengthOfByteArray() {
+
+        var outputDir = Files.createTempDirectory("packet-processor");
+        var diagnostics = compile(outputDir, "test.packets.TestPackets", PACKETS_SOURCE);
+
+        Assertions.assertTrue(
+            diagnostics.stream().noneMatch(diagnostic -> diagnostic.getKind() == Diagnostic.Kind.ERROR),
+            () -> "Compilation failed: " + diagnostics
+        );
+
+        var urls = new URL[] {outputDir.toUri().toURL()};
+
+        try (var classLoader = new URLClassLoader(urls, getClass().getClassLoader())) {
+
+            var registryType = classLoader.loadClass("test.packets.TestPacketsRegistry");
+            var registry = (ReadablePacketRegistry<?>) registryType.getMethod("newRegistry", Class.class)
+                .invoke(null, DefaultReadablePacket.class);
+
+            var messageType = classLoader.loadClass("test.packets.TestPackets$PlayerStateMessage");
+            var data = new byte[] {1, 2, 3};
+            var message = (WritablePacket) messageType
+                .getConstructor(int.class, String.class, boolean.class, double.class, byte[].class)
+                .newInstance(15, "Player", true, 10.5D, data);
+
+            for (var forgedLength : new int[] {Integer.MAX_VALUE, data.length + 1, -1}) {
+
+                var buffer = ByteBuffer.allocate(256);
+
+                Assertions.assertTrue(message.write(buffer));
+
+                // the length of the byte array is written right before the array at the end of the packet
+                buffer.putInt(buffer.position() - data.length - Integer.BYTES, forgedLength);
+                buffer.flip();
+
+                ReadablePacket packet = registry.newInstance(1);
+
+                Assertions.assertFalse(packet.read(null, buffer, buffer.limit()));
+                Assertions.assertNull(packet.getClass().getField("data").get(packet));
+            }
+        }
+    }
+
+    @Test
+    @SneakyThrows
+    void shouldRejectPrivatePacketFields() {
+
+        var outputDir = Files.createTempDirectory("packet-processor");
+        var diagnostics = compile(outputDir, "test.packets.WrongPacket", PRIVATE_FIELD_SOURCE);
+
+        Assertions.assertTrue(diagnostics.stream()
+            .anyMatch(diagnostic -> diagnostic.getMessage(null).contains("shouldn't be private")));
+    }
+
+    @SneakyThrows
+    private static @NotNull Object getField(@NotNull Object object, @NotNull String name) {
+        return object.getClass()
+            .getField(name)
+            .get(object);
+    }
+
+    @SneakyThrows
+    private static @NotNull List<Diagnostic<? extends JavaFileObject>> compile(
+        @NotNull Path outputDir,
+        @NotNull String className,
+        @NotNull String source
+    ) {
+
+        var compiler = ToolProvider.getSystemJavaCompiler();
+        var collector = new DiagnosticCollector<JavaFileObject>();
+        var fileUri = URI.create("string:///" + className.replace('.', '/') + JavaFileObject.Kind.SOURCE.extension);
+
+        var file = new SimpleJavaFileObject(fileUri, JavaFileObject.Kind.SOURCE) {
+
+            @Override
+            public @NotNull CharSequence getCharContent(boolean ignoreEncodingErrors) {
+                return source;
+            }
+        };
+
+        var options = List.of(
+            "-classpath", System.getProperty("java.class.path"),
+            "-d", outputDir.toString()
+        );
+
+        var task = compiler.getTask(null, null, collector, options, null, List.of(file));
+        task.setProcessors(List.of(new PacketProcessor()));
+        task.call();
+
+        return List.copyOf(collector.getDiagnostics());
+    }
+}
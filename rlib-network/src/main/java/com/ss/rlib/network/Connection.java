@@ -1,10 +1,17 @@
 package com.ss.rlib.network;
 
 import com.ss.rlib.common.function.NotNullBiConsumer;
+import com.ss.rlib.common.function.NotNullConsumer;
+import com.ss.rlib.network.capture.TrafficCapture;
+import com.ss.rlib.network.metrics.ConnectionMetrics;
+import com.ss.rlib.network.packet.PacketCompressor;
 import com.ss.rlib.network.packet.ReadablePacket;
+import com.ss.rlib.network.packet.ReusableReadablePacket;
+import com.ss.rlib.network.packet.StringCodec;
 import com.ss.rlib.network.packet.WritablePacket;
 import lombok.AllArgsConstructor;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 import reactor.core.publisher.Flux;
 
 import java.util.concurrent.CompletableFuture;
@@ -29,6 +36,73 @@ public interface Connection<R extends ReadablePacket, W extends WritablePacket>
      */
     @NotNull String getRemoteAddress();
 
+    /**
+     * Get a codec to write and read strings of packets of this connection.
+     *
+     * @return the string codec.
+     * @since 9.9.0
+     */
+    @NotNull StringCodec getStringCodec();
+
+    /**
+     * Get a compressor of packets of this connection.
+     *
+     * @return the packet compressor or null if packets aren't compressed.
+     * @since 9.9.0
+     */
+    @Nullable PacketCompressor getPacketCompressor();
+
+    /**
+     * Get a cryptor of packets of this connection.
+     *
+     * @return the network cryptor or {@link NetworkCryptor#NULL} if packets aren't encrypted.
+     * @since 9.9.0
+     */
+    @NotNull NetworkCryptor getCryptor();
+
+    /**
+     * Set a cryptor of packets of this connection, it's used by all packets which are written or read after
+     * changing, so the other side should change its cryptor on the same packet.
+     *
+     * @param cryptor the network cryptor or {@link NetworkCryptor#NULL} to disable encryption.
+     * @since 9.9.0
+     */
+    void setCryptor(@NotNull NetworkCryptor cryptor);
+
+    /**
+     * Get metrics of this connection.
+     *
+     * @return the connection's metrics.
+     * @since 9.9.0
+     */
+    @NotNull ConnectionMetrics getMetrics();
+
+    /**
+     * Get a max length of received packets which are collected to buffers.
+     *
+     * @return the max packet size or 0 if the size isn't limited.
+     * @see NetworkConfig#getMaxPacketSize()
+     * @since 9.9.0
+     */
+    int getMaxPacketSize();
+
+    /**
+     * Get a config of the network of this connection.
+     *
+     * @return the network config.
+     * @since 9.9.0
+     */
+    @NotNull NetworkConfig getConfig();
+
+    /**
+     * Get a capture of traffic of this connection.
+     *
+     * @return the traffic capture or {@link TrafficCapture#NULL} if traffic isn't captured.
+     * @see Network#getTrafficCapture()
+     * @since 9.9.0
+     */
+    @NotNull TrafficCapture getTrafficCapture();
+
     /**
      * Get a timestamp of last write/read activity.
      *
@@ -36,6 +110,49 @@ public interface Connection<R extends ReadablePacket, W extends WritablePacket>
      */
     long getLastActivity();
 
+    /**
+     * Get a timestamp of last read activity.
+     *
+     * @return the timestamp of last read activity.
+     * @since 9.9.0
+     */
+    long getLastReadTime();
+
+    /**
+     * Get a timestamp of last write activity.
+     *
+     * @return the timestamp of last write activity.
+     * @since 9.9.0
+     */
+    long getLastWriteTime();
+
+    /**
+     * Check whether packets can be sent to this connection without overflow of its write queue. A connection is not
+     * writable when count of queued packets reaches the high watermark until it goes down to the low watermark.
+     *
+     * @return true if this connection is writable.
+     * @see NetworkConfig#getWriteHighWatermark()
+     * @since 9.9.0
+     */
+    boolean isWritable();
+
+    /**
+     * Register a listener of changes of the writable state of this connection.
+     *
+     * @param listener the listener.
+     * @since 9.9.0
+     */
+    void onWritabilityChanged(@NotNull NotNullBiConsumer<? super Connection<R, W>, Boolean> listener);
+
+    /**
+     * Get an estimated count of bytes of packets which are queued to send but aren't taken to write yet. A packet
+     * with unknown expected length is estimated by the size of the write buffer.
+     *
+     * @return the estimated count of pending bytes.
+     * @since 9.9.0
+     */
+    long getPendingBytes();
+
     /**
      * Close this connection if this connection is still opened.
      */
@@ -49,7 +166,17 @@ public interface Connection<R extends ReadablePacket, W extends WritablePacket>
     boolean isClosed();
 
     /**
-     * Send a packet to connection's owner.
+     * Register a listener which is called once after closing this connection, it's called immediately if this
+     * connection is already closed.
+     *
+     * @param listener the listener.
+     * @since 9.9.0
+     */
+    void onClose(@NotNull NotNullConsumer<? super Connection<R, W>> listener);
+
+    /**
+     * Send a packet to connection's owner. A reusable packet is counted as added to send and is completed once
+     * the sending is finished or failed.
      *
      * @param packet the writable packet.
      */
@@ -65,21 +192,24 @@ public interface Connection<R extends ReadablePacket, W extends WritablePacket>
     @NotNull CompletableFuture<Boolean> sendWithFeedback(@NotNull W packet);
 
     /**
-     * Register a consumer to handle received packets.
+     * Register a consumer to handle received packets. A received {@link ReusableReadablePacket} is returned to
+     * its pool after all consumers are called, so a consumer must retain it to use it later.
      *
      * @param consumer the consumer.
      */
     void onReceive(@NotNull NotNullBiConsumer<? super Connection<R, W>, ? super R> consumer);
 
     /**
-     * Get a stream of received packet events.
+     * Get a stream of received packet events. A received {@link ReusableReadablePacket} is already retained for
+     * the stream, so it can be released by a consumer after handling.
      *
      * @return the stream of received packet events.
      */
     @NotNull Flux<ReceivedPacketEvent<? extends Connection<R, W>, ? extends R>> receivedEvents();
 
     /**
-     * Get a stream of received packets.
+     * Get a stream of received packets. A received {@link ReusableReadablePacket} is already retained for
+     * the stream, so it can be released by a consumer after handling.
      *
      * @return the stream of received packets.
      */
@@ -0,0 +1,106 @@
+package com.ss.rlib.network;
+
+import com.ss.rlib.network.packet.StringCodec;
+import lombok.Builder;
+import lombok.Getter;
+import org.jetbrains.annotations.NotNull;
+
+import java.nio.ByteOrder;
+
+/**
+ * The interface to implement a datagram network config. A received datagram is read to one read buffer and a sent
+ * datagram is serialized to one write buffer, so {@link #getReadBufferSize()} and {@link #getWriteBufferSize()}
+ * are the max size of datagrams and should be the same on both sides.
+ *
+ * @author JavaSaBr
+ * @since 9.9.0
+ */
+public interface DatagramNetworkConfig extends NetworkConfig {
+
+    @Builder
+    @Getter
+    class SimpleDatagramNetworkConfig implements DatagramNetworkConfig {
+
+        @Builder.Default
+        private String threadGroupName = "DatagramNetworkThread";
+        @Builder.Default
+        private ByteOrder byteOrder = ByteOrder.BIG_ENDIAN;
+
+        @Builder.Default
+        private int readBufferSize = 2048;
+        @Builder.Default
+        private int writeBufferSize = 2048;
+        @Builder.Default
+        private int maxDatagramsByRead = 64;
+        @Builder.Default
+        private boolean sequenced = false;
+        @Builder.Default
+        private int maxPeers = 10_000;
+
+        @Builder.Default
+        private StringCodec stringCodec = StringCodec.UTF_16;
+        @Builder.Default
+        private boolean metricsEnabled = true;
+
+        @Builder.Default
+        private long readIdleTimeout = 0;
+        @Builder.Default
+        private long writeIdleTimeout = 0;
+        @Builder.Default
+        private long allIdleTimeout = 60_000;
+        @Builder.Default
+        private long idleCheckInterval = 100;
+        @Builder.Default
+        private boolean closeIdleConnections = true;
+    }
+
+    @NotNull DatagramNetworkConfig DEFAULT_DATAGRAM = new DatagramNetworkConfig() {};
+
+    @Override
+    default @NotNull String getThreadGroupName() {
+        return "DatagramNetworkThread";
+    }
+
+    /**
+     * Get a max count of datagrams which are received by one wakeup of a network thread. All received datagrams
+     * of one batch are collected to pooled read buffers before they are handled.
+     *
+     * @return the max count of datagrams by one read.
+     */
+    default int getMaxDatagramsByRead() {
+        return 64;
+    }
+
+    /**
+     * Get a max count of peers of a network, datagrams from new remote addresses are dropped while the network has
+     * this count of connections.
+     *
+     * @return the max count of peers or 0 if it's unlimited.
+     */
+    default int getMaxPeers() {
+        return 10_000;
+    }
+
+    /**
+     * Get a timeout in milliseconds after which a connection without received and sent data is in the state
+     * {@link com.ss.rlib.network.idle.IdleState#ALL_IDLE}. A datagram peer never disconnects, so the timeout is
+     * enabled by default to close connections of gone or spoofed peers.
+     *
+     * @return the all idle timeout or 0 if it's disabled.
+     */
+    @Override
+    default long getAllIdleTimeout() {
+        return 60_000;
+    }
+
+    /**
+     * Return true if datagrams have sequence numbers, so a received datagram which isn't newer than the last
+     * received datagram of the same peer is dropped as stale. Sequence numbers change the format of datagrams,
+     * so they should be enabled on both sides.
+     *
+     * @return true if datagrams are sequenced.
+     */
+    default boolean isSequenced() {
+        return false;
+    }
+}
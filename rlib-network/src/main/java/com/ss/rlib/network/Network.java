@@ -1,5 +1,13 @@
 package com.ss.rlib.network;
 
+import com.ss.rlib.common.function.NotNullBiConsumer;
+import com.ss.rlib.common.function.NotNullConsumer;
+import com.ss.rlib.network.capture.TrafficCapture;
+import com.ss.rlib.network.idle.IdleState;
+import com.ss.rlib.network.metrics.NetworkMetrics;
+import com.ss.rlib.network.packet.WritablePacket;
+import org.jetbrains.annotations.NotNull;
+
 /**
  * The interface to implement an asynchronous network.
  *
@@ -7,6 +15,83 @@ package com.ss.rlib.network;
  */
 public interface Network<C extends Connection<?, ?>> {
 
+    /**
+     * Get a config of this network.
+     *
+     * @return the network's config.
+     */
+    @NotNull NetworkConfig getConfig();
+
+    /**
+     * Get metrics of this network.
+     *
+     * @return the network's metrics.
+     * @since 9.9.0
+     */
+    @NotNull NetworkMetrics getMetrics();
+
+    /**
+     * Send the packet to all the connections. The packet is serialized only once by the first open connection and
+     * all connections write the same serialized data, so all the connections must use the same packet format.
+     * The packet isn't used after this method returns.
+     *
+     * @param packet      the packet.
+     * @param connections the connections.
+     * @return the count of connections which the packet was sent to.
+     * @since 9.9.0
+     */
+    int broadcast(@NotNull WritablePacket packet, @NotNull Iterable<? extends C> connections);
+
+    /**
+     * Register a handler of idle states of connections of this network. Idle states are tracked only if any idle
+     * timeout is set in the network config, and handlers are called in the thread of the idle timer, so they
+     * shouldn't block it.
+     *
+     * @param handler the handler.
+     * @see NetworkConfig#getReadIdleTimeout()
+     * @see NetworkConfig#getWriteIdleTimeout()
+     * @see NetworkConfig#getAllIdleTimeout()
+     * @since 9.9.0
+     */
+    void onIdle(@NotNull NotNullBiConsumer<? super C, IdleState> handler);
+
+    /**
+     * Register a sender of keepalive packets which is called for connections which didn't send any data during
+     * the write idle timeout.
+     *
+     * @param sender the sender of keepalive packets.
+     * @see NetworkConfig#getWriteIdleTimeout()
+     * @since 9.9.0
+     */
+    default void keepAlive(@NotNull NotNullConsumer<? super C> sender) {
+        onIdle((connection, state) -> {
+            if (state == IdleState.WRITER_IDLE) {
+                sender.accept(connection);
+            }
+        });
+    }
+
+    /**
+     * Get a capture of traffic of connections of this network.
+     *
+     * @return the traffic capture or {@link TrafficCapture#NULL} if traffic isn't captured.
+     * @since 9.9.0
+     */
+    default @NotNull TrafficCapture getTrafficCapture() {
+        return TrafficCapture.NULL;
+    }
+
+    /**
+     * Set a capture of traffic of connections of this network, it's used by all connections for packets which are
+     * written or read after changing.
+     *
+     * @param trafficCapture the traffic capture or {@link TrafficCapture#NULL} to disable capturing.
+     * @since 9.9.0
+     */
+    default void setTrafficCapture(@NotNull TrafficCapture trafficCapture) {
+        throw new UnsupportedOperationException("The network doesn't support traffic capture");
+    }
+
     /**
      * Shutdown this network.
      */
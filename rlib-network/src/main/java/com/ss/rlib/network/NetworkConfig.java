@@ -1,10 +1,15 @@
 package com.ss.rlib.network;
 
+import com.ss.rlib.network.idle.IdleState;
+import com.ss.rlib.network.packet.StringCodec;
 import lombok.Builder;
 import lombok.Getter;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 
 import java.nio.ByteOrder;
+import java.util.concurrent.Executor;
+import java.util.zip.Deflater;
 
 /**
  * The interface to implement a network config.
@@ -28,6 +33,63 @@ public interface NetworkConfig {
         private int pendingBufferSize = 4096;
         @Builder.Default
         private int writeBufferSize = 2048;
+        @Builder.Default
+        private int maxPacketsByWrite = 1;
+        @Builder.Default
+        private NetworkTransport transport = NetworkTransport.ASYNCHRONOUS_CHANNEL;
+
+        @Builder.Default
+        private StringCodec stringCodec = StringCodec.UTF_16;
+        @Builder.Default
+        private boolean metricsEnabled = true;
+
+        @Builder.Default
+        private long readIdleTimeout = 0;
+        @Builder.Default
+        private long writeIdleTimeout = 0;
+        @Builder.Default
+        private long allIdleTimeout = 0;
+        @Builder.Default
+        private long idleCheckInterval = 100;
+        @Builder.Default
+        private boolean closeIdleConnections = true;
+
+        @Builder.Default
+        private int writeHighWatermark = 0;
+        @Builder.Default
+        private int writeLowWatermark = 0;
+        @Builder.Default
+        private WriteOverflowPolicy writeOverflowPolicy = WriteOverflowPolicy.QUEUE;
+        @Builder.Default
+        private boolean conflationEnabled = false;
+
+        @Builder.Default
+        private int compressionThreshold = 0;
+        @Builder.Default
+        private int compressionLevel = Deflater.BEST_SPEED;
+
+        @Builder.Default
+        private int maxPacketSize = 16 * 1024 * 1024;
+        @Builder.Default
+        private int maxDecompressedPacketSize = 16 * 1024 * 1024;
+
+        @Builder.Default
+        private boolean adaptiveReadBuffer = false;
+        @Builder.Default
+        private int minReadBufferSize = 512;
+        @Builder.Default
+        private int maxReadBufferSize = 64 * 1024;
+
+        @Builder.Default
+        private boolean tcpNoDelay = false;
+        @Builder.Default
+        private boolean keepAlive = false;
+        @Builder.Default
+        private int socketReceiveBufferSize = 0;
+        @Builder.Default
+        private int socketSendBufferSize = 0;
+
+        private Executor sslTaskExecutor;
     }
 
     @NotNull NetworkConfig DEFAULT_CLIENT = new NetworkConfig() {
@@ -75,6 +137,278 @@ public interface NetworkConfig {
         return 2048;
     }
 
+    /**
+     * Get a max count of packets which can be collected to one write to a channel. Packets are collected
+     * while they fit to a write buffer, so the size {@link #getWriteBufferSize()} limits the batch as well.
+     * The value 1 disables collecting and each packet is written by a separated write.
+     *
+     * @return the max count of packets by one write.
+     */
+    default int getMaxPacketsByWrite() {
+        return 1;
+    }
+
+    /**
+     * Get a transport which should be used by a network.
+     *
+     * @return the network transport.
+     * @since 9.9.0
+     */
+    default @NotNull NetworkTransport getTransport() {
+        return NetworkTransport.ASYNCHRONOUS_CHANNEL;
+    }
+
+    /**
+     * Get a codec to write and read strings of packets. The default codec {@link StringCodec#UTF_16} is compatible
+     * with old peers, compact codecs should be used only if all peers use the same codec.
+     *
+     * @return the string codec.
+     * @since 9.9.0
+     */
+    default @NotNull StringCodec getStringCodec() {
+        return StringCodec.UTF_16;
+    }
+
+    /**
+     * Return true if connections of a network should record metrics. Metrics are based on striped counters and
+     * don't allocate objects to record values, so they can be enabled in production.
+     *
+     * @return true if metrics are enabled.
+     * @since 9.9.0
+     */
+    default boolean isMetricsEnabled() {
+        return true;
+    }
+
+    /**
+     * Get an executor to run delegated tasks of SSL engines during handshakes. Reading of a connection is paused
+     * while its tasks are running, so the network threads are free to handle other connections.
+     *
+     * @return the executor or null if the tasks should be run on network threads.
+     * @since 9.9.0
+     */
+    default @Nullable Executor getSslTaskExecutor() {
+        return null;
+    }
+
+    /**
+     * Get a timeout in milliseconds after which a connection without received data is in the state
+     * {@link IdleState#READER_IDLE}.
+     *
+     * @return the read idle timeout or 0 if it's disabled.
+     * @since 9.9.0
+     */
+    default long getReadIdleTimeout() {
+        return 0;
+    }
+
+    /**
+     * Get a timeout in milliseconds after which a connection without sent data is in the state
+     * {@link IdleState#WRITER_IDLE}. This state is used to send keepalive packets.
+     *
+     * @return the write idle timeout or 0 if it's disabled.
+     * @since 9.9.0
+     */
+    default long getWriteIdleTimeout() {
+        return 0;
+    }
+
+    /**
+     * Get a timeout in milliseconds after which a connection without received and sent data is in the state
+     * {@link IdleState#ALL_IDLE}.
+     *
+     * @return the all idle timeout or 0 if it's disabled.
+     * @since 9.9.0
+     */
+    default long getAllIdleTimeout() {
+        return 0;
+    }
+
+    /**
+     * Get an interval in milliseconds between checks of idle connections, so it's the precision of idle timeouts.
+     *
+     * @return the idle check interval.
+     * @since 9.9.0
+     */
+    default long getIdleCheckInterval() {
+        return 100;
+    }
+
+    /**
+     * Return true if connections in the states {@link IdleState#READER_IDLE} and {@link IdleState#ALL_IDLE} should
+     * be closed after notifying idle handlers.
+     *
+     * @return true if idle connections should be closed.
+     * @since 9.9.0
+     */
+    default boolean isCloseIdleConnections() {
+        return true;
+    }
+
+    /**
+     * Get a count of queued packets of a connection after which the connection is not writable and new packets are
+     * handled by {@link #getWriteOverflowPolicy()}.
+     *
+     * @return the high watermark or 0 if the queue is unbounded.
+     * @since 9.9.0
+     */
+    default int getWriteHighWatermark() {
+        return 0;
+    }
+
+    /**
+     * Get a count of queued packets of a not writable connection after which the connection is writable again.
+     *
+     * @return the low watermark.
+     * @since 9.9.0
+     */
+    default int getWriteLowWatermark() {
+        return 0;
+    }
+
+    /**
+     * Get a policy to handle packets which are sent to a not writable connection.
+     *
+     * @return the write overflow policy.
+     * @since 9.9.0
+     */
+    default @NotNull WriteOverflowPolicy getWriteOverflowPolicy() {
+        return WriteOverflowPolicy.QUEUE;
+    }
+
+    /**
+     * Return true if queued {@link com.ss.rlib.network.packet.PacketQoS#CONFLATABLE} packets of connections are
+     * replaced by newer packets with equal conflation keys.
+     *
+     * @return true if conflation of pending packets is enabled.
+     * @see com.ss.rlib.network.packet.WritablePacket#getConflationKey()
+     * @since 9.9.0
+     */
+    default boolean isConflationEnabled() {
+        return false;
+    }
+
+    /**
+     * Get a min length of packet's data to compress it by Deflate. Compression changes the format of packets, so it
+     * should be enabled on both sides of connections.
+     *
+     * @return the compression threshold or 0 if compression is disabled.
+     * @see com.ss.rlib.network.packet.PacketCompressor
+     * @since 9.9.0
+     */
+    default int getCompressionThreshold() {
+        return 0;
+    }
+
+    /**
+     * Get a level of Deflate compression of packets.
+     *
+     * @return the compression level from {@link Deflater#BEST_SPEED} to {@link Deflater#BEST_COMPRESSION}.
+     * @since 9.9.0
+     */
+    default int getCompressionLevel() {
+        return Deflater.BEST_SPEED;
+    }
+
+    /**
+     * Get a max length of received packets which are collected to buffers, a connection which receives a bigger
+     * packet is closed. Packets of {@link com.ss.rlib.network.packet.StreamingReadablePacket} aren't limited by
+     * this size. The size is limited by 16MB by default, so a peer can't make a connection collect a huge packet
+     * by a forged length.
+     *
+     * @return the max packet size or 0 if the size isn't limited.
+     * @since 9.9.0
+     */
+    default int getMaxPacketSize() {
+        return 16 * 1024 * 1024;
+    }
+
+    /**
+     * Get a max length of the original data of received compressed packets, a connection which receives a packet
+     * with bigger original data is closed. Unlike {@link #getMaxPacketSize()}, this limit is always applied, because
+     * the original length is sent by a peer and a small compressed packet can declare a huge original length.
+     *
+     * @return the max decompressed packet size.
+     * @since 9.9.0
+     */
+    default int getMaxDecompressedPacketSize() {
+        return 16 * 1024 * 1024;
+    }
+
+    /**
+     * Return true if a read buffer of a connection is resized by sizes of received data. A read buffer starts from
+     * {@link #getMinReadBufferSize()}, it's grown when reads fill the buffer and shrunk when reads stay small.
+     * A pending buffer of a connection is resized with the read buffer to the double size of the read buffer.
+     *
+     * @return true if read buffers are adaptive.
+     * @since 9.9.0
+     */
+    default boolean isAdaptiveReadBuffer() {
+        return false;
+    }
+
+    /**
+     * Get a min size of adaptive read buffers.
+     *
+     * @return the min read buffer size.
+     * @since 9.9.0
+     */
+    default int getMinReadBufferSize() {
+        return 512;
+    }
+
+    /**
+     * Get a max size of adaptive read buffers.
+     *
+     * @return the max read buffer size.
+     * @since 9.9.0
+     */
+    default int getMaxReadBufferSize() {
+        return 64 * 1024;
+    }
+
+    /**
+     * Return true if {@link java.net.StandardSocketOptions#TCP_NODELAY} should be enabled for sockets of connections.
+     *
+     * @return true if Nagle's algorithm is disabled.
+     * @since 9.9.0
+     */
+    default boolean isTcpNoDelay() {
+        return false;
+    }
+
+    /**
+     * Return true if {@link java.net.StandardSocketOptions#SO_KEEPALIVE} should be enabled for sockets of
+     * connections.
+     *
+     * @return true if TCP keepalive is enabled.
+     * @since 9.9.0
+     */
+    default boolean isKeepAlive() {
+        return false;
+    }
+
+    /**
+     * Get a size of socket receive buffers ({@link java.net.StandardSocketOptions#SO_RCVBUF}), it's applied to
+     * server sockets as well, so accepted connections get it before the TCP window is negotiated.
+     *
+     * @return the socket receive buffer size or 0 to use the system default.
+     * @since 9.9.0
+     */
+    default int getSocketReceiveBufferSize() {
+        return 0;
+    }
+
+    /**
+     * Get a size of socket send buffers ({@link java.net.StandardSocketOptions#SO_SNDBUF}).
+     *
+     * @return the socket send buffer size or 0 to use the system default.
+     * @since 9.9.0
+     */
+    default int getSocketSendBufferSize() {
+        return 0;
+    }
+
     default @NotNull ByteOrder getByteOrder() {
         return ByteOrder.BIG_ENDIAN;
     }
@@ -6,7 +6,10 @@ import org.jetbrains.annotations.Nullable;
 import java.nio.ByteBuffer;
 
 /**
- * The interface to implement a network cryptor.
+ * The interface to implement a network cryptor of a connection. A cryptor encrypts and decrypts data of packets
+ * in place, so the length of data isn't changed. The length header of packets isn't encrypted, all other data of
+ * a packet is encrypted after serializing and compressing and is decrypted before decompressing and reading. The
+ * cryptor should be changed by both sides of a connection on the same packet.
  *
  * @author JavaSaBr
  */
@@ -18,16 +21,42 @@ public interface NetworkCryptor {
     @NotNull NetworkCryptor NULL = new NetworkCryptor() {
 
         @Override
-        public @Nullable ByteBuffer decrypt(@NotNull ByteBuffer data, int length, @NotNull ByteBuffer toStore) {
-            return null;
+        public void decrypt(@NotNull ByteBuffer buffer, int offset, int length) {
         }
 
         @Override
-        public @Nullable ByteBuffer encrypt(@NotNull ByteBuffer data, int length, @NotNull ByteBuffer toStore) {
-            return null;
+        public void encrypt(@NotNull ByteBuffer buffer, int offset, int length) {
         }
     };
 
+    /**
+     * Decrypt data in place, the position and the limit of the buffer aren't changed. The default implementation
+     * uses the deprecated {@link #decrypt(ByteBuffer, int, ByteBuffer)} and copies decrypted data back.
+     *
+     * @param buffer the buffer with data to decrypt.
+     * @param offset the absolute offset of data in the buffer.
+     * @param length the data length.
+     * @since 9.9.0
+     */
+    default void decrypt(@NotNull ByteBuffer buffer, int offset, int length) {
+        var data = buffer.duplicate().limit(offset + length).position(offset);
+        copyInPlace(decrypt(data, length, ByteBuffer.allocate(length)), buffer, offset, length);
+    }
+
+    /**
+     * Encrypt data in place, the position and the limit of the buffer aren't changed. The default implementation
+     * uses the deprecated {@link #encrypt(ByteBuffer, int, ByteBuffer)} and copies encrypted data back.
+     *
+     * @param buffer the buffer with data to encrypt.
+     * @param offset the absolute offset of data in the buffer.
+     * @param length the data length.
+     * @since 9.9.0
+     */
+    default void encrypt(@NotNull ByteBuffer buffer, int offset, int length) {
+        var data = buffer.duplicate().limit(offset + length).position(offset);
+        copyInPlace(encrypt(data, length, ByteBuffer.allocate(length)), buffer, offset, length);
+    }
+
     /**
      * Decrypt data.
      *
@@ -35,8 +64,12 @@ public interface NetworkCryptor {
      * @param length  the data length.
      * @param toStore the buffer to store decrypted data.
      * @return the buffer with decrypted data or null if don't need to decrypt anything.
+     * @deprecated cryptors work in place, implement {@link #decrypt(ByteBuffer, int, int)} instead.
      */
-    @Nullable ByteBuffer decrypt(@NotNull ByteBuffer data, int length, @NotNull ByteBuffer toStore);
+    @Deprecated
+    default @Nullable ByteBuffer decrypt(@NotNull ByteBuffer data, int length, @NotNull ByteBuffer toStore) {
+        return null;
+    }
 
     /**
      * Encrypt data.
@@ -44,7 +77,25 @@ public interface NetworkCryptor {
      * @param data    the buffer with data to encrypt.
      * @param length  the data length.
      * @param toStore the buffer to store encrypted data.
-     * @return the buffer with encrypted data or null if don't need to decrypt encrypt.
+     * @return the buffer with encrypted data or null if don't need to encrypt anything.
+     * @deprecated cryptors work in place, implement {@link #encrypt(ByteBuffer, int, int)} instead.
      */
-    @Nullable ByteBuffer encrypt(@NotNull ByteBuffer data, int length, @NotNull ByteBuffer toStore);
+    @Deprecated
+    default @Nullable ByteBuffer encrypt(@NotNull ByteBuffer data, int length, @NotNull ByteBuffer toStore) {
+        return null;
+    }
+
+    private static void copyInPlace(@Nullable ByteBuffer result, @NotNull ByteBuffer buffer, int offset, int length) {
+
+        if (result == null) {
+            return;
+        } else if (result.remaining() != length) {
+            throw new IllegalStateException("The cryptor changed the length of data from " + length + " to " +
+                result.remaining());
+        }
+
+        buffer.duplicate()
+            .position(offset)
+            .put(result);
+    }
 }
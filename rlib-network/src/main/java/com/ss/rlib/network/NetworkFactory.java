@@ -1,18 +1,30 @@
 package com.ss.rlib.network;
 
 import com.ss.rlib.network.client.ClientNetwork;
+import com.ss.rlib.network.client.PooledClientNetwork;
 import com.ss.rlib.network.client.impl.DefaultClientNetwork;
+import com.ss.rlib.network.client.impl.DefaultPooledClientNetwork;
+import com.ss.rlib.network.client.impl.SelectorClientNetwork;
+import com.ss.rlib.network.datagram.DatagramNetwork;
+import com.ss.rlib.network.datagram.impl.AbstractDatagramConnection;
+import com.ss.rlib.network.datagram.impl.DefaultDatagramConnection;
+import com.ss.rlib.network.datagram.impl.DefaultDatagramNetwork;
 import com.ss.rlib.network.impl.DefaultBufferAllocator;
 import com.ss.rlib.network.impl.DefaultConnection;
+import com.ss.rlib.network.impl.PooledBufferAllocator;
 import com.ss.rlib.network.impl.StringDataConnection;
 import com.ss.rlib.network.impl.StringDataSSLConnection;
+import com.ss.rlib.network.packet.impl.DefaultDatagramReadablePacket;
 import com.ss.rlib.network.packet.impl.DefaultReadablePacket;
 import com.ss.rlib.network.packet.registry.ReadablePacketRegistry;
 import com.ss.rlib.network.server.ServerNetwork;
 import com.ss.rlib.network.server.impl.DefaultServerNetwork;
+import com.ss.rlib.network.server.impl.EventLoopServerNetwork;
+import com.ss.rlib.network.server.impl.SelectorServerNetwork;
 import org.jetbrains.annotations.NotNull;
 
 import javax.net.ssl.SSLContext;
+import java.net.InetSocketAddress;
 import java.nio.channels.AsynchronousSocketChannel;
 import java.util.function.BiFunction;
 
@@ -27,6 +39,11 @@ public final class NetworkFactory {
         @NotNull NetworkConfig networkConfig,
         @NotNull BiFunction<Network<C>, AsynchronousSocketChannel, C> channelToConnection
     ) {
+
+        if (networkConfig.getTransport() == NetworkTransport.SELECTOR) {
+            return new SelectorClientNetwork<>(networkConfig, channelToConnection);
+        }
+
         return new DefaultClientNetwork<>(networkConfig, channelToConnection);
     }
 
@@ -34,6 +51,13 @@ public final class NetworkFactory {
         @NotNull ServerNetworkConfig networkConfig,
         @NotNull BiFunction<Network<C>, AsynchronousSocketChannel, C> channelToConnection
     ) {
+
+        if (networkConfig.getTransport() == NetworkTransport.SELECTOR) {
+            return new SelectorServerNetwork<>(networkConfig, channelToConnection);
+        } else if (networkConfig.isEventLoopMode()) {
+            return new EventLoopServerNetwork<>(networkConfig, channelToConnection);
+        }
+
         return new DefaultServerNetwork<>(networkConfig, channelToConnection);
     }
 
@@ -237,6 +261,135 @@ public final class NetworkFactory {
         );
     }
 
+    /**
+     * Create a datagram network.
+     *
+     * @param networkConfig       the network config.
+     * @param bufferAllocator     the buffer allocator of datagrams.
+     * @param addressToConnection the factory of virtual connections to remote addresses.
+     * @param <C>                 the connection's type.
+     * @return the datagram network.
+     * @since 9.9.0
+     */
+    public static <C extends AbstractDatagramConnection<?, ?>> @NotNull DatagramNetwork<C> newDatagramNetwork(
+        @NotNull DatagramNetworkConfig networkConfig,
+        @NotNull BufferAllocator bufferAllocator,
+        @NotNull BiFunction<DefaultDatagramNetwork<C>, InetSocketAddress, C> addressToConnection
+    ) {
+        return new DefaultDatagramNetwork<>(networkConfig, bufferAllocator, addressToConnection);
+    }
+
+    /**
+     * Create id based packet default datagram network.
+     *
+     * @param packetRegistry the readable packet registry.
+     * @return the datagram network.
+     * @since 9.9.0
+     */
+    public static @NotNull DatagramNetwork<DefaultDatagramConnection> newDefaultDatagramNetwork(
+        @NotNull ReadablePacketRegistry<DefaultDatagramReadablePacket> packetRegistry
+    ) {
+        return newDefaultDatagramNetwork(
+            DatagramNetworkConfig.DEFAULT_DATAGRAM,
+            new PooledBufferAllocator(DatagramNetworkConfig.DEFAULT_DATAGRAM),
+            packetRegistry
+        );
+    }
+
+    /**
+     * Create id based packet default datagram network.
+     *
+     * @param networkConfig   the network config.
+     * @param bufferAllocator the buffer allocator of datagrams.
+     * @param packetRegistry  the readable packet registry.
+     * @return the datagram network.
+     * @since 9.9.0
+     */
+    public static @NotNull DatagramNetwork<DefaultDatagramConnection> newDefaultDatagramNetwork(
+        @NotNull DatagramNetworkConfig networkConfig,
+        @NotNull BufferAllocator bufferAllocator,
+        @NotNull ReadablePacketRegistry<DefaultDatagramReadablePacket> packetRegistry
+    ) {
+        return newDatagramNetwork(
+            networkConfig,
+            bufferAllocator,
+            (network, address) -> new DefaultDatagramConnection(
+                network,
+                address,
+                bufferAllocator,
+                packetRegistry
+            )
+        );
+    }
+
+    /**
+     * Create a client network with pools of connections to target servers.
+     *
+     * @param networkConfig       the network config.
+     * @param channelToConnection the function to create a connection for a connected channel.
+     * @param <C>                 the connection's type.
+     * @return the pooled client network.
+     */
+    public static <C extends UnsafeConnection<?, ?>> @NotNull PooledClientNetwork<C> newPooledClientNetwork(
+        @NotNull PooledClientNetworkConfig networkConfig,
+        @NotNull BiFunction<Network<C>, AsynchronousSocketChannel, C> channelToConnection
+    ) {
+        return new DefaultPooledClientNetwork<>(networkConfig, channelToConnection);
+    }
+
+    /**
+     * Create a string packet based client network with pools of connections to target servers.
+     *
+     * @param networkConfig the network config.
+     * @return the pooled client network.
+     */
+    public static @NotNull PooledClientNetwork<StringDataConnection> newStringDataPooledClientNetwork(
+        @NotNull PooledClientNetworkConfig networkConfig
+    ) {
+        return newStringDataPooledClientNetwork(networkConfig, new DefaultBufferAllocator(networkConfig));
+    }
+
+    /**
+     * Create a string packet based client network with pools of connections to target servers.
+     *
+     * @param networkConfig   the network config.
+     * @param bufferAllocator the buffer allocator.
+     * @return the pooled client network.
+     */
+    public static @NotNull PooledClientNetwork<StringDataConnection> newStringDataPooledClientNetwork(
+        @NotNull PooledClientNetworkConfig networkConfig,
+        @NotNull BufferAllocator bufferAllocator
+    ) {
+        return newPooledClientNetwork(
+            networkConfig,
+            (network, channel) -> new StringDataConnection(network, channel, bufferAllocator)
+        );
+    }
+
+    /**
+     * Create id based packet client network with pools of connections to target servers.
+     *
+     * @param networkConfig   the network config.
+     * @param bufferAllocator the buffer allocator.
+     * @param packetRegistry  the readable packet registry.
+     * @return the pooled client network.
+     */
+    public static @NotNull PooledClientNetwork<DefaultConnection> newDefaultPooledClientNetwork(
+        @NotNull PooledClientNetworkConfig networkConfig,
+        @NotNull BufferAllocator bufferAllocator,
+        @NotNull ReadablePacketRegistry<DefaultReadablePacket> packetRegistry
+    ) {
+        return newPooledClientNetwork(
+            networkConfig,
+            (network, channel) -> new DefaultConnection(
+                network,
+                channel,
+                bufferAllocator,
+                packetRegistry
+            )
+        );
+    }
+
     private NetworkFactory() throws Exception {
         throw new Exception("no permission");
     }
@@ -0,0 +1,23 @@
+package com.ss.rlib.network;
+
+/**
+ * The list of available transports of networks.
+ *
+ * @author JavaSaBr
+ * @since 9.9.0
+ */
+public enum NetworkTransport {
+
+    /**
+     * The transport based on {@link java.nio.channels.AsynchronousSocketChannel} and channel groups.
+     */
+    ASYNCHRONOUS_CHANNEL,
+
+    /**
+     * The transport based on non-blocking {@link java.nio.channels.SocketChannel} and own selector event loops.
+     * All reads and writes are done in the thread of an event loop, an operation which is started by another thread
+     * is handed to its loop. The loop tries an operation right away and registers interest of the selector only when
+     * the operation would block.
+     */
+    SELECTOR
+}
@@ -0,0 +1,144 @@
+package com.ss.rlib.network;
+
+import com.ss.rlib.network.packet.StringCodec;
+import lombok.Builder;
+import lombok.Getter;
+import org.jetbrains.annotations.NotNull;
+
+import java.nio.ByteOrder;
+import java.util.concurrent.Executor;
+import java.util.zip.Deflater;
+
+/**
+ * The interface to implement a config of a client network with many connections.
+ *
+ * @author JavaSaBr
+ * @since 9.9.0
+ */
+public interface PooledClientNetworkConfig extends NetworkConfig {
+
+    @Builder
+    @Getter
+    class SimplePooledClientNetworkConfig implements PooledClientNetworkConfig {
+
+        @Builder.Default
+        private String threadGroupName = "PooledClientNetworkThread";
+        @Builder.Default
+        private ByteOrder byteOrder = ByteOrder.BIG_ENDIAN;
+
+        @Builder.Default
+        private int readBufferSize = 2048;
+        @Builder.Default
+        private int pendingBufferSize = 4096;
+        @Builder.Default
+        private int writeBufferSize = 2048;
+        @Builder.Default
+        private int maxPacketsByWrite = 1;
+        @Builder.Default
+        private int threadGroupSize = Runtime.getRuntime().availableProcessors();
+
+        @Builder.Default
+        private int poolSize = 1;
+        @Builder.Default
+        private long reconnectMinDelay = 100;
+        @Builder.Default
+        private long reconnectMaxDelay = 10_000;
+
+        @Builder.Default
+        private StringCodec stringCodec = StringCodec.UTF_16;
+        @Builder.Default
+        private boolean metricsEnabled = true;
+
+        @Builder.Default
+        private long readIdleTimeout = 0;
+        @Builder.Default
+        private long writeIdleTimeout = 0;
+        @Builder.Default
+        private long allIdleTimeout = 0;
+        @Builder.Default
+        private long idleCheckInterval = 100;
+        @Builder.Default
+        private boolean closeIdleConnections = true;
+
+        @Builder.Default
+        private int writeHighWatermark = 0;
+        @Builder.Default
+        private int writeLowWatermark = 0;
+        @Builder.Default
+        private WriteOverflowPolicy writeOverflowPolicy = WriteOverflowPolicy.QUEUE;
+        @Builder.Default
+        private boolean conflationEnabled = false;
+
+        @Builder.Default
+        private int compressionThreshold = 0;
+        @Builder.Default
+        private int compressionLevel = Deflater.BEST_SPEED;
+
+        @Builder.Default
+        private int maxPacketSize = 16 * 1024 * 1024;
+        @Builder.Default
+        private int maxDecompressedPacketSize = 16 * 1024 * 1024;
+
+        @Builder.Default
+        private boolean adaptiveReadBuffer = false;
+        @Builder.Default
+        private int minReadBufferSize = 512;
+        @Builder.Default
+        private int maxReadBufferSize = 64 * 1024;
+
+        @Builder.Default
+        private boolean tcpNoDelay = false;
+        @Builder.Default
+        private boolean keepAlive = false;
+        @Builder.Default
+        private int socketReceiveBufferSize = 0;
+        @Builder.Default
+        private int socketSendBufferSize = 0;
+
+        private Executor sslTaskExecutor;
+    }
+
+    @NotNull PooledClientNetworkConfig DEFAULT_POOLED_CLIENT = new PooledClientNetworkConfig() {};
+
+    @Override
+    default @NotNull String getThreadGroupName() {
+        return "PooledClientNetworkThread";
+    }
+
+    /**
+     * Get a count of threads of the channel group which is shared by all connections of a network.
+     *
+     * @return the thread group size.
+     */
+    default int getThreadGroupSize() {
+        return Runtime.getRuntime().availableProcessors();
+    }
+
+    /**
+     * Get a default count of connections of a pool to one target address.
+     *
+     * @return the pool size.
+     */
+    default int getPoolSize() {
+        return 1;
+    }
+
+    /**
+     * Get a delay in milliseconds before the first reconnect of a closed connection of a pool, the delay is doubled
+     * by every failed attempt up to {@link #getReconnectMaxDelay()}.
+     *
+     * @return the min reconnect delay.
+     */
+    default long getReconnectMinDelay() {
+        return 100;
+    }
+
+    /**
+     * Get a max delay in milliseconds between reconnect attempts of a pool.
+     *
+     * @return the max reconnect delay.
+     */
+    default long getReconnectMaxDelay() {
+        return 10_000;
+    }
+}
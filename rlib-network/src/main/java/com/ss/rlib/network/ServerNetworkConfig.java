@@ -1,11 +1,14 @@
 package com.ss.rlib.network;
 
 import com.ss.rlib.common.concurrent.GroupThreadFactory;
+import com.ss.rlib.network.packet.StringCodec;
 import lombok.Builder;
 import lombok.Getter;
 import org.jetbrains.annotations.NotNull;
 
 import java.nio.ByteOrder;
+import java.util.concurrent.Executor;
+import java.util.zip.Deflater;
 
 /**
  * The interface to implement a server network config.
@@ -32,9 +35,73 @@ public interface ServerNetworkConfig extends NetworkConfig {
         @Builder.Default
         private int writeBufferSize = 2048;
         @Builder.Default
+        private int maxPacketsByWrite = 1;
+        @Builder.Default
         private int threadGroupSize = 1;
         @Builder.Default
         private int threadPriority = Thread.NORM_PRIORITY;
+        @Builder.Default
+        private boolean eventLoopMode = false;
+        @Builder.Default
+        private NetworkTransport transport = NetworkTransport.ASYNCHRONOUS_CHANNEL;
+
+        @Builder.Default
+        private StringCodec stringCodec = StringCodec.UTF_16;
+        @Builder.Default
+        private boolean metricsEnabled = true;
+
+        @Builder.Default
+        private long readIdleTimeout = 0;
+        @Builder.Default
+        private long writeIdleTimeout = 0;
+        @Builder.Default
+        private long allIdleTimeout = 0;
+        @Builder.Default
+        private long idleCheckInterval = 100;
+        @Builder.Default
+        private boolean closeIdleConnections = true;
+
+        @Builder.Default
+        private int writeHighWatermark = 0;
+        @Builder.Default
+        private int writeLowWatermark = 0;
+        @Builder.Default
+        private WriteOverflowPolicy writeOverflowPolicy = WriteOverflowPolicy.QUEUE;
+        @Builder.Default
+        private boolean conflationEnabled = false;
+
+        @Builder.Default
+        private int compressionThreshold = 0;
+        @Builder.Default
+        private int compressionLevel = Deflater.BEST_SPEED;
+
+        @Builder.Default
+        private int maxPacketSize = 16 * 1024 * 1024;
+        @Builder.Default
+        private int maxDecompressedPacketSize = 16 * 1024 * 1024;
+
+        @Builder.Default
+        private boolean adaptiveReadBuffer = false;
+        @Builder.Default
+        private int minReadBufferSize = 512;
+        @Builder.Default
+        private int maxReadBufferSize = 64 * 1024;
+
+        @Builder.Default
+        private boolean tcpNoDelay = false;
+        @Builder.Default
+        private boolean keepAlive = false;
+        @Builder.Default
+        private int socketReceiveBufferSize = 0;
+        @Builder.Default
+        private int socketSendBufferSize = 0;
+
+        private Executor sslTaskExecutor;
+
+        @Override
+        public int getThreadGroupMinSize() {
+            return threadGroupSize;
+        }
     }
 
     @NotNull ServerNetworkConfig DEFAULT_SERVER = new ServerNetworkConfig() {
@@ -85,4 +152,16 @@ public interface ServerNetworkConfig extends NetworkConfig {
     default int getThreadPriority() {
         return Thread.NORM_PRIORITY;
     }
+
+    /**
+     * Check whether a server network should use pinned event loops instead of one shared thread group. Every event
+     * loop is one network thread with own accepting channel, and all completions of a connection accepted by a loop
+     * run on the thread of this loop. The count of loops is {@link #getThreadGroupMaxSize()}.
+     *
+     * @return true if a server network should use pinned event loops.
+     * @since 9.9.0
+     */
+    default boolean isEventLoopMode() {
+        return false;
+    }
 }
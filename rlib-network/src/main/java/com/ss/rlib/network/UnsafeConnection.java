@@ -2,9 +2,28 @@ package com.ss.rlib.network;
 
 import com.ss.rlib.network.packet.ReadablePacket;
 import com.ss.rlib.network.packet.WritablePacket;
+import com.ss.rlib.network.packet.impl.SerializedWritablePacket;
+import org.jetbrains.annotations.NotNull;
 
 public interface UnsafeConnection<R extends ReadablePacket, W extends WritablePacket> extends Connection<R, W> {
 
     void onConnected();
 
+    /**
+     * Serialize the packet with all headers by the packet format of this connection to send it to several
+     * connections with the same format.
+     *
+     * @param packet the packet to serialize.
+     * @return the serialized packet with one reference which is owned by the caller.
+     * @since 9.9.0
+     */
+    @NotNull SerializedWritablePacket serializeShared(@NotNull WritablePacket packet);
+
+    /**
+     * Send the serialized packet, the packet is retained until it's written.
+     *
+     * @param packet the serialized packet.
+     * @since 9.9.0
+     */
+    void sendSerialized(@NotNull SerializedWritablePacket packet);
 }
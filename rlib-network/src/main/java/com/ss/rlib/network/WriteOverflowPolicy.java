@@ -0,0 +1,39 @@
+package com.ss.rlib.network;
+
+/**
+ * The list of policies to handle packets which are sent to a not writable connection, a connection is not writable
+ * when count of its queued packets reaches the high watermark.
+ *
+ * @author JavaSaBr
+ * @since 9.9.0
+ * @see NetworkConfig#getWriteHighWatermark()
+ */
+public enum WriteOverflowPolicy {
+
+    /**
+     * Queue the packet anyway, so the high watermark only changes the writable state.
+     */
+    QUEUE,
+
+    /**
+     * Drop the packet, the feedback of the packet is completed with false.
+     */
+    DROP,
+
+    /**
+     * Drop the packet and complete the feedback of the packet exceptionally by
+     * {@link com.ss.rlib.network.exception.WriteOverflowException}.
+     */
+    FAIL,
+
+    /**
+     * Block the sending thread until the connection is writable again or closed. Network threads aren't blocked,
+     * packets which are sent by them are queued as by {@link #QUEUE}.
+     */
+    BLOCK,
+
+    /**
+     * Close the connection, the feedback of the packet is completed with false.
+     */
+    CLOSE
+}
@@ -0,0 +1,18 @@
+package com.ss.rlib.network.annotation;
+
+import java.lang.annotation.*;
+
+/**
+ * The annotation to generate a table of readable packets which are nested in the annotated type. The annotation
+ * processor of the module rlib-network-processor generates a class with the name of the type and the suffix
+ * 'Registry' which registers every nested readable packet with {@link PacketDescription} by its id and its
+ * constructor, so a registry is filled without reflection and new packets are created without reflection as well.
+ *
+ * @author JavaSaBr
+ * @since 9.9.0
+ */
+@Documented
+@Retention(RetentionPolicy.SOURCE)
+@Target({ElementType.TYPE})
+public @interface GeneratePacketRegistry {
+}
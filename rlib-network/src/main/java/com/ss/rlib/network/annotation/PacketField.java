@@ -0,0 +1,20 @@
+package com.ss.rlib.network.annotation;
+
+import java.lang.annotation.*;
+
+/**
+ * The annotation to mark a field of a network packet which is read and written by generated code. The annotation
+ * processor of the module rlib-network-processor generates a class with the name of the packet and the suffix
+ * 'Codec' in the package of the packet, the fields are read and written in the order of their declaration.
+ * <p>
+ * Supported types are primitives, {@link String} and byte arrays. Fields shouldn't be private or static, fields of
+ * readable packets shouldn't be final.
+ *
+ * @author JavaSaBr
+ * @since 9.9.0
+ */
+@Documented
+@Retention(RetentionPolicy.SOURCE)
+@Target({ElementType.FIELD})
+public @interface PacketField {
+}
@@ -0,0 +1,34 @@
+package com.ss.rlib.network.capture;
+
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * The list of directions of captured packets.
+ *
+ * @author JavaSaBr
+ * @since 9.9.0
+ */
+public enum CaptureDirection {
+
+    /**
+     * A packet which was received by the capturing side.
+     */
+    INBOUND,
+
+    /**
+     * A packet which was written by the capturing side.
+     */
+    OUTBOUND;
+
+    private static final CaptureDirection[] VALUES = values();
+
+    /**
+     * Get a direction by its ordinal.
+     *
+     * @param ordinal the ordinal.
+     * @return the direction.
+     */
+    public static @NotNull CaptureDirection of(int ordinal) {
+        return VALUES[ordinal];
+    }
+}
@@ -0,0 +1,36 @@
+package com.ss.rlib.network.capture;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * The framed packet which was read from a capture file.
+ *
+ * @author JavaSaBr
+ * @since 9.9.0
+ */
+@Getter
+@AllArgsConstructor
+public final class CapturedFrame {
+
+    /**
+     * The id of the captured connection, ids are unique in one capture file.
+     */
+    private final int connectionId;
+
+    /**
+     * The direction of the packet.
+     */
+    private final @NotNull CaptureDirection direction;
+
+    /**
+     * The time in nanoseconds from starting the capture.
+     */
+    private final long timestamp;
+
+    /**
+     * The packet data with its length header.
+     */
+    private final @NotNull byte[] data;
+}
@@ -0,0 +1,20 @@
+package com.ss.rlib.network.capture;
+
+/**
+ * The list of modes of replaying captured traffic.
+ *
+ * @author JavaSaBr
+ * @since 9.9.0
+ */
+public enum ReplayMode {
+
+    /**
+     * Packets are sent with the recorded intervals between them.
+     */
+    RECORDED_SPEED,
+
+    /**
+     * Packets are sent as fast as connections can write them.
+     */
+    MAX_SPEED
+}
@@ -0,0 +1,65 @@
+package com.ss.rlib.network.capture;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * The result of replaying captured traffic.
+ *
+ * @author JavaSaBr
+ * @since 9.9.0
+ */
+@Getter
+@AllArgsConstructor
+public final class ReplayResult {
+
+    /**
+     * The count of replayed connections.
+     */
+    private final int connections;
+
+    /**
+     * The count of sent packets.
+     */
+    private final long frames;
+
+    /**
+     * The count of sent bytes.
+     */
+    private final long bytes;
+
+    /**
+     * The time in nanoseconds from sending the first packet to writing all packets.
+     */
+    private final long duration;
+
+    /**
+     * The max delay in nanoseconds of sending a packet after its recorded time.
+     */
+    private final long maxLag;
+
+    /**
+     * Get the count of sent packets per second.
+     *
+     * @return the count of sent packets per second.
+     */
+    public double getFramesPerSecond() {
+        return duration == 0 ? 0 : frames * 1_000_000_000D / duration;
+    }
+
+    /**
+     * Get the count of sent bytes per second.
+     *
+     * @return the count of sent bytes per second.
+     */
+    public double getBytesPerSecond() {
+        return duration == 0 ? 0 : bytes * 1_000_000_000D / duration;
+    }
+
+    @Override
+    public @NotNull String toString() {
+        return "ReplayResult{" + "connections=" + connections + ", frames=" + frames + ", bytes=" + bytes +
+            ", duration=" + duration + ", maxLag=" + maxLag + ", framesPerSecond=" + getFramesPerSecond() + '}';
+    }
+}
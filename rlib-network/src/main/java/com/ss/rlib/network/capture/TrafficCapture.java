@@ -0,0 +1,40 @@
+package com.ss.rlib.network.capture;
+
+import com.ss.rlib.network.Connection;
+import org.jetbrains.annotations.NotNull;
+
+import java.nio.ByteBuffer;
+
+/**
+ * The interface to implement a capture of network traffic. A capture gets framed packets with their length headers
+ * as they are written to or read from a channel, but without encryption, so captured packets can be sent again by
+ * a connection with the same packet format. Packets which are received or written by chunks as streaming packets
+ * aren't captured. A capture is called by I/O threads, so it should be fast and must not block.
+ *
+ * @author JavaSaBr
+ * @since 9.9.0
+ */
+public interface TrafficCapture {
+
+    /**
+     * Default NULL implementation of the traffic capture.
+     */
+    @NotNull TrafficCapture NULL = (connection, direction, buffer, offset, length) -> {};
+
+    /**
+     * Capture the framed packet, the position and the limit of the buffer aren't changed.
+     *
+     * @param connection the connection of the packet.
+     * @param direction  the direction of the packet.
+     * @param buffer     the buffer with the packet.
+     * @param offset     the absolute offset of the packet in the buffer.
+     * @param length     the length of the packet with its length header.
+     */
+    void capture(
+        @NotNull Connection<?, ?> connection,
+        @NotNull CaptureDirection direction,
+        @NotNull ByteBuffer buffer,
+        int offset,
+        int length
+    );
+}
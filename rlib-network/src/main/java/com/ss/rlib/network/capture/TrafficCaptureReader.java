@@ -0,0 +1,95 @@
+package com.ss.rlib.network.capture;
+
+import com.ss.rlib.network.capture.impl.MappedTrafficCapture;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.BufferedInputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * The reader of packets from a capture file which was written by {@link MappedTrafficCapture}. Packets are read in
+ * the capturing order.
+ *
+ * @author JavaSaBr
+ * @since 9.9.0
+ */
+public class TrafficCaptureReader implements Closeable {
+
+    protected final @NotNull DataInputStream input;
+
+    /**
+     * The time in milliseconds when the capture was started.
+     */
+    protected final long startTime;
+
+    public TrafficCaptureReader(@NotNull Path file) throws IOException {
+        this.input = new DataInputStream(new BufferedInputStream(Files.newInputStream(file), 64 * 1024));
+
+        try {
+
+            var magic = input.readInt();
+            var version = input.readInt();
+
+            if (magic != MappedTrafficCapture.MAGIC) {
+                throw new IOException("The file " + file + " isn't a capture file.");
+            } else if (version != MappedTrafficCapture.VERSION) {
+                throw new IOException("Unsupported version " + version + " of the capture file " + file);
+            }
+
+            this.startTime = input.readLong();
+
+        } catch (IOException e) {
+            input.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Get the time in milliseconds when the capture was started.
+     *
+     * @return the start time.
+     */
+    public long getStartTime() {
+        return startTime;
+    }
+
+    /**
+     * Read a next captured packet.
+     *
+     * @return the next captured packet or null if the end of the capture is reached.
+     * @throws IOException if the file can't be read.
+     */
+    public @Nullable CapturedFrame next() throws IOException {
+        try {
+
+            var connectionId = input.readInt();
+
+            // the rest of the file isn't written
+            if (connectionId == 0) {
+                return null;
+            }
+
+            var direction = CaptureDirection.of(input.readByte());
+            var timestamp = input.readLong();
+            var data = new byte[input.readInt()];
+
+            input.readFully(data);
+
+            return new CapturedFrame(connectionId, direction, timestamp, data);
+
+        } catch (EOFException e) {
+            return null;
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        input.close();
+    }
+}
@@ -0,0 +1,194 @@
+package com.ss.rlib.network.capture;
+
+import com.ss.rlib.common.function.NotNullSupplier;
+import com.ss.rlib.logger.api.Logger;
+import com.ss.rlib.logger.api.LoggerManager;
+import com.ss.rlib.network.BufferAllocator;
+import com.ss.rlib.network.Network;
+import com.ss.rlib.network.UnsafeConnection;
+import com.ss.rlib.network.client.ClientNetwork;
+import com.ss.rlib.network.packet.impl.SerializedWritablePacket;
+import org.jetbrains.annotations.NotNull;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * The tool to replay captured traffic against a server. Every captured connection is replayed by an own connection
+ * of a new client network and packets of the chosen direction are sent as is, so the server should use the same
+ * packet format and compression as the captured side and captured encrypted connections can be replayed only to
+ * a server without encryption.
+ *
+ * @author JavaSaBr
+ * @since 9.9.0
+ */
+public class TrafficReplayer {
+
+    private static final Logger LOGGER = LoggerManager.getLogger(TrafficReplayer.class);
+
+    /**
+     * The interval in nanoseconds to check writing of sent packets.
+     */
+    private static final long CHECK_INTERVAL = 100_000;
+
+    protected final @NotNull NotNullSupplier<? extends ClientNetwork<? extends UnsafeConnection<?, ?>>> networkFactory;
+    protected final @NotNull BufferAllocator bufferAllocator;
+    protected final @NotNull InetSocketAddress serverAddress;
+    protected final @NotNull CaptureDirection direction;
+    protected final @NotNull ReplayMode mode;
+
+    /**
+     * Create a new replayer.
+     *
+     * @param networkFactory  the factory of client networks.
+     * @param bufferAllocator the allocator of buffers of sent packets.
+     * @param serverAddress   the address of the server.
+     * @param direction       the direction of packets to send, {@link CaptureDirection#INBOUND} for a server capture.
+     * @param mode            the replay mode.
+     */
+    public TrafficReplayer(
+        @NotNull NotNullSupplier<? extends ClientNetwork<? extends UnsafeConnection<?, ?>>> networkFactory,
+        @NotNull BufferAllocator bufferAllocator,
+        @NotNull InetSocketAddress serverAddress,
+        @NotNull CaptureDirection direction,
+        @NotNull ReplayMode mode
+    ) {
+        this.networkFactory = networkFactory;
+        this.bufferAllocator = bufferAllocator;
+        this.serverAddress = serverAddress;
+        this.direction = direction;
+        this.mode = mode;
+    }
+
+    /**
+     * Replay the capture file and wait for writing all packets, connections are closed after replaying.
+     *
+     * @param captureFile the capture file.
+     * @return the replay result.
+     * @throws IOException if the capture file can't be read.
+     */
+    public @NotNull ReplayResult replay(@NotNull Path captureFile) throws IOException {
+
+        var connections = new HashMap<Integer, UnsafeConnection<?, ?>>();
+        var networks = new ArrayList<Network<?>>();
+
+        var frames = 0L;
+        var bytes = 0L;
+        var maxLag = 0L;
+        var firstTimestamp = -1L;
+        var startTime = 0L;
+
+        try (var reader = new TrafficCaptureReader(captureFile)) {
+
+            for (var frame = reader.next(); frame != null; frame = reader.next()) {
+
+                if (frame.getDirection() != direction) {
+                    continue;
+                }
+
+                var connection = connections.get(frame.getConnectionId());
+
+                if (connection == null) {
+
+                    var network = networkFactory.get();
+                    networks.add(network);
+
+                    connection = network.connect(serverAddress).join();
+                    connections.put(frame.getConnectionId(), connection);
+                }
+
+                if (firstTimestamp == -1) {
+                    firstTimestamp = frame.getTimestamp();
+                    startTime = System.nanoTime();
+                }
+
+                if (mode == ReplayMode.RECORDED_SPEED) {
+                    maxLag = Math.max(maxLag, waitFor(startTime + frame.getTimestamp() - firstTimestamp));
+                } else {
+                    waitForWritable(connection);
+                }
+
+                send(connection, frame.getData());
+
+                frames++;
+                bytes += frame.getData().length;
+            }
+
+            waitForWritten(connections.values());
+
+            var duration = firstTimestamp == -1 ? 0 : System.nanoTime() - startTime;
+            var result = new ReplayResult(connections.size(), frames, bytes, duration, maxLag);
+
+            LOGGER.info(result, res -> "Replayed captured traffic: " + res);
+
+            return result;
+
+        } finally {
+            networks.forEach(Network::shutdown);
+        }
+    }
+
+    /**
+     * Send the captured packet data as is.
+     *
+     * @param connection the connection.
+     * @param data       the packet data with its length header.
+     */
+    protected void send(@NotNull UnsafeConnection<?, ?> connection, @NotNull byte[] data) {
+
+        var buffer = bufferAllocator.takeBuffer(data.length)
+            .put(data)
+            .flip();
+
+        var packet = new SerializedWritablePacket(buffer, bufferAllocator, "CapturedPacket");
+        try {
+            connection.sendSerialized(packet);
+        } finally {
+            packet.release();
+        }
+    }
+
+    /**
+     * Wait for the time of sending a next packet.
+     *
+     * @param sendTime the time in nanoseconds to send a next packet.
+     * @return the delay in nanoseconds after the sending time.
+     */
+    protected long waitFor(long sendTime) {
+
+        for (var delay = sendTime - System.nanoTime(); delay > 0; delay = sendTime - System.nanoTime()) {
+            LockSupport.parkNanos(delay);
+        }
+
+        return System.nanoTime() - sendTime;
+    }
+
+    /**
+     * Wait while the connection isn't writable because of too many pending packets.
+     *
+     * @param connection the connection.
+     */
+    protected void waitForWritable(@NotNull UnsafeConnection<?, ?> connection) {
+        while (!connection.isWritable() && !connection.isClosed()) {
+            LockSupport.parkNanos(CHECK_INTERVAL);
+        }
+    }
+
+    /**
+     * Wait for writing all pending packets of the connections.
+     *
+     * @param connections the connections.
+     */
+    protected void waitForWritten(@NotNull Collection<UnsafeConnection<?, ?>> connections) {
+        for (var connection : connections) {
+            while (connection.getPendingBytes() > 0 && !connection.isClosed()) {
+                LockSupport.parkNanos(CHECK_INTERVAL);
+            }
+        }
+    }
+}
@@ -0,0 +1,222 @@
+package com.ss.rlib.network.capture.impl;
+
+import com.ss.rlib.logger.api.Logger;
+import com.ss.rlib.logger.api.LoggerManager;
+import com.ss.rlib.network.Connection;
+import com.ss.rlib.network.capture.CaptureDirection;
+import com.ss.rlib.network.capture.TrafficCapture;
+import com.ss.rlib.network.capture.TrafficCaptureReader;
+import org.jetbrains.annotations.NotNull;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * The implementation of {@link TrafficCapture} which appends captured packets to a memory-mapped file. The file is
+ * mapped by big regions, so appending a packet is only copying its data to the mapped memory without any system
+ * calls. The file has the header {@link #MAGIC}, {@link #VERSION} and the start time in milliseconds and then
+ * records of packets: the connection id, the direction, the time in nanoseconds from the start, the length and the
+ * packet data. The connection id is written last, so a not fully written record is seen by readers as the end of
+ * the file.
+ *
+ * @author JavaSaBr
+ * @see TrafficCaptureReader
+ * @since 9.9.0
+ */
+public class MappedTrafficCapture implements TrafficCapture, Closeable {
+
+    private static final Logger LOGGER = LoggerManager.getLogger(MappedTrafficCapture.class);
+
+    public static final int MAGIC = 0x524C4346;
+    public static final int VERSION = 1;
+
+    public static final int FILE_HEADER_SIZE = 16;
+    public static final int RECORD_HEADER_SIZE = 17;
+
+    public static final int DEFAULT_REGION_SIZE = 64 * 1024 * 1024;
+
+    protected final @NotNull FileChannel channel;
+    protected final @NotNull Map<Connection<?, ?>, Integer> connectionIds;
+    protected final @NotNull AtomicInteger nextConnectionId;
+
+    protected final long startTime;
+    protected final int regionSize;
+
+    /**
+     * The current mapped region of the file.
+     */
+    protected @NotNull MappedByteBuffer region;
+
+    /**
+     * The position of the current region in the file.
+     */
+    protected long regionStart;
+
+    protected boolean closed;
+
+    public MappedTrafficCapture(@NotNull Path file) {
+        this(file, DEFAULT_REGION_SIZE);
+    }
+
+    public MappedTrafficCapture(@NotNull Path file, int regionSize) {
+        this.regionSize = Math.max(regionSize, FILE_HEADER_SIZE);
+        this.connectionIds = new ConcurrentHashMap<>();
+        this.nextConnectionId = new AtomicInteger();
+        this.startTime = System.nanoTime();
+
+        try {
+            this.channel = FileChannel.open(
+                file,
+                StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING,
+                StandardOpenOption.READ,
+                StandardOpenOption.WRITE
+            );
+            this.region = channel.map(MapMode.READ_WRITE, 0, this.regionSize);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+
+        region.putInt(MAGIC)
+            .putInt(VERSION)
+            .putLong(System.currentTimeMillis());
+    }
+
+    @Override
+    public void capture(
+        @NotNull Connection<?, ?> connection,
+        @NotNull CaptureDirection direction,
+        @NotNull ByteBuffer buffer,
+        int offset,
+        int length
+    ) {
+
+        var connectionId = getConnectionId(connection);
+        var timestamp = System.nanoTime() - startTime;
+
+        synchronized (this) {
+
+            if (closed) {
+                return;
+            }
+
+            var mapped = reserve(RECORD_HEADER_SIZE + length);
+            var recordStart = mapped.position();
+
+            mapped.position(recordStart + Integer.BYTES);
+            mapped.put((byte) direction.ordinal())
+                .putLong(timestamp)
+                .putInt(length);
+
+            var prevPosition = buffer.position();
+            var prevLimit = buffer.limit();
+
+            buffer.limit(offset + length)
+                .position(offset);
+
+            mapped.put(buffer);
+
+            buffer.limit(prevLimit)
+                .position(prevPosition);
+
+            // the record is committed by its connection id
+            mapped.putInt(recordStart, connectionId);
+        }
+    }
+
+    /**
+     * Get or assign an id of the connection, the id is released after closing the connection.
+     *
+     * @param connection the connection.
+     * @return the connection id.
+     */
+    protected int getConnectionId(@NotNull Connection<?, ?> connection) {
+
+        var connectionId = connectionIds.get(connection);
+
+        if (connectionId != null) {
+            return connectionId;
+        }
+
+        var newConnectionId = nextConnectionId.incrementAndGet();
+        connectionId = connectionIds.putIfAbsent(connection, newConnectionId);
+
+        if (connectionId != null) {
+            return connectionId;
+        }
+
+        connection.onClose(closed -> connectionIds.remove(closed));
+
+        return newConnectionId;
+    }
+
+    /**
+     * Get a mapped region which has enough space for the record, a next region is mapped from the current end of
+     * data if the current region doesn't have enough space.
+     *
+     * @param recordSize the size of the record.
+     * @return the mapped region.
+     */
+    protected @NotNull MappedByteBuffer reserve(int recordSize) {
+
+        if (region.remaining() >= recordSize) {
+            return region;
+        }
+
+        var nextRegionStart = regionStart + region.position();
+
+        try {
+            region = channel.map(MapMode.READ_WRITE, nextRegionStart, Math.max(regionSize, recordSize));
+            regionStart = nextRegionStart;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+
+        return region;
+    }
+
+    /**
+     * Get the count of captured bytes with headers.
+     *
+     * @return the count of captured bytes.
+     */
+    public synchronized long getCapturedBytes() {
+        return regionStart + region.position();
+    }
+
+    @Override
+    public synchronized void close() {
+
+        if (closed) {
+            return;
+        }
+
+        closed = true;
+
+        var dataLength = regionStart + region.position();
+
+        try {
+            region.force();
+            channel.truncate(dataLength);
+        } catch (IOException e) {
+            // the rest of the mapped region is filled by zeros, so the file is still readable
+            LOGGER.warning(e);
+        } finally {
+            try {
+                channel.close();
+            } catch (IOException e) {
+                LOGGER.warning(e);
+            }
+        }
+    }
+}
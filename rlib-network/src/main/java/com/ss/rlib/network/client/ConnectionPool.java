@@ -0,0 +1,75 @@
+package com.ss.rlib.network.client;
+
+import com.ss.rlib.network.Connection;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.net.InetSocketAddress;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * The interface to implement a pool of connections to one target address. A pool keeps its size by reconnecting
+ * closed connections with backoff until the pool is closed.
+ *
+ * @author JavaSaBr
+ * @since 9.9.0
+ */
+public interface ConnectionPool<C extends Connection<?, ?>> extends AutoCloseable {
+
+    /**
+     * Get the target address of this pool.
+     *
+     * @return the target address.
+     */
+    @NotNull InetSocketAddress getAddress();
+
+    /**
+     * Get the count of connections which this pool keeps.
+     *
+     * @return the pool size.
+     */
+    int getSize();
+
+    /**
+     * Get open connections of this pool.
+     *
+     * @return the list of open connections.
+     */
+    @NotNull List<C> getConnections();
+
+    /**
+     * Select an open connection with the least count of pending bytes, connections with the same count are
+     * selected in turn.
+     *
+     * @return the selected connection or null if this pool doesn't have open connections.
+     */
+    @Nullable C select();
+
+    /**
+     * Select an open connection with the least count of pending bytes or wait for the next connected connection.
+     *
+     * @return the future with the selected connection.
+     */
+    @NotNull CompletableFuture<C> acquire();
+
+    /**
+     * Get a future which is completed when all connections of this pool are connected at first time.
+     *
+     * @return the future with this pool.
+     */
+    @NotNull CompletableFuture<ConnectionPool<C>> ready();
+
+    /**
+     * Close all connections of this pool and stop reconnecting.
+     */
+    @Override
+    void close();
+
+    /**
+     * Check a closed state of this pool.
+     *
+     * @return true if this pool is already closed.
+     */
+    boolean isClosed();
+}
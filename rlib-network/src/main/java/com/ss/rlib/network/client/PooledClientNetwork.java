@@ -0,0 +1,44 @@
+package com.ss.rlib.network.client;
+
+import com.ss.rlib.network.Connection;
+import com.ss.rlib.network.Network;
+import org.jetbrains.annotations.NotNull;
+
+import java.net.InetSocketAddress;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * The interface to implement a client network with many connections. All connections of the network share one
+ * channel group and connects are asynchronous, so many connections can be opened concurrently.
+ *
+ * @author JavaSaBr
+ * @since 9.9.0
+ */
+public interface PooledClientNetwork<C extends Connection<?, ?>> extends Network<C> {
+
+    /**
+     * Open a new connection to a server by the address, the connection isn't added to any pool.
+     *
+     * @param serverAddress the server address.
+     * @return the future with the new connection.
+     */
+    @NotNull CompletableFuture<C> connect(@NotNull InetSocketAddress serverAddress);
+
+    /**
+     * Get or create a pool of connections to the address with the default pool size.
+     *
+     * @param serverAddress the server address.
+     * @return the pool of connections.
+     * @see com.ss.rlib.network.PooledClientNetworkConfig#getPoolSize()
+     */
+    @NotNull ConnectionPool<C> getPool(@NotNull InetSocketAddress serverAddress);
+
+    /**
+     * Get or create a pool of connections to the address, the size is used only by a new pool.
+     *
+     * @param serverAddress the server address.
+     * @param size          the count of connections of a new pool.
+     * @return the pool of connections.
+     */
+    @NotNull ConnectionPool<C> getPool(@NotNull InetSocketAddress serverAddress, int size);
+}
@@ -79,13 +79,13 @@ public class DefaultClientNetwork<C extends Connection<?, ?>> extends AbstractNe
 
         var asyncResult = new CompletableFuture<C>();
 
-        var channel = uncheckedGet(AsynchronousSocketChannel::open);
+        var channel = openChannel();
         channel.connect(serverAddress, null, new CompletionHandler<Void, Void>() {
 
             @Override
             public void completed(@Nullable Void result, @Nullable Void attachment) {
                 LOGGER.info(channel, ch -> "Connected to server: " + NetworkUtils.getRemoteAddress(ch));
-                asyncResult.complete(channelToConnection.apply(DefaultClientNetwork.this, channel));
+                asyncResult.complete(createConnection(channel));
             }
 
             @Override
@@ -103,6 +103,15 @@ public class DefaultClientNetwork<C extends Connection<?, ?>> extends AbstractNe
         });
     }
 
+    /**
+     * Open a new channel to connect to a server.
+     *
+     * @return the new channel.
+     */
+    protected @NotNull AsynchronousSocketChannel openChannel() {
+        return uncheckedGet(AsynchronousSocketChannel::open);
+    }
+
     @Override
     public @NotNull Mono<C> connected(@NotNull InetSocketAddress serverAddress) {
         return Mono.create(monoSink -> connect(serverAddress)
@@ -117,6 +126,7 @@ public class DefaultClientNetwork<C extends Connection<?, ?>> extends AbstractNe
 
     @Override
     public void shutdown() {
+        super.shutdown();
         Optional
             .ofNullable(getCurrentConnection())
             .ifPresent(connection -> unchecked(connection, C::close));
@@ -0,0 +1,306 @@
+package com.ss.rlib.network.client.impl;
+
+import com.ss.rlib.logger.api.Logger;
+import com.ss.rlib.logger.api.LoggerManager;
+import com.ss.rlib.network.UnsafeConnection;
+import com.ss.rlib.network.client.ConnectionPool;
+import lombok.Getter;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.net.InetSocketAddress;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * The implementation of {@link ConnectionPool} of {@link DefaultPooledClientNetwork}. Every slot of the pool keeps
+ * one connection, a closed connection of a slot is reconnected after a delay which is doubled by every failed
+ * attempt. The delay has random jitter, so many connections which were closed at the same time don't reconnect
+ * at the same time.
+ *
+ * @author JavaSaBr
+ * @since 9.9.0
+ */
+public class DefaultConnectionPool<C extends UnsafeConnection<?, ?>> implements ConnectionPool<C> {
+
+    private static final Logger LOGGER = LoggerManager.getLogger(DefaultConnectionPool.class);
+
+    /**
+     * The slot of one connection of a pool.
+     */
+    protected static final class Slot<C> {
+
+        private volatile @Nullable C connection;
+
+        /**
+         * The count of failed attempts to connect, it's changed only by sequential connects of this slot.
+         */
+        private int attempts;
+        private boolean connected;
+    }
+
+    protected final @NotNull DefaultPooledClientNetwork<C> network;
+    protected final @NotNull List<Slot<C>> slots;
+    protected final @NotNull Queue<CompletableFuture<C>> waiters;
+    protected final @NotNull CompletableFuture<ConnectionPool<C>> ready;
+    protected final @NotNull AtomicInteger nextIndex;
+    protected final @NotNull AtomicInteger notConnectedSlots;
+
+    protected final @Getter @NotNull InetSocketAddress address;
+
+    protected final long reconnectMinDelay;
+    protected final long reconnectMaxDelay;
+
+    protected volatile boolean closed;
+
+    public DefaultConnectionPool(
+        @NotNull DefaultPooledClientNetwork<C> network,
+        @NotNull InetSocketAddress address,
+        int size
+    ) {
+
+        if (size < 1) {
+            throw new IllegalArgumentException("Pool size should be at least 1, but it's " + size);
+        }
+
+        this.network = network;
+        this.address = address;
+        this.slots = new ArrayList<>(size);
+        this.waiters = new ConcurrentLinkedQueue<>();
+        this.ready = new CompletableFuture<>();
+        this.nextIndex = new AtomicInteger();
+        this.notConnectedSlots = new AtomicInteger(size);
+        this.reconnectMinDelay = Math.max(network.pooledConfig.getReconnectMinDelay(), 1);
+        this.reconnectMaxDelay = Math.max(network.pooledConfig.getReconnectMaxDelay(), reconnectMinDelay);
+
+        for (int i = 0; i < size; i++) {
+            slots.add(new Slot<>());
+        }
+    }
+
+    /**
+     * Start connecting of all slots of this pool.
+     */
+    protected void start() {
+        slots.forEach(this::connect);
+    }
+
+    /**
+     * Connect the slot to the target address.
+     *
+     * @param slot the slot.
+     */
+    protected void connect(@NotNull Slot<C> slot) {
+
+        if (closed) {
+            return;
+        }
+
+        network.connect(address).whenComplete((connection, exception) -> {
+            if (exception != null) {
+                onFailedConnect(slot, exception);
+            } else {
+                onConnected(slot, connection);
+            }
+        });
+    }
+
+    protected void onConnected(@NotNull Slot<C> slot, @NotNull C connection) {
+
+        if (closed) {
+            connection.close();
+            return;
+        }
+
+        slot.attempts = 0;
+        slot.connection = connection;
+
+        connection.onClose(closedConnection -> onClosedConnection(slot, connection));
+
+        if (!slot.connected) {
+            slot.connected = true;
+
+            if (notConnectedSlots.decrementAndGet() == 0) {
+                ready.complete(this);
+            }
+        }
+
+        for (var waiter = waiters.poll(); waiter != null; waiter = waiters.poll()) {
+            waiter.complete(connection);
+        }
+
+        // the pool could be closed before the connection was stored to the slot
+        if (closed) {
+            connection.close();
+        }
+    }
+
+    protected void onFailedConnect(@NotNull Slot<C> slot, @NotNull Throwable exception) {
+
+        LOGGER.warning(address, exception, (adr, ex) -> "Cannot connect to " + adr + ": " + ex);
+
+        scheduleReconnect(slot);
+    }
+
+    protected void onClosedConnection(@NotNull Slot<C> slot, @NotNull C connection) {
+
+        if (slot.connection != connection) {
+            return;
+        }
+
+        slot.connection = null;
+
+        LOGGER.debug(connection, conn -> "Connection " + conn.getRemoteAddress() + " of the pool is closed");
+
+        scheduleReconnect(slot);
+    }
+
+    /**
+     * Schedule reconnecting of the slot with backoff.
+     *
+     * @param slot the slot.
+     */
+    protected void scheduleReconnect(@NotNull Slot<C> slot) {
+        if (!closed) {
+            network.schedule(() -> connect(slot), getReconnectDelay(slot.attempts++));
+        }
+    }
+
+    /**
+     * Get a delay of the next reconnect attempt, it's a random value from a half to the full exponential delay.
+     *
+     * @param attempts the count of failed attempts.
+     * @return the delay in milliseconds.
+     */
+    protected long getReconnectDelay(int attempts) {
+        var delay = Math.min(reconnectMaxDelay, reconnectMinDelay << Math.min(attempts, 20));
+        return delay / 2 + ThreadLocalRandom.current().nextLong(delay / 2 + 1);
+    }
+
+    @Override
+    public int getSize() {
+        return slots.size();
+    }
+
+    @Override
+    public @NotNull List<C> getConnections() {
+
+        var result = new ArrayList<C>(slots.size());
+
+        for (var slot : slots) {
+
+            var connection = slot.connection;
+
+            if (connection != null && !connection.isClosed()) {
+                result.add(connection);
+            }
+        }
+
+        return result;
+    }
+
+    @Override
+    public @Nullable C select() {
+
+        var size = slots.size();
+        var start = Math.floorMod(nextIndex.getAndIncrement(), size);
+
+        C selected = null;
+        var minPendingBytes = Long.MAX_VALUE;
+
+        for (int i = 0; i < size; i++) {
+
+            var connection = slots.get((start + i) % size).connection;
+
+            if (connection == null || connection.isClosed()) {
+                continue;
+            }
+
+            var pendingBytes = connection.getPendingBytes();
+
+            if (pendingBytes < minPendingBytes) {
+                selected = connection;
+                minPendingBytes = pendingBytes;
+
+                if (pendingBytes == 0) {
+                    break;
+                }
+            }
+        }
+
+        return selected;
+    }
+
+    @Override
+    public @NotNull CompletableFuture<C> acquire() {
+
+        if (closed) {
+            return CompletableFuture.failedFuture(newClosedException());
+        }
+
+        var connection = select();
+
+        if (connection != null) {
+            return CompletableFuture.completedFuture(connection);
+        }
+
+        var asyncResult = new CompletableFuture<C>();
+        waiters.add(asyncResult);
+
+        // a connection could be connected before the future was added to waiters
+        connection = select();
+
+        if (connection != null && waiters.remove(asyncResult)) {
+            asyncResult.complete(connection);
+        } else if (closed && waiters.remove(asyncResult)) {
+            asyncResult.completeExceptionally(newClosedException());
+        }
+
+        return asyncResult;
+    }
+
+    @Override
+    public @NotNull CompletableFuture<ConnectionPool<C>> ready() {
+        return ready;
+    }
+
+    @Override
+    public void close() {
+
+        if (closed) {
+            return;
+        }
+
+        closed = true;
+
+        for (var slot : slots) {
+
+            var connection = slot.connection;
+
+            if (connection != null) {
+                connection.close();
+            }
+        }
+
+        for (var waiter = waiters.poll(); waiter != null; waiter = waiters.poll()) {
+            waiter.completeExceptionally(newClosedException());
+        }
+
+        ready.completeExceptionally(newClosedException());
+        network.onClosed(this);
+    }
+
+    @Override
+    public boolean isClosed() {
+        return closed;
+    }
+
+    private @NotNull IllegalStateException newClosedException() {
+        return new IllegalStateException("The pool of connections to " + address + " is closed");
+    }
+}
@@ -0,0 +1,213 @@
+package com.ss.rlib.network.client.impl;
+
+import static com.ss.rlib.common.util.Utils.unchecked;
+import com.ss.rlib.common.concurrent.GroupThreadFactory;
+import com.ss.rlib.logger.api.Logger;
+import com.ss.rlib.logger.api.LoggerManager;
+import com.ss.rlib.network.Network;
+import com.ss.rlib.network.PooledClientNetworkConfig;
+import com.ss.rlib.network.UnsafeConnection;
+import com.ss.rlib.network.client.ConnectionPool;
+import com.ss.rlib.network.client.PooledClientNetwork;
+import com.ss.rlib.network.impl.AbstractNetwork;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.channels.AsynchronousChannel;
+import java.nio.channels.AsynchronousChannelGroup;
+import java.nio.channels.AsynchronousSocketChannel;
+import java.nio.channels.CompletionHandler;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BiFunction;
+
+/**
+ * The implementation of {@link PooledClientNetwork} which opens all connections in one shared channel group with
+ * {@link PooledClientNetworkConfig#getThreadGroupSize()} threads. Connects don't block each other and reconnects
+ * of pools are scheduled by one separated thread.
+ *
+ * @author JavaSaBr
+ * @since 9.9.0
+ */
+public class DefaultPooledClientNetwork<C extends UnsafeConnection<?, ?>> extends AbstractNetwork<C> implements
+    PooledClientNetwork<C> {
+
+    protected static final Logger LOGGER = LoggerManager.getLogger(DefaultPooledClientNetwork.class);
+
+    protected final @NotNull PooledClientNetworkConfig pooledConfig;
+    protected final @NotNull AsynchronousChannelGroup group;
+    protected final @NotNull ScheduledExecutorService scheduler;
+    protected final @NotNull Map<InetSocketAddress, DefaultConnectionPool<C>> pools;
+    protected final @NotNull Set<C> connections;
+
+    protected volatile boolean shutdown;
+
+    public DefaultPooledClientNetwork(
+        @NotNull PooledClientNetworkConfig config,
+        @NotNull BiFunction<Network<C>, AsynchronousSocketChannel, C> channelToConnection
+    ) {
+        super(config, channelToConnection);
+
+        var threadFactory = new GroupThreadFactory(
+            config.getThreadGroupName(),
+            Thread::new,
+            Thread.NORM_PRIORITY,
+            true
+        );
+
+        var schedulerThreadFactory = new GroupThreadFactory(
+            config.getThreadGroupName() + "Reconnect",
+            Thread::new,
+            Thread.NORM_PRIORITY,
+            true
+        );
+
+        try {
+            this.group = AsynchronousChannelGroup.withFixedThreadPool(
+                Math.max(config.getThreadGroupSize(), 1),
+                threadFactory
+            );
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+
+        this.pooledConfig = config;
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(schedulerThreadFactory);
+        this.pools = new ConcurrentHashMap<>();
+        this.connections = ConcurrentHashMap.newKeySet();
+
+        LOGGER.info(config, conf -> "Pooled client network configuration: {\n" +
+            "  threads: " + conf.getThreadGroupSize() + ",\n" +
+            "  groupName: \"" + conf.getThreadGroupName() + "\",\n" +
+            "  poolSize: " + conf.getPoolSize() + ",\n" +
+            "  readBufferSize: " + conf.getReadBufferSize() + ",\n" +
+            "  pendingBufferSize: " + conf.getPendingBufferSize() + ",\n" +
+            "  writeBufferSize: " + conf.getWriteBufferSize() + "\n" +
+            "}");
+    }
+
+    @Override
+    public @NotNull CompletableFuture<C> connect(@NotNull InetSocketAddress serverAddress) {
+
+        if (shutdown) {
+            return CompletableFuture.failedFuture(new IllegalStateException("The network is already shutdown"));
+        }
+
+        AsynchronousSocketChannel channel;
+        try {
+            channel = AsynchronousSocketChannel.open(group);
+        } catch (IOException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+
+        var asyncResult = new CompletableFuture<C>();
+
+        channel.connect(serverAddress, null, new CompletionHandler<Void, Void>() {
+
+            @Override
+            public void completed(@Nullable Void result, @Nullable Void attachment) {
+                onConnected(channel, asyncResult);
+            }
+
+            @Override
+            public void failed(@NotNull Throwable exc, @Nullable Void attachment) {
+                unchecked(channel, AsynchronousChannel::close);
+                asyncResult.completeExceptionally(exc);
+            }
+        });
+
+        return asyncResult;
+    }
+
+    /**
+     * Create a connection for the connected channel and register it in this network.
+     *
+     * @param channel     the connected channel.
+     * @param asyncResult the future to complete by the new connection.
+     */
+    protected void onConnected(@NotNull AsynchronousSocketChannel channel, @NotNull CompletableFuture<C> asyncResult) {
+
+        var connection = createConnection(channel);
+
+        connections.add(connection);
+        connection.onClose(closed -> connections.remove(connection));
+
+        if (shutdown) {
+            connection.close();
+            asyncResult.completeExceptionally(new IllegalStateException("The network is already shutdown"));
+            return;
+        }
+
+        LOGGER.debug(connection, conn -> "Connected to server: " + conn.getRemoteAddress());
+
+        asyncResult.complete(connection);
+    }
+
+    @Override
+    public @NotNull ConnectionPool<C> getPool(@NotNull InetSocketAddress serverAddress) {
+        return getPool(serverAddress, pooledConfig.getPoolSize());
+    }
+
+    @Override
+    public @NotNull ConnectionPool<C> getPool(@NotNull InetSocketAddress serverAddress, int size) {
+
+        var pool = pools.get(serverAddress);
+
+        if (pool != null && !pool.isClosed()) {
+            return pool;
+        } else if (shutdown) {
+            throw new IllegalStateException("The network is already shutdown");
+        }
+
+        var newPool = new DefaultConnectionPool<>(this, serverAddress, size);
+        var result = pools.compute(serverAddress, (address, existed) ->
+            existed != null && !existed.isClosed() ? existed : newPool);
+
+        if (result == newPool) {
+            newPool.start();
+        }
+
+        return result;
+    }
+
+    /**
+     * Schedule the task to run after the delay, the task isn't run if this network is shutdown.
+     *
+     * @param task  the task.
+     * @param delay the delay in milliseconds.
+     */
+    protected void schedule(@NotNull Runnable task, long delay) {
+        try {
+            scheduler.schedule(task, delay, TimeUnit.MILLISECONDS);
+        } catch (RejectedExecutionException e) {
+            LOGGER.debug(task, tsk -> "Rejected the task " + tsk + " because the network is shutdown");
+        }
+    }
+
+    /**
+     * Remove the closed pool from this network.
+     *
+     * @param pool the closed pool.
+     */
+    protected void onClosed(@NotNull DefaultConnectionPool<C> pool) {
+        pools.remove(pool.getAddress(), pool);
+    }
+
+    @Override
+    public void shutdown() {
+        shutdown = true;
+        super.shutdown();
+        pools.values().forEach(DefaultConnectionPool::close);
+        connections.forEach(C::close);
+        scheduler.shutdownNow();
+        unchecked(group, AsynchronousChannelGroup::shutdownNow);
+    }
+}
@@ -0,0 +1,52 @@
+package com.ss.rlib.network.client.impl;
+
+import static com.ss.rlib.common.util.Utils.uncheckedGet;
+import com.ss.rlib.common.concurrent.GroupThreadFactory;
+import com.ss.rlib.network.Connection;
+import com.ss.rlib.network.Network;
+import com.ss.rlib.network.NetworkConfig;
+import com.ss.rlib.network.selector.SelectorEventLoopGroup;
+import com.ss.rlib.network.selector.SelectorSocketChannel;
+import org.jetbrains.annotations.NotNull;
+
+import java.nio.channels.AsynchronousSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.util.function.BiFunction;
+
+/**
+ * The implementation of a client network which uses {@link SelectorSocketChannel} with own selector event loop.
+ *
+ * @author JavaSaBr
+ * @since 9.9.0
+ */
+public class SelectorClientNetwork<C extends Connection<?, ?>> extends DefaultClientNetwork<C> {
+
+    protected final @NotNull SelectorEventLoopGroup eventLoopGroup;
+
+    public SelectorClientNetwork(
+        @NotNull NetworkConfig config,
+        @NotNull BiFunction<Network<C>, AsynchronousSocketChannel, C> channelToConnection
+    ) {
+        super(config, channelToConnection);
+
+        var threadFactory = new GroupThreadFactory(
+            config.getThreadGroupName(),
+            Thread::new,
+            Thread.NORM_PRIORITY,
+            true
+        );
+
+        this.eventLoopGroup = new SelectorEventLoopGroup(threadFactory, 1);
+    }
+
+    @Override
+    protected @NotNull AsynchronousSocketChannel openChannel() {
+        return new SelectorSocketChannel(eventLoopGroup.next(), uncheckedGet(SocketChannel::open));
+    }
+
+    @Override
+    public void shutdown() {
+        super.shutdown();
+        eventLoopGroup.shutdown();
+    }
+}
@@ -0,0 +1,68 @@
+package com.ss.rlib.network.datagram;
+
+import com.ss.rlib.network.Connection;
+import com.ss.rlib.network.Network;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import reactor.core.publisher.Flux;
+
+import java.net.InetSocketAddress;
+import java.util.function.Consumer;
+
+/**
+ * The interface to implement a network over one datagram channel. Every remote peer of the channel is represented
+ * by a virtual connection which is created by the first datagram received from the peer or by
+ * {@link #connect(InetSocketAddress)}, so the same packets and subscribers work with datagram and stream networks.
+ * Datagrams can be lost, duplicated or reordered, so a virtual connection is closed only by the idle timer or
+ * manually.
+ *
+ * @author JavaSaBr
+ * @since 9.9.0
+ */
+public interface DatagramNetwork<C extends Connection<?, ?>> extends Network<C> {
+
+    /**
+     * Bind this network to any available port and start receiving datagrams.
+     *
+     * @return the local address.
+     */
+    @NotNull InetSocketAddress start();
+
+    /**
+     * Bind this network to the address and start receiving datagrams.
+     *
+     * @param address the local address.
+     * @return the local address.
+     */
+    @NotNull InetSocketAddress start(@NotNull InetSocketAddress address);
+
+    /**
+     * Get or create a virtual connection to the remote address. This network is bound to an ephemeral port if it
+     * isn't started yet.
+     *
+     * @param remoteAddress the remote address.
+     * @return the virtual connection.
+     */
+    @NotNull C connect(@NotNull InetSocketAddress remoteAddress);
+
+    /**
+     * Get the local address of this network.
+     *
+     * @return the local address or null if this network isn't started.
+     */
+    @Nullable InetSocketAddress getLocalAddress();
+
+    /**
+     * Register a consumer of new virtual connections which are created by received datagrams.
+     *
+     * @param consumer the consumer of new connections.
+     */
+    void onAccept(@NotNull Consumer<? super C> consumer);
+
+    /**
+     * Get a stream of new virtual connections which are created by received datagrams.
+     *
+     * @return the stream of new connections.
+     */
+    @NotNull Flux<? extends C> accepted();
+}
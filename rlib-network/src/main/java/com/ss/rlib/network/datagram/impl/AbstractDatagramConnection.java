@@ -0,0 +1,488 @@
+package com.ss.rlib.network.datagram.impl;
+
+import com.ss.rlib.common.function.NotNullBiConsumer;
+import com.ss.rlib.common.function.NotNullConsumer;
+import com.ss.rlib.common.util.array.Array;
+import com.ss.rlib.common.util.array.ArrayFactory;
+import com.ss.rlib.logger.api.Logger;
+import com.ss.rlib.logger.api.LoggerManager;
+import com.ss.rlib.network.BufferAllocator;
+import com.ss.rlib.network.Connection;
+import com.ss.rlib.network.NetworkConfig;
+import com.ss.rlib.network.NetworkCryptor;
+import com.ss.rlib.network.capture.TrafficCapture;
+import com.ss.rlib.network.metrics.ConnectionMetrics;
+import com.ss.rlib.network.metrics.MetricsRecorder;
+import com.ss.rlib.network.packet.IdBasedReadablePacket;
+import com.ss.rlib.network.packet.IdBasedWritablePacket;
+import com.ss.rlib.network.packet.PacketCompressor;
+import com.ss.rlib.network.packet.ReusableReadablePacket;
+import com.ss.rlib.network.packet.StringCodec;
+import com.ss.rlib.network.packet.WritablePacket;
+import com.ss.rlib.network.packet.impl.AbstractPacketWriter;
+import com.ss.rlib.network.packet.registry.ReadablePacketRegistry;
+import lombok.Getter;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.FluxSink;
+
+import java.net.InetSocketAddress;
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BiConsumer;
+
+/**
+ * The base implementation of a virtual connection to one remote peer of {@link DefaultDatagramNetwork}. Every
+ * packet is sent by one datagram with the format [sequence number: 4 bytes, if sequenced][packet id: 2 bytes]
+ * [packet data]. Packets are sent in the thread of a caller and received packets are handled in the thread of
+ * the network.
+ * <p>
+ * Datagrams can't be paused like streams, so received packets are dropped while this connection doesn't have
+ * subscribers and streams of received packets buffer packets which are not requested yet.
+ *
+ * @author JavaSaBr
+ * @since 9.9.0
+ */
+public abstract class AbstractDatagramConnection<R extends IdBasedReadablePacket<R>, W extends IdBasedWritablePacket>
+    implements Connection<R, W> {
+
+    private static final Logger LOGGER = LoggerManager.getLogger(AbstractDatagramConnection.class);
+
+    /**
+     * The size of the sequence number header.
+     */
+    public static final int SEQUENCE_HEADER_SIZE = 4;
+
+    /**
+     * The size of the packet id header.
+     */
+    public static final int PACKET_ID_HEADER_SIZE = 2;
+
+    protected final @Getter @NotNull String remoteAddress;
+    protected final @Getter @NotNull InetSocketAddress remoteSocketAddress;
+
+    protected final @NotNull DefaultDatagramNetwork<?> network;
+    protected final @NotNull BufferAllocator bufferAllocator;
+    protected final @NotNull ReadablePacketRegistry<R> packetRegistry;
+
+    protected final @NotNull Array<NotNullBiConsumer<? super Connection<R, W>, ? super R>> subscribers;
+    protected final @NotNull Array<NotNullConsumer<? super Connection<R, W>>> closeListeners;
+
+    protected final @NotNull AtomicBoolean closed;
+    protected final @NotNull AtomicInteger nextSequence;
+
+    protected final @Getter @NotNull StringCodec stringCodec;
+    protected final @Getter @NotNull ConnectionMetrics metrics;
+
+    protected final boolean sequenced;
+
+    /**
+     * The sequence number of the last received datagram, it's changed only in the thread of the network.
+     */
+    protected int lastReceivedSequence;
+    protected boolean receivedSequence;
+
+    protected volatile @Getter long lastActivity;
+    protected volatile @Getter long lastReadTime;
+    protected volatile @Getter long lastWriteTime;
+
+    protected AbstractDatagramConnection(
+        @NotNull DefaultDatagramNetwork<?> network,
+        @NotNull InetSocketAddress remoteAddress,
+        @NotNull BufferAllocator bufferAllocator,
+        @NotNull ReadablePacketRegistry<R> packetRegistry
+    ) {
+        this.network = network;
+        this.remoteSocketAddress = remoteAddress;
+        this.remoteAddress = String.valueOf(remoteAddress);
+        this.bufferAllocator = bufferAllocator;
+        this.packetRegistry = packetRegistry;
+        this.subscribers = ArrayFactory.newCopyOnModifyArray(NotNullBiConsumer.class);
+        this.closeListeners = ArrayFactory.newCopyOnModifyArray(NotNullConsumer.class);
+        this.closed = new AtomicBoolean(false);
+        this.nextSequence = new AtomicInteger(0);
+        this.stringCodec = network.getConfig().getStringCodec();
+        this.metrics = network.getMetrics().createConnectionMetrics();
+        this.sequenced = network.getConfig().isSequenced();
+        this.lastActivity = System.currentTimeMillis();
+        this.lastReadTime = lastActivity;
+        this.lastWriteTime = lastActivity;
+    }
+
+    @Override
+    public @Nullable PacketCompressor getPacketCompressor() {
+        return null;
+    }
+
+    @Override
+    public @NotNull NetworkCryptor getCryptor() {
+        return NetworkCryptor.NULL;
+    }
+
+    /**
+     * Datagrams can be lost or reordered, so stream cryptors which keep their state between packets can't be
+     * used by datagram connections.
+     *
+     * @param cryptor the cryptor.
+     * @throws UnsupportedOperationException always.
+     */
+    @Override
+    public void setCryptor(@NotNull NetworkCryptor cryptor) {
+        throw new UnsupportedOperationException("Datagram connections don't support cryptors");
+    }
+
+    @Override
+    public int getMaxPacketSize() {
+        return network.getConfig().getReadBufferSize() - getHeaderSize();
+    }
+
+    @Override
+    public @NotNull NetworkConfig getConfig() {
+        return network.getConfig();
+    }
+
+    /**
+     * Datagram connections don't support traffic capture.
+     *
+     * @return {@link TrafficCapture#NULL}.
+     */
+    @Override
+    public @NotNull TrafficCapture getTrafficCapture() {
+        return TrafficCapture.NULL;
+    }
+
+    /**
+     * Get a size of headers of each datagram.
+     *
+     * @return the header size.
+     */
+    protected int getHeaderSize() {
+        return sequenced ? SEQUENCE_HEADER_SIZE + PACKET_ID_HEADER_SIZE : PACKET_ID_HEADER_SIZE;
+    }
+
+    @Override
+    public boolean isWritable() {
+        return !isClosed();
+    }
+
+    @Override
+    public void onWritabilityChanged(@NotNull NotNullBiConsumer<? super Connection<R, W>, Boolean> listener) {
+        // datagrams are sent without queueing, so writability is changed only by closing
+    }
+
+    /**
+     * Datagrams are sent without queueing, so there are no pending bytes.
+     *
+     * @return always 0.
+     */
+    @Override
+    public long getPendingBytes() {
+        return 0;
+    }
+
+    @Override
+    public final void send(@NotNull W packet) {
+        sendImpl(packet);
+    }
+
+    @Override
+    public @NotNull CompletableFuture<Boolean> sendWithFeedback(@NotNull W packet) {
+        return CompletableFuture.completedFuture(sendImpl(packet));
+    }
+
+    /**
+     * Serialize the packet and send it by one datagram.
+     *
+     * @param packet the packet.
+     * @return true if the datagram was sent, it doesn't mean that the datagram was delivered.
+     */
+    protected boolean sendImpl(@NotNull WritablePacket packet) {
+
+        if (isClosed()) {
+            return false;
+        }
+
+        var buffer = bufferAllocator.takeWriteBuffer();
+        try {
+            return serialize(packet, buffer) && sendSerialized(buffer);
+        } finally {
+            bufferAllocator.putWriteBuffer(buffer);
+        }
+    }
+
+    /**
+     * Serialize the packet with its id header to the buffer and reserve space for a sequence number if this
+     * connection is sequenced, the buffer is flipped after serializing.
+     *
+     * @param packet the packet.
+     * @param buffer the buffer.
+     * @return true if the packet was serialized.
+     */
+    protected boolean serialize(@NotNull WritablePacket packet, @NotNull ByteBuffer buffer) {
+
+        var startTime = metrics.isEnabled() ? System.nanoTime() : 0L;
+
+        buffer.clear();
+
+        if (sequenced) {
+            buffer.putInt(0);
+        }
+
+        AbstractPacketWriter.setWritingStringCodec(stringCodec);
+        try {
+
+            buffer.putShort((short) ((IdBasedWritablePacket) packet).getPacketId());
+
+            if (!packet.write(buffer)) {
+                return false;
+            }
+
+        } catch (BufferOverflowException e) {
+            LOGGER.warning(packet, remoteAddress, (pck, address) -> "Packet " + pck + " to " + address +
+                " is bigger than a datagram");
+            return false;
+        } finally {
+            AbstractPacketWriter.setWritingStringCodec(null);
+        }
+
+        buffer.flip();
+
+        if (metrics.isEnabled()) {
+            metrics.recordSerializedPacket(MetricsRecorder.getPacketId(packet), System.nanoTime() - startTime);
+        }
+
+        return true;
+    }
+
+    /**
+     * Send the serialized datagram from the buffer, a sequence number is written to the reserved space if this
+     * connection is sequenced. The buffer can be sent again to other connections.
+     *
+     * @param buffer the buffer with the serialized datagram.
+     * @return true if the datagram was sent.
+     */
+    protected boolean sendSerialized(@NotNull ByteBuffer buffer) {
+
+        if (isClosed()) {
+            return false;
+        }
+
+        if (sequenced) {
+            buffer.putInt(0, nextSequence.incrementAndGet());
+        }
+
+        buffer.position(0);
+
+        var length = buffer.remaining();
+
+        if (!network.send(buffer, remoteSocketAddress)) {
+            return false;
+        }
+
+        updateLastWriteActivity();
+
+        metrics.recordSentBytes(length);
+        metrics.recordSentPacket();
+
+        return true;
+    }
+
+    /**
+     * Handle a received datagram of this connection, it's called in the thread of the network.
+     *
+     * @param buffer the buffer with the datagram.
+     */
+    protected void handleDatagram(@NotNull ByteBuffer buffer) {
+
+        updateLastReadActivity();
+
+        metrics.recordReceivedBytes(buffer.remaining());
+
+        if (buffer.remaining() < getHeaderSize()) {
+            LOGGER.warning(buffer, remoteAddress, (buf, address) -> "Received too small datagram " + buf +
+                " from " + address);
+            return;
+        } else if (sequenced && isStale(buffer.getInt())) {
+            return;
+        }
+
+        var packetId = buffer.getShort() & 0xFFFF;
+        var startTime = metrics.isEnabled() ? System.nanoTime() : 0L;
+
+        R packet;
+        try {
+            packet = packetRegistry.newInstance(packetId);
+        } catch (IllegalArgumentException e) {
+            LOGGER.warning(packetId, remoteAddress, (id, address) -> "Received unknown packet id " + id +
+                " from " + address);
+            return;
+        }
+
+        if (!packet.read(this, buffer, buffer.remaining())) {
+
+            if (packet instanceof ReusableReadablePacket) {
+                ((ReusableReadablePacket) packet).release();
+            }
+
+            return;
+        }
+
+        if (metrics.isEnabled()) {
+            metrics.recordReadPacket(packetId, System.nanoTime() - startTime);
+        }
+
+        handleReceivedPacket(packet);
+    }
+
+    /**
+     * Check the sequence number of a received datagram and remember it if the datagram isn't stale. Sequence
+     * numbers are compared with overflow, so they can wrap around.
+     *
+     * @param sequence the sequence number of the received datagram.
+     * @return true if the datagram is stale and should be dropped.
+     */
+    protected boolean isStale(int sequence) {
+
+        if (receivedSequence && sequence - lastReceivedSequence <= 0) {
+            LOGGER.debug(sequence, lastReceivedSequence, (seq, last) -> "Drop stale datagram " + seq +
+                ", last received datagram is " + last);
+            return true;
+        }
+
+        lastReceivedSequence = sequence;
+        receivedSequence = true;
+        return false;
+    }
+
+    protected void handleReceivedPacket(@NotNull R packet) {
+
+        var startTime = metrics.isEnabled() ? System.nanoTime() : 0L;
+        try {
+            subscribers.forEachR(this, packet, BiConsumer::accept);
+        } finally {
+
+            if (metrics.isEnabled()) {
+                metrics.recordHandledPacket(MetricsRecorder.getPacketId(packet), System.nanoTime() - startTime);
+            }
+
+            if (packet instanceof ReusableReadablePacket) {
+                ((ReusableReadablePacket) packet).release();
+            }
+        }
+    }
+
+    @Override
+    public void onReceive(@NotNull NotNullBiConsumer<? super Connection<R, W>, ? super R> consumer) {
+        subscribers.add(consumer);
+    }
+
+    @Override
+    public @NotNull Flux<ReceivedPacketEvent<? extends Connection<R, W>, ? extends R>> receivedEvents() {
+        return Flux.create(this::registerFluxOnReceivedEvents);
+    }
+
+    @Override
+    public @NotNull Flux<? extends R> receivedPackets() {
+        return Flux.create(this::registerFluxOnReceivedPackets);
+    }
+
+    protected void registerFluxOnReceivedEvents(
+        @NotNull FluxSink<ReceivedPacketEvent<? extends Connection<R, W>, ? extends R>> sink
+    ) {
+
+        NotNullBiConsumer<Connection<R, W>, R> listener = (connection, packet) -> {
+            retain(packet);
+            sink.next(new ReceivedPacketEvent<>(connection, packet));
+        };
+
+        onReceive(listener);
+
+        sink.onDispose(() -> subscribers.remove(listener));
+    }
+
+    protected void registerFluxOnReceivedPackets(@NotNull FluxSink<? super R> sink) {
+
+        NotNullBiConsumer<Connection<R, W>, R> listener = (connection, packet) -> {
+            retain(packet);
+            sink.next(packet);
+        };
+
+        onReceive(listener);
+
+        sink.onDispose(() -> subscribers.remove(listener));
+    }
+
+    /**
+     * Retain a received packet if it's reusable to give it to a consumer which can handle it later.
+     *
+     * @param packet the received packet.
+     */
+    protected void retain(@NotNull R packet) {
+        if (packet instanceof ReusableReadablePacket) {
+            ((ReusableReadablePacket) packet).retain();
+        }
+    }
+
+    @Override
+    public void close() {
+        if (closed.compareAndSet(false, true)) {
+            network.onClosed(this);
+            notifyClosed();
+        }
+    }
+
+    @Override
+    public void onClose(@NotNull NotNullConsumer<? super Connection<R, W>> listener) {
+
+        synchronized (closeListeners) {
+            if (!isClosed()) {
+                closeListeners.add(listener);
+                return;
+            }
+        }
+
+        listener.accept(this);
+    }
+
+    /**
+     * Notify all close listeners about closing this connection.
+     */
+    protected void notifyClosed() {
+        synchronized (closeListeners) {
+            closeListeners.forEachR(this, NotNullConsumer::accept);
+            closeListeners.clear();
+        }
+    }
+
+    @Override
+    public boolean isClosed() {
+        return closed.get();
+    }
+
+    /**
+     * Update the time of last read activity.
+     */
+    protected void updateLastReadActivity() {
+        var currentTime = System.currentTimeMillis();
+        this.lastReadTime = currentTime;
+        this.lastActivity = currentTime;
+    }
+
+    /**
+     * Update the time of last write activity.
+     */
+    protected void updateLastWriteActivity() {
+        var currentTime = System.currentTimeMillis();
+        this.lastWriteTime = currentTime;
+        this.lastActivity = currentTime;
+    }
+
+    @Override
+    public String toString() {
+        return getClass().getSimpleName() + "{remoteAddress=" + remoteAddress + "}";
+    }
+}
@@ -0,0 +1,26 @@
+package com.ss.rlib.network.datagram.impl;
+
+import com.ss.rlib.network.BufferAllocator;
+import com.ss.rlib.network.packet.impl.DefaultDatagramReadablePacket;
+import com.ss.rlib.network.packet.impl.DefaultWritablePacket;
+import com.ss.rlib.network.packet.registry.ReadablePacketRegistry;
+import org.jetbrains.annotations.NotNull;
+
+import java.net.InetSocketAddress;
+
+/**
+ * @author JavaSaBr
+ * @since 9.9.0
+ */
+public class DefaultDatagramConnection extends
+    AbstractDatagramConnection<DefaultDatagramReadablePacket, DefaultWritablePacket> {
+
+    public DefaultDatagramConnection(
+        @NotNull DefaultDatagramNetwork<?> network,
+        @NotNull InetSocketAddress remoteAddress,
+        @NotNull BufferAllocator bufferAllocator,
+        @NotNull ReadablePacketRegistry<DefaultDatagramReadablePacket> packetRegistry
+    ) {
+        super(network, remoteAddress, bufferAllocator, packetRegistry);
+    }
+}
@@ -0,0 +1,349 @@
+package com.ss.rlib.network.datagram.impl;
+
+import static com.ss.rlib.common.util.Utils.uncheckedGet;
+import com.ss.rlib.common.concurrent.GroupThreadFactory;
+import com.ss.rlib.common.function.NotNullBiConsumer;
+import com.ss.rlib.common.util.Utils;
+import com.ss.rlib.common.util.array.Array;
+import com.ss.rlib.common.util.array.ArrayFactory;
+import com.ss.rlib.logger.api.Logger;
+import com.ss.rlib.logger.api.LoggerManager;
+import com.ss.rlib.network.BufferAllocator;
+import com.ss.rlib.network.DatagramNetworkConfig;
+import com.ss.rlib.network.datagram.DatagramNetwork;
+import com.ss.rlib.network.idle.IdleState;
+import com.ss.rlib.network.idle.IdleTimer;
+import com.ss.rlib.network.idle.impl.HashedWheelIdleTimer;
+import com.ss.rlib.network.metrics.NetworkMetrics;
+import com.ss.rlib.network.metrics.impl.DefaultNetworkMetrics;
+import com.ss.rlib.network.packet.WritablePacket;
+import com.ss.rlib.network.selector.SelectorEventLoop;
+import lombok.Getter;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.FluxSink;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.SocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.DatagramChannel;
+import java.nio.channels.SelectionKey;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.BiFunction;
+import java.util.function.Consumer;
+
+/**
+ * The implementation of {@link DatagramNetwork} based on one non-blocking datagram channel which is handled by
+ * one {@link SelectorEventLoop}. Every wakeup of the loop receives up to
+ * {@link DatagramNetworkConfig#getMaxDatagramsByRead()} datagrams to read buffers of the buffer allocator before
+ * handling them, so a pooled allocator doesn't allocate buffers per datagram.
+ *
+ * @author JavaSaBr
+ * @since 9.9.0
+ */
+public class DefaultDatagramNetwork<C extends AbstractDatagramConnection<?, ?>> implements DatagramNetwork<C> {
+
+    private static final Logger LOGGER = LoggerManager.getLogger(DefaultDatagramNetwork.class);
+
+    protected final @Getter @NotNull DatagramNetworkConfig config;
+    protected final @Getter @NotNull NetworkMetrics metrics;
+    protected final @NotNull BufferAllocator bufferAllocator;
+    protected final @NotNull BiFunction<DefaultDatagramNetwork<C>, InetSocketAddress, C> addressToConnection;
+    protected final @NotNull IdleTimer<C> idleTimer;
+    protected final @NotNull SelectorEventLoop eventLoop;
+    protected final @NotNull DatagramChannel channel;
+    protected final @NotNull Map<SocketAddress, C> connections;
+    protected final @NotNull Array<Consumer<? super C>> subscribers;
+
+    /**
+     * The buffers and the addresses of the current batch of received datagrams, they are used only in the thread
+     * of the event loop.
+     */
+    protected final @NotNull ByteBuffer[] receivedBuffers;
+    protected final @NotNull SocketAddress[] receivedAddresses;
+
+    protected volatile @Nullable InetSocketAddress localAddress;
+
+    public DefaultDatagramNetwork(
+        @NotNull DatagramNetworkConfig config,
+        @NotNull BufferAllocator bufferAllocator,
+        @NotNull BiFunction<DefaultDatagramNetwork<C>, InetSocketAddress, C> addressToConnection
+    ) {
+        this.config = config;
+        this.metrics = config.isMetricsEnabled() ? new DefaultNetworkMetrics() : NetworkMetrics.DISABLED;
+        this.bufferAllocator = bufferAllocator;
+        this.addressToConnection = addressToConnection;
+        this.idleTimer = hasIdleTimeouts(config) ? new HashedWheelIdleTimer<>(config) : IdleTimer.disabled();
+        this.connections = new ConcurrentHashMap<>();
+        this.subscribers = ArrayFactory.newCopyOnModifyArray(Consumer.class);
+        this.receivedBuffers = new ByteBuffer[Math.max(config.getMaxDatagramsByRead(), 1)];
+        this.receivedAddresses = new SocketAddress[receivedBuffers.length];
+        this.channel = uncheckedGet(DatagramChannel::open);
+
+        var threadFactory = new GroupThreadFactory(
+            config.getThreadGroupName(),
+            Thread::new,
+            Thread.NORM_PRIORITY,
+            true
+        );
+
+        this.eventLoop = new SelectorEventLoop(threadFactory);
+    }
+
+    private static boolean hasIdleTimeouts(@NotNull DatagramNetworkConfig config) {
+        return config.getReadIdleTimeout() > 0 || config.getWriteIdleTimeout() > 0 || config.getAllIdleTimeout() > 0;
+    }
+
+    @Override
+    public @NotNull InetSocketAddress start() {
+        return start(new InetSocketAddress(0));
+    }
+
+    @Override
+    public synchronized @NotNull InetSocketAddress start(@NotNull InetSocketAddress address) {
+
+        if (localAddress != null) {
+            throw new IllegalStateException("The network is already started on " + localAddress);
+        }
+
+        try {
+            channel.configureBlocking(false);
+            channel.bind(address);
+            localAddress = (InetSocketAddress) channel.getLocalAddress();
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+
+        eventLoop.execute(this::register);
+
+        LOGGER.info(localAddress, adr -> "Started datagram channel on address: " + adr);
+
+        return localAddress;
+    }
+
+    /**
+     * Register the channel in the event loop to receive datagrams, it's called in the thread of the event loop.
+     */
+    protected void register() {
+        try {
+            eventLoop.register(channel, SelectionKey.OP_READ, this::receive);
+        } catch (IOException e) {
+            LOGGER.error(e);
+        }
+    }
+
+    @Override
+    public @NotNull C connect(@NotNull InetSocketAddress remoteAddress) {
+
+        if (localAddress == null) {
+            synchronized (this) {
+                if (localAddress == null) {
+                    start();
+                }
+            }
+        }
+
+        var connection = connections.get(remoteAddress);
+
+        if (connection == null) {
+            connection = createConnection(remoteAddress);
+        }
+
+        return connection;
+    }
+
+    @Override
+    public @Nullable InetSocketAddress getLocalAddress() {
+        return localAddress;
+    }
+
+    /**
+     * Create and register a new connection to the remote address if it doesn't exist yet.
+     *
+     * @param remoteAddress the remote address.
+     * @return the registered connection.
+     */
+    protected @NotNull C createConnection(@NotNull InetSocketAddress remoteAddress) {
+
+        var connection = addressToConnection.apply(this, remoteAddress);
+        var existed = connections.putIfAbsent(remoteAddress, connection);
+
+        if (existed != null) {
+            return existed;
+        }
+
+        idleTimer.register(connection);
+
+        return connection;
+    }
+
+    /**
+     * Receive a batch of datagrams from the channel and handle them, it's called in the thread of the event loop.
+     *
+     * @param key the selected key of the channel.
+     */
+    protected void receive(@NotNull SelectionKey key) {
+
+        var count = 0;
+
+        for (; count < receivedBuffers.length; count++) {
+
+            var buffer = bufferAllocator.takeReadBuffer();
+
+            SocketAddress address;
+            try {
+                address = channel.receive(buffer);
+            } catch (IOException e) {
+                LOGGER.error(e);
+                address = null;
+            }
+
+            if (address == null) {
+                bufferAllocator.putReadBuffer(buffer);
+                break;
+            }
+
+            receivedBuffers[count] = buffer.flip();
+            receivedAddresses[count] = address;
+        }
+
+        for (int i = 0; i < count; i++) {
+
+            var buffer = receivedBuffers[i];
+            var address = receivedAddresses[i];
+
+            receivedBuffers[i] = null;
+            receivedAddresses[i] = null;
+
+            try {
+                handleDatagram((InetSocketAddress) address, buffer);
+            } catch (Exception e) {
+                LOGGER.error(e);
+            } finally {
+                bufferAllocator.putReadBuffer(buffer);
+            }
+        }
+    }
+
+    /**
+     * Handle a received datagram by the connection of its remote address, a new connection is created for a new
+     * remote address until the network has {@link DatagramNetworkConfig#getMaxPeers()} connections.
+     *
+     * @param address the remote address.
+     * @param buffer  the buffer with the datagram.
+     */
+    protected void handleDatagram(@NotNull InetSocketAddress address, @NotNull ByteBuffer buffer) {
+
+        var connection = connections.get(address);
+
+        if (connection == null) {
+
+            var maxPeers = config.getMaxPeers();
+
+            if (maxPeers > 0 && connections.size() >= maxPeers) {
+                LOGGER.debug(address, adr -> "Drop datagram from new peer: " + adr + ", too many peers");
+                return;
+            }
+
+            connection = createConnection(address);
+            LOGGER.debug(connection, conn -> "Accepted new datagram connection: " + conn.getRemoteAddress());
+            subscribers.forEachR(connection, Consumer::accept);
+        }
+
+        connection.handleDatagram(buffer);
+    }
+
+    /**
+     * Send the datagram from the buffer to the remote address.
+     *
+     * @param buffer        the buffer with the datagram.
+     * @param remoteAddress the remote address.
+     * @return true if the datagram was sent, false if the send buffer of the socket is full or the channel is
+     * closed.
+     */
+    protected boolean send(@NotNull ByteBuffer buffer, @NotNull InetSocketAddress remoteAddress) {
+        try {
+            return channel.send(buffer, remoteAddress) > 0;
+        } catch (IOException e) {
+            LOGGER.warning(remoteAddress, e, (address, ex) -> "Cannot send a datagram to " + address + ": " + ex);
+            return false;
+        }
+    }
+
+    /**
+     * Remove the closed connection from this network.
+     *
+     * @param connection the closed connection.
+     */
+    protected void onClosed(@NotNull AbstractDatagramConnection<?, ?> connection) {
+        connections.remove(connection.getRemoteSocketAddress(), connection);
+    }
+
+    @Override
+    public void onAccept(@NotNull Consumer<? super C> consumer) {
+        subscribers.add(consumer);
+    }
+
+    @Override
+    public @NotNull Flux<C> accepted() {
+        return Flux.create(this::registerFluxOnAccepted);
+    }
+
+    protected void registerFluxOnAccepted(@NotNull FluxSink<C> sink) {
+        Consumer<? super C> listener = sink::next;
+        onAccept(listener);
+        sink.onDispose(() -> subscribers.remove(listener));
+    }
+
+    @Override
+    public int broadcast(@NotNull WritablePacket packet, @NotNull Iterable<? extends C> connections) {
+
+        var buffer = bufferAllocator.takeWriteBuffer();
+        try {
+
+            var serialized = false;
+            var count = 0;
+
+            for (var connection : connections) {
+
+                if (connection.isClosed()) {
+                    continue;
+                }
+
+                if (!serialized) {
+
+                    if (!connection.serialize(packet, buffer)) {
+                        return 0;
+                    }
+
+                    serialized = true;
+                }
+
+                if (connection.sendSerialized(buffer)) {
+                    count++;
+                }
+            }
+
+            return count;
+
+        } finally {
+            bufferAllocator.putWriteBuffer(buffer);
+        }
+    }
+
+    @Override
+    public void onIdle(@NotNull NotNullBiConsumer<? super C, IdleState> handler) {
+        idleTimer.onIdle(handler);
+    }
+
+    @Override
+    public void shutdown() {
+        idleTimer.shutdown();
+        connections.values().forEach(AbstractDatagramConnection::close);
+        Utils.unchecked(channel, DatagramChannel::close);
+        eventLoop.shutdown();
+    }
+}
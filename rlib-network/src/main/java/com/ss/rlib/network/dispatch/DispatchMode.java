@@ -0,0 +1,28 @@
+package com.ss.rlib.network.dispatch;
+
+/**
+ * The list of modes how a route of {@link PacketDispatcher} executes its handler.
+ *
+ * @author JavaSaBr
+ * @since 9.9.0
+ */
+public enum DispatchMode {
+
+    /**
+     * A handler is executed on the I/O thread which read a packet, the next packet of a connection isn't read until
+     * the handler is finished.
+     */
+    INLINE,
+
+    /**
+     * A handler is executed by the shared executor of a dispatcher, packets of one connection can be handled
+     * in parallel.
+     */
+    SHARED,
+
+    /**
+     * A handler is executed by the shared executor of a dispatcher, but packets of one connection are handled
+     * one by one in the receiving order.
+     */
+    SERIAL
+}
@@ -0,0 +1,91 @@
+package com.ss.rlib.network.dispatch;
+
+import com.ss.rlib.common.function.NotNullBiConsumer;
+import com.ss.rlib.network.Connection;
+import com.ss.rlib.network.dispatch.impl.DefaultPacketDispatcher;
+import com.ss.rlib.network.packet.ReadablePacket;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.concurrent.Executor;
+
+/**
+ * The interface to implement a dispatcher of received packets to handlers by the packet's type. A route of a packet
+ * type is resolved once and cached, so every next packet of the type is dispatched without searching and
+ * allocations if the route is {@link DispatchMode#INLINE}.
+ *
+ * @param <C> the connection's type.
+ * @param <R> the readable packet's type.
+ * @author JavaSaBr
+ * @since 9.9.0
+ */
+public interface PacketDispatcher<C extends Connection<R, ?>, R extends ReadablePacket> {
+
+    /**
+     * Create a new dispatcher which executes offloaded handlers by the executor.
+     *
+     * @param executor the executor to handle packets of {@link DispatchMode#SHARED} and {@link DispatchMode#SERIAL}
+     *                 routes.
+     * @param <C>      the connection's type.
+     * @param <R>      the readable packet's type.
+     * @return the new dispatcher.
+     */
+    static <C extends Connection<R, ?>, R extends ReadablePacket> @NotNull PacketDispatcher<C, R> of(
+        @NotNull Executor executor
+    ) {
+        return new DefaultPacketDispatcher<>(executor);
+    }
+
+    /**
+     * Register a handler of the packet type which is executed on the I/O thread.
+     *
+     * @param type    the packet type.
+     * @param handler the handler.
+     * @param <T>     the packet's type.
+     * @return this dispatcher.
+     */
+    default <T extends R> @NotNull PacketDispatcher<C, R> route(
+        @NotNull Class<T> type,
+        @NotNull NotNullBiConsumer<? super C, ? super T> handler
+    ) {
+        return route(type, DispatchMode.INLINE, handler);
+    }
+
+    /**
+     * Register a handler of the packet type, the handler also handles subclasses of the type if they don't have
+     * own routes.
+     *
+     * @param type    the packet type.
+     * @param mode    the mode to execute the handler.
+     * @param handler the handler.
+     * @param <T>     the packet's type.
+     * @return this dispatcher.
+     */
+    <T extends R> @NotNull PacketDispatcher<C, R> route(
+        @NotNull Class<T> type,
+        @NotNull DispatchMode mode,
+        @NotNull NotNullBiConsumer<? super C, ? super T> handler
+    );
+
+    /**
+     * Register a handler of packets without routes, the handler is executed on the I/O thread.
+     *
+     * @param handler the handler.
+     * @return this dispatcher.
+     */
+    @NotNull PacketDispatcher<C, R> otherwise(@NotNull NotNullBiConsumer<? super C, ? super R> handler);
+
+    /**
+     * Subscribe this dispatcher to received packets of the connection.
+     *
+     * @param connection the connection.
+     */
+    void attach(@NotNull C connection);
+
+    /**
+     * Dispatch the received packet to a handler of its type.
+     *
+     * @param connection the connection which received the packet.
+     * @param packet     the received packet.
+     */
+    void dispatch(@NotNull C connection, @NotNull R packet);
+}
@@ -0,0 +1,311 @@
+package com.ss.rlib.network.dispatch.impl;
+
+import com.ss.rlib.common.function.NotNullBiConsumer;
+import com.ss.rlib.logger.api.Logger;
+import com.ss.rlib.logger.api.LoggerManager;
+import com.ss.rlib.network.Connection;
+import com.ss.rlib.network.dispatch.DispatchMode;
+import com.ss.rlib.network.dispatch.PacketDispatcher;
+import com.ss.rlib.network.packet.ReadablePacket;
+import com.ss.rlib.network.packet.ReusableReadablePacket;
+import lombok.AllArgsConstructor;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * The default implementation of {@link PacketDispatcher}. A route of a packet class is searched by the class and
+ * its superclasses once and then the result is cached by the packet class. A received {@link ReusableReadablePacket}
+ * is retained before offloading to the executor and released after handling. Packets of closed connections aren't
+ * handled in {@link DispatchMode#SERIAL} mode.
+ *
+ * @param <C> the connection's type.
+ * @param <R> the readable packet's type.
+ * @author JavaSaBr
+ * @since 9.9.0
+ */
+public class DefaultPacketDispatcher<C extends Connection<R, ?>, R extends ReadablePacket> implements
+    PacketDispatcher<C, R> {
+
+    private static final Logger LOGGER = LoggerManager.getLogger(DefaultPacketDispatcher.class);
+
+    /**
+     * The max count of tasks which are executed by one run of a serial executor, so one busy connection
+     * doesn't hold a thread of the shared executor for a long time.
+     */
+    private static final int MAX_TASKS_BY_RUN = 64;
+
+    @AllArgsConstructor
+    protected static final class Route<C, R> {
+
+        private final @NotNull DispatchMode mode;
+        private final @NotNull NotNullBiConsumer<C, R> handler;
+    }
+
+    /**
+     * The executor which executes tasks of one connection one by one on the shared executor.
+     */
+    protected static final class SerialExecutor implements Executor {
+
+        private final @NotNull Executor executor;
+        private final @NotNull Queue<Runnable> tasks;
+        private final @NotNull AtomicBoolean scheduled;
+        private final @NotNull Runnable runner;
+
+        private SerialExecutor(@NotNull Executor executor) {
+            this.executor = executor;
+            this.tasks = new ConcurrentLinkedQueue<>();
+            this.scheduled = new AtomicBoolean(false);
+            this.runner = this::run;
+        }
+
+        @Override
+        public void execute(@NotNull Runnable task) {
+            tasks.add(task);
+            try {
+                schedule();
+            } catch (RejectedExecutionException e) {
+                tasks.remove(task);
+                throw e;
+            }
+        }
+
+        private void schedule() {
+            if (!tasks.isEmpty() && scheduled.compareAndSet(false, true)) {
+                try {
+                    executor.execute(runner);
+                } catch (RejectedExecutionException e) {
+                    scheduled.set(false);
+                    throw e;
+                }
+            }
+        }
+
+        private void run() {
+            try {
+                for (int i = 0; i < MAX_TASKS_BY_RUN; i++) {
+
+                    var task = tasks.poll();
+
+                    if (task == null) {
+                        break;
+                    }
+
+                    task.run();
+                }
+            } finally {
+                scheduled.set(false);
+                schedule();
+            }
+        }
+    }
+
+    protected final @NotNull Executor executor;
+    protected final @NotNull Map<Class<?>, Route<C, R>> routes;
+    protected final @NotNull Map<Class<?>, Route<C, R>> resolvedRoutes;
+    protected final @NotNull Map<C, SerialExecutor> serialExecutors;
+    protected final @NotNull Route<C, R> noRoute;
+
+    protected volatile @Nullable Route<C, R> otherwise;
+
+    public DefaultPacketDispatcher(@NotNull Executor executor) {
+        this.executor = executor;
+        this.routes = new ConcurrentHashMap<>();
+        this.resolvedRoutes = new ConcurrentHashMap<>();
+        this.serialExecutors = new ConcurrentHashMap<>();
+        this.noRoute = new Route<>(DispatchMode.INLINE, (connection, packet) -> {});
+    }
+
+    @Override
+    public <T extends R> @NotNull PacketDispatcher<C, R> route(
+        @NotNull Class<T> type,
+        @NotNull DispatchMode mode,
+        @NotNull NotNullBiConsumer<? super C, ? super T> handler
+    ) {
+
+        // the route is resolved only for packets of the type, so the handler always gets packets of its type
+        @SuppressWarnings("unchecked")
+        var route = new Route<>(mode, (NotNullBiConsumer<C, R>) handler);
+
+        routes.put(type, route);
+        resolvedRoutes.clear();
+
+        return this;
+    }
+
+    @Override
+    public @NotNull PacketDispatcher<C, R> otherwise(@NotNull NotNullBiConsumer<? super C, ? super R> handler) {
+        this.otherwise = new Route<>(DispatchMode.INLINE, handler::accept);
+        return this;
+    }
+
+    @Override
+    public void attach(@NotNull C connection) {
+        connection.onReceive((conn, packet) -> dispatch(connection, packet));
+    }
+
+    @Override
+    public void dispatch(@NotNull C connection, @NotNull R packet) {
+
+        var route = resolve(packet.getClass());
+
+        if (route == null) {
+            LOGGER.warning(packet, pck -> "Not found any route for the packet: " + pck);
+            return;
+        }
+
+        switch (route.mode) {
+            case INLINE:
+                route.handler.accept(connection, packet);
+                break;
+            case SHARED:
+                offload(executor, route, connection, packet);
+                break;
+            case SERIAL:
+
+                var serialExecutor = getSerialExecutor(connection);
+
+                if (serialExecutor != null) {
+                    offload(serialExecutor, route, connection, packet);
+                } else {
+                    LOGGER.debug(packet, pck -> "Drop the packet of the closed connection: " + pck);
+                }
+
+                break;
+        }
+    }
+
+    /**
+     * Get a route of the packet type or the route of packets without routes.
+     *
+     * @param type the packet type.
+     * @return the route or null.
+     */
+    protected @Nullable Route<C, R> resolve(@NotNull Class<?> type) {
+
+        var route = resolvedRoutes.get(type);
+
+        if (route == null) {
+            route = findRoute(type);
+            resolvedRoutes.put(type, route);
+        }
+
+        return route == noRoute ? otherwise : route;
+    }
+
+    /**
+     * Find a route of the type or its nearest superclass.
+     *
+     * @param type the packet type.
+     * @return the found route or {@link #noRoute}.
+     */
+    protected @NotNull Route<C, R> findRoute(@NotNull Class<?> type) {
+
+        for (Class<?> current = type; current != null; current = current.getSuperclass()) {
+
+            var route = routes.get(current);
+
+            if (route != null) {
+                return route;
+            }
+        }
+
+        return noRoute;
+    }
+
+    /**
+     * Get or create a serial executor of the connection, the executor is removed after closing the connection.
+     *
+     * @param connection the connection.
+     * @return the serial executor or null if the connection is closed.
+     */
+    protected @Nullable SerialExecutor getSerialExecutor(@NotNull C connection) {
+
+        var serialExecutor = serialExecutors.get(connection);
+
+        if (serialExecutor != null) {
+            return serialExecutor;
+        } else if (connection.isClosed()) {
+            return null;
+        }
+
+        var newSerialExecutor = new SerialExecutor(executor);
+        serialExecutor = serialExecutors.putIfAbsent(connection, newSerialExecutor);
+
+        if (serialExecutor != null) {
+            return serialExecutor;
+        }
+
+        connection.onClose(closed -> serialExecutors.remove(connection));
+
+        // the connection could be closed before registering the listener
+        if (connection.isClosed()) {
+            serialExecutors.remove(connection, newSerialExecutor);
+        }
+
+        return newSerialExecutor;
+    }
+
+    /**
+     * Execute the handler of the route by the executor.
+     *
+     * @param executor   the executor.
+     * @param route      the route.
+     * @param connection the connection.
+     * @param packet     the received packet.
+     */
+    protected void offload(
+        @NotNull Executor executor,
+        @NotNull Route<C, R> route,
+        @NotNull C connection,
+        @NotNull R packet
+    ) {
+
+        if (packet instanceof ReusableReadablePacket) {
+            ((ReusableReadablePacket) packet).retain();
+        }
+
+        try {
+            executor.execute(() -> handle(route, connection, packet));
+        } catch (RejectedExecutionException e) {
+            LOGGER.warning(packet, pck -> "Rejected handling of the packet: " + pck);
+            release(packet);
+        }
+    }
+
+    /**
+     * Handle the offloaded packet by the handler of the route.
+     *
+     * @param route      the route.
+     * @param connection the connection.
+     * @param packet     the received packet.
+     */
+    protected void handle(@NotNull Route<C, R> route, @NotNull C connection, @NotNull R packet) {
+        try {
+
+            if (route.mode == DispatchMode.SERIAL && connection.isClosed()) {
+                LOGGER.debug(packet, pck -> "Drop the packet of the closed connection: " + pck);
+                return;
+            }
+
+            route.handler.accept(connection, packet);
+        } catch (Exception e) {
+            LOGGER.error(e);
+        } finally {
+            release(packet);
+        }
+    }
+
+    private void release(@NotNull R packet) {
+        if (packet instanceof ReusableReadablePacket) {
+            ((ReusableReadablePacket) packet).release();
+        }
+    }
+}
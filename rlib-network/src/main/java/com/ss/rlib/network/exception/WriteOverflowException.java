@@ -0,0 +1,16 @@
+package com.ss.rlib.network.exception;
+
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * The exception which is thrown when a packet is rejected because the write queue of a connection is full.
+ *
+ * @author JavaSaBr
+ * @since 9.9.0
+ */
+public class WriteOverflowException extends RuntimeException {
+
+    public WriteOverflowException(@NotNull String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,25 @@
+package com.ss.rlib.network.idle;
+
+/**
+ * The list of idle states of connections.
+ *
+ * @author JavaSaBr
+ * @since 9.9.0
+ */
+public enum IdleState {
+
+    /**
+     * A connection didn't receive any data during the read idle timeout.
+     */
+    READER_IDLE,
+
+    /**
+     * A connection didn't send any data during the write idle timeout.
+     */
+    WRITER_IDLE,
+
+    /**
+     * A connection didn't receive and send any data during the all idle timeout.
+     */
+    ALL_IDLE
+}
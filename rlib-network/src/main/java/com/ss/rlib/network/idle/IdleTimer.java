@@ -0,0 +1,45 @@
+package com.ss.rlib.network.idle;
+
+import com.ss.rlib.common.function.NotNullBiConsumer;
+import com.ss.rlib.network.Connection;
+import com.ss.rlib.network.idle.impl.DisabledIdleTimer;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * The interface to implement a timer which tracks idle states of connections of a network.
+ *
+ * @author JavaSaBr
+ * @since 9.9.0
+ */
+public interface IdleTimer<C extends Connection<?, ?>> {
+
+    /**
+     * Get the timer which doesn't track anything.
+     *
+     * @param <C> the connection's type.
+     * @return the disabled timer.
+     */
+    @SuppressWarnings("unchecked")
+    static <C extends Connection<?, ?>> @NotNull IdleTimer<C> disabled() {
+        return (IdleTimer<C>) DisabledIdleTimer.INSTANCE;
+    }
+
+    /**
+     * Start tracking idle states of the new connection, the connection is tracked until it's closed.
+     *
+     * @param connection the new connection.
+     */
+    void register(@NotNull C connection);
+
+    /**
+     * Register a handler of idle states of connections.
+     *
+     * @param handler the handler.
+     */
+    void onIdle(@NotNull NotNullBiConsumer<? super C, IdleState> handler);
+
+    /**
+     * Stop tracking all connections.
+     */
+    void shutdown();
+}
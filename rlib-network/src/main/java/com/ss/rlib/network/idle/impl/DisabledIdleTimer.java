@@ -0,0 +1,33 @@
+package com.ss.rlib.network.idle.impl;
+
+import com.ss.rlib.common.function.NotNullBiConsumer;
+import com.ss.rlib.network.Connection;
+import com.ss.rlib.network.idle.IdleState;
+import com.ss.rlib.network.idle.IdleTimer;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * The implementation of an idle timer which doesn't track anything.
+ *
+ * @author JavaSaBr
+ * @since 9.9.0
+ */
+public final class DisabledIdleTimer implements IdleTimer<Connection<?, ?>> {
+
+    public static final DisabledIdleTimer INSTANCE = new DisabledIdleTimer();
+
+    private DisabledIdleTimer() {
+    }
+
+    @Override
+    public void register(@NotNull Connection<?, ?> connection) {
+    }
+
+    @Override
+    public void onIdle(@NotNull NotNullBiConsumer<? super Connection<?, ?>, IdleState> handler) {
+    }
+
+    @Override
+    public void shutdown() {
+    }
+}
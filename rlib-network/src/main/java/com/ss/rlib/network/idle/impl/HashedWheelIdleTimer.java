@@ -0,0 +1,287 @@
+package com.ss.rlib.network.idle.impl;
+
+import com.ss.rlib.common.function.NotNullBiConsumer;
+import com.ss.rlib.common.util.array.Array;
+import com.ss.rlib.common.util.array.ArrayFactory;
+import com.ss.rlib.logger.api.Logger;
+import com.ss.rlib.logger.api.LoggerManager;
+import com.ss.rlib.network.Connection;
+import com.ss.rlib.network.NetworkConfig;
+import com.ss.rlib.network.idle.IdleState;
+import com.ss.rlib.network.idle.IdleTimer;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+/**
+ * The implementation of an idle timer based on a hashed timing wheel. Every connection has only one timeout in the
+ * wheel which is created on registration and is reused for all checks of the connection. Activities of connections
+ * only update their timestamps, so they don't touch the wheel at all, and a timeout checks the timestamps when it
+ * expires and is moved to the slot of the nearest deadline. So the cost of a connection is O(1) by a check and the
+ * wheel is changed only by its own thread without any locks. Closed connections are removed from the wheel by
+ * their next check.
+ *
+ * @author JavaSaBr
+ * @since 9.9.0
+ */
+public class HashedWheelIdleTimer<C extends Connection<?, ?>> implements IdleTimer<C>, Runnable {
+
+    private static final Logger LOGGER = LoggerManager.getLogger(HashedWheelIdleTimer.class);
+
+    /**
+     * The default count of slots of a wheel.
+     */
+    public static final int DEFAULT_WHEEL_SIZE = 512;
+
+    private static final class IdleTimeout<C extends Connection<?, ?>> {
+
+        private final @NotNull C connection;
+
+        private @Nullable IdleTimeout<C> prev;
+        private @Nullable IdleTimeout<C> next;
+
+        private long deadlineTick;
+
+        private IdleTimeout(@NotNull C connection) {
+            this.connection = connection;
+        }
+    }
+
+    protected final @NotNull Array<NotNullBiConsumer<? super C, IdleState>> handlers;
+    protected final @NotNull Queue<IdleTimeout<C>> registrations;
+    protected final @NotNull IdleTimeout<C>[] wheel;
+    protected final @NotNull Thread thread;
+
+    protected final long tickDuration;
+    protected final long readIdleTimeout;
+    protected final long writeIdleTimeout;
+    protected final long allIdleTimeout;
+    protected final boolean closeIdleConnections;
+    protected final int mask;
+
+    protected volatile boolean running;
+
+    private long startTime;
+    private long currentTick;
+
+    public HashedWheelIdleTimer(@NotNull NetworkConfig config) {
+        this(config, DEFAULT_WHEEL_SIZE);
+    }
+
+    @SuppressWarnings("unchecked")
+    public HashedWheelIdleTimer(@NotNull NetworkConfig config, int wheelSize) {
+
+        if (wheelSize < 1 || Integer.bitCount(wheelSize) != 1) {
+            throw new IllegalArgumentException("The wheel size should be a power of 2, but was " + wheelSize);
+        }
+
+        this.handlers = ArrayFactory.newCopyOnModifyArray(NotNullBiConsumer.class);
+        this.registrations = new ConcurrentLinkedQueue<>();
+        this.wheel = new IdleTimeout[wheelSize];
+        this.mask = wheelSize - 1;
+        this.tickDuration = Math.max(1, config.getIdleCheckInterval());
+        this.readIdleTimeout = config.getReadIdleTimeout();
+        this.writeIdleTimeout = config.getWriteIdleTimeout();
+        this.allIdleTimeout = config.getAllIdleTimeout();
+        this.closeIdleConnections = config.isCloseIdleConnections();
+        this.running = true;
+        this.thread = new Thread(this, config.getThreadGroupName() + "-IdleTimer");
+        this.thread.setDaemon(true);
+        this.thread.start();
+    }
+
+    @Override
+    public void register(@NotNull C connection) {
+        registrations.add(new IdleTimeout<>(connection));
+    }
+
+    @Override
+    public void onIdle(@NotNull NotNullBiConsumer<? super C, IdleState> handler) {
+        handlers.add(handler);
+    }
+
+    @Override
+    public void shutdown() {
+        running = false;
+        thread.interrupt();
+    }
+
+    @Override
+    public void run() {
+
+        startTime = System.currentTimeMillis();
+
+        while (running) {
+
+            var sleepTime = startTime + (currentTick + 1) * tickDuration - System.currentTimeMillis();
+
+            if (sleepTime > 0) {
+                try {
+                    Thread.sleep(sleepTime);
+                } catch (InterruptedException e) {
+                    continue;
+                }
+            }
+
+            currentTick++;
+
+            var now = System.currentTimeMillis();
+
+            registerNewTimeouts(now);
+            expireTimeouts((int) (currentTick & mask), now);
+        }
+    }
+
+    private void registerNewTimeouts(long now) {
+        for (var timeout = registrations.poll(); timeout != null; timeout = registrations.poll()) {
+            check(timeout, now);
+        }
+    }
+
+    private void expireTimeouts(int slot, long now) {
+
+        var timeout = wheel[slot];
+
+        while (timeout != null) {
+
+            // the timeout can be moved to the head of the same slot during the check
+            var next = timeout.next;
+
+            if (timeout.deadlineTick <= currentTick) {
+                remove(timeout, slot);
+                check(timeout, now);
+            }
+
+            timeout = next;
+        }
+    }
+
+    private void check(@NotNull IdleTimeout<C> timeout, long now) {
+
+        var connection = timeout.connection;
+
+        if (connection.isClosed()) {
+            return;
+        }
+
+        var nextCheck = Long.MAX_VALUE;
+
+        if (readIdleTimeout > 0) {
+
+            var deadline = connection.getLastReadTime() + readIdleTimeout;
+
+            if (deadline <= now) {
+
+                if (notifyIdle(connection, IdleState.READER_IDLE)) {
+                    return;
+                }
+
+                deadline = now + readIdleTimeout;
+            }
+
+            nextCheck = Math.min(nextCheck, deadline);
+        }
+
+        if (writeIdleTimeout > 0) {
+
+            var deadline = connection.getLastWriteTime() + writeIdleTimeout;
+
+            if (deadline <= now) {
+
+                if (notifyIdle(connection, IdleState.WRITER_IDLE)) {
+                    return;
+                }
+
+                deadline = now + writeIdleTimeout;
+            }
+
+            nextCheck = Math.min(nextCheck, deadline);
+        }
+
+        if (allIdleTimeout > 0) {
+
+            var deadline = connection.getLastActivity() + allIdleTimeout;
+
+            if (deadline <= now) {
+
+                if (notifyIdle(connection, IdleState.ALL_IDLE)) {
+                    return;
+                }
+
+                deadline = now + allIdleTimeout;
+            }
+
+            nextCheck = Math.min(nextCheck, deadline);
+        }
+
+        if (nextCheck != Long.MAX_VALUE) {
+            schedule(timeout, nextCheck);
+        }
+    }
+
+    /**
+     * Notify handlers about the idle state of the connection.
+     *
+     * @param connection the connection.
+     * @param state      the idle state.
+     * @return true if the connection is closed after notifying.
+     */
+    private boolean notifyIdle(@NotNull C connection, @NotNull IdleState state) {
+
+        LOGGER.debug(connection, state, (conn, st) -> "Connection: " + conn.getRemoteAddress() + " is " + st);
+
+        // the array of handlers is replaced on modification, so it's a snapshot
+        for (var handler : handlers.array()) {
+            try {
+                handler.accept(connection, state);
+            } catch (RuntimeException exc) {
+                LOGGER.warning(exc);
+            }
+        }
+
+        if (closeIdleConnections && state != IdleState.WRITER_IDLE) {
+            connection.close();
+        }
+
+        return connection.isClosed();
+    }
+
+    private void schedule(@NotNull IdleTimeout<C> timeout, long deadline) {
+
+        var deadlineTick = (deadline - startTime + tickDuration - 1) / tickDuration;
+        var slot = (int) (Math.max(deadlineTick, currentTick + 1) & mask);
+
+        var head = wheel[slot];
+
+        timeout.deadlineTick = deadlineTick;
+        timeout.prev = null;
+        timeout.next = head;
+
+        if (head != null) {
+            head.prev = timeout;
+        }
+
+        wheel[slot] = timeout;
+    }
+
+    private void remove(@NotNull IdleTimeout<C> timeout, int slot) {
+
+        var prev = timeout.prev;
+        var next = timeout.next;
+
+        if (prev != null) {
+            prev.next = next;
+        } else {
+            wheel[slot] = next;
+        }
+
+        if (next != null) {
+            next.prev = prev;
+        }
+
+        timeout.prev = null;
+        timeout.next = null;
+    }
+}
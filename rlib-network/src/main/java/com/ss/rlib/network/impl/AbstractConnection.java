@@ -2,23 +2,39 @@ package com.ss.rlib.network.impl;
 
 import static com.ss.rlib.common.util.Utils.unchecked;
 import com.ss.rlib.common.function.NotNullBiConsumer;
+import com.ss.rlib.common.function.NotNullConsumer;
 import com.ss.rlib.common.util.array.Array;
 import com.ss.rlib.common.util.array.ArrayFactory;
-import com.ss.rlib.common.util.linkedlist.LinkedList;
-import com.ss.rlib.common.util.linkedlist.LinkedListFactory;
 import com.ss.rlib.logger.api.Logger;
 import com.ss.rlib.logger.api.LoggerManager;
 import com.ss.rlib.network.BufferAllocator;
 import com.ss.rlib.network.Connection;
 import com.ss.rlib.network.Network;
+import com.ss.rlib.network.NetworkConfig;
+import com.ss.rlib.network.NetworkCryptor;
 import com.ss.rlib.network.UnsafeConnection;
+import com.ss.rlib.network.WriteOverflowPolicy;
+import com.ss.rlib.network.capture.TrafficCapture;
+import com.ss.rlib.network.exception.WriteOverflowException;
+import com.ss.rlib.network.metrics.ConnectionMetrics;
+import com.ss.rlib.network.metrics.MetricsRecorder;
+import com.ss.rlib.network.packet.PacketCompressor;
 import com.ss.rlib.network.packet.PacketReader;
 import com.ss.rlib.network.packet.PacketWriter;
 import com.ss.rlib.network.packet.ReadablePacket;
+import com.ss.rlib.network.packet.ReusableReadablePacket;
+import com.ss.rlib.network.packet.ReusableWritablePacket;
+import com.ss.rlib.network.packet.StringCodec;
 import com.ss.rlib.network.packet.WritablePacket;
+import com.ss.rlib.network.packet.WritablePacketQueue;
+import com.ss.rlib.network.packet.impl.ConflatingWritablePacketQueue;
+import com.ss.rlib.network.packet.impl.DeflatePacketCompressor;
+import com.ss.rlib.network.packet.impl.LockFreeWritablePacketQueue;
+import com.ss.rlib.network.packet.impl.SerializedWritablePacket;
 import com.ss.rlib.network.packet.impl.WritablePacketWrapper;
 import com.ss.rlib.network.util.NetworkUtils;
 import lombok.Getter;
+import lombok.Setter;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 import reactor.core.publisher.Flux;
@@ -28,7 +44,8 @@ import java.nio.channels.AsynchronousChannel;
 import java.nio.channels.AsynchronousSocketChannel;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.atomic.AtomicBoolean;
-import java.util.concurrent.locks.StampedLock;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.function.BiConsumer;
 
 /**
@@ -49,22 +66,103 @@ public abstract class AbstractConnection<R extends ReadablePacket, W extends Wri
         }
     }
 
+    /**
+     * The tracker of demand of a subscriber of received packets. Reading of the connection is paused while any
+     * subscriber has no demand, packets from already received data are buffered by the sink.
+     */
+    private class SubscriberDemand {
+
+        private final @NotNull FluxSink<?> sink;
+
+        private boolean starved;
+
+        private SubscriberDemand(@NotNull FluxSink<?> sink) {
+            this.sink = sink;
+        }
+
+        private void onNext() {
+
+            synchronized (this) {
+
+                if (starved || sink.requestedFromDownstream() > 0) {
+                    return;
+                }
+
+                starved = true;
+            }
+
+            getPacketReader().pauseRead();
+        }
+
+        private void onRequest() {
+
+            synchronized (this) {
+
+                if (!starved || sink.requestedFromDownstream() < 1) {
+                    return;
+                }
+
+                starved = false;
+            }
+
+            getPacketReader().resumeRead();
+        }
+
+        private void onDispose() {
+
+            synchronized (this) {
+
+                if (!starved) {
+                    return;
+                }
+
+                starved = false;
+            }
+
+            getPacketReader().resumeRead();
+        }
+    }
+
     protected final @Getter @NotNull String remoteAddress;
 
     protected final @NotNull Network<? extends Connection<R, W>> network;
     protected final @NotNull BufferAllocator bufferAllocator;
     protected final @NotNull AsynchronousSocketChannel channel;
-    protected final @NotNull LinkedList<WritablePacket> pendingPackets;
-    protected final @NotNull StampedLock lock;
+    protected final @NotNull WritablePacketQueue pendingPackets;
 
     protected final @NotNull AtomicBoolean isWriting;
     protected final @NotNull AtomicBoolean closed;
 
+    /**
+     * The writable state, it's also used as the monitor to wait for writability by the policy
+     * {@link WriteOverflowPolicy#BLOCK}.
+     */
+    protected final @NotNull AtomicBoolean writable;
+    protected final @NotNull AtomicInteger queuedPackets;
+    protected final @NotNull AtomicLong pendingBytes;
+
     protected final @NotNull Array<NotNullBiConsumer<? super Connection<R, W>, ? super R>> subscribers;
+    protected final @NotNull Array<NotNullBiConsumer<? super Connection<R, W>, Boolean>> writabilityListeners;
+    protected final @NotNull Array<NotNullConsumer<? super Connection<R, W>>> closeListeners;
+
+    protected final @NotNull WriteOverflowPolicy writeOverflowPolicy;
+
+    protected final @Getter @NotNull StringCodec stringCodec;
+    protected final @Getter @NotNull ConnectionMetrics metrics;
+    protected final @Getter @Nullable PacketCompressor packetCompressor;
 
     protected final int maxPacketsByRead;
+    protected final int maxPacketsByWrite;
+    protected final @Getter int maxPacketSize;
+    protected final int writeHighWatermark;
+    protected final int writeLowWatermark;
+    protected final int writeBufferSize;
+
+    protected volatile @Getter @Setter @NotNull NetworkCryptor cryptor;
 
     protected volatile @Getter long lastActivity;
+    protected volatile @Getter long lastReadTime;
+    protected volatile @Getter long lastWriteTime;
 
     public AbstractConnection(
         @NotNull Network<? extends Connection<R, W>> network,
@@ -74,19 +172,88 @@ public abstract class AbstractConnection<R extends ReadablePacket, W extends Wri
     ) {
         this.bufferAllocator = bufferAllocator;
         this.maxPacketsByRead = maxPacketsByRead;
-        this.lock = new StampedLock();
+        this.maxPacketsByWrite = network.getConfig().getMaxPacketsByWrite();
+        this.maxPacketSize = network.getConfig().getMaxPacketSize();
+        this.writeHighWatermark = network.getConfig().getWriteHighWatermark();
+        this.writeLowWatermark = Math.min(network.getConfig().getWriteLowWatermark(), writeHighWatermark - 1);
+        this.writeBufferSize = network.getConfig().getWriteBufferSize();
+        this.writeOverflowPolicy = network.getConfig().getWriteOverflowPolicy();
+        this.stringCodec = network.getConfig().getStringCodec();
+        this.metrics = network.getMetrics().createConnectionMetrics();
+        this.packetCompressor = createPacketCompressor(network.getConfig());
+        this.cryptor = NetworkCryptor.NULL;
         this.channel = channel;
-        this.pendingPackets = LinkedListFactory.newLinkedList(WritablePacket.class);
+        this.pendingPackets = createPendingPacketQueue(network.getConfig());
         this.network = network;
         this.isWriting = new AtomicBoolean(false);
         this.closed = new AtomicBoolean(false);
+        this.writable = new AtomicBoolean(true);
+        this.queuedPackets = new AtomicInteger(0);
+        this.pendingBytes = new AtomicLong(0);
         this.subscribers = ArrayFactory.newCopyOnModifyArray(NotNullBiConsumer.class);
+        this.writabilityListeners = ArrayFactory.newCopyOnModifyArray(NotNullBiConsumer.class);
+        this.closeListeners = ArrayFactory.newCopyOnModifyArray(NotNullConsumer.class);
         this.remoteAddress = String.valueOf(NetworkUtils.getRemoteAddress(channel));
+        this.lastActivity = System.currentTimeMillis();
+        this.lastReadTime = lastActivity;
+        this.lastWriteTime = lastActivity;
     }
 
     @Override
     public void onConnected() {}
 
+    @Override
+    public @NotNull SerializedWritablePacket serializeShared(@NotNull WritablePacket packet) {
+        return getPacketWriter().serializeShared(packet);
+    }
+
+    @Override
+    public void sendSerialized(@NotNull SerializedWritablePacket packet) {
+        sendImpl(packet);
+    }
+
+    @Override
+    public @NotNull NetworkConfig getConfig() {
+        return network.getConfig();
+    }
+
+    @Override
+    public @NotNull TrafficCapture getTrafficCapture() {
+        return network.getTrafficCapture();
+    }
+
+    /**
+     * Create a compressor of packets of this connection.
+     *
+     * @param config the network config.
+     * @return the new compressor or null if compression is disabled.
+     */
+    protected @Nullable PacketCompressor createPacketCompressor(@NotNull NetworkConfig config) {
+
+        var threshold = config.getCompressionThreshold();
+
+        if (threshold < 1) {
+            return null;
+        }
+
+        return new DeflatePacketCompressor(config.getCompressionLevel(), threshold);
+    }
+
+    /**
+     * Create a queue to store pending packets to write.
+     *
+     * @param config the network config.
+     * @return the new queue.
+     */
+    protected @NotNull WritablePacketQueue createPendingPacketQueue(@NotNull NetworkConfig config) {
+
+        if (config.isConflationEnabled()) {
+            return new ConflatingWritablePacketQueue(this::onSupersededPacket);
+        }
+
+        return new LockFreeWritablePacketQueue();
+    }
+
     protected abstract @NotNull PacketReader getPacketReader();
 
     protected abstract @NotNull PacketWriter getPacketWriter();
@@ -97,7 +264,20 @@ public abstract class AbstractConnection<R extends ReadablePacket, W extends Wri
             packet,
             (ch, pck) -> "Handle received packet: " + pck + " from: " + NetworkUtils.getRemoteAddress(ch)
         );
-        subscribers.forEachR(this, packet, BiConsumer::accept);
+
+        var startTime = metrics.isEnabled() ? System.nanoTime() : 0L;
+        try {
+            subscribers.forEachR(this, packet, BiConsumer::accept);
+        } finally {
+
+            if (metrics.isEnabled()) {
+                metrics.recordHandledPacket(MetricsRecorder.getPacketId(packet), System.nanoTime() - startTime);
+            }
+
+            if (packet instanceof ReusableReadablePacket) {
+                ((ReusableReadablePacket) packet).release();
+            }
+        }
     }
 
     @Override
@@ -120,36 +300,94 @@ public abstract class AbstractConnection<R extends ReadablePacket, W extends Wri
         @NotNull FluxSink<ReceivedPacketEvent<? extends Connection<R, W>, ? extends R>> sink
     ) {
 
-        NotNullBiConsumer<Connection<R, W>, R> listener =
-            (connection, packet) -> sink.next(new ReceivedPacketEvent<>(connection, packet));
+        var demand = new SubscriberDemand(sink);
+
+        NotNullBiConsumer<Connection<R, W>, R> listener = (connection, packet) -> {
+            retain(packet);
+            sink.next(new ReceivedPacketEvent<>(connection, packet));
+            demand.onNext();
+        };
+
+        sink.onRequest(value -> demand.onRequest());
 
         onReceive(listener);
 
-        sink.onDispose(() -> subscribers.remove(listener));
+        sink.onDispose(() -> {
+            subscribers.remove(listener);
+            demand.onDispose();
+        });
     }
 
     protected void registerFluxOnReceivedPackets(@NotNull FluxSink<? super R> sink) {
 
-        NotNullBiConsumer<Connection<R, W>, R> listener = (connection, packet) -> sink.next(packet);
+        var demand = new SubscriberDemand(sink);
+
+        NotNullBiConsumer<Connection<R, W>, R> listener = (connection, packet) -> {
+            retain(packet);
+            sink.next(packet);
+            demand.onNext();
+        };
+
+        sink.onRequest(value -> demand.onRequest());
 
         onReceive(listener);
 
-        sink.onDispose(() -> subscribers.remove(listener));
+        sink.onDispose(() -> {
+            subscribers.remove(listener);
+            demand.onDispose();
+        });
+    }
+
+    /**
+     * Retain a received packet if it's reusable to give it to a consumer which can handle it later.
+     *
+     * @param packet the received packet.
+     */
+    protected void retain(@NotNull R packet) {
+        if (packet instanceof ReusableReadablePacket) {
+            ((ReusableReadablePacket) packet).retain();
+        }
     }
 
     protected @Nullable WritablePacket nextPacketToWrite() {
-        long stamp = lock.writeLock();
-        try {
-            return pendingPackets.poll();
-        } finally {
-            lock.unlockWrite(stamp);
+
+        var packet = pendingPackets.poll();
+
+        if (packet != null) {
+            onDequeuedPacket(packet);
         }
+
+        return packet;
     }
 
     @Override
     public void close() {
         if (closed.compareAndSet(false, true)) {
             doClose();
+            notifyClosed();
+        }
+    }
+
+    @Override
+    public void onClose(@NotNull NotNullConsumer<? super Connection<R, W>> listener) {
+
+        synchronized (closeListeners) {
+            if (!isClosed()) {
+                closeListeners.add(listener);
+                return;
+            }
+        }
+
+        listener.accept(this);
+    }
+
+    /**
+     * Notify all close listeners about closing this connection.
+     */
+    protected void notifyClosed() {
+        synchronized (closeListeners) {
+            closeListeners.forEachR(this, NotNullConsumer::accept);
+            closeListeners.clear();
         }
     }
 
@@ -164,8 +402,17 @@ public abstract class AbstractConnection<R extends ReadablePacket, W extends Wri
 
         clearWaitPackets();
 
+        // wake up senders which are blocked by the write overflow policy
+        synchronized (writable) {
+            writable.notifyAll();
+        }
+
         getPacketReader().close();
         getPacketWriter().close();
+
+        if (packetCompressor != null) {
+            packetCompressor.close();
+        }
     }
 
     /**
@@ -175,6 +422,24 @@ public abstract class AbstractConnection<R extends ReadablePacket, W extends Wri
         this.lastActivity = System.currentTimeMillis();
     }
 
+    /**
+     * Update the time of last read activity.
+     */
+    protected void updateLastReadActivity() {
+        var currentTime = System.currentTimeMillis();
+        this.lastReadTime = currentTime;
+        this.lastActivity = currentTime;
+    }
+
+    /**
+     * Update the time of last write activity.
+     */
+    protected void updateLastWriteActivity() {
+        var currentTime = System.currentTimeMillis();
+        this.lastWriteTime = currentTime;
+        this.lastActivity = currentTime;
+    }
+
     @Override
     public boolean isClosed() {
         return closed.get();
@@ -183,9 +448,65 @@ public abstract class AbstractConnection<R extends ReadablePacket, W extends Wri
     protected void onWrittenPacket(@NotNull WritablePacket packet) { }
 
     protected void onSentPacket(@NotNull WritablePacket packet, @NotNull Boolean result) {
+
+        if (result) {
+            metrics.recordSentPacket();
+        }
+
         if (packet instanceof WritablePacketWithFeedback) {
             ((WritablePacketWithFeedback<W>) packet).getAttachment().complete(result);
         }
+
+        var sentPacket = unwrapFeedback(packet);
+
+        if (sentPacket instanceof SerializedWritablePacket) {
+            ((SerializedWritablePacket) sentPacket).release();
+        } else if (sentPacket instanceof ReusableWritablePacket) {
+            ((ReusableWritablePacket) sentPacket).complete();
+        }
+    }
+
+    /**
+     * Take the packet which is added to send, every taken packet is released by {@link #onSentPacket} once
+     * regardless of the result of sending.
+     *
+     * @param packet the added packet.
+     */
+    protected void onAddedToSend(@NotNull WritablePacket packet) {
+
+        var addedPacket = unwrapFeedback(packet);
+
+        if (addedPacket instanceof SerializedWritablePacket) {
+            ((SerializedWritablePacket) addedPacket).retain();
+        } else if (addedPacket instanceof ReusableWritablePacket) {
+            ((ReusableWritablePacket) addedPacket).notifyAddedToSend();
+        }
+    }
+
+    /**
+     * Get the packet which is wrapped to get feedback of sending.
+     *
+     * @param packet the packet or the wrapper.
+     * @return the wrapped packet or the packet itself.
+     */
+    protected @NotNull WritablePacket unwrapFeedback(@NotNull WritablePacket packet) {
+
+        if (packet instanceof WritablePacketWithFeedback) {
+            return ((WritablePacketWithFeedback<W>) packet).getPacket();
+        }
+
+        return packet;
+    }
+
+    /**
+     * Handle the queued packet which was replaced by a newer packet with the same conflation key.
+     *
+     * @param packet the superseded packet.
+     */
+    protected void onSupersededPacket(@NotNull WritablePacket packet) {
+        LOGGER.debug(packet, pck -> "Packet " + pck + " was superseded by a newer packet");
+        onDequeuedPacket(packet);
+        onSentPacket(packet, Boolean.FALSE);
     }
 
     @Override
@@ -195,29 +516,173 @@ public abstract class AbstractConnection<R extends ReadablePacket, W extends Wri
 
     protected void sendImpl(@NotNull WritablePacket packet) {
 
+        onAddedToSend(packet);
+
         if (isClosed()) {
+            onSentPacket(packet, Boolean.FALSE);
             return;
         }
 
-        long stamp = lock.writeLock();
-        try {
-            pendingPackets.add(packet);
-        } finally {
-            lock.unlockWrite(stamp);
+        if (!writable.get() && !handleWriteOverflow(packet)) {
+            return;
+        }
+
+        pendingPackets.add(packet);
+        onQueuedPacket(packet);
+
+        // the connection could be closed and its queue could be cleared right before the packet was added
+        if (isClosed()) {
+            clearWaitPackets();
+            return;
         }
 
         getPacketWriter().writeNextPacket();
     }
 
     protected void queueAtFirst(@NotNull WritablePacket packet) {
-        long stamp = lock.writeLock();
-        try {
-            pendingPackets.addFirst(packet);
-        } finally {
-            lock.unlockWrite(stamp);
+        pendingPackets.addPriority(packet);
+        onQueuedPacket(packet);
+    }
+
+    /**
+     * Handle the packet which is sent to the not writable connection by the write overflow policy.
+     *
+     * @param packet the packet.
+     * @return true if the packet should be queued.
+     */
+    protected boolean handleWriteOverflow(@NotNull WritablePacket packet) {
+
+        switch (writeOverflowPolicy) {
+            case DROP:
+                LOGGER.debug(packet, remoteAddress, (pck, address) -> "Drop packet: " + pck + " to: " + address);
+                onSentPacket(packet, Boolean.FALSE);
+                return false;
+            case FAIL:
+                if (packet instanceof WritablePacketWithFeedback) {
+                    ((WritablePacketWithFeedback<W>) packet).getAttachment()
+                        .completeExceptionally(new WriteOverflowException("The connection " + remoteAddress +
+                            " has " + queuedPackets.get() + " queued packets"));
+                } else {
+                    onSentPacket(packet, Boolean.FALSE);
+                }
+
+                return false;
+            case BLOCK:
+                return awaitWritable(packet);
+            case CLOSE:
+                close();
+                onSentPacket(packet, Boolean.FALSE);
+                return false;
+            default:
+                return true;
+        }
+    }
+
+    /**
+     * Block the current thread until this connection is writable or closed. A network thread isn't blocked, because
+     * it can be the only thread which writes the queued packets, so the packet is queued anyway.
+     *
+     * @param packet the packet which is waiting for writability.
+     * @return true if the packet should be queued.
+     */
+    protected boolean awaitWritable(@NotNull WritablePacket packet) {
+
+        if (NetworkUtils.isNetworkThread()) {
+            LOGGER.debug(packet, remoteAddress, (pck, address) ->
+                "Queue packet: " + pck + " to: " + address + " without blocking the network thread");
+            return true;
+        }
+
+        synchronized (writable) {
+            try {
+                while (!writable.get() && !isClosed()) {
+                    writable.wait();
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+
+        if (!writable.get() || isClosed()) {
+            onSentPacket(packet, Boolean.FALSE);
+            return false;
+        }
+
+        return true;
+    }
+
+    protected void onQueuedPacket(@NotNull WritablePacket packet) {
+        metrics.recordPendingPackets(1);
+        pendingBytes.addAndGet(estimateSize(packet));
+
+        if (writeHighWatermark > 0) {
+            updateWritability(queuedPackets.incrementAndGet());
         }
     }
 
+    protected void onDequeuedPacket(@NotNull WritablePacket packet) {
+        metrics.recordPendingPackets(-1);
+        pendingBytes.addAndGet(-estimateSize(packet));
+
+        if (writeHighWatermark > 0) {
+            updateWritability(queuedPackets.decrementAndGet());
+        }
+    }
+
+    /**
+     * Estimate a size of the queued packet to count pending bytes.
+     *
+     * @param packet the packet.
+     * @return the estimated size.
+     */
+    protected int estimateSize(@NotNull WritablePacket packet) {
+        var expectedLength = packet.getExpectedLength();
+        return expectedLength < 0 ? writeBufferSize : expectedLength;
+    }
+
+    @Override
+    public long getPendingBytes() {
+        return pendingBytes.get();
+    }
+
+    /**
+     * Update the writable state by the count of queued packets.
+     *
+     * @param queued the count of queued packets.
+     */
+    protected void updateWritability(int queued) {
+
+        if (queued >= writeHighWatermark && writable.compareAndSet(true, false)) {
+            notifyWritabilityChanged(false);
+        } else if (queued <= writeLowWatermark && writable.compareAndSet(false, true)) {
+
+            synchronized (writable) {
+                writable.notifyAll();
+            }
+
+            notifyWritabilityChanged(true);
+        } else {
+            return;
+        }
+
+        // the count could be changed by other threads before the state was changed
+        updateWritability(queuedPackets.get());
+    }
+
+    protected void notifyWritabilityChanged(boolean writable) {
+        writabilityListeners.forEachR(this, writable, BiConsumer::accept);
+    }
+
+    @Override
+    public boolean isWritable() {
+        return writable.get();
+    }
+
+    @Override
+    public void onWritabilityChanged(@NotNull NotNullBiConsumer<? super Connection<R, W>, Boolean> listener) {
+        writabilityListeners.add(listener);
+    }
+
     @Override
     public @NotNull CompletableFuture<Boolean> sendWithFeedback(@NotNull W packet) {
 
@@ -236,20 +701,9 @@ public abstract class AbstractConnection<R extends ReadablePacket, W extends Wri
      * Clear waited packets.
      */
     protected void clearWaitPackets() {
-        long stamp = lock.writeLock();
-        try {
-            doClearWaitPackets();
-        } finally {
-            lock.unlockWrite(stamp);
-        }
-    }
-
-    protected void doClearWaitPackets() {
-
-        for (var pendingPacket : pendingPackets) {
-            onSentPacket(pendingPacket, Boolean.FALSE);
-        }
-
-        pendingPackets.clear();
+        pendingPackets.clear(packet -> {
+            onDequeuedPacket(packet);
+            onSentPacket(packet, Boolean.FALSE);
+        });
     }
 }
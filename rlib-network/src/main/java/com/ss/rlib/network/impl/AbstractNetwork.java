@@ -1,10 +1,23 @@
 package com.ss.rlib.network.impl;
 
+import com.ss.rlib.common.function.NotNullBiConsumer;
 import com.ss.rlib.logger.api.Logger;
 import com.ss.rlib.logger.api.LoggerManager;
 import com.ss.rlib.network.Connection;
 import com.ss.rlib.network.Network;
 import com.ss.rlib.network.NetworkConfig;
+import com.ss.rlib.network.UnsafeConnection;
+import com.ss.rlib.network.capture.TrafficCapture;
+import com.ss.rlib.network.idle.IdleState;
+import com.ss.rlib.network.idle.IdleTimer;
+import com.ss.rlib.network.idle.impl.HashedWheelIdleTimer;
+import com.ss.rlib.network.metrics.NetworkMetrics;
+import com.ss.rlib.network.metrics.impl.DefaultNetworkMetrics;
+import com.ss.rlib.network.packet.WritablePacket;
+import com.ss.rlib.network.packet.impl.SerializedWritablePacket;
+import com.ss.rlib.network.util.NetworkUtils;
+import lombok.Getter;
+import lombok.Setter;
 import org.jetbrains.annotations.NotNull;
 
 import java.nio.channels.AsynchronousSocketChannel;
@@ -19,14 +32,85 @@ public abstract class AbstractNetwork<C extends Connection<?, ?>> implements Net
 
     protected static final Logger LOGGER = LoggerManager.getLogger(AbstractNetwork.class);
 
-    protected final @NotNull NetworkConfig config;
+    protected final @Getter @NotNull NetworkConfig config;
+    protected final @Getter @NotNull NetworkMetrics metrics;
     protected final @NotNull BiFunction<Network<C>, AsynchronousSocketChannel, C> channelToConnection;
+    protected final @NotNull IdleTimer<C> idleTimer;
+
+    protected volatile @Getter @Setter @NotNull TrafficCapture trafficCapture;
 
     protected AbstractNetwork(
         @NotNull NetworkConfig config,
         @NotNull BiFunction<Network<C>, AsynchronousSocketChannel, C> channelToConnection
     ) {
         this.config = config;
+        this.metrics = config.isMetricsEnabled() ? new DefaultNetworkMetrics() : NetworkMetrics.DISABLED;
         this.channelToConnection = channelToConnection;
+        this.idleTimer = hasIdleTimeouts(config) ? new HashedWheelIdleTimer<>(config) : IdleTimer.disabled();
+        this.trafficCapture = TrafficCapture.NULL;
+    }
+
+    private static boolean hasIdleTimeouts(@NotNull NetworkConfig config) {
+        return config.getReadIdleTimeout() > 0 || config.getWriteIdleTimeout() > 0 || config.getAllIdleTimeout() > 0;
+    }
+
+    /**
+     * Create a new connection of this network for the channel.
+     *
+     * @param channel the channel.
+     * @return the new connection.
+     */
+    protected @NotNull C createConnection(@NotNull AsynchronousSocketChannel channel) {
+
+        NetworkUtils.setSocketOptions(channel, config);
+
+        var connection = channelToConnection.apply(this, channel);
+
+        idleTimer.register(connection);
+
+        return connection;
+    }
+
+    @Override
+    public void onIdle(@NotNull NotNullBiConsumer<? super C, IdleState> handler) {
+        idleTimer.onIdle(handler);
+    }
+
+    @Override
+    public void shutdown() {
+        idleTimer.shutdown();
+    }
+
+    @Override
+    public int broadcast(@NotNull WritablePacket packet, @NotNull Iterable<? extends C> connections) {
+
+        SerializedWritablePacket serialized = null;
+        try {
+
+            var count = 0;
+
+            for (var connection : connections) {
+
+                if (connection.isClosed()) {
+                    continue;
+                }
+
+                var unsafe = (UnsafeConnection<?, ?>) connection;
+
+                if (serialized == null) {
+                    serialized = unsafe.serializeShared(packet);
+                }
+
+                unsafe.sendSerialized(serialized);
+                count++;
+            }
+
+            return count;
+
+        } finally {
+            if (serialized != null) {
+                serialized.release();
+            }
+        }
     }
 }
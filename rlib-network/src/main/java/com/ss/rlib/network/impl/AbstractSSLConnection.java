@@ -5,17 +5,22 @@ import com.ss.rlib.network.Connection;
 import com.ss.rlib.network.Network;
 import com.ss.rlib.network.packet.ReadablePacket;
 import com.ss.rlib.network.packet.WritablePacket;
+import com.ss.rlib.network.util.NetworkUtils;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 
 import javax.net.ssl.SSLContext;
 import javax.net.ssl.SSLEngine;
 import javax.net.ssl.SSLException;
+import java.net.InetSocketAddress;
 import java.nio.channels.AsynchronousSocketChannel;
+import java.util.concurrent.Executor;
 
 public abstract class AbstractSSLConnection<R extends ReadablePacket, W extends WritablePacket> extends
     AbstractConnection<R, W> {
 
     protected final @NotNull SSLEngine sslEngine;
+    protected final @Nullable Executor sslTaskExecutor;
 
     public AbstractSSLConnection(
         @NotNull Network<? extends Connection<R, W>> network,
@@ -26,8 +31,9 @@ public abstract class AbstractSSLConnection<R extends ReadablePacket, W extends
         boolean clientMode
     ) {
         super(network, channel, bufferAllocator, maxPacketsByRead);
-        this.sslEngine = sslContext.createSSLEngine();
+        this.sslEngine = createSslEngine(sslContext, channel);
         this.sslEngine.setUseClientMode(clientMode);
+        this.sslTaskExecutor = network.getConfig().getSslTaskExecutor();
         try {
             this.sslEngine.beginHandshake();
         } catch (SSLException e) {
@@ -35,6 +41,29 @@ public abstract class AbstractSSLConnection<R extends ReadablePacket, W extends
         }
     }
 
+    /**
+     * Create a SSL engine for the channel. The engine is created with the peer's host and port, so the SSL context
+     * can resume a cached session of the same peer instead of doing a full handshake.
+     *
+     * @param sslContext the SSL context.
+     * @param channel    the channel.
+     * @return the new SSL engine.
+     */
+    protected @NotNull SSLEngine createSslEngine(
+        @NotNull SSLContext sslContext,
+        @NotNull AsynchronousSocketChannel channel
+    ) {
+
+        var remoteAddress = NetworkUtils.getRemoteAddress(channel);
+
+        if (remoteAddress instanceof InetSocketAddress) {
+            var address = (InetSocketAddress) remoteAddress;
+            return sslContext.createSSLEngine(address.getHostString(), address.getPort());
+        }
+
+        return sslContext.createSSLEngine();
+    }
+
     @Override
     protected void sendImpl(@NotNull WritablePacket packet) {
         super.sendImpl(packet);
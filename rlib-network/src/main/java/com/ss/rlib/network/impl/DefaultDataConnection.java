@@ -45,7 +45,7 @@ public abstract class DefaultDataConnection<R extends ReadablePacket, W extends
             this,
             channel,
             bufferAllocator,
-            this::updateLastActivity,
+            this::updateLastReadActivity,
             this::handleReceivedPacket,
             value -> createReadablePacket(),
             packetLengthHeaderSize,
@@ -58,11 +58,12 @@ public abstract class DefaultDataConnection<R extends ReadablePacket, W extends
             this,
             channel,
             bufferAllocator,
-            this::updateLastActivity,
+            this::updateLastWriteActivity,
             this::nextPacketToWrite,
             this::onWrittenPacket,
             this::onSentPacket,
-            packetLengthHeaderSize
+            packetLengthHeaderSize,
+            maxPacketsByWrite
         );
     }
 
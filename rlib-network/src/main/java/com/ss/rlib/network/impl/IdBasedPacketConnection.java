@@ -52,7 +52,7 @@ public class IdBasedPacketConnection<R extends IdBasedReadablePacket<R>, W exten
             this,
             channel,
             bufferAllocator,
-            this::updateLastActivity,
+            this::updateLastReadActivity,
             this::handleReceivedPacket,
             packetLengthHeaderSize,
             maxPacketsByRead,
@@ -66,12 +66,13 @@ public class IdBasedPacketConnection<R extends IdBasedReadablePacket<R>, W exten
             this,
             channel,
             bufferAllocator,
-            this::updateLastActivity,
+            this::updateLastWriteActivity,
             this::nextPacketToWrite,
             this::onWrittenPacket,
             this::onSentPacket,
             packetLengthHeaderSize,
-            packetIdHeaderSize
+            packetIdHeaderSize,
+            maxPacketsByWrite
         );
     }
 }
@@ -0,0 +1,433 @@
+package com.ss.rlib.network.impl;
+
+import com.ss.rlib.common.concurrent.lock.LockFactory;
+import com.ss.rlib.logger.api.Logger;
+import com.ss.rlib.logger.api.LoggerManager;
+import com.ss.rlib.network.BufferAllocator;
+import com.ss.rlib.network.NetworkConfig;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.lang.ref.WeakReference;
+import java.nio.ByteBuffer;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.Lock;
+
+/**
+ * The byte buffer allocator which reuses buffers by power-of-two size classes. A released buffer is cached by
+ * the releasing thread at first and is moved to a shared lock-free freelist of its size class when the thread
+ * cache is full. Thread caches and shared freelists together are limited by max retained bytes, buffers over
+ * the limit are dropped. Buffers of caches of terminated threads are moved to the shared freelists when a new
+ * thread cache is created or when the limit is reached. New direct buffers are sliced from large direct arenas
+ * instead of separated allocations.
+ *
+ * @author JavaSaBr
+ * @since 9.9.0
+ */
+public class PooledBufferAllocator implements BufferAllocator {
+
+    private static final Logger LOGGER = LoggerManager.getLogger(PooledBufferAllocator.class);
+
+    public static final int MIN_SIZE_CLASS_SHIFT = 6;
+    public static final int MAX_SIZE_CLASS_SHIFT = 24;
+
+    public static final long DEFAULT_MAX_RETAINED_BYTES = 64L * 1024 * 1024;
+    public static final int DEFAULT_ARENA_SIZE = 4 * 1024 * 1024;
+    public static final int DEFAULT_THREAD_CACHE_SIZE = 8;
+
+    /**
+     * The max size of buffers which can be cached by threads.
+     */
+    public static final int MAX_THREAD_CACHED_BUFFER_SIZE = 64 * 1024;
+
+    private static final int SIZE_CLASSES = MAX_SIZE_CLASS_SHIFT - MIN_SIZE_CLASS_SHIFT + 1;
+
+    private static final class FreeNode {
+
+        private final @NotNull ByteBuffer buffer;
+        private @Nullable FreeNode next;
+
+        private FreeNode(@NotNull ByteBuffer buffer) {
+            this.buffer = buffer;
+        }
+    }
+
+    private static final class FreeList {
+
+        private final @NotNull AtomicReference<FreeNode> top = new AtomicReference<>();
+
+        private void push(@NotNull ByteBuffer buffer) {
+
+            var node = new FreeNode(buffer);
+
+            do {
+                node.next = top.get();
+            } while (!top.compareAndSet(node.next, node));
+        }
+
+        private @Nullable ByteBuffer pop() {
+
+            while (true) {
+
+                var node = top.get();
+
+                if (node == null) {
+                    return null;
+                } else if (top.compareAndSet(node, node.next)) {
+                    return node.buffer;
+                }
+            }
+        }
+    }
+
+    private static final class ThreadCache {
+
+        /**
+         * The thread which uses this cache, it's weak to not keep terminated threads.
+         */
+        private final @NotNull WeakReference<Thread> owner;
+        private final @NotNull ByteBuffer[][] buffers;
+        private final @NotNull int[] sizes;
+
+        private ThreadCache(int cacheSize) {
+            this.owner = new WeakReference<>(Thread.currentThread());
+            this.buffers = new ByteBuffer[SIZE_CLASSES][cacheSize];
+            this.sizes = new int[SIZE_CLASSES];
+        }
+
+        private boolean isOwnerTerminated() {
+            var thread = owner.get();
+            return thread == null || !thread.isAlive();
+        }
+
+        private boolean push(int sizeClass, @NotNull ByteBuffer buffer) {
+
+            var cached = buffers[sizeClass];
+            var size = sizes[sizeClass];
+
+            if (size == cached.length) {
+                return false;
+            }
+
+            cached[size] = buffer;
+            sizes[sizeClass] = size + 1;
+            return true;
+        }
+
+        private @Nullable ByteBuffer pop(int sizeClass) {
+
+            var size = sizes[sizeClass];
+
+            if (size == 0) {
+                return null;
+            }
+
+            var cached = buffers[sizeClass];
+            var buffer = cached[--size];
+
+            cached[size] = null;
+            sizes[sizeClass] = size;
+            return buffer;
+        }
+    }
+
+    private static final class Arena {
+
+        private final @NotNull ByteBuffer memory;
+        private final @NotNull AtomicInteger offset;
+
+        private Arena(@NotNull ByteBuffer memory) {
+            this.memory = memory;
+            this.offset = new AtomicInteger();
+        }
+
+        private @Nullable ByteBuffer slice(int size) {
+
+            var position = offset.getAndAdd(size);
+
+            if (position < 0 || position > memory.capacity() - size) {
+                return null;
+            }
+
+            return memory.duplicate()
+                .position(position)
+                .limit(position + size)
+                .slice();
+        }
+    }
+
+    protected final @NotNull NetworkConfig config;
+
+    private final @NotNull FreeList[] freeLists;
+    private final @NotNull ThreadLocal<ThreadCache> threadCache;
+    private final @NotNull Queue<ThreadCache> threadCaches;
+    private final @NotNull AtomicReference<Arena> arena;
+    private final @NotNull Lock arenaLock;
+
+    private final @NotNull LongAdder hits;
+    private final @NotNull LongAdder misses;
+    private final @NotNull AtomicLong retainedBytes;
+
+    private final long maxRetainedBytes;
+    private final int arenaSize;
+
+    public PooledBufferAllocator(@NotNull NetworkConfig config) {
+        this(config, DEFAULT_MAX_RETAINED_BYTES, DEFAULT_ARENA_SIZE, DEFAULT_THREAD_CACHE_SIZE);
+    }
+
+    public PooledBufferAllocator(
+        @NotNull NetworkConfig config,
+        long maxRetainedBytes,
+        int arenaSize,
+        int threadCacheSize
+    ) {
+        this.config = config;
+        this.maxRetainedBytes = maxRetainedBytes;
+        this.arenaSize = arenaSize;
+        this.freeLists = new FreeList[SIZE_CLASSES];
+        this.threadCache = ThreadLocal.withInitial(() -> newThreadCache(threadCacheSize));
+        this.threadCaches = new ConcurrentLinkedQueue<>();
+        this.arena = new AtomicReference<>();
+        this.arenaLock = LockFactory.newReentrantLock();
+        this.hits = new LongAdder();
+        this.misses = new LongAdder();
+        this.retainedBytes = new AtomicLong();
+
+        for (int i = 0; i < freeLists.length; i++) {
+            freeLists[i] = new FreeList();
+        }
+    }
+
+    @Override
+    public @NotNull ByteBuffer takeReadBuffer() {
+        return takeBuffer(config.getReadBufferSize());
+    }
+
+    @Override
+    public @NotNull ByteBuffer takePendingBuffer() {
+        return takeBuffer(config.getPendingBufferSize());
+    }
+
+    @Override
+    public @NotNull ByteBuffer takeWriteBuffer() {
+        return takeBuffer(config.getWriteBufferSize());
+    }
+
+    @Override
+    public @NotNull ByteBuffer takeBuffer(int bufferSize) {
+
+        var sizeClass = sizeClassOf(bufferSize);
+
+        if (sizeClass < 0) {
+            misses.increment();
+            LOGGER.debug(bufferSize, size -> "Allocate a new not pooled buffer with size: " + size);
+            return allocate(bufferSize)
+                .order(config.getByteOrder());
+        }
+
+        var buffer = pollCached(sizeClass);
+
+        if (buffer != null) {
+            hits.increment();
+        } else {
+            misses.increment();
+            buffer = allocate(1 << (sizeClass + MIN_SIZE_CLASS_SHIFT));
+            LOGGER.debug(buffer, buf -> "Allocate a new buffer with size: " + buf.capacity());
+        }
+
+        return buffer.clear()
+            .order(config.getByteOrder());
+    }
+
+    @Override
+    public @NotNull PooledBufferAllocator putReadBuffer(@NotNull ByteBuffer buffer) {
+        return putBuffer(buffer);
+    }
+
+    @Override
+    public @NotNull PooledBufferAllocator putPendingBuffer(@NotNull ByteBuffer buffer) {
+        return putBuffer(buffer);
+    }
+
+    @Override
+    public @NotNull PooledBufferAllocator putWriteBuffer(@NotNull ByteBuffer buffer) {
+        return putBuffer(buffer);
+    }
+
+    @Override
+    public @NotNull PooledBufferAllocator putBuffer(@NotNull ByteBuffer buffer) {
+
+        var capacity = buffer.capacity();
+        var sizeClass = sizeClassOf(capacity);
+
+        if (sizeClass < 0 || capacity != 1 << (sizeClass + MIN_SIZE_CLASS_SHIFT) || buffer.isReadOnly() ||
+            buffer.isDirect() != config.isDirectByteBuffer()) {
+            LOGGER.debug(buffer, buf -> "Skip storing not pooled buffer: " + buf);
+            return this;
+        }
+
+        // the caches of terminated threads can keep the retained bytes, so they are drained before dropping a buffer
+        if (!tryRetain(capacity) && (drainTerminatedThreadCaches() == 0 || !tryRetain(capacity))) {
+            LOGGER.debug(buffer, buf -> "Skip storing buffer because of max retained bytes: " + buf);
+            return this;
+        }
+
+        if (capacity > MAX_THREAD_CACHED_BUFFER_SIZE || !threadCache.get().push(sizeClass, buffer)) {
+            freeLists[sizeClass].push(buffer);
+        }
+
+        return this;
+    }
+
+    /**
+     * Get a count of taken buffers which were reused.
+     *
+     * @return the count of pool hits.
+     */
+    public long getHits() {
+        return hits.sum();
+    }
+
+    /**
+     * Get a count of taken buffers which were allocated.
+     *
+     * @return the count of pool misses.
+     */
+    public long getMisses() {
+        return misses.sum();
+    }
+
+    /**
+     * Get a total capacity of buffers which are stored in thread caches and in shared freelists, it's limited by
+     * max retained bytes.
+     *
+     * @return the retained bytes.
+     */
+    public long getRetainedBytes() {
+        return retainedBytes.get();
+    }
+
+    private @NotNull ThreadCache newThreadCache(int cacheSize) {
+
+        // a new thread often replaces a terminated thread, so it's a good moment to return its buffers
+        drainTerminatedThreadCaches();
+
+        var cache = new ThreadCache(cacheSize);
+        threadCaches.add(cache);
+        return cache;
+    }
+
+    /**
+     * Move buffers from caches of terminated threads to the shared freelists.
+     *
+     * @return the count of drained caches.
+     */
+    private int drainTerminatedThreadCaches() {
+
+        var drained = 0;
+
+        for (var cache : threadCaches) {
+
+            // the cache can be drained by another thread at the same time
+            if (!cache.isOwnerTerminated() || !threadCaches.remove(cache)) {
+                continue;
+            }
+
+            drained++;
+
+            for (int sizeClass = 0; sizeClass < SIZE_CLASSES; sizeClass++) {
+                for (var buffer = cache.pop(sizeClass); buffer != null; buffer = cache.pop(sizeClass)) {
+                    freeLists[sizeClass].push(buffer);
+                }
+            }
+        }
+
+        return drained;
+    }
+
+    private @Nullable ByteBuffer pollCached(int sizeClass) {
+
+        var buffer = threadCache.get().pop(sizeClass);
+
+        if (buffer == null) {
+            buffer = freeLists[sizeClass].pop();
+        }
+
+        if (buffer != null) {
+            retainedBytes.addAndGet(-buffer.capacity());
+        }
+
+        return buffer;
+    }
+
+    private boolean tryRetain(int capacity) {
+
+        while (true) {
+
+            var current = retainedBytes.get();
+            var updated = current + capacity;
+
+            if (updated > maxRetainedBytes) {
+                return false;
+            } else if (retainedBytes.compareAndSet(current, updated)) {
+                return true;
+            }
+        }
+    }
+
+    private @NotNull ByteBuffer allocate(int size) {
+
+        if (!config.isDirectByteBuffer()) {
+            return ByteBuffer.allocate(size);
+        } else if (size > arenaSize / 8) {
+            return ByteBuffer.allocateDirect(size);
+        }
+
+        while (true) {
+
+            var current = arena.get();
+
+            if (current != null) {
+
+                var slice = current.slice(size);
+
+                if (slice != null) {
+                    return slice;
+                }
+            }
+
+            arenaLock.lock();
+            try {
+
+                // the arena could be already replaced by another thread
+                if (arena.get() == current) {
+                    LOGGER.debug(arenaSize, value -> "Allocate a new direct arena with size: " + value);
+                    arena.set(new Arena(ByteBuffer.allocateDirect(arenaSize)));
+                }
+
+            } finally {
+                arenaLock.unlock();
+            }
+        }
+    }
+
+    private static int sizeClassOf(int size) {
+
+        if (size <= 1 << MIN_SIZE_CLASS_SHIFT) {
+            return 0;
+        }
+
+        var shift = Integer.SIZE - Integer.numberOfLeadingZeros(size - 1);
+
+        if (shift > MAX_SIZE_CLASS_SHIFT) {
+            return -1;
+        }
+
+        return shift - MIN_SIZE_CLASS_SHIFT;
+    }
+}
@@ -0,0 +1,193 @@
+package com.ss.rlib.network.impl;
+
+import com.ss.rlib.network.NetworkCryptor;
+import org.jetbrains.annotations.NotNull;
+
+import javax.crypto.Cipher;
+import javax.crypto.ShortBufferException;
+import javax.crypto.spec.ChaCha20ParameterSpec;
+import javax.crypto.spec.IvParameterSpec;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.ByteBuffer;
+import java.security.GeneralSecurityException;
+
+/**
+ * The implementation of a network cryptor based on stream ciphers like AES-CTR or ChaCha20, so the length of data
+ * isn't changed by encryption. The cipher of each direction is initialized once per connection and keeps its
+ * position in the key stream between packets, so packets should be decrypted in the same order in which they
+ * were encrypted. Data of heap buffers is encrypted in place in their arrays, data of direct buffers is encrypted
+ * by chunks through a reusable array, so encryption doesn't allocate anything per packet.
+ * <p>
+ * Encryption is called only by the writer of a connection and decryption only by its reader, so each direction
+ * isn't thread safe by itself.
+ *
+ * @author JavaSaBr
+ * @since 9.9.0
+ */
+public class StreamCipherNetworkCryptor implements NetworkCryptor {
+
+    /**
+     * The transformation of AES in the counter mode.
+     */
+    public static final String AES_CTR = "AES/CTR/NoPadding";
+
+    /**
+     * The transformation of ChaCha20.
+     */
+    public static final String CHACHA20 = "ChaCha20";
+
+    /**
+     * The size of chunks to encrypt data of direct buffers.
+     */
+    public static final int CHUNK_SIZE = 4096;
+
+    /**
+     * Create a new cryptor based on AES-CTR.
+     *
+     * @param key       the key with 16, 24 or 32 bytes.
+     * @param encryptIv the initial counter block of encryption with 16 bytes.
+     * @param decryptIv the initial counter block of decryption with 16 bytes, it should be the encryption counter
+     *                  block of the other side.
+     * @return the new cryptor.
+     * @throws IllegalArgumentException if the key or the counter blocks are wrong.
+     */
+    public static @NotNull StreamCipherNetworkCryptor newAesCtr(
+        @NotNull byte[] key,
+        @NotNull byte[] encryptIv,
+        @NotNull byte[] decryptIv
+    ) {
+        try {
+
+            var secretKey = new SecretKeySpec(key, "AES");
+            var encryptCipher = Cipher.getInstance(AES_CTR);
+            var decryptCipher = Cipher.getInstance(AES_CTR);
+
+            encryptCipher.init(Cipher.ENCRYPT_MODE, secretKey, new IvParameterSpec(encryptIv));
+            decryptCipher.init(Cipher.DECRYPT_MODE, secretKey, new IvParameterSpec(decryptIv));
+
+            return new StreamCipherNetworkCryptor(encryptCipher, decryptCipher);
+
+        } catch (GeneralSecurityException e) {
+            throw new IllegalArgumentException(e);
+        }
+    }
+
+    /**
+     * Create a new cryptor based on ChaCha20. The counter of each direction starts from 0 and the key stream
+     * of one nonce is limited by 256 GiB.
+     *
+     * @param key          the key with 32 bytes.
+     * @param encryptNonce the nonce of encryption with 12 bytes.
+     * @param decryptNonce the nonce of decryption with 12 bytes, it should be the encryption nonce of the other side.
+     * @return the new cryptor.
+     * @throws IllegalArgumentException if the key or the nonces are wrong.
+     */
+    public static @NotNull StreamCipherNetworkCryptor newChaCha20(
+        @NotNull byte[] key,
+        @NotNull byte[] encryptNonce,
+        @NotNull byte[] decryptNonce
+    ) {
+        try {
+
+            var secretKey = new SecretKeySpec(key, CHACHA20);
+            var encryptCipher = Cipher.getInstance(CHACHA20);
+            var decryptCipher = Cipher.getInstance(CHACHA20);
+
+            encryptCipher.init(Cipher.ENCRYPT_MODE, secretKey, new ChaCha20ParameterSpec(encryptNonce, 0));
+            decryptCipher.init(Cipher.DECRYPT_MODE, secretKey, new ChaCha20ParameterSpec(decryptNonce, 0));
+
+            return new StreamCipherNetworkCryptor(encryptCipher, decryptCipher);
+
+        } catch (GeneralSecurityException e) {
+            throw new IllegalArgumentException(e);
+        }
+    }
+
+    private final @NotNull Cipher encryptCipher;
+    private final @NotNull Cipher decryptCipher;
+
+    private final @NotNull byte[] encryptChunk;
+    private final @NotNull byte[] decryptChunk;
+
+    /**
+     * Create a new cryptor with initialized stream ciphers.
+     *
+     * @param encryptCipher the initialized cipher to encrypt data.
+     * @param decryptCipher the initialized cipher to decrypt data.
+     */
+    public StreamCipherNetworkCryptor(@NotNull Cipher encryptCipher, @NotNull Cipher decryptCipher) {
+        this.encryptCipher = encryptCipher;
+        this.decryptCipher = decryptCipher;
+        this.encryptChunk = new byte[CHUNK_SIZE];
+        this.decryptChunk = new byte[CHUNK_SIZE];
+    }
+
+    @Override
+    public void decrypt(@NotNull ByteBuffer buffer, int offset, int length) {
+        update(decryptCipher, decryptChunk, buffer, offset, length);
+    }
+
+    @Override
+    public void encrypt(@NotNull ByteBuffer buffer, int offset, int length) {
+        update(encryptCipher, encryptChunk, buffer, offset, length);
+    }
+
+    private static void update(
+        @NotNull Cipher cipher,
+        @NotNull byte[] chunk,
+        @NotNull ByteBuffer buffer,
+        int offset,
+        int length
+    ) {
+
+        if (length < 1) {
+            return;
+        }
+
+        try {
+
+            if (buffer.hasArray()) {
+                var array = buffer.array();
+                var start = buffer.arrayOffset() + offset;
+                checkResult(length, cipher.update(array, start, length, array, start));
+                return;
+            }
+
+            var position = buffer.position();
+            var limit = buffer.limit();
+
+            // Cipher.update(ByteBuffer, ByteBuffer) allocates temp arrays for direct buffers on every call
+            buffer.limit(buffer.capacity());
+            try {
+
+                for (int done = 0; done < length; ) {
+
+                    var size = Math.min(chunk.length, length - done);
+
+                    buffer.position(offset + done);
+                    buffer.get(chunk, 0, size);
+
+                    checkResult(size, cipher.update(chunk, 0, size, chunk, 0));
+
+                    buffer.position(offset + done);
+                    buffer.put(chunk, 0, size);
+
+                    done += size;
+                }
+
+            } finally {
+                buffer.limit(limit).position(position);
+            }
+
+        } catch (ShortBufferException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static void checkResult(int expected, int result) {
+        if (expected != result) {
+            throw new IllegalStateException("The cipher isn't a stream cipher, processed " + result +
+                " bytes instead of " + expected);
+        }
+    }
+}
@@ -0,0 +1,19 @@
+package com.ss.rlib.network.metrics;
+
+import com.ss.rlib.network.metrics.impl.DisabledMetrics;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * The interface to implement metrics of a connection. All recorded values are added to metrics of the network of
+ * the connection as well, latencies of packets are collected only by the network.
+ *
+ * @author JavaSaBr
+ * @since 9.9.0
+ */
+public interface ConnectionMetrics extends NetworkCounters, MetricsRecorder {
+
+    /**
+     * The metrics which don't record anything.
+     */
+    @NotNull ConnectionMetrics DISABLED = DisabledMetrics.INSTANCE;
+}
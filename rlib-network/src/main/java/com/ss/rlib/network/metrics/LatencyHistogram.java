@@ -0,0 +1,63 @@
+package com.ss.rlib.network.metrics;
+
+/**
+ * The interface to implement a histogram of latencies in nanoseconds. Values are collected by buckets, so
+ * percentiles are approximated by upper bounds of buckets.
+ *
+ * @author JavaSaBr
+ * @since 9.9.0
+ */
+public interface LatencyHistogram {
+
+    /**
+     * Get a count of recorded values.
+     *
+     * @return the count of recorded values.
+     */
+    long getCount();
+
+    /**
+     * Get a sum of recorded values.
+     *
+     * @return the sum of recorded values in nanoseconds.
+     */
+    long getTotalNanos();
+
+    /**
+     * Get a max recorded value.
+     *
+     * @return the max recorded value in nanoseconds.
+     */
+    long getMaxNanos();
+
+    /**
+     * Get an approximated value at the percentile.
+     *
+     * @param percentile the percentile from 0 to 100.
+     * @return the upper bound of a bucket which contains the percentile in nanoseconds.
+     */
+    long getValueAtPercentile(double percentile);
+
+    /**
+     * Get a count of buckets of this histogram.
+     *
+     * @return the count of buckets.
+     */
+    int getBucketCount();
+
+    /**
+     * Get an upper bound of values of the bucket.
+     *
+     * @param bucket the bucket's index.
+     * @return the upper bound in nanoseconds (inclusive).
+     */
+    long getBucketUpperBound(int bucket);
+
+    /**
+     * Get a count of values in the bucket.
+     *
+     * @param bucket the bucket's index.
+     * @return the count of values.
+     */
+    long getBucketValue(int bucket);
+}
@@ -0,0 +1,30 @@
+package com.ss.rlib.network.metrics;
+
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * The interface to implement an exporter of network metrics to a monitoring system.
+ *
+ * @author JavaSaBr
+ * @see NetworkMetrics#export(MetricsExporter)
+ * @since 9.9.0
+ */
+public interface MetricsExporter {
+
+    /**
+     * Export a value of a counter.
+     *
+     * @param name  the counter's name.
+     * @param value the counter's value.
+     */
+    void exportCounter(@NotNull String name, long value);
+
+    /**
+     * Export a latency histogram of packets.
+     *
+     * @param name      the histogram's name.
+     * @param packetId  the packet id or {@link MetricsRecorder#UNKNOWN_PACKET_ID}.
+     * @param histogram the histogram.
+     */
+    void exportHistogram(@NotNull String name, int packetId, @NotNull LatencyHistogram histogram);
+}
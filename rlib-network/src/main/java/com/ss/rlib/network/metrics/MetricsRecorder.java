@@ -0,0 +1,103 @@
+package com.ss.rlib.network.metrics;
+
+import com.ss.rlib.network.packet.IdBasedPacket;
+import com.ss.rlib.network.packet.Packet;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * The interface to record metrics of a connection by its readers and writers. Implementations must not allocate
+ * objects to record values, so they can be called for every packet.
+ *
+ * @author JavaSaBr
+ * @since 9.9.0
+ */
+public interface MetricsRecorder {
+
+    /**
+     * The packet id of packets which have no id.
+     */
+    int UNKNOWN_PACKET_ID = -1;
+
+    /**
+     * Get an id of the packet to record latencies of it.
+     *
+     * @param packet the packet.
+     * @return the packet id or {@link #UNKNOWN_PACKET_ID}.
+     */
+    static int getPacketId(@NotNull Packet packet) {
+        return packet instanceof IdBasedPacket ? ((IdBasedPacket) packet).getPacketId() : UNKNOWN_PACKET_ID;
+    }
+
+    /**
+     * Return true if this recorder records values, so it makes sense to measure latencies for it.
+     *
+     * @return true if this recorder is enabled.
+     */
+    boolean isEnabled();
+
+    /**
+     * Record received bytes.
+     *
+     * @param bytes the count of received bytes.
+     */
+    void recordReceivedBytes(long bytes);
+
+    /**
+     * Record sent bytes.
+     *
+     * @param bytes the count of sent bytes.
+     */
+    void recordSentBytes(long bytes);
+
+    /**
+     * Record a read packet.
+     *
+     * @param packetId the packet id.
+     * @param nanos    the time of reading the packet in nanoseconds.
+     */
+    void recordReadPacket(int packetId, long nanos);
+
+    /**
+     * Record a handled packet.
+     *
+     * @param packetId the packet id.
+     * @param nanos    the time of handling the packet by subscribers in nanoseconds.
+     */
+    void recordHandledPacket(int packetId, long nanos);
+
+    /**
+     * Record a serialized packet.
+     *
+     * @param packetId the packet id.
+     * @param nanos    the time of serializing the packet in nanoseconds.
+     */
+    void recordSerializedPacket(int packetId, long nanos);
+
+    /**
+     * Record a successfully sent packet.
+     */
+    void recordSentPacket();
+
+    /**
+     * Record a change of the count of pending packets.
+     *
+     * @param delta the change.
+     */
+    void recordPendingPackets(int delta);
+
+    /**
+     * Record a write which didn't consume all data.
+     */
+    void recordWriteStall();
+
+    /**
+     * Record an allocation of a temp buffer.
+     */
+    void recordTempBufferAllocation();
+
+    /**
+     * Record a read which was stopped by the limit of packets per read, it's recorded once per read regardless of
+     * a count of deferred packets.
+     */
+    void recordReadLimitHit();
+}
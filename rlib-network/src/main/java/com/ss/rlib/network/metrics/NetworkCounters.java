@@ -0,0 +1,68 @@
+package com.ss.rlib.network.metrics;
+
+/**
+ * The interface to get values of common counters of a network or a connection.
+ *
+ * @author JavaSaBr
+ * @since 9.9.0
+ */
+public interface NetworkCounters {
+
+    /**
+     * Get a count of bytes which were received from channels.
+     *
+     * @return the count of received bytes.
+     */
+    long getReceivedBytes();
+
+    /**
+     * Get a count of bytes which were written to channels.
+     *
+     * @return the count of sent bytes.
+     */
+    long getSentBytes();
+
+    /**
+     * Get a count of packets which were read from received data.
+     *
+     * @return the count of received packets.
+     */
+    long getReceivedPackets();
+
+    /**
+     * Get a count of packets which were successfully sent.
+     *
+     * @return the count of sent packets.
+     */
+    long getSentPackets();
+
+    /**
+     * Get a count of packets which are waiting for writing now.
+     *
+     * @return the count of pending packets.
+     */
+    long getPendingPackets();
+
+    /**
+     * Get a count of writes which didn't consume all data, so the rest of data had to be written again.
+     *
+     * @return the count of write stalls.
+     */
+    long getWriteStalls();
+
+    /**
+     * Get a count of temp buffers which were allocated to read or write packets bigger than regular buffers.
+     *
+     * @return the count of temp buffer allocations.
+     */
+    long getTempBufferAllocations();
+
+    /**
+     * Get a count of reads which were stopped by the limit of packets per read while received data still had
+     * more packets. It's a count of reads, not of packets: one hit can defer many packets. Deferred packets aren't
+     * dropped, their data waits for a next read, and they are counted as received packets after reading.
+     *
+     * @return the count of read limit hits.
+     */
+    long getReadLimitHits();
+}
@@ -0,0 +1,73 @@
+package com.ss.rlib.network.metrics;
+
+import com.ss.rlib.network.metrics.impl.DisabledMetrics;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * The interface to implement metrics of a network. Counters of a network are sums of counters of all its
+ * connections, latencies of packets are collected by histograms per packet id.
+ *
+ * @author JavaSaBr
+ * @since 9.9.0
+ */
+public interface NetworkMetrics extends NetworkCounters {
+
+    /**
+     * The metrics which don't record anything.
+     */
+    @NotNull NetworkMetrics DISABLED = DisabledMetrics.INSTANCE;
+
+    // names of exported counters
+    String RECEIVED_BYTES = "received.bytes";
+    String SENT_BYTES = "sent.bytes";
+    String RECEIVED_PACKETS = "received.packets";
+    String SENT_PACKETS = "sent.packets";
+    String PENDING_PACKETS = "pending.packets";
+    String WRITE_STALLS = "write.stalls";
+    String TEMP_BUFFER_ALLOCATIONS = "temp.buffer.allocations";
+    String READ_LIMIT_HITS = "read.limit.hits";
+
+    // names of exported histograms
+    String READ_LATENCY = "read.latency";
+    String SERIALIZE_LATENCY = "serialize.latency";
+    String HANDLE_LATENCY = "handle.latency";
+
+    /**
+     * Create metrics for a new connection of this network.
+     *
+     * @return the new connection's metrics.
+     */
+    @NotNull ConnectionMetrics createConnectionMetrics();
+
+    /**
+     * Get a histogram of latencies of reading packets with the id.
+     *
+     * @param packetId the packet id or {@link MetricsRecorder#UNKNOWN_PACKET_ID}.
+     * @return the histogram or null if no packets with the id were read.
+     */
+    @Nullable LatencyHistogram getReadLatency(int packetId);
+
+    /**
+     * Get a histogram of latencies of serializing packets with the id.
+     *
+     * @param packetId the packet id or {@link MetricsRecorder#UNKNOWN_PACKET_ID}.
+     * @return the histogram or null if no packets with the id were serialized.
+     */
+    @Nullable LatencyHistogram getSerializeLatency(int packetId);
+
+    /**
+     * Get a histogram of latencies of handling received packets with the id by subscribers.
+     *
+     * @param packetId the packet id or {@link MetricsRecorder#UNKNOWN_PACKET_ID}.
+     * @return the histogram or null if no packets with the id were handled.
+     */
+    @Nullable LatencyHistogram getHandleLatency(int packetId);
+
+    /**
+     * Export all counters and histograms of this network to the exporter.
+     *
+     * @param exporter the exporter.
+     */
+    void export(@NotNull MetricsExporter exporter);
+}
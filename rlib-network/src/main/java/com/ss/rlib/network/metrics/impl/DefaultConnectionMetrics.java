@@ -0,0 +1,135 @@
+package com.ss.rlib.network.metrics.impl;
+
+import com.ss.rlib.network.metrics.ConnectionMetrics;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * The default implementation of connection metrics. Every recorded value is added to counters of the connection
+ * and to counters of its network.
+ *
+ * @author JavaSaBr
+ * @since 9.9.0
+ */
+public class DefaultConnectionMetrics implements ConnectionMetrics {
+
+    protected final @NotNull DefaultNetworkMetrics network;
+
+    protected final @NotNull LongAdder receivedBytes = new LongAdder();
+    protected final @NotNull LongAdder sentBytes = new LongAdder();
+    protected final @NotNull LongAdder receivedPackets = new LongAdder();
+    protected final @NotNull LongAdder sentPackets = new LongAdder();
+    protected final @NotNull LongAdder pendingPackets = new LongAdder();
+    protected final @NotNull LongAdder writeStalls = new LongAdder();
+    protected final @NotNull LongAdder tempBufferAllocations = new LongAdder();
+    protected final @NotNull LongAdder readLimitHits = new LongAdder();
+
+    public DefaultConnectionMetrics(@NotNull DefaultNetworkMetrics network) {
+        this.network = network;
+    }
+
+    @Override
+    public boolean isEnabled() {
+        return true;
+    }
+
+    @Override
+    public void recordReceivedBytes(long bytes) {
+        receivedBytes.add(bytes);
+        network.receivedBytes.add(bytes);
+    }
+
+    @Override
+    public void recordSentBytes(long bytes) {
+        sentBytes.add(bytes);
+        network.sentBytes.add(bytes);
+    }
+
+    @Override
+    public void recordReadPacket(int packetId, long nanos) {
+        receivedPackets.increment();
+        network.receivedPackets.increment();
+        network.recordReadLatency(packetId, nanos);
+    }
+
+    @Override
+    public void recordHandledPacket(int packetId, long nanos) {
+        network.recordHandleLatency(packetId, nanos);
+    }
+
+    @Override
+    public void recordSerializedPacket(int packetId, long nanos) {
+        network.recordSerializeLatency(packetId, nanos);
+    }
+
+    @Override
+    public void recordSentPacket() {
+        sentPackets.increment();
+        network.sentPackets.increment();
+    }
+
+    @Override
+    public void recordPendingPackets(int delta) {
+        pendingPackets.add(delta);
+        network.pendingPackets.add(delta);
+    }
+
+    @Override
+    public void recordWriteStall() {
+        writeStalls.increment();
+        network.writeStalls.increment();
+    }
+
+    @Override
+    public void recordTempBufferAllocation() {
+        tempBufferAllocations.increment();
+        network.tempBufferAllocations.increment();
+    }
+
+    @Override
+    public void recordReadLimitHit() {
+        readLimitHits.increment();
+        network.readLimitHits.increment();
+    }
+
+    @Override
+    public long getReceivedBytes() {
+        return receivedBytes.sum();
+    }
+
+    @Override
+    public long getSentBytes() {
+        return sentBytes.sum();
+    }
+
+    @Override
+    public long getReceivedPackets() {
+        return receivedPackets.sum();
+    }
+
+    @Override
+    public long getSentPackets() {
+        return sentPackets.sum();
+    }
+
+    @Override
+    public long getPendingPackets() {
+        return pendingPackets.sum();
+    }
+
+    @Override
+    public long getWriteStalls() {
+        return writeStalls.sum();
+    }
+
+    @Override
+    public long getTempBufferAllocations() {
+        return tempBufferAllocations.sum();
+    }
+
+    @Override
+    public long getReadLimitHits() {
+        return readLimitHits.sum();
+    }
+}
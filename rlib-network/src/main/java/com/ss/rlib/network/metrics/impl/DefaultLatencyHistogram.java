@@ -0,0 +1,126 @@
+package com.ss.rlib.network.metrics.impl;
+
+import com.ss.rlib.network.metrics.LatencyHistogram;
+
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * The implementation of a latency histogram with buckets by powers of 2. All buckets are striped counters
+ * which are created with the histogram, so recording a value doesn't allocate anything.
+ *
+ * @author JavaSaBr
+ * @since 9.9.0
+ */
+public class DefaultLatencyHistogram implements LatencyHistogram {
+
+    /**
+     * The count of buckets, the last bucket contains all values bigger than 2^46 nanoseconds (~19 hours).
+     */
+    public static final int BUCKET_COUNT = 48;
+
+    private final LongAdder[] buckets;
+    private final LongAdder totalNanos;
+    private final LongAccumulator maxNanos;
+
+    public DefaultLatencyHistogram() {
+        this.buckets = new LongAdder[BUCKET_COUNT];
+        this.totalNanos = new LongAdder();
+        this.maxNanos = new LongAccumulator(Math::max, 0);
+
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            buckets[i] = new LongAdder();
+        }
+    }
+
+    /**
+     * Record a latency.
+     *
+     * @param nanos the latency in nanoseconds.
+     */
+    public void record(long nanos) {
+
+        if (nanos < 0) {
+            nanos = 0;
+        }
+
+        var bucket = Math.min(64 - Long.numberOfLeadingZeros(nanos), BUCKET_COUNT - 1);
+
+        buckets[bucket].increment();
+        totalNanos.add(nanos);
+        maxNanos.accumulate(nanos);
+    }
+
+    @Override
+    public long getCount() {
+
+        var count = 0L;
+
+        for (var bucket : buckets) {
+            count += bucket.sum();
+        }
+
+        return count;
+    }
+
+    @Override
+    public long getTotalNanos() {
+        return totalNanos.sum();
+    }
+
+    @Override
+    public long getMaxNanos() {
+        return maxNanos.get();
+    }
+
+    @Override
+    public long getValueAtPercentile(double percentile) {
+
+        var counts = new long[BUCKET_COUNT];
+        var total = 0L;
+
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            counts[i] = buckets[i].sum();
+            total += counts[i];
+        }
+
+        if (total == 0) {
+            return 0;
+        }
+
+        var threshold = Math.max(1, (long) Math.ceil(total * Math.min(percentile, 100D) / 100D));
+        var accumulated = 0L;
+
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+
+            accumulated += counts[i];
+
+            if (accumulated >= threshold) {
+                return Math.min(getBucketUpperBound(i), getMaxNanos());
+            }
+        }
+
+        return getMaxNanos();
+    }
+
+    @Override
+    public int getBucketCount() {
+        return BUCKET_COUNT;
+    }
+
+    @Override
+    public long getBucketUpperBound(int bucket) {
+        return bucket == BUCKET_COUNT - 1 ? Long.MAX_VALUE : (1L << bucket) - 1;
+    }
+
+    @Override
+    public long getBucketValue(int bucket) {
+        return buckets[bucket].sum();
+    }
+
+    @Override
+    public String toString() {
+        return "DefaultLatencyHistogram{" + "count=" + getCount() + ", totalNanos=" + getTotalNanos() + ", maxNanos=" +
+            getMaxNanos() + '}';
+    }
+}
@@ -0,0 +1,170 @@
+package com.ss.rlib.network.metrics.impl;
+
+import com.ss.rlib.network.metrics.*;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * The default implementation of network metrics based on striped counters. Histograms of packets are created
+ * on the first packet with a new id, packets with ids out of the range [0, {@link #MAX_TRACKED_PACKET_ID})
+ * share the histogram of {@link MetricsRecorder#UNKNOWN_PACKET_ID}.
+ *
+ * @author JavaSaBr
+ * @since 9.9.0
+ */
+public class DefaultNetworkMetrics implements NetworkMetrics {
+
+    /**
+     * The max packet id (exclusive) which has own histograms.
+     */
+    public static final int MAX_TRACKED_PACKET_ID = 1024;
+
+    protected final @NotNull LongAdder receivedBytes = new LongAdder();
+    protected final @NotNull LongAdder sentBytes = new LongAdder();
+    protected final @NotNull LongAdder receivedPackets = new LongAdder();
+    protected final @NotNull LongAdder sentPackets = new LongAdder();
+    protected final @NotNull LongAdder pendingPackets = new LongAdder();
+    protected final @NotNull LongAdder writeStalls = new LongAdder();
+    protected final @NotNull LongAdder tempBufferAllocations = new LongAdder();
+    protected final @NotNull LongAdder readLimitHits = new LongAdder();
+
+    protected final @NotNull AtomicReferenceArray<DefaultLatencyHistogram> readLatencies;
+    protected final @NotNull AtomicReferenceArray<DefaultLatencyHistogram> serializeLatencies;
+    protected final @NotNull AtomicReferenceArray<DefaultLatencyHistogram> handleLatencies;
+
+    public DefaultNetworkMetrics() {
+        // the last slot is for unknown packet ids
+        this.readLatencies = new AtomicReferenceArray<>(MAX_TRACKED_PACKET_ID + 1);
+        this.serializeLatencies = new AtomicReferenceArray<>(MAX_TRACKED_PACKET_ID + 1);
+        this.handleLatencies = new AtomicReferenceArray<>(MAX_TRACKED_PACKET_ID + 1);
+    }
+
+    @Override
+    public @NotNull ConnectionMetrics createConnectionMetrics() {
+        return new DefaultConnectionMetrics(this);
+    }
+
+    @Override
+    public @Nullable LatencyHistogram getReadLatency(int packetId) {
+        return readLatencies.get(toIndex(packetId));
+    }
+
+    @Override
+    public @Nullable LatencyHistogram getSerializeLatency(int packetId) {
+        return serializeLatencies.get(toIndex(packetId));
+    }
+
+    @Override
+    public @Nullable LatencyHistogram getHandleLatency(int packetId) {
+        return handleLatencies.get(toIndex(packetId));
+    }
+
+    void recordReadLatency(int packetId, long nanos) {
+        getOrCreate(readLatencies, packetId).record(nanos);
+    }
+
+    void recordSerializeLatency(int packetId, long nanos) {
+        getOrCreate(serializeLatencies, packetId).record(nanos);
+    }
+
+    void recordHandleLatency(int packetId, long nanos) {
+        getOrCreate(handleLatencies, packetId).record(nanos);
+    }
+
+    private static int toIndex(int packetId) {
+        return packetId >= 0 && packetId < MAX_TRACKED_PACKET_ID ? packetId : MAX_TRACKED_PACKET_ID;
+    }
+
+    private static @NotNull DefaultLatencyHistogram getOrCreate(
+        @NotNull AtomicReferenceArray<DefaultLatencyHistogram> histograms,
+        int packetId
+    ) {
+
+        var index = toIndex(packetId);
+        var histogram = histograms.get(index);
+
+        if (histogram != null) {
+            return histogram;
+        }
+
+        histograms.compareAndSet(index, null, new DefaultLatencyHistogram());
+
+        return histograms.get(index);
+    }
+
+    @Override
+    public void export(@NotNull MetricsExporter exporter) {
+
+        exporter.exportCounter(RECEIVED_BYTES, getReceivedBytes());
+        exporter.exportCounter(SENT_BYTES, getSentBytes());
+        exporter.exportCounter(RECEIVED_PACKETS, getReceivedPackets());
+        exporter.exportCounter(SENT_PACKETS, getSentPackets());
+        exporter.exportCounter(PENDING_PACKETS, getPendingPackets());
+        exporter.exportCounter(WRITE_STALLS, getWriteStalls());
+        exporter.exportCounter(TEMP_BUFFER_ALLOCATIONS, getTempBufferAllocations());
+        exporter.exportCounter(READ_LIMIT_HITS, getReadLimitHits());
+
+        exportHistograms(exporter, READ_LATENCY, readLatencies);
+        exportHistograms(exporter, SERIALIZE_LATENCY, serializeLatencies);
+        exportHistograms(exporter, HANDLE_LATENCY, handleLatencies);
+    }
+
+    private static void exportHistograms(
+        @NotNull MetricsExporter exporter,
+        @NotNull String name,
+        @NotNull AtomicReferenceArray<DefaultLatencyHistogram> histograms
+    ) {
+        for (int i = 0, length = histograms.length(); i < length; i++) {
+
+            var histogram = histograms.get(i);
+
+            if (histogram != null) {
+                var packetId = i == MAX_TRACKED_PACKET_ID ? MetricsRecorder.UNKNOWN_PACKET_ID : i;
+                exporter.exportHistogram(name, packetId, histogram);
+            }
+        }
+    }
+
+    @Override
+    public long getReceivedBytes() {
+        return receivedBytes.sum();
+    }
+
+    @Override
+    public long getSentBytes() {
+        return sentBytes.sum();
+    }
+
+    @Override
+    public long getReceivedPackets() {
+        return receivedPackets.sum();
+    }
+
+    @Override
+    public long getSentPackets() {
+        return sentPackets.sum();
+    }
+
+    @Override
+    public long getPendingPackets() {
+        return pendingPackets.sum();
+    }
+
+    @Override
+    public long getWriteStalls() {
+        return writeStalls.sum();
+    }
+
+    @Override
+    public long getTempBufferAllocations() {
+        return tempBufferAllocations.sum();
+    }
+
+    @Override
+    public long getReadLimitHits() {
+        return readLimitHits.sum();
+    }
+}
@@ -0,0 +1,128 @@
+package com.ss.rlib.network.metrics.impl;
+
+import com.ss.rlib.network.metrics.*;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * The implementation of metrics which don't record anything.
+ *
+ * @author JavaSaBr
+ * @since 9.9.0
+ */
+public final class DisabledMetrics implements NetworkMetrics, ConnectionMetrics {
+
+    public static final DisabledMetrics INSTANCE = new DisabledMetrics();
+
+    private DisabledMetrics() {
+    }
+
+    @Override
+    public @NotNull ConnectionMetrics createConnectionMetrics() {
+        return this;
+    }
+
+    @Override
+    public @Nullable LatencyHistogram getReadLatency(int packetId) {
+        return null;
+    }
+
+    @Override
+    public @Nullable LatencyHistogram getSerializeLatency(int packetId) {
+        return null;
+    }
+
+    @Override
+    public @Nullable LatencyHistogram getHandleLatency(int packetId) {
+        return null;
+    }
+
+    @Override
+    public void export(@NotNull MetricsExporter exporter) {
+    }
+
+    @Override
+    public boolean isEnabled() {
+        return false;
+    }
+
+    @Override
+    public void recordReceivedBytes(long bytes) {
+    }
+
+    @Override
+    public void recordSentBytes(long bytes) {
+    }
+
+    @Override
+    public void recordReadPacket(int packetId, long nanos) {
+    }
+
+    @Override
+    public void recordHandledPacket(int packetId, long nanos) {
+    }
+
+    @Override
+    public void recordSerializedPacket(int packetId, long nanos) {
+    }
+
+    @Override
+    public void recordSentPacket() {
+    }
+
+    @Override
+    public void recordPendingPackets(int delta) {
+    }
+
+    @Override
+    public void recordWriteStall() {
+    }
+
+    @Override
+    public void recordTempBufferAllocation() {
+    }
+
+    @Override
+    public void recordReadLimitHit() {
+    }
+
+    @Override
+    public long getReceivedBytes() {
+        return 0;
+    }
+
+    @Override
+    public long getSentBytes() {
+        return 0;
+    }
+
+    @Override
+    public long getReceivedPackets() {
+        return 0;
+    }
+
+    @Override
+    public long getSentPackets() {
+        return 0;
+    }
+
+    @Override
+    public long getPendingPackets() {
+        return 0;
+    }
+
+    @Override
+    public long getWriteStalls() {
+        return 0;
+    }
+
+    @Override
+    public long getTempBufferAllocations() {
+        return 0;
+    }
+
+    @Override
+    public long getReadLimitHits() {
+        return 0;
+    }
+}
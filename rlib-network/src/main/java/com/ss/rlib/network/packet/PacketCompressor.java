@@ -0,0 +1,68 @@
+package com.ss.rlib.network.packet;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.nio.ByteBuffer;
+
+/**
+ * The interface to implement a compressor of packets of a connection. If a connection has a compressor, every packet
+ * has the flag byte after the length header. A compressed packet has the flag {@link #COMPRESSED}, the original
+ * length of its data as 4 bytes and the compressed data, other packets have the flag {@link #UNCOMPRESSED} and
+ * the original data. So compression should be enabled on both sides of a connection.
+ *
+ * @author JavaSaBr
+ * @since 9.9.0
+ */
+public interface PacketCompressor {
+
+    /**
+     * The flag of packets with the original data.
+     */
+    byte UNCOMPRESSED = 0;
+
+    /**
+     * The flag of packets with the compressed data.
+     */
+    byte COMPRESSED = 1;
+
+    /**
+     * The size of the flag.
+     */
+    int FLAG_SIZE = 1;
+
+    /**
+     * The size of the header of compressed data with the original length.
+     */
+    int ORIGINAL_LENGTH_SIZE = 4;
+
+    /**
+     * Get a min length of packet's data to compress it, smaller packets are sent as is.
+     *
+     * @return the min length of data to compress.
+     */
+    int getThreshold();
+
+    /**
+     * Compress the data from the position to the limit of the source buffer to the destination buffer.
+     *
+     * @param source      the source buffer.
+     * @param destination the destination buffer.
+     * @return false if the compressed data doesn't fit to the remaining space of the destination buffer.
+     */
+    boolean compress(@NotNull ByteBuffer source, @NotNull ByteBuffer destination);
+
+    /**
+     * Decompress the data from the position to the limit of the source buffer to the destination buffer, the
+     * remaining space of the destination buffer should be equal to the original length.
+     *
+     * @param source      the source buffer.
+     * @param destination the destination buffer.
+     * @throws IllegalStateException if the compressed data is corrupted or has another original length.
+     */
+    void decompress(@NotNull ByteBuffer source, @NotNull ByteBuffer destination);
+
+    /**
+     * Release all used resources.
+     */
+    void close();
+}
@@ -0,0 +1,23 @@
+package com.ss.rlib.network.packet;
+
+/**
+ * The list of delivery classes of writable packets.
+ *
+ * @author JavaSaBr
+ * @since 9.9.0
+ */
+public enum PacketQoS {
+
+    /**
+     * A packet is always written in the sending order and it's never replaced by other packets, it's a class of
+     * chat messages, transactions and other packets which can't be lost.
+     */
+    RELIABLE,
+
+    /**
+     * A packet is a snapshot of a state which is identified by {@link WritablePacket#getConflationKey()}. If
+     * a connection is congested, a queued packet is replaced in place by a newer packet with the same key, the
+     * replaced packet is completed as not sent.
+     */
+    CONFLATABLE
+}
@@ -10,6 +10,21 @@ public interface PacketReader {
      */
     void startRead();
 
+    /**
+     * Pause receiving packets after the current read, already received data is still handled. Pauses are counted,
+     * so receiving is resumed only when all pauses are resumed.
+     *
+     * @since 9.9.0
+     */
+    void pauseRead();
+
+    /**
+     * Resume receiving packets after {@link #pauseRead()}.
+     *
+     * @since 9.9.0
+     */
+    void resumeRead();
+
     /**
      * Close all used resources.
      */
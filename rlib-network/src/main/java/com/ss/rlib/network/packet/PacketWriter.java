@@ -1,5 +1,8 @@
 package com.ss.rlib.network.packet;
 
+import com.ss.rlib.network.packet.impl.SerializedWritablePacket;
+import org.jetbrains.annotations.NotNull;
+
 /**
  * @author JavaSaBr
  */
@@ -7,6 +10,16 @@ public interface PacketWriter {
 
     void writeNextPacket();
 
+    /**
+     * Serialize the packet with all headers to a new buffer, so the result can be written as is by any connection
+     * with the same packet format. The packet is serialized in the current thread.
+     *
+     * @param packet the packet to serialize.
+     * @return the serialized packet with one reference which is owned by the caller.
+     * @since 9.9.0
+     */
+    @NotNull SerializedWritablePacket serializeShared(@NotNull WritablePacket packet);
+
     /**
      * Close all used resources.
      */
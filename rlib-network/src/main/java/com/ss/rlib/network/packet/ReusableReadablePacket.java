@@ -0,0 +1,27 @@
+package com.ss.rlib.network.packet;
+
+import com.ss.rlib.common.util.pools.Reusable;
+
+/**
+ * The interface to mark a readable packet as reusable. Instances of such packets are taken from a pool by
+ * a packet reader and are returned to the pool after all subscribers of a connection have handled them, so
+ * a subscriber which wants to keep a packet after handling must call {@link #retain()} and then {@link #release()}
+ * when the packet isn't needed anymore. Packets from flux streams are already retained for their consumers.
+ * Fields of a packet should be cleared in {@link #free()}.
+ *
+ * @author JavaSaBr
+ * @since 9.9.0
+ */
+public interface ReusableReadablePacket extends ReadablePacket, Reusable {
+
+    /**
+     * Increase the count of references to this packet.
+     */
+    void retain();
+
+    /**
+     * Decrease the count of references to this packet and return it to the pool when the count reaches zero.
+     */
+    @Override
+    void release();
+}
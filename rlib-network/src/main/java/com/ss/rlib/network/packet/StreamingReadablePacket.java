@@ -0,0 +1,48 @@
+package com.ss.rlib.network.packet;
+
+import com.ss.rlib.network.Connection;
+import org.jetbrains.annotations.NotNull;
+
+import java.nio.ByteBuffer;
+
+/**
+ * The interface to implement a readable packet which receives its data by chunks. If such a packet isn't fully
+ * received by one read, a packet reader doesn't collect its data to a temp buffer, but passes every received part
+ * of the data to the packet right away, so the size of the packet isn't limited by buffers and by the max packet
+ * size of a network. A packet which is already fully received gets all data by one chunk. The packet is passed to
+ * handlers of a connection after receiving the last chunk.
+ * <p>
+ * Streaming packets can't be compressed, so the writer of the other side should write them as
+ * {@link StreamingWritablePacket}.
+ *
+ * @author JavaSaBr
+ * @since 9.9.0
+ */
+public interface StreamingReadablePacket extends ReadablePacket {
+
+    /**
+     * Start receiving data of this packet.
+     *
+     * @param connection the network connection.
+     * @param length     the full length of data which will be received by chunks.
+     * @return true if the packet can receive the data, otherwise the connection is closed.
+     */
+    boolean startRead(@NotNull Connection<?, ?> connection, int length);
+
+    /**
+     * Receive a next chunk of data, the chunk is available only during this call.
+     *
+     * @param connection the network connection.
+     * @param chunk      the buffer with the chunk from the position to the limit.
+     * @return true if the chunk was received successfully, otherwise the connection is closed.
+     */
+    boolean readChunk(@NotNull Connection<?, ?> connection, @NotNull ByteBuffer chunk);
+
+    /**
+     * Finish receiving data of this packet after the last chunk.
+     *
+     * @param connection the network connection.
+     * @return true if the packet was received successfully and can be handled.
+     */
+    boolean finishRead(@NotNull Connection<?, ?> connection);
+}
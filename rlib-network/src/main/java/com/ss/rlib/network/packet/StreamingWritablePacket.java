@@ -0,0 +1,37 @@
+package com.ss.rlib.network.packet;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.nio.ByteBuffer;
+
+/**
+ * The interface to implement a writable packet which writes a big part of its data by chunks. At first, a packet
+ * writer writes headers and data of {@link #write(ByteBuffer)} like for other packets, then it asks the packet to
+ * write the streaming data to the write buffer chunk by chunk after writing previous chunks to the channel, so the
+ * streaming data is never collected in one buffer. For example, a chunk can be read from a file channel by its
+ * position or copied from a mapped region of a file.
+ * <p>
+ * Streaming packets aren't compressed and can't be broadcast as a serialized packet. The full length of a packet
+ * should fit to the packet length header.
+ *
+ * @author JavaSaBr
+ * @since 9.9.0
+ */
+public interface StreamingWritablePacket extends WritablePacket {
+
+    /**
+     * Get a length of data which is written by chunks after data of {@link #write(ByteBuffer)}.
+     *
+     * @return the length of streaming data.
+     */
+    int getStreamingLength();
+
+    /**
+     * Write a next chunk of streaming data to the buffer, the chunk should have at least one byte and shouldn't be
+     * bigger than the remaining space of the buffer.
+     *
+     * @param buffer the write buffer.
+     * @return true if writing was successful, otherwise the connection is closed.
+     */
+    boolean writeChunk(@NotNull ByteBuffer buffer);
+}
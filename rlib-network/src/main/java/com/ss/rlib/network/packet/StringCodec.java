@@ -0,0 +1,57 @@
+package com.ss.rlib.network.packet;
+
+import com.ss.rlib.network.packet.impl.CompactStringCodec;
+import com.ss.rlib.network.packet.impl.Utf16StringCodec;
+import org.jetbrains.annotations.NotNull;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * The interface to implement a wire encoding of strings in packets.
+ *
+ * @author JavaSaBr
+ * @since 9.9.0
+ */
+public interface StringCodec {
+
+    /**
+     * The legacy encoding: 4 bytes of chars count and 2 bytes per char. It's compatible with old peers.
+     */
+    @NotNull StringCodec UTF_16 = new Utf16StringCodec();
+
+    /**
+     * The compact encoding: a variable length count of bytes and UTF-8 bytes.
+     */
+    @NotNull StringCodec UTF_8 = new CompactStringCodec(StandardCharsets.UTF_8);
+
+    /**
+     * The compact encoding: a variable length count of bytes and 1 byte per char, chars which are out of Latin-1
+     * are replaced by '?'.
+     */
+    @NotNull StringCodec LATIN_1 = new CompactStringCodec(StandardCharsets.ISO_8859_1);
+
+    /**
+     * Get a count of bytes to write the string.
+     *
+     * @param string the string.
+     * @return the count of bytes.
+     */
+    int getLength(@NotNull String string);
+
+    /**
+     * Write the string to the buffer.
+     *
+     * @param buffer the buffer.
+     * @param string the string.
+     */
+    void write(@NotNull ByteBuffer buffer, @NotNull String string);
+
+    /**
+     * Read a string from the buffer.
+     *
+     * @param buffer the buffer.
+     * @return the read string.
+     */
+    @NotNull String read(@NotNull ByteBuffer buffer);
+}
@@ -1,9 +1,9 @@
 package com.ss.rlib.network.packet;
 
-import com.ss.rlib.logger.api.LoggerManager;
+import com.ss.rlib.network.packet.impl.AbstractPacketWriter;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 
-import java.nio.BufferOverflowException;
 import java.nio.ByteBuffer;
 
 /**
@@ -22,7 +22,8 @@ public interface WritablePacket extends Packet {
     boolean write(@NotNull ByteBuffer buffer);
 
     /**
-     * Return an expected data length of this packet or -1.
+     * Return an expected data length of this packet or -1. A packet with unknown length can be written several
+     * times to bigger buffers if it overflows a write buffer, so its writing must not have side effects.
      *
      * @return expected data length of this packet or -1.
      */
@@ -30,6 +31,39 @@ public interface WritablePacket extends Packet {
         return -1;
     }
 
+    /**
+     * Get a delivery class of this packet.
+     *
+     * @return the delivery class.
+     * @since 9.9.0
+     */
+    default @NotNull PacketQoS getQoS() {
+        return PacketQoS.RELIABLE;
+    }
+
+    /**
+     * Get a key of a state which is sent by this packet, a queued {@link PacketQoS#CONFLATABLE} packet is replaced
+     * by a newer packet with an equal key if conflation is enabled for a connection. For example, it can be an id
+     * of an entity which position is sent by this packet.
+     *
+     * @return the conflation key or null if this packet can't be replaced.
+     * @see com.ss.rlib.network.NetworkConfig#isConflationEnabled()
+     * @since 9.9.0
+     */
+    default @Nullable Object getConflationKey() {
+        return null;
+    }
+
+    /**
+     * Get a string codec of a connection which is serializing this packet now.
+     *
+     * @return the string codec.
+     * @since 9.9.0
+     */
+    default @NotNull StringCodec getStringCodec() {
+        return AbstractPacketWriter.getWritingStringCodec();
+    }
+
     /**
      * Write 1 byte to the buffer.
      *
@@ -105,22 +139,10 @@ public interface WritablePacket extends Packet {
      *
      * @param buffer the buffer.
      * @param string the string for writing.
+     * @throws java.nio.BufferOverflowException if the buffer doesn't have enough space.
      */
     default void writeString(@NotNull ByteBuffer buffer, @NotNull String string) {
-        try {
-
-            writeInt(buffer, string.length());
-
-            for (int i = 0, length = string.length(); i < length; i++) {
-                buffer.putChar(string.charAt(i));
-            }
-
-        } catch (BufferOverflowException ex) {
-            LoggerManager.getLogger(WritablePacket.class)
-                .error("Cannot write a string to buffer because the string is too long." +
-                    " String length: " + string.length() + ", buffer: " + buffer);
-            throw ex;
-        }
+        getStringCodec().write(buffer, string);
     }
 
     /**
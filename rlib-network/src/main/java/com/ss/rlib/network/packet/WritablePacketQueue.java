@@ -0,0 +1,54 @@
+package com.ss.rlib.network.packet;
+
+import com.ss.rlib.common.function.NotNullConsumer;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * The interface to implement a queue of pending packets to write. Packets can be added by many threads,
+ * but only one thread at a time polls packets from a queue.
+ *
+ * @author JavaSaBr
+ */
+public interface WritablePacketQueue {
+
+    /**
+     * Add a packet to the end of this queue.
+     *
+     * @param packet the packet.
+     */
+    void add(@NotNull WritablePacket packet);
+
+    /**
+     * Add a packet to the priority lane of this queue. Packets from the priority lane are polled before
+     * any other packets.
+     *
+     * @param packet the packet.
+     */
+    void addPriority(@NotNull WritablePacket packet);
+
+    /**
+     * Poll a next packet from this queue.
+     *
+     * @return the next packet or null if this queue is empty.
+     */
+    @Nullable WritablePacket poll();
+
+    /**
+     * Check this queue for emptiness. A packet which is being added right now can be not visible yet.
+     *
+     * @return true if this queue is empty.
+     */
+    boolean isEmpty();
+
+    /**
+     * Poll all packets from this queue.
+     *
+     * @param consumer the consumer of polled packets.
+     */
+    default void clear(@NotNull NotNullConsumer<WritablePacket> consumer) {
+        for (var packet = poll(); packet != null; packet = poll()) {
+            consumer.accept(packet);
+        }
+    }
+}
@@ -1,13 +1,25 @@
 package com.ss.rlib.network.packet.impl;
 
 import com.ss.rlib.common.util.ClassUtils;
+import com.ss.rlib.common.util.pools.Pool;
+import com.ss.rlib.common.util.pools.PoolFactory;
 import com.ss.rlib.logger.api.Logger;
 import com.ss.rlib.logger.api.LoggerManager;
 import com.ss.rlib.network.Connection;
 import com.ss.rlib.network.packet.IdBasedReadablePacket;
+import com.ss.rlib.network.packet.ReusableReadablePacket;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.HashMap;
+import java.util.Map;
 
 /**
+ * The base implementation of {@link IdBasedReadablePacket}. If a subclass implements {@link ReusableReadablePacket},
+ * new instances of it are taken from a thread local pool and are returned to the pool by {@link #release()}.
+ *
  * @author JavaSaBr
  */
 public abstract class AbstractIdBasedReadablePacket<C extends Connection<?, ?>, S extends AbstractIdBasedReadablePacket<C, S>> extends
@@ -15,6 +27,99 @@ public abstract class AbstractIdBasedReadablePacket<C extends Connection<?, ?>,
 
     private static final Logger LOGGER = LoggerManager.getLogger(AbstractIdBasedReadablePacket.class);
 
+    protected static final ThreadLocal<Map<Class<?>, Pool<AbstractIdBasedReadablePacket<?, ?>>>> LOCAL_POOLS =
+        ThreadLocal.withInitial(HashMap::new);
+
+    private static final VarHandle REFERENCES;
+
+    static {
+        try {
+            REFERENCES = MethodHandles.lookup()
+                .findVarHandle(AbstractIdBasedReadablePacket.class, "references", int.class);
+        } catch (ReflectiveOperationException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
+    /**
+     * The pool to return this packet after handling, it's null if this packet isn't pooled.
+     */
+    private volatile @Nullable Pool<AbstractIdBasedReadablePacket<?, ?>> pool;
+    private volatile int references;
+
+    @Override
+    public @NotNull S newInstance() {
+
+        if (!(this instanceof ReusableReadablePacket)) {
+            return IdBasedReadablePacket.super.newInstance();
+        }
+
+        var pool = getThreadLocalPool();
+        var instance = pool.take(getClass(), ClassUtils::newInstance);
+        instance.references = 1;
+        instance.pool = pool;
+
+        return ClassUtils.unsafeNNCast(instance);
+    }
+
+    /**
+     * Get a thread local pool of instances of this packet's type.
+     *
+     * @return the thread local pool.
+     */
+    protected @NotNull Pool<AbstractIdBasedReadablePacket<?, ?>> getThreadLocalPool() {
+        var pools = LOCAL_POOLS.get();
+        var pool = pools.get(getClass());
+
+        if (pool == null) {
+            pool = PoolFactory.newConcurrentStampedLockPool(AbstractIdBasedReadablePacket.class);
+            pools.put(getClass(), pool);
+        }
+
+        return pool;
+    }
+
+    /**
+     * Increase the count of references to this packet, it takes effect only for reusable packets.
+     *
+     * @see ReusableReadablePacket#retain()
+     */
+    public void retain() {
+        if (pool != null) {
+            REFERENCES.getAndAdd(this, 1);
+        }
+    }
+
+    /**
+     * Decrease the count of references to this packet and return it to the pool when the count reaches zero,
+     * it takes effect only for reusable packets.
+     *
+     * @see ReusableReadablePacket#release()
+     */
+    public void release() {
+
+        var pool = this.pool;
+
+        if (pool == null) {
+            return;
+        }
+
+        var references = (int) REFERENCES.getAndAdd(this, -1) - 1;
+
+        if (references > 0) {
+            return;
+        } else if (references < 0) {
+            LOGGER.warning(this, packet -> "Attempt to release already released packet " + packet);
+            return;
+        }
+
+        this.pool = null;
+
+        ((ReusableReadablePacket) this).free();
+
+        pool.put(this);
+    }
+
     @Override
     public void execute(@NotNull Connection<?, ?> connection) {
         try {
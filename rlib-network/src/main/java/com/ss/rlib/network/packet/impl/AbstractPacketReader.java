@@ -8,8 +8,15 @@ import com.ss.rlib.logger.api.Logger;
 import com.ss.rlib.logger.api.LoggerManager;
 import com.ss.rlib.network.BufferAllocator;
 import com.ss.rlib.network.Connection;
+import com.ss.rlib.network.NetworkCryptor;
+import com.ss.rlib.network.capture.CaptureDirection;
+import com.ss.rlib.network.capture.TrafficCapture;
+import com.ss.rlib.network.metrics.MetricsRecorder;
+import com.ss.rlib.network.packet.PacketCompressor;
 import com.ss.rlib.network.packet.PacketReader;
 import com.ss.rlib.network.packet.ReadablePacket;
+import com.ss.rlib.network.packet.ReusableReadablePacket;
+import com.ss.rlib.network.packet.StreamingReadablePacket;
 import com.ss.rlib.network.util.NetworkUtils;
 import lombok.AccessLevel;
 import lombok.Getter;
@@ -22,6 +29,7 @@ import java.nio.channels.AsynchronousCloseException;
 import java.nio.channels.AsynchronousSocketChannel;
 import java.nio.channels.CompletionHandler;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Consumer;
 
 /**
@@ -34,10 +42,31 @@ public abstract class AbstractPacketReader<R extends ReadablePacket, C extends C
 
     private static final Logger LOGGER = LoggerManager.getLogger(AbstractPacketReader.class);
 
+    /**
+     * The result of starting a streaming packet when the packet is receiving by chunks now.
+     */
+    protected static final int STREAMING_STARTED = 1;
+
+    /**
+     * The result of starting a streaming packet when the packet isn't a streaming packet.
+     */
+    protected static final int NOT_STREAMING = 0;
+
+    /**
+     * The result of starting a streaming packet when the header of packet's data isn't received yet.
+     */
+    protected static final int WAITING_FOR_HEADER = -1;
+
+    /**
+     * The count of sequential small reads after which an adaptive read buffer is shrunk.
+     */
+    protected static final int SMALL_READS_TO_SHRINK = 8;
+
     private final CompletionHandler<Integer, ByteBuffer> readHandler = new CompletionHandler<>() {
 
         @Override
         public void completed(@NotNull Integer receivedBytes, @NotNull ByteBuffer readingBuffer) {
+            NetworkUtils.markNetworkThread();
             handleReceivedData(receivedBytes, readingBuffer);
         }
 
@@ -49,21 +78,72 @@ public abstract class AbstractPacketReader<R extends ReadablePacket, C extends C
 
     protected final @NotNull AtomicBoolean isReading = new AtomicBoolean(false);
 
+    /**
+     * The count of pauses of reading, a started read isn't interrupted, but a next read isn't started.
+     */
+    protected final @NotNull AtomicInteger readPauses = new AtomicInteger(0);
+
     protected final @NotNull C connection;
     protected final @NotNull AsynchronousSocketChannel channel;
     protected final @NotNull BufferAllocator bufferAllocator;
 
-    protected final @NotNull ByteBuffer readBuffer;
-    protected final @NotNull ByteBuffer pendingBuffer;
+    /**
+     * The buffer to read data from the channel, it's replaced between reads if the read buffer is adaptive.
+     */
+    protected @NotNull ByteBuffer readBuffer;
+
+    /**
+     * The buffer to keep data of not fully received packets, it's replaced with an adaptive read buffer only when
+     * it doesn't have any waiting data.
+     */
+    protected @NotNull ByteBuffer pendingBuffer;
 
     protected final @NotNull Runnable updateActivityFunction;
     protected final @NotNull Consumer<? super R> readPacketHandler;
+    protected final @NotNull MetricsRecorder metrics;
+    protected final @Nullable PacketCompressor compressor;
 
     @Getter(AccessLevel.PROTECTED)
     @Setter(AccessLevel.PROTECTED)
     protected volatile @Nullable ByteBuffer tempPendingBuffer;
 
+    /**
+     * The buffer to decompress data of compressed packets, it's reused while it's big enough.
+     */
+    protected volatile @Nullable ByteBuffer decompressBuffer;
+
+    /**
+     * The streaming packet which is receiving its data by chunks now.
+     */
+    protected volatile @Nullable R streamingPacket;
+
+    /**
+     * The count of not received bytes of the streaming packet.
+     */
+    protected int streamingRemaining;
+    protected long streamingStartTime;
+
+    /**
+     * The count of already decrypted bytes of data of the waiting packet.
+     */
+    protected int decryptedBytes;
+
+    /**
+     * The flag that the waiting packet was already checked and it isn't a streaming packet.
+     */
+    protected boolean notStreamingPacket;
+
+    /**
+     * The count of sequential reads which used less than a quarter of the adaptive read buffer.
+     */
+    protected int smallReads;
+
     protected final int maxPacketsByRead;
+    protected final int maxPacketSize;
+    protected final int maxDecompressedPacketSize;
+    protected final int minReadBufferSize;
+    protected final int maxReadBufferSize;
+    protected final boolean adaptiveReadBuffer;
 
     protected AbstractPacketReader(
         @NotNull C connection,
@@ -76,11 +156,25 @@ public abstract class AbstractPacketReader<R extends ReadablePacket, C extends C
         this.connection = connection;
         this.channel = channel;
         this.bufferAllocator = bufferAllocator;
-        this.readBuffer = bufferAllocator.takeReadBuffer();
-        this.pendingBuffer = bufferAllocator.takePendingBuffer();
+        this.adaptiveReadBuffer = connection.getConfig().isAdaptiveReadBuffer();
+        this.minReadBufferSize = Math.max(connection.getConfig().getMinReadBufferSize(), 1);
+        this.maxReadBufferSize = Math.max(connection.getConfig().getMaxReadBufferSize(), minReadBufferSize);
+
+        if (adaptiveReadBuffer) {
+            this.readBuffer = bufferAllocator.takeBuffer(minReadBufferSize);
+            this.pendingBuffer = bufferAllocator.takeBuffer(minReadBufferSize * 2);
+        } else {
+            this.readBuffer = bufferAllocator.takeReadBuffer();
+            this.pendingBuffer = bufferAllocator.takePendingBuffer();
+        }
+
         this.updateActivityFunction = updateActivityFunction;
         this.readPacketHandler = readPacketHandler;
         this.maxPacketsByRead = maxPacketsByRead;
+        this.metrics = connection.getMetrics();
+        this.compressor = connection.getPacketCompressor();
+        this.maxPacketSize = connection.getMaxPacketSize();
+        this.maxDecompressedPacketSize = connection.getConfig().getMaxDecompressedPacketSize();
     }
 
     protected @NotNull ByteBuffer getBufferToReadFromChannel() {
@@ -90,7 +184,7 @@ public abstract class AbstractPacketReader<R extends ReadablePacket, C extends C
     @Override
     public void startRead() {
 
-        if (!isReading.compareAndSet(false, true)) {
+        if (isReadPaused() || !isReading.compareAndSet(false, true)) {
             return;
         }
 
@@ -101,6 +195,27 @@ public abstract class AbstractPacketReader<R extends ReadablePacket, C extends C
         channel.read(buffer, buffer, readHandler);
     }
 
+    @Override
+    public void pauseRead() {
+        readPauses.incrementAndGet();
+    }
+
+    @Override
+    public void resumeRead() {
+        if (readPauses.decrementAndGet() == 0) {
+            startRead();
+        }
+    }
+
+    /**
+     * Check whether a next read can't be started because reading is paused.
+     *
+     * @return true if reading is paused.
+     */
+    protected boolean isReadPaused() {
+        return readPauses.get() > 0;
+    }
+
     /**
      * Read packets from the buffer with received data.
      *
@@ -122,6 +237,26 @@ public abstract class AbstractPacketReader<R extends ReadablePacket, C extends C
 
         LOGGER.debug(receivedBuffer, buf -> "Start reading packets from received buffer " + buf);
 
+        var readPackets = 0;
+
+        // the received data is a next chunk of the streaming packet, so it isn't collected to buffers
+        if (streamingPacket != null) {
+
+            var cryptor = connection.getCryptor();
+
+            if (cryptor != NetworkCryptor.NULL) {
+                var chunkLength = Math.min(streamingRemaining, receivedBuffer.remaining());
+                cryptor.decrypt(receivedBuffer, receivedBuffer.position(), chunkLength);
+            }
+
+            readPackets += readStreamingChunk(receivedBuffer);
+
+            if (streamingPacket != null || !receivedBuffer.hasRemaining() || connection.isClosed()) {
+                receivedBuffer.clear();
+                return readPackets;
+            }
+        }
+
         var waitedBytes = pendingBuffer.position();
         var bufferToRead = receivedBuffer;
         var tempPendingBuffer = getTempPendingBuffer();
@@ -184,9 +319,7 @@ public abstract class AbstractPacketReader<R extends ReadablePacket, C extends C
         }
 
         var maxPacketsByRead = getMaxPacketsByRead();
-
-        var readPackets = 0;
-        var endPosition = 0;
+        var endPosition = bufferToRead.position();
 
         while (canStartReadPacket(bufferToRead) && readPackets < maxPacketsByRead) {
 
@@ -209,12 +342,47 @@ public abstract class AbstractPacketReader<R extends ReadablePacket, C extends C
             // if the packet isn't full presented in this buffer
             if (packetLength == -1 || endPosition > bufferToRead.limit()) {
 
+                var streamingState = NOT_STREAMING;
+
+                // a big packet can be received by chunks instead of collecting it to a temp buffer
+                if (!notStreamingPacket && (packetLength > pendingBuffer.capacity() || isTooBigPacket(packetLength))) {
+                    streamingState = startStreamingPacket(bufferToRead, positionBeforeRead, packetLength, dataLength);
+                    notStreamingPacket = streamingState == NOT_STREAMING;
+                }
+
+                if (streamingState == STREAMING_STARTED) {
+
+                    if (bufferToRead == pendingBuffer) {
+                        pendingBuffer.clear();
+                    } else if (bufferToRead == tempPendingBuffer) {
+                        freeTempBuffers();
+                    }
+
+                    LOGGER.debug(
+                        channel,
+                        readPackets,
+                        (ch, count) -> "Read " + count + " packets from received buffer of " + getRemoteAddress(ch) +
+                            ", and started receiving a streaming packet."
+                    );
+
+                    receivedBuffer.clear();
+                    return readPackets;
+
+                } else if (streamingState == NOT_STREAMING && isTooBigPacket(packetLength)) {
+                    rejectTooBigPacket(packetLength);
+                    return readPackets;
+                }
+
                 bufferToRead.position(positionBeforeRead);
 
+                // only a part of the header of the streaming packet is received, so it waits in the pending buffer
+                var canWaitInPendingBuffer = packetLength <= pendingBuffer.capacity() ||
+                    streamingState == WAITING_FOR_HEADER;
+
                 // if we read the received buffer we need to put
                 // not read data to the pending buffer or big mapped byte buffer
                 if (bufferToRead == receivedBuffer) {
-                    if (packetLength <= pendingBuffer.capacity()) {
+                    if (canWaitInPendingBuffer) {
                         pendingBuffer.put(receivedBuffer);
                         LOGGER.debug(
                             pendingBuffer,
@@ -227,7 +395,7 @@ public abstract class AbstractPacketReader<R extends ReadablePacket, C extends C
                 // if we already read this pending buffer we need to compact it
                 else if (bufferToRead == pendingBuffer) {
 
-                    if (packetLength <= pendingBuffer.capacity()) {
+                    if (canWaitInPendingBuffer) {
                         pendingBuffer.compact();
                         LOGGER.debug(pendingBuffer, buf -> "Compact pending buffer: " + buf);
                     } else {
@@ -239,7 +407,7 @@ public abstract class AbstractPacketReader<R extends ReadablePacket, C extends C
                 } else if (bufferToRead == tempPendingBuffer) {
 
                     // if not read data is less than pending buffer then we can switch to use the pending buffer
-                    if (Math.max(packetLength, tempPendingBuffer.remaining()) <= pendingBuffer.capacity()) {
+                    if (canWaitInPendingBuffer && tempPendingBuffer.remaining() <= pendingBuffer.capacity()) {
 
                         pendingBuffer
                             .clear()
@@ -274,26 +442,22 @@ public abstract class AbstractPacketReader<R extends ReadablePacket, C extends C
                 return readPackets;
             }
 
-            R packet = createPacketFor(bufferToRead, positionBeforeRead, packetLength, dataLength);
-
-            if (packet != null) {
-                LOGGER.debug(packet, pck -> "Created instance of packet to read data: " + pck);
-
-                if (packet.read(connection, bufferToRead, dataLength)) {
-                    readPacketHandler.accept(packet);
-                } else {
-                    LOGGER.error("Packet " + packet + " was read incorrectly");
-                }
-
-                LOGGER.debug(packet, pck -> "Finished reading data of packet: " + pck);
+            if (readPacket(bufferToRead, positionBeforeRead, packetLength, dataLength)) {
                 readPackets++;
-            } else {
-                LOGGER.warning("Cannot create any instance of packet to read data");
+            }
+
+            // the connection can be closed because of a wrong packet
+            if (connection.isClosed()) {
+                return readPackets;
             }
 
             bufferToRead.position(endPosition);
         }
 
+        if (readPackets >= maxPacketsByRead && bufferToRead.hasRemaining()) {
+            metrics.recordReadLimitHit();
+        }
+
         if (bufferToRead.hasRemaining()) {
 
             if (bufferToRead == receivedBuffer) {
@@ -319,6 +483,373 @@ public abstract class AbstractPacketReader<R extends ReadablePacket, C extends C
         return readPackets;
     }
 
+    /**
+     * Create a packet for the data in the buffer and read it, encrypted data is decrypted in place and compressed
+     * data is decompressed before creating the packet.
+     *
+     * @param buffer              the buffer with received data.
+     * @param startPacketPosition the start position of the packet in the buffer.
+     * @param packetLength        the length of packet.
+     * @param dataLength          the length of packet's data.
+     * @return true if the packet was created.
+     */
+    protected boolean readPacket(
+        @NotNull ByteBuffer buffer,
+        int startPacketPosition,
+        int packetLength,
+        int dataLength
+    ) {
+
+        var cryptor = connection.getCryptor();
+
+        // a part of data can be already decrypted while the packet was waiting for other data
+        if (cryptor != NetworkCryptor.NULL) {
+            cryptor.decrypt(buffer, buffer.position() + decryptedBytes, dataLength - decryptedBytes);
+        }
+
+        decryptedBytes = 0;
+        notStreamingPacket = false;
+
+        var trafficCapture = connection.getTrafficCapture();
+
+        if (trafficCapture != TrafficCapture.NULL) {
+            trafficCapture.capture(connection, CaptureDirection.INBOUND, buffer, startPacketPosition, packetLength);
+        }
+
+        var compressor = this.compressor;
+
+        if (compressor != null) {
+
+            var flag = buffer.get();
+            dataLength -= PacketCompressor.FLAG_SIZE;
+
+            if (flag == PacketCompressor.COMPRESSED) {
+
+                var decompressed = decompress(compressor, buffer, dataLength);
+
+                if (decompressed == null) {
+                    return false;
+                }
+
+                buffer = decompressed;
+                startPacketPosition = 0;
+                dataLength = buffer.limit();
+            }
+        }
+
+        var dataEnd = buffer.position() + dataLength;
+
+        R packet = createPacketFor(buffer, startPacketPosition, packetLength, dataLength);
+
+        if (packet == null) {
+            LOGGER.warning("Cannot create any instance of packet to read data");
+            return false;
+        }
+
+        if (packet instanceof StreamingReadablePacket) {
+            startStreamingPacket(packet, buffer, dataEnd - buffer.position());
+            return true;
+        } else if (isTooBigPacket(packetLength)) {
+            releasePacket(packet);
+            rejectTooBigPacket(packetLength);
+            return false;
+        }
+
+        readPacket(packet, buffer, dataLength);
+        return true;
+    }
+
+    /**
+     * Try to start receiving the not fully received packet by chunks if it's a streaming packet, all available data
+     * of the packet is passed to the packet as the first chunk.
+     *
+     * @param buffer              the buffer with received data, the position is after the packet length header.
+     * @param startPacketPosition the start position of the packet in the buffer.
+     * @param packetLength        the length of packet.
+     * @param dataLength          the length of packet's data.
+     * @return {@link #STREAMING_STARTED}, {@link #NOT_STREAMING} or {@link #WAITING_FOR_HEADER}.
+     */
+    protected int startStreamingPacket(
+        @NotNull ByteBuffer buffer,
+        int startPacketPosition,
+        int packetLength,
+        int dataLength
+    ) {
+
+        var dataPosition = buffer.position();
+        var available = buffer.limit() - dataPosition;
+        var flagSize = compressor == null ? 0 : PacketCompressor.FLAG_SIZE;
+
+        if (available < flagSize + getPacketTypeHeaderSize()) {
+            return WAITING_FOR_HEADER;
+        }
+
+        var cryptor = connection.getCryptor();
+
+        // the data is decrypted once, so if the packet isn't streaming, the rest of data is decrypted later
+        if (cryptor != NetworkCryptor.NULL && available > decryptedBytes) {
+            cryptor.decrypt(buffer, dataPosition + decryptedBytes, available - decryptedBytes);
+            decryptedBytes = available;
+        }
+
+        // compressed packets can't be read by chunks
+        if (flagSize > 0 && buffer.get(dataPosition) == PacketCompressor.COMPRESSED) {
+            return NOT_STREAMING;
+        }
+
+        buffer.position(dataPosition + flagSize);
+
+        R packet = createPacketFor(buffer, startPacketPosition, packetLength, dataLength - flagSize);
+
+        if (!(packet instanceof StreamingReadablePacket)) {
+
+            // the packet is created again when all its data is received
+            if (packet != null) {
+                releasePacket(packet);
+            }
+
+            buffer.position(dataPosition);
+            return NOT_STREAMING;
+        }
+
+        decryptedBytes = 0;
+
+        startStreamingPacket(packet, buffer, dataPosition + dataLength - buffer.position());
+
+        return STREAMING_STARTED;
+    }
+
+    /**
+     * Start receiving the streaming packet and pass available data from the buffer to the packet as the first
+     * chunk.
+     *
+     * @param packet the streaming packet.
+     * @param buffer the buffer with received data.
+     * @param length the full length of streaming data.
+     */
+    protected void startStreamingPacket(@NotNull R packet, @NotNull ByteBuffer buffer, int length) {
+
+        LOGGER.debug(packet, length, (pck, len) -> "Start receiving " + len + " bytes of streaming packet: " + pck);
+
+        this.streamingPacket = packet;
+        this.streamingRemaining = length;
+        this.streamingStartTime = metrics.isEnabled() ? System.nanoTime() : 0L;
+
+        boolean started;
+        try {
+            started = ((StreamingReadablePacket) packet).startRead(connection, length);
+        } catch (RuntimeException e) {
+            LOGGER.error(e);
+            started = false;
+        }
+
+        if (started) {
+            readStreamingChunk(buffer);
+        } else {
+            failStreamingPacket(packet);
+        }
+    }
+
+    /**
+     * Pass a next chunk from the buffer to the streaming packet, the packet is handled after receiving its last
+     * chunk.
+     *
+     * @param buffer the buffer with received and decrypted data.
+     * @return 1 if the streaming packet was finished or 0.
+     */
+    protected int readStreamingChunk(@NotNull ByteBuffer buffer) {
+
+        var packet = notNull(streamingPacket);
+        var streaming = (StreamingReadablePacket) packet;
+
+        var chunkStart = buffer.position();
+        var chunkEnd = chunkStart + Math.min(streamingRemaining, buffer.remaining());
+        var oldLimit = buffer.limit();
+
+        var result = true;
+        try {
+
+            if (chunkEnd > chunkStart) {
+                buffer.limit(chunkEnd);
+                result = streaming.readChunk(connection, buffer);
+            }
+
+            streamingRemaining -= chunkEnd - chunkStart;
+
+            if (result && streamingRemaining == 0) {
+                streamingPacket = null;
+                result = streaming.finishRead(connection);
+            }
+
+        } catch (RuntimeException e) {
+            LOGGER.error(e);
+            result = false;
+        } finally {
+            buffer.limit(oldLimit).position(chunkEnd);
+        }
+
+        if (!result) {
+            failStreamingPacket(packet);
+            return 0;
+        } else if (streamingRemaining > 0) {
+            return 0;
+        }
+
+        if (metrics.isEnabled()) {
+            metrics.recordReadPacket(MetricsRecorder.getPacketId(packet), System.nanoTime() - streamingStartTime);
+        }
+
+        readPacketHandler.accept(packet);
+
+        LOGGER.debug(packet, pck -> "Finished receiving streaming packet: " + pck);
+
+        return 1;
+    }
+
+    /**
+     * Stop receiving the streaming packet which was read incorrectly and close the connection, because the rest of
+     * its data can't be skipped.
+     *
+     * @param packet the streaming packet.
+     */
+    protected void failStreamingPacket(@NotNull R packet) {
+        LOGGER.error("Streaming packet " + packet + " was read incorrectly, the connection will be closed");
+
+        streamingPacket = null;
+        streamingRemaining = 0;
+
+        releasePacket(packet);
+
+        connection.close();
+    }
+
+    /**
+     * Return the reusable packet which wasn't passed to the read packet handler to its pool.
+     *
+     * @param packet the packet.
+     */
+    protected void releasePacket(@NotNull R packet) {
+        if (packet instanceof ReusableReadablePacket) {
+            ((ReusableReadablePacket) packet).release();
+        }
+    }
+
+    /**
+     * Get a size of the header of packet's data which is needed to create a packet.
+     *
+     * @return the size of the header to create a packet.
+     */
+    protected int getPacketTypeHeaderSize() {
+        return 0;
+    }
+
+    /**
+     * Check the length of a packet which should be collected to buffers.
+     *
+     * @param packetLength the length of packet.
+     * @return true if the packet is bigger than the max packet size.
+     */
+    protected boolean isTooBigPacket(int packetLength) {
+        return maxPacketSize > 0 && packetLength > maxPacketSize;
+    }
+
+    /**
+     * Close the connection because it sent a too big packet.
+     *
+     * @param packetLength the length of packet.
+     */
+    protected void rejectTooBigPacket(int packetLength) {
+        LOGGER.warning("Connection " + connection.getRemoteAddress() + " sent too big packet with length " +
+            packetLength + ", max packet size is " + maxPacketSize + ", the connection will be closed");
+        connection.close();
+    }
+
+    /**
+     * Decompress data of the packet to the decompress buffer.
+     *
+     * @param compressor the compressor.
+     * @param buffer     the buffer with received data.
+     * @param dataLength the length of compressed data with its header.
+     * @return the decompress buffer in read mode or null if the original length is wrong or too big or the data is
+     * corrupted.
+     */
+    protected @Nullable ByteBuffer decompress(
+        @NotNull PacketCompressor compressor,
+        @NotNull ByteBuffer buffer,
+        int dataLength
+    ) {
+
+        var originalLength = buffer.getInt();
+
+        if (originalLength < 0 || originalLength > maxDecompressedPacketSize) {
+            LOGGER.warning("Connection " + connection.getRemoteAddress() + " sent compressed packet with original " +
+                "length " + originalLength + ", max decompressed packet size is " + maxDecompressedPacketSize +
+                ", the connection will be closed");
+            connection.close();
+            return null;
+        } else if (isTooBigPacket(originalLength)) {
+            rejectTooBigPacket(originalLength);
+            return null;
+        }
+
+        // packets can read headers before their data, so the buffer has a reserve after the data
+        var requiredCapacity = (int) Math.min((long) originalLength + Integer.BYTES, Integer.MAX_VALUE);
+        var decompressBuffer = this.decompressBuffer;
+
+        if (decompressBuffer == null || decompressBuffer.capacity() < requiredCapacity) {
+
+            if (decompressBuffer != null) {
+                bufferAllocator.putBuffer(decompressBuffer);
+            }
+
+            decompressBuffer = bufferAllocator.takeBuffer(Math.max(requiredCapacity, readBuffer.capacity()));
+            this.decompressBuffer = decompressBuffer;
+        }
+
+        var oldLimit = buffer.limit();
+        try {
+            buffer.limit(buffer.position() + dataLength - PacketCompressor.ORIGINAL_LENGTH_SIZE);
+            compressor.decompress(buffer, decompressBuffer.clear().limit(originalLength));
+        } catch (IllegalStateException e) {
+            LOGGER.warning("Connection " + connection.getRemoteAddress() + " sent compressed packet which cannot be " +
+                "decompressed: " + e.getMessage() + ", the connection will be closed");
+            connection.close();
+            return null;
+        } finally {
+            buffer.limit(oldLimit);
+        }
+
+        return decompressBuffer.flip();
+    }
+
+    /**
+     * Read data of the packet from the buffer and pass the packet to the handler.
+     *
+     * @param packet     the packet.
+     * @param buffer     the buffer with received data.
+     * @param dataLength the length of packet's data.
+     */
+    protected void readPacket(@NotNull R packet, @NotNull ByteBuffer buffer, int dataLength) {
+        LOGGER.debug(packet, pck -> "Created instance of packet to read data: " + pck);
+
+        var startTime = metrics.isEnabled() ? System.nanoTime() : 0L;
+
+        if (packet.read(connection, buffer, dataLength)) {
+
+            if (metrics.isEnabled()) {
+                metrics.recordReadPacket(MetricsRecorder.getPacketId(packet), System.nanoTime() - startTime);
+            }
+
+            readPacketHandler.accept(packet);
+
+        } else {
+            LOGGER.error("Packet " + packet + " was read incorrectly");
+            releasePacket(packet);
+        }
+
+        LOGGER.debug(packet, pck -> "Finished reading data of packet: " + pck);
+    }
+
     /**
      * Check buffer's data.
      *
@@ -360,6 +891,8 @@ public abstract class AbstractPacketReader<R extends ReadablePacket, C extends C
 
         var newReadTempBuffer = bufferAllocator.takeBuffer(packetLength + readBuffer.capacity());
 
+        metrics.recordTempBufferAllocation();
+
         LOGGER.debug(
             sourceBuffer,
             newReadTempBuffer,
@@ -383,6 +916,8 @@ public abstract class AbstractPacketReader<R extends ReadablePacket, C extends C
 
         var readTempBuffer = bufferAllocator.takeBuffer(packetLength + readBuffer.capacity());
 
+        metrics.recordTempBufferAllocation();
+
         LOGGER.debug(
             sourceBuffer,
             readTempBuffer,
@@ -418,6 +953,8 @@ public abstract class AbstractPacketReader<R extends ReadablePacket, C extends C
             return;
         }
 
+        metrics.recordReceivedBytes(receivedBytes);
+
         LOGGER.debug(
             receivedBytes,
             channel,
@@ -431,11 +968,67 @@ public abstract class AbstractPacketReader<R extends ReadablePacket, C extends C
             LOGGER.error(e);
         }
 
+        // the connection can be closed by a wrong packet, so its buffers are already returned to the allocator
+        if (connection.isClosed()) {
+            return;
+        }
+
+        if (adaptiveReadBuffer && readingBuffer == readBuffer) {
+            adaptReadBuffer(receivedBytes);
+        }
+
         if (isReading.compareAndSet(true, false)) {
             startRead();
         }
     }
 
+    /**
+     * Resize the read buffer by the count of received bytes. The buffer is doubled when a read fills it and it's
+     * halved after {@link #SMALL_READS_TO_SHRINK} sequential reads which used less than a quarter of it.
+     *
+     * @param receivedBytes the count of bytes of the last read.
+     */
+    protected void adaptReadBuffer(int receivedBytes) {
+
+        var capacity = readBuffer.capacity();
+        var newCapacity = capacity;
+
+        if (receivedBytes >= capacity) {
+            smallReads = 0;
+            newCapacity = Math.min(capacity * 2, maxReadBufferSize);
+        } else if (receivedBytes > capacity / 4) {
+            smallReads = 0;
+        } else if (++smallReads >= SMALL_READS_TO_SHRINK) {
+            smallReads = 0;
+            newCapacity = Math.max(capacity / 2, minReadBufferSize);
+        }
+
+        if (newCapacity != capacity) {
+
+            var prevReadBuffer = readBuffer;
+
+            readBuffer = bufferAllocator.takeBuffer(newCapacity);
+            bufferAllocator.putBuffer(prevReadBuffer);
+
+            LOGGER.debug(readBuffer, buf -> "Resize read buffer to: " + buf.capacity());
+        }
+
+        var pendingCapacity = pendingBuffer.capacity();
+        var expectedPendingCapacity = readBuffer.capacity() * 2;
+
+        // waiting data of a not fully received packet keeps the current pending buffer
+        if (pendingBuffer.position() > 0 || getTempPendingBuffer() != null) {
+            return;
+        } else if (pendingCapacity >= expectedPendingCapacity && pendingCapacity <= expectedPendingCapacity * 2) {
+            return;
+        }
+
+        var prevPendingBuffer = pendingBuffer;
+
+        pendingBuffer = bufferAllocator.takeBuffer(expectedPendingCapacity);
+        bufferAllocator.putBuffer(prevPendingBuffer);
+    }
+
     /**
      * Handle the exception during receiving data.
      *
@@ -492,10 +1085,23 @@ public abstract class AbstractPacketReader<R extends ReadablePacket, C extends C
     @Override
     public void close() {
 
-        bufferAllocator
-            .putReadBuffer(readBuffer)
-            .putPendingBuffer(pendingBuffer);
+        if (adaptiveReadBuffer) {
+            bufferAllocator
+                .putBuffer(readBuffer)
+                .putBuffer(pendingBuffer);
+        } else {
+            bufferAllocator
+                .putReadBuffer(readBuffer)
+                .putPendingBuffer(pendingBuffer);
+        }
 
         freeTempBuffers();
+
+        var decompressBuffer = this.decompressBuffer;
+
+        if (decompressBuffer != null) {
+            this.decompressBuffer = null;
+            bufferAllocator.putBuffer(decompressBuffer);
+        }
     }
 }
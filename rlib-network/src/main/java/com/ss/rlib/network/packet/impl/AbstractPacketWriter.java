@@ -4,21 +4,33 @@ import static com.ss.rlib.network.util.NetworkUtils.*;
 import com.ss.rlib.common.function.NotNullBiConsumer;
 import com.ss.rlib.common.function.NotNullConsumer;
 import com.ss.rlib.common.function.NullableSupplier;
+import com.ss.rlib.common.util.array.Array;
+import com.ss.rlib.common.util.array.ArrayFactory;
 import com.ss.rlib.logger.api.Logger;
 import com.ss.rlib.logger.api.LoggerManager;
 import com.ss.rlib.network.BufferAllocator;
 import com.ss.rlib.network.Connection;
+import com.ss.rlib.network.NetworkCryptor;
+import com.ss.rlib.network.capture.CaptureDirection;
+import com.ss.rlib.network.capture.TrafficCapture;
+import com.ss.rlib.network.metrics.MetricsRecorder;
+import com.ss.rlib.network.packet.PacketCompressor;
 import com.ss.rlib.network.packet.PacketWriter;
+import com.ss.rlib.network.packet.StreamingWritablePacket;
+import com.ss.rlib.network.packet.StringCodec;
 import com.ss.rlib.network.packet.WritablePacket;
 import com.ss.rlib.network.util.NetworkUtils;
 import lombok.RequiredArgsConstructor;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
+import java.nio.BufferOverflowException;
 import java.nio.ByteBuffer;
 import java.nio.channels.AsynchronousSocketChannel;
 import java.nio.channels.CompletionHandler;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * @author JavaSaBr
@@ -29,10 +41,94 @@ public abstract class AbstractPacketWriter<W extends WritablePacket, C extends C
 
     private static final Logger LOGGER = LoggerManager.getLogger(AbstractPacketWriter.class);
 
+    private static final ThreadLocal<StringCodec> WRITING_STRING_CODEC = new ThreadLocal<>();
+
+    /**
+     * The max size of temp buffers to serialize a packet with unknown expected length.
+     */
+    public static final int MAX_GROWN_BUFFER_SIZE = 64 * 1024 * 1024;
+
+    /**
+     * The count of sequential packets which are much smaller than a size hint after which the hint is halved.
+     */
+    protected static final int SIZE_HINT_DECAY_PACKETS = 64;
+
+    /**
+     * The size of buffers which was enough to serialize packets of one type with unknown expected length. It grows
+     * with bigger packets and is halved after {@link #SIZE_HINT_DECAY_PACKETS} sequential packets which are less
+     * than a quarter of it, so one big packet doesn't make all next packets of its type use big buffers.
+     */
+    private static final class SizeHint {
+
+        private final @NotNull AtomicInteger size = new AtomicInteger();
+        private final @NotNull AtomicInteger smallPackets = new AtomicInteger();
+
+        private int get() {
+            return size.get();
+        }
+
+        private void update(int bufferSize, int serializedSize) {
+
+            var current = size.get();
+
+            if (bufferSize > current) {
+                size.accumulateAndGet(bufferSize, Math::max);
+                smallPackets.set(0);
+            } else if (serializedSize > current / 4) {
+                if (smallPackets.get() != 0) {
+                    smallPackets.set(0);
+                }
+            } else if (smallPackets.incrementAndGet() >= SIZE_HINT_DECAY_PACKETS) {
+                smallPackets.set(0);
+                size.compareAndSet(current, current / 2);
+            }
+        }
+    }
+
+    /**
+     * The size hints of packets with unknown expected length by packet types.
+     */
+    private static final ClassValue<SizeHint> SERIALIZED_SIZE_HINTS = new ClassValue<>() {
+
+        @Override
+        protected @NotNull SizeHint computeValue(@NotNull Class<?> type) {
+            return new SizeHint();
+        }
+    };
+
+    /**
+     * Get a string codec of a connection which is serializing a packet in the current thread. Writable packets
+     * can be shared between connections, so the codec is provided during serializing instead of storing it
+     * in a packet.
+     *
+     * @return the string codec of the current serializing or {@link StringCodec#UTF_16}.
+     * @since 9.9.0
+     */
+    public static @NotNull StringCodec getWritingStringCodec() {
+        var codec = WRITING_STRING_CODEC.get();
+        return codec == null ? StringCodec.UTF_16 : codec;
+    }
+
+    /**
+     * Set a string codec of a connection which is serializing a packet in the current thread, it's used by
+     * serializers of packets which aren't packet writers.
+     *
+     * @param codec the string codec or null to reset it.
+     * @since 9.9.0
+     */
+    public static void setWritingStringCodec(@Nullable StringCodec codec) {
+        if (codec == null) {
+            WRITING_STRING_CODEC.remove();
+        } else {
+            WRITING_STRING_CODEC.set(codec);
+        }
+    }
+
     private final CompletionHandler<Integer, WritablePacket> writeHandler = new CompletionHandler<>() {
 
         @Override
         public void completed(@NotNull Integer result, @NotNull WritablePacket packet) {
+            NetworkUtils.markNetworkThread();
             handleSuccessfulWriting(result, packet);
         }
 
@@ -42,6 +138,20 @@ public abstract class AbstractPacketWriter<W extends WritablePacket, C extends C
         }
     };
 
+    private final CompletionHandler<Long, Array<WritablePacket>> batchWriteHandler = new CompletionHandler<>() {
+
+        @Override
+        public void completed(@NotNull Long result, @NotNull Array<WritablePacket> packets) {
+            NetworkUtils.markNetworkThread();
+            handleSuccessfulBatchWriting(result, packets);
+        }
+
+        @Override
+        public void failed(@NotNull Throwable exc, @NotNull Array<WritablePacket> packets) {
+            handleFailedBatchWriting(exc, packets);
+        }
+    };
+
     protected final @NotNull AtomicBoolean isWriting = new AtomicBoolean();
 
     protected final @NotNull C connection;
@@ -55,11 +165,43 @@ public abstract class AbstractPacketWriter<W extends WritablePacket, C extends C
 
     protected volatile @NotNull ByteBuffer writingBuffer = EMPTY_BUFFER;
 
+    /**
+     * The buffer to collect serialized data of several packets to write them by one write.
+     */
+    protected final @NotNull ByteBuffer batchWriteBuffer;
+
+    /**
+     * The collected buffers of the current batch write.
+     */
+    protected final @NotNull ByteBuffer[] writingBuffers = new ByteBuffer[2];
+
+    /**
+     * The packets of the current batch write.
+     */
+    protected final @NotNull Array<WritablePacket> writingPackets = ArrayFactory.newArray(WritablePacket.class);
+
+    protected volatile int writingBuffersCount;
+
+    /**
+     * The streaming packet which was taken by a batch write, it's written by the next single write.
+     */
+    protected volatile @Nullable WritablePacket deferredPacket;
+
+    /**
+     * The count of not written bytes of streaming data of the current streaming packet.
+     */
+    protected volatile int streamingRemaining;
+
     protected final @NotNull Runnable updateActivityFunction;
     protected final @NotNull NullableSupplier<WritablePacket> nextWritePacketSupplier;
     protected final @NotNull NotNullConsumer<WritablePacket> writtenPacketHandler;
     protected final @NotNull NotNullBiConsumer<WritablePacket, Boolean> sentPacketHandler;
 
+    protected final @NotNull MetricsRecorder metrics;
+    protected final @Nullable PacketCompressor compressor;
+
+    protected final int maxPacketsByWrite;
+
     public AbstractPacketWriter(
         @NotNull C connection,
         @NotNull AsynchronousSocketChannel channel,
@@ -67,7 +209,8 @@ public abstract class AbstractPacketWriter<W extends WritablePacket, C extends C
         @NotNull Runnable updateActivityFunction,
         @NotNull NullableSupplier<WritablePacket> packetProvider,
         @NotNull NotNullConsumer<WritablePacket> writtenPacketHandler,
-        @NotNull NotNullBiConsumer<WritablePacket, Boolean> sentPacketHandler
+        @NotNull NotNullBiConsumer<WritablePacket, Boolean> sentPacketHandler,
+        int maxPacketsByWrite
     ) {
         this.connection = connection;
         this.channel = channel;
@@ -78,6 +221,10 @@ public abstract class AbstractPacketWriter<W extends WritablePacket, C extends C
         this.nextWritePacketSupplier = packetProvider;
         this.writtenPacketHandler = writtenPacketHandler;
         this.sentPacketHandler = sentPacketHandler;
+        this.maxPacketsByWrite = maxPacketsByWrite;
+        this.metrics = connection.getMetrics();
+        this.compressor = connection.getPacketCompressor();
+        this.batchWriteBuffer = maxPacketsByWrite > 1 ? bufferAllocator.takeWriteBuffer() : EMPTY_BUFFER;
     }
 
     @Override
@@ -87,16 +234,28 @@ public abstract class AbstractPacketWriter<W extends WritablePacket, C extends C
             return;
         }
 
-        var waitPacket = nextWritePacketSupplier.get();
-
-        if (waitPacket == null) {
-            isWriting.set(false);
+        if (maxPacketsByWrite > 1 && deferredPacket == null && canWriteBatch()) {
+            writeNextPackets();
             return;
         }
 
-        var resultBuffer = serialize(waitPacket);
+        while (true) {
+
+            var waitPacket = takeNextPacket();
+
+            if (waitPacket == null) {
+                isWriting.set(false);
+                return;
+            }
+
+            var resultBuffer = serialize(waitPacket);
+
+            if (resultBuffer.limit() == 0) {
+                // the packet wasn't serialized, so it's completed right away and the next packet is written
+                onNotSerializedPacket(waitPacket);
+                continue;
+            }
 
-        if (resultBuffer.limit() != 0) {
             writingBuffer = resultBuffer;
 
             LOGGER.debug(
@@ -106,11 +265,138 @@ public abstract class AbstractPacketWriter<W extends WritablePacket, C extends C
             );
 
             channel.write(resultBuffer, waitPacket, writeHandler);
-        } else {
+            writtenPacketHandler.accept(waitPacket);
+            return;
+        }
+    }
+
+    /**
+     * Handle the packet which wasn't serialized, it's completed as not sent.
+     *
+     * @param packet the packet.
+     */
+    protected void onNotSerializedPacket(@NotNull WritablePacket packet) {
+
+        if (firstWriteTempBuffer != null) {
+            clearTempBuffers();
+        }
+
+        writtenPacketHandler.accept(packet);
+        sentPacketHandler.accept(packet, Boolean.FALSE);
+    }
+
+    /**
+     * Take a next packet to write, a deferred streaming packet is taken at first.
+     *
+     * @return the next packet or null.
+     */
+    protected @Nullable WritablePacket takeNextPacket() {
+
+        var deferred = deferredPacket;
+
+        if (deferred != null) {
+            deferredPacket = null;
+            return deferred;
+        }
+
+        return nextWritePacketSupplier.get();
+    }
+
+    /**
+     * Check the possibility to collect several packets to one write.
+     *
+     * @return true if several packets can be collected to one write.
+     */
+    protected boolean canWriteBatch() {
+        return true;
+    }
+
+    /**
+     * Collect several waiting packets to one write. Packets are serialized one by one and are copied to the
+     * batch buffer while they fit, a packet which doesn't fit to the batch buffer closes the batch and is written
+     * together with the batch buffer by one gathering write.
+     */
+    protected void writeNextPackets() {
+
+        var batchBuffer = batchWriteBuffer.clear();
+        var packets = writingPackets;
+
+        ByteBuffer lastBuffer = null;
+
+        while (packets.size() < maxPacketsByWrite && canWriteBatch()) {
+
+            var waitPacket = nextWritePacketSupplier.get();
+
+            if (waitPacket == null) {
+                break;
+            }
+
+            // a streaming packet is written by chunks, so it can't be a part of a batch
+            if (isStreamingPacket(waitPacket)) {
+                deferredPacket = waitPacket;
+                break;
+            }
+
+            var resultBuffer = serialize(waitPacket);
+
+            if (resultBuffer.limit() == 0) {
+                onNotSerializedPacket(waitPacket);
+                continue;
+            }
+
+            packets.add(waitPacket);
+
+            if (resultBuffer.remaining() <= batchBuffer.remaining()) {
+                batchBuffer.put(resultBuffer);
+            } else {
+                lastBuffer = resultBuffer;
+                break;
+            }
+
+            // the packet was already copied to the batch buffer, so its temp buffers are not needed anymore
+            if (firstWriteTempBuffer != null) {
+                clearTempBuffers();
+            }
+        }
+
+        if (packets.isEmpty()) {
+
             isWriting.set(false);
+
+            if (deferredPacket != null) {
+                writeNextPacket();
+            }
+
+            return;
         }
 
-        writtenPacketHandler.accept(waitPacket);
+        batchBuffer.flip();
+
+        if (lastBuffer == null && batchBuffer.limit() == 0) {
+            packets.forEach(writtenPacketHandler);
+            packets.clear();
+            isWriting.set(false);
+            return;
+        }
+
+        var buffers = writingBuffers;
+        buffers[0] = batchBuffer;
+        buffers[1] = lastBuffer == null ? EMPTY_BUFFER : lastBuffer;
+
+        writingBuffersCount = lastBuffer == null ? 1 : 2;
+
+        LOGGER.debug(
+            packets,
+            channel,
+            (pcks, ch) -> "Write " + pcks.size() + " packets to channel \"" + getRemoteAddress(ch) + "\""
+        );
+
+        // the batch can be completed right after starting writing, so we need to notify about written packets before
+        for (int i = 0, length = packets.size(); i < length; i++) {
+            writtenPacketHandler.accept(packets.get(i));
+        }
+
+        channel.write(buffers, 0, writingBuffersCount, 0, TimeUnit.MILLISECONDS, packets, batchWriteHandler);
     }
 
     protected @NotNull ByteBuffer serialize(@NotNull WritablePacket packet) {
@@ -119,23 +405,245 @@ public abstract class AbstractPacketWriter<W extends WritablePacket, C extends C
             packet = ((WritablePacketWrapper<?, ?>) packet).getPacket();
         }
 
+        var cryptor = connection.getCryptor();
+
+        // the next chunk of the streaming packet which is writing now
+        if (streamingRemaining > 0) {
+
+            var chunk = serializeNextChunk((StreamingWritablePacket) packet);
+
+            if (cryptor != NetworkCryptor.NULL) {
+                cryptor.encrypt(chunk, 0, chunk.limit());
+            }
+
+            return chunk;
+        }
+
+        // the packet was already serialized for several connections, so we need just to write its data
+        if (packet instanceof SerializedWritablePacket) {
+
+            var data = ((SerializedWritablePacket) packet).getData();
+
+            capture(data);
+
+            if (cryptor == NetworkCryptor.NULL) {
+                return data;
+            }
+
+            // the shared data is read-only, so it's encrypted in a copy
+            return encrypt(cryptor, copyToWriteBuffer(data));
+        }
+
         W resultPacket = (W) packet;
 
-        var expectedLength = packet.getExpectedLength();
-        var totalSize = expectedLength == -1 ? -1 : getTotalSize(packet, expectedLength);
+        var startTime = metrics.isEnabled() ? System.nanoTime() : 0L;
+        var streaming = packet instanceof StreamingWritablePacket;
 
-        // if the packet is too big to use a write buffer
-        if (expectedLength != -1 && totalSize > firstWriteBuffer.capacity()) {
-            var first = bufferAllocator.takeBuffer(totalSize);
-            var second = bufferAllocator.takeBuffer(totalSize);
-            firstWriteTempBuffer = first;
-            secondWriteTempBuffer = second;
-            return serialize(resultPacket, expectedLength, totalSize, first, second);
-        } else {
-            return serialize(resultPacket, expectedLength, totalSize, firstWriteBuffer, secondWriteBuffer);
+        // the length of streaming data is needed to write the packet length header
+        if (streaming) {
+            streamingRemaining = ((StreamingWritablePacket) packet).getStreamingLength();
+        }
+
+        ByteBuffer result = null;
+
+        WRITING_STRING_CODEC.set(connection.getStringCodec());
+        try {
+
+            var expectedLength = packet.getExpectedLength();
+            var totalSize = expectedLength == -1 ? -1 : getTotalSize(packet, expectedLength);
+
+            if (expectedLength == -1) {
+                result = serializeWithUnknownLength(resultPacket);
+            } else if (totalSize > firstWriteBuffer.capacity()) {
+                // if the packet is too big to use a write buffer
+                var first = bufferAllocator.takeBuffer(totalSize);
+                var second = bufferAllocator.takeBuffer(totalSize);
+                firstWriteTempBuffer = first;
+                secondWriteTempBuffer = second;
+                metrics.recordTempBufferAllocation();
+                result = serialize(resultPacket, expectedLength, totalSize, first, second);
+            } else {
+                result = serialize(resultPacket, expectedLength, totalSize, firstWriteBuffer, secondWriteBuffer);
+            }
+
+            // only the first chunk of a streaming packet is serialized here, so it isn't captured
+            if (!streaming) {
+                capture(result);
+            }
+
+            return encrypt(cryptor, result);
+
+        } catch (BufferOverflowException e) {
+
+            LOGGER.error("Cannot serialize packet " + packet + " because it overflowed the write buffer, " +
+                "it won't be sent");
+
+            if (firstWriteTempBuffer != null) {
+                clearTempBuffers();
+            }
+
+            result = firstWriteBuffer.clear().limit(0);
+            return result;
+
+        } finally {
+            WRITING_STRING_CODEC.remove();
+
+            // streaming data of a not serialized packet isn't written
+            if (streaming && (result == null || result.limit() == 0)) {
+                streamingRemaining = 0;
+            }
+
+            if (metrics.isEnabled()) {
+                metrics.recordSerializedPacket(MetricsRecorder.getPacketId(packet), System.nanoTime() - startTime);
+            }
         }
     }
 
+    @Override
+    public @NotNull SerializedWritablePacket serializeShared(@NotNull WritablePacket packet) {
+
+        if (packet instanceof WritablePacketWrapper) {
+            packet = ((WritablePacketWrapper<?, ?>) packet).getPacket();
+        }
+
+        if (packet instanceof StreamingWritablePacket) {
+            throw new IllegalStateException("Cannot serialize streaming packet " + packet + " to a shared buffer.");
+        }
+
+        W resultPacket = (W) packet;
+
+        WRITING_STRING_CODEC.set(connection.getStringCodec());
+        try {
+
+            var expectedLength = packet.getExpectedLength();
+            var totalSize = expectedLength == -1 ? -1 : getTotalSize(packet, expectedLength);
+            var sizeHint = SERIALIZED_SIZE_HINTS.get(packet.getClass());
+            var bufferSize = totalSize == -1 ? Math.max(firstWriteBuffer.capacity(), sizeHint.get()) : totalSize;
+
+            ByteBuffer first;
+            ByteBuffer second;
+            ByteBuffer result;
+
+            while (true) {
+
+                first = bufferAllocator.takeBuffer(bufferSize);
+                second = bufferAllocator.takeBuffer(bufferSize);
+
+                try {
+                    result = serialize(resultPacket, expectedLength, totalSize, first, second);
+                    break;
+                } catch (BufferOverflowException e) {
+
+                    bufferAllocator.putBuffer(first).putBuffer(second);
+
+                    // only packets with unknown expected length can be serialized to bigger buffers
+                    if (expectedLength != -1) {
+                        throw e;
+                    }
+
+                    bufferSize = getGrownBufferSize(packet, bufferSize, e);
+                } catch (RuntimeException e) {
+                    bufferAllocator.putBuffer(first).putBuffer(second);
+                    throw e;
+                }
+            }
+
+            if (expectedLength == -1) {
+                sizeHint.update(bufferSize, result.remaining());
+            }
+
+            if (result.limit() == 0 || (result != first && result != second)) {
+                bufferAllocator.putBuffer(first).putBuffer(second);
+                throw new IllegalStateException("Cannot serialize packet " + packet + " to a shared buffer.");
+            }
+
+            bufferAllocator.putBuffer(result == first ? second : first);
+
+            return new SerializedWritablePacket(
+                result,
+                bufferAllocator,
+                packet.getName(),
+                packet.getQoS(),
+                packet.getConflationKey()
+            );
+
+        } finally {
+            WRITING_STRING_CODEC.remove();
+        }
+    }
+
+    /**
+     * Serialize the packet with unknown expected length. The packet is serialized to the write buffers or to temp
+     * buffers of the size which was enough for previous packets of the same type. If the packet overflows the
+     * buffers, it's serialized again to twice bigger temp buffers from the allocator, and the new size is used for
+     * next packets of this type, so a packet type with big packets overflows the buffers only a few times. The size
+     * decays after a series of much smaller packets of the type.
+     * <p>
+     * The packet is written again after each overflow, so writing of a packet with unknown expected length must not
+     * have side effects, such as changing a state of the packet or polling data from a queue.
+     *
+     * @param packet the packet to serialize.
+     * @return the buffer to write to channel.
+     * @throws BufferOverflowException if the packet is bigger than {@link #MAX_GROWN_BUFFER_SIZE}.
+     */
+    protected @NotNull ByteBuffer serializeWithUnknownLength(@NotNull W packet) {
+
+        var sizeHint = SERIALIZED_SIZE_HINTS.get(packet.getClass());
+        var bufferSize = sizeHint.get();
+
+        while (true) {
+
+            var first = firstWriteBuffer;
+            var second = secondWriteBuffer;
+
+            if (bufferSize > first.capacity()) {
+                first = bufferAllocator.takeBuffer(bufferSize);
+                second = bufferAllocator.takeBuffer(bufferSize);
+                firstWriteTempBuffer = first;
+                secondWriteTempBuffer = second;
+                metrics.recordTempBufferAllocation();
+            }
+
+            try {
+                var result = serialize(packet, -1, -1, first, second);
+                sizeHint.update(first.capacity(), result.remaining());
+                return result;
+            } catch (BufferOverflowException e) {
+
+                if (first != firstWriteBuffer) {
+                    clearTempBuffers();
+                }
+
+                bufferSize = getGrownBufferSize(packet, first.capacity(), e);
+
+                LOGGER.debug(packet, bufferSize, (pck, size) -> "Packet " + pck + " overflowed the write buffer, " +
+                    "try to serialize it to a buffer with size " + size);
+            }
+        }
+    }
+
+    /**
+     * Get a next size of buffers to serialize a packet with unknown expected length which overflowed buffers.
+     *
+     * @param packet     the packet.
+     * @param bufferSize the size of overflowed buffers.
+     * @param exception  the overflow exception.
+     * @return the next size of buffers.
+     * @throws BufferOverflowException if the buffers can't be bigger.
+     */
+    protected int getGrownBufferSize(
+        @NotNull WritablePacket packet,
+        int bufferSize,
+        @NotNull BufferOverflowException exception
+    ) {
+
+        if (bufferSize >= MAX_GROWN_BUFFER_SIZE) {
+            throw exception;
+        }
+
+        return Math.min(bufferSize * 2, MAX_GROWN_BUFFER_SIZE);
+    }
+
     /**
      * Get a total size of packet if it possible.
      *
@@ -256,6 +764,202 @@ public abstract class AbstractPacketWriter<W extends WritablePacket, C extends C
         return firstBuffer.position(0);
     }
 
+    /**
+     * Get a size of the compression flag which is written after the packet header.
+     *
+     * @return the size of the compression flag or 0 if packets aren't compressed.
+     */
+    protected int getCompressionFlagSize() {
+        return compressor == null ? 0 : PacketCompressor.FLAG_SIZE;
+    }
+
+    /**
+     * Compress data of the packet from the first buffer to the second buffer if the data is bigger than the threshold
+     * of the compressor and the compressed data is smaller than the original data, and write the compression flag
+     * after the packet header.
+     *
+     * @param firstBuffer  the first buffer with the serialized packet in read mode.
+     * @param secondBuffer the second buffer.
+     * @param headerSize   the size of the packet header before the compression flag.
+     * @return the buffer with the packet in read mode, the packet header isn't written yet.
+     */
+    protected @NotNull ByteBuffer compress(
+        @NotNull ByteBuffer firstBuffer,
+        @NotNull ByteBuffer secondBuffer,
+        int headerSize
+    ) {
+
+        var compressor = this.compressor;
+
+        if (compressor == null) {
+            return firstBuffer;
+        } else if (streamingRemaining > 0) {
+            // streaming data is written after this buffer as is
+            return firstBuffer.put(headerSize, PacketCompressor.UNCOMPRESSED);
+        }
+
+        var dataOffset = headerSize + PacketCompressor.FLAG_SIZE;
+        var dataLength = firstBuffer.limit() - dataOffset;
+        var compressedOffset = dataOffset + PacketCompressor.ORIGINAL_LENGTH_SIZE;
+
+        // the compressed data should be smaller than the original data to have sense
+        var maxCompressedEnd = Math.min(dataOffset + dataLength - 1, secondBuffer.capacity());
+
+        if (dataLength >= compressor.getThreshold() && maxCompressedEnd > compressedOffset) {
+
+            firstBuffer.position(dataOffset);
+            secondBuffer.clear()
+                .limit(maxCompressedEnd)
+                .position(compressedOffset);
+
+            if (compressor.compress(firstBuffer, secondBuffer)) {
+                secondBuffer.put(headerSize, PacketCompressor.COMPRESSED);
+                secondBuffer.putInt(dataOffset, dataLength);
+                return secondBuffer.flip();
+            }
+
+            firstBuffer.position(0);
+        }
+
+        return firstBuffer.put(headerSize, PacketCompressor.UNCOMPRESSED);
+    }
+
+    /**
+     * Write a next chunk of streaming data of the packet to the first write buffer.
+     *
+     * @param packet the streaming packet.
+     * @return the buffer with the chunk in read mode.
+     * @throws IllegalStateException if the packet cannot write the chunk.
+     */
+    protected @NotNull ByteBuffer serializeNextChunk(@NotNull StreamingWritablePacket packet) {
+
+        var buffer = firstWriteBuffer.clear();
+        buffer.limit(Math.min(buffer.capacity(), streamingRemaining));
+
+        if (!packet.writeChunk(buffer) || buffer.position() == 0) {
+            throw new IllegalStateException("Cannot write a next chunk of streaming packet " + packet);
+        }
+
+        streamingRemaining -= buffer.position();
+
+        return buffer.flip();
+    }
+
+    /**
+     * Start writing a next chunk of the streaming packet after writing the previous chunk.
+     *
+     * @param packet the streaming packet.
+     */
+    protected void writeNextChunk(@NotNull WritablePacket packet) {
+
+        ByteBuffer chunk;
+        try {
+            chunk = serialize(packet);
+        } catch (RuntimeException e) {
+            LOGGER.error(e);
+            failStreamingPacket(packet);
+            return;
+        }
+
+        writingBuffer = chunk;
+
+        channel.write(chunk, packet, writeHandler);
+    }
+
+    /**
+     * Stop writing the streaming packet and close the connection, because the other side waits for the rest of
+     * its data.
+     *
+     * @param packet the streaming packet.
+     */
+    protected void failStreamingPacket(@NotNull WritablePacket packet) {
+        LOGGER.error("Cannot write streaming packet " + packet + ", the connection will be closed");
+
+        streamingRemaining = 0;
+        sentPacketHandler.accept(packet, Boolean.FALSE);
+
+        connection.close();
+    }
+
+    /**
+     * Check whether the packet is a streaming packet.
+     *
+     * @param packet the packet.
+     * @return true if the packet is a streaming packet.
+     */
+    protected boolean isStreamingPacket(@NotNull WritablePacket packet) {
+
+        if (packet instanceof WritablePacketWrapper) {
+            packet = ((WritablePacketWrapper<?, ?>) packet).getPacket();
+        }
+
+        return packet instanceof StreamingWritablePacket;
+    }
+
+    /**
+     * Capture the serialized packet before encrypting if traffic of the connection is captured.
+     *
+     * @param buffer the buffer with the serialized packet in read mode.
+     */
+    protected void capture(@NotNull ByteBuffer buffer) {
+
+        var trafficCapture = connection.getTrafficCapture();
+
+        if (trafficCapture == TrafficCapture.NULL || !buffer.hasRemaining()) {
+            return;
+        }
+
+        trafficCapture.capture(connection, CaptureDirection.OUTBOUND, buffer, buffer.position(), buffer.remaining());
+    }
+
+    /**
+     * Get a size of the packet length header which isn't encrypted.
+     *
+     * @return the size of the packet length header.
+     */
+    protected int getPacketLengthHeaderSize() {
+        return 0;
+    }
+
+    /**
+     * Encrypt data of the serialized packet after the packet length header in place.
+     *
+     * @param cryptor the cryptor of the connection.
+     * @param buffer  the buffer with the serialized packet in read mode.
+     * @return the same buffer.
+     */
+    protected @NotNull ByteBuffer encrypt(@NotNull NetworkCryptor cryptor, @NotNull ByteBuffer buffer) {
+
+        var headerSize = getPacketLengthHeaderSize();
+
+        if (cryptor != NetworkCryptor.NULL && buffer.limit() > headerSize) {
+            cryptor.encrypt(buffer, headerSize, buffer.limit() - headerSize);
+        }
+
+        return buffer;
+    }
+
+    /**
+     * Copy the serialized data to the first write buffer or to a temp buffer if the data is too big.
+     *
+     * @param data the serialized data.
+     * @return the buffer with the copied data in read mode.
+     */
+    protected @NotNull ByteBuffer copyToWriteBuffer(@NotNull ByteBuffer data) {
+
+        var buffer = firstWriteBuffer;
+
+        if (data.remaining() > buffer.capacity()) {
+            buffer = bufferAllocator.takeBuffer(data.remaining());
+            firstWriteTempBuffer = buffer;
+            metrics.recordTempBufferAllocation();
+        }
+
+        return buffer.clear()
+            .put(data)
+            .flip();
+    }
+
     protected @NotNull ByteBuffer writeHeader(@NotNull ByteBuffer buffer, int position, int value, int headerSize) {
         try {
 
@@ -316,9 +1020,12 @@ public abstract class AbstractPacketWriter<W extends WritablePacket, C extends C
             return;
         }
 
+        metrics.recordSentBytes(result);
+
         var writingBuffer = this.writingBuffer;
 
         if (writingBuffer.remaining() > 0) {
+            metrics.recordWriteStall();
             LOGGER.debug(
                 writingBuffer,
                 channel,
@@ -331,6 +1038,12 @@ public abstract class AbstractPacketWriter<W extends WritablePacket, C extends C
             LOGGER.debug(result, bytes -> "Done writing " + bytes + " bytes");
         }
 
+        // a streaming packet is written by chunks, a next chunk is written after the previous one
+        if (streamingRemaining > 0) {
+            writeNextChunk(packet);
+            return;
+        }
+
         sentPacketHandler.accept(packet, Boolean.TRUE);
 
         if (isWriting.compareAndSet(true, false)) {
@@ -344,6 +1057,95 @@ public abstract class AbstractPacketWriter<W extends WritablePacket, C extends C
         }
     }
 
+    /**
+     * Handle successful wrote data of several packets.
+     *
+     * @param result  the count of wrote bytes.
+     * @param packets the sent packets.
+     */
+    protected void handleSuccessfulBatchWriting(@NotNull Long result, @NotNull Array<WritablePacket> packets) {
+        updateActivityFunction.run();
+
+        if (result == -1) {
+            completeBatch(packets, Boolean.FALSE);
+            connection.close();
+            return;
+        }
+
+        metrics.recordSentBytes(result);
+
+        var buffers = writingBuffers;
+        var count = writingBuffersCount;
+
+        for (int i = 0; i < count; i++) {
+
+            var buffer = buffers[i];
+
+            if (buffer.hasRemaining()) {
+                metrics.recordWriteStall();
+                LOGGER.debug(
+                    buffer,
+                    channel,
+                    (buf, ch) -> "Buffers were not consumed fully, try to write else " + buf.remaining() +
+                        " bytes to channel " + NetworkUtils.getRemoteAddress(ch)
+                );
+                channel.write(buffers, i, count - i, 0, TimeUnit.MILLISECONDS, packets, batchWriteHandler);
+                return;
+            }
+        }
+
+        LOGGER.debug(result, bytes -> "Done writing " + bytes + " bytes");
+
+        completeBatch(packets, Boolean.TRUE);
+
+        if (isWriting.compareAndSet(true, false)) {
+
+            // if we have temp buffers, we can remove it after finishing writing packets
+            if (firstWriteTempBuffer != null) {
+                clearTempBuffers();
+            }
+
+            writeNextPacket();
+        }
+    }
+
+    /**
+     * Handle the exception during writing several packets.
+     *
+     * @param exception the exception.
+     * @param packets   the packets.
+     */
+    protected void handleFailedBatchWriting(@NotNull Throwable exception, @NotNull Array<WritablePacket> packets) {
+        LOGGER.error(new RuntimeException("Failed writing " + packets.size() + " packets", exception));
+
+        completeBatch(packets, Boolean.FALSE);
+
+        if (!connection.isClosed()) {
+            if (isWriting.compareAndSet(true, false)) {
+                writeNextPacket();
+            }
+        }
+    }
+
+    /**
+     * Notify about the result of sending packets of the current batch and clear the batch.
+     *
+     * @param packets the packets of the batch.
+     * @param result  the result of sending.
+     */
+    protected void completeBatch(@NotNull Array<WritablePacket> packets, @NotNull Boolean result) {
+
+        for (int i = 0, length = packets.size(); i < length; i++) {
+            sentPacketHandler.accept(packets.get(i), result);
+        }
+
+        packets.clear();
+
+        var buffers = writingBuffers;
+        buffers[0] = null;
+        buffers[1] = null;
+    }
+
     /**
      * Handle the exception during writing the packet.
      *
@@ -353,6 +1155,14 @@ public abstract class AbstractPacketWriter<W extends WritablePacket, C extends C
     protected void handleFailedWriting(@NotNull Throwable exception, @NotNull WritablePacket packet) {
         LOGGER.error(new RuntimeException("Failed writing packet: " + packet, exception));
 
+        // the rest of a streaming packet can't be written after a failed chunk
+        if (streamingRemaining > 0) {
+            failStreamingPacket(packet);
+            return;
+        }
+
+        sentPacketHandler.accept(packet, Boolean.FALSE);
+
         if (!connection.isClosed()) {
             if (isWriting.compareAndSet(true, false)) {
                 writeNextPacket();
@@ -367,9 +1177,20 @@ public abstract class AbstractPacketWriter<W extends WritablePacket, C extends C
             .putWriteBuffer(firstWriteBuffer)
             .putWriteBuffer(secondWriteBuffer);
 
+        if (batchWriteBuffer != EMPTY_BUFFER) {
+            bufferAllocator.putWriteBuffer(batchWriteBuffer);
+        }
+
         clearTempBuffers();
 
         writingBuffer = EMPTY_BUFFER;
+
+        var deferred = deferredPacket;
+
+        if (deferred != null) {
+            deferredPacket = null;
+            sentPacketHandler.accept(deferred, Boolean.FALSE);
+        }
     }
 
     protected void clearTempBuffers() {
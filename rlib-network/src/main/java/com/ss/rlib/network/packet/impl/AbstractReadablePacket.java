@@ -3,6 +3,7 @@ package com.ss.rlib.network.packet.impl;
 import com.ss.rlib.common.util.ClassUtils;
 import com.ss.rlib.network.Connection;
 import com.ss.rlib.network.packet.ReadablePacket;
+import com.ss.rlib.network.packet.StringCodec;
 import lombok.AccessLevel;
 import lombok.NoArgsConstructor;
 import org.jetbrains.annotations.NotNull;
@@ -19,10 +20,19 @@ import java.nio.ByteBuffer;
 public abstract class AbstractReadablePacket<C extends Connection<?, ?>> extends AbstractPacket implements
     ReadablePacket {
 
+    /**
+     * The codec to read strings of this packet, it's taken from a connection before reading.
+     */
+    protected @NotNull StringCodec stringCodec = StringCodec.UTF_16;
+
     @Override
     public boolean read(@NotNull Connection<?, ?> connection, @NotNull ByteBuffer buffer, int length) {
         var oldLimit = buffer.limit();
         try {
+            // some tests and tools read packets without a connection
+            if (connection != null) {
+                stringCodec = connection.getStringCodec();
+            }
             buffer.limit(buffer.position() + length);
             readImpl(ClassUtils.unsafeNNCast(connection), buffer);
             return true;
@@ -133,29 +143,13 @@ public abstract class AbstractReadablePacket<C extends Connection<?, ?>> extends
      */
     protected @NotNull String readString(@NotNull ByteBuffer buffer) {
 
-        var length = readInt(buffer);
         try {
-
-            var requiredRemainingBytes = length * 2;
-
-            if (requiredRemainingBytes > buffer.remaining()) {
-                throw new IllegalStateException("Found too long string " + length + " from buffer " + buffer);
-            }
-
-            var array = new char[length];
-
-            for (int i = 0; i < length; i++) {
-                array[i] = buffer.getChar();
-            }
-
-            return new String(array);
-
+            return stringCodec.read(buffer);
         } catch (OutOfMemoryError ex) {
-            LOGGER.error("Cannot read too long \"" + length + "\" string by memory reason");
+            LOGGER.error("Cannot read too long string by memory reason from buffer " + buffer);
             throw ex;
         } catch (BufferUnderflowException ex) {
-            LOGGER.error("Cannot read string because buffer doesn't contains enough data. " +
-                "Expected string length " + length + ", buffer " + buffer);
+            LOGGER.error("Cannot read string because buffer doesn't contains enough data, buffer " + buffer);
             throw ex;
         }
     }
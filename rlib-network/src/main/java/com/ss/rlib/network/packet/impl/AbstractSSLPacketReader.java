@@ -10,6 +10,7 @@ import com.ss.rlib.network.packet.ReadablePacket;
 import com.ss.rlib.network.packet.WritablePacket;
 import com.ss.rlib.network.util.NetworkUtils;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 
 import javax.crypto.BadPaddingException;
 import javax.net.ssl.SSLEngine;
@@ -19,6 +20,9 @@ import javax.net.ssl.SSLException;
 import java.io.IOException;
 import java.nio.ByteBuffer;
 import java.nio.channels.AsynchronousSocketChannel;
+import java.nio.channels.CompletionHandler;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
 
 /**
  * @param <R> the readable packet's type.
@@ -34,13 +38,49 @@ public abstract class AbstractSSLPacketReader<R extends ReadablePacket, C extend
     };
 
     private static final int SKIP_READ_PACKETS = -1;
+    private static final int WAIT_SSL_TASKS = -2;
+
+    /**
+     * The handler of an empty read which is started after finishing delegated tasks of the SSL engine, the empty read
+     * is completed right away by a thread of the channel, so the handshake is continued in the I/O context of
+     * the connection.
+     */
+    private final CompletionHandler<Integer, ByteBuffer> sslTasksHandler = new CompletionHandler<>() {
+
+        @Override
+        public void completed(@NotNull Integer result, @NotNull ByteBuffer receivedBuffer) {
+            onSslTasksFinished(receivedBuffer);
+        }
+
+        @Override
+        public void failed(@NotNull Throwable exc, @NotNull ByteBuffer receivedBuffer) {
+            failHandshake(exc);
+        }
+    };
 
     protected final @NotNull SSLEngine sslEngine;
     protected final @NotNull NotNullConsumer<WritablePacket> packetWriter;
+    protected final @Nullable Executor sslTaskExecutor;
 
-    protected volatile @NotNull ByteBuffer sslNetworkBuffer;
+    /**
+     * The buffer to unwrap received records, it's in write mode between reads and contains decrypted data of
+     * a not completed packet before the position.
+     */
     protected volatile @NotNull ByteBuffer sslDataBuffer;
 
+    /**
+     * True if delegated tasks of the SSL engine are running by the executor, reading is paused until they are done.
+     */
+    protected volatile boolean waitingSslTasks;
+
+    /**
+     * The buffer with received data of the handshake which is waiting for delegated tasks of the SSL engine, the tasks
+     * are submitted to the executor after handling the received data by the network thread.
+     */
+    protected volatile @Nullable ByteBuffer sslTasksBuffer;
+
+    protected volatile @NotNull ByteBuffer sslNetworkBuffer;
+
     protected AbstractSSLPacketReader(
         @NotNull C connection,
         @NotNull AsynchronousSocketChannel channel,
@@ -49,13 +89,35 @@ public abstract class AbstractSSLPacketReader<R extends ReadablePacket, C extend
         @NotNull NotNullConsumer<? super R> readPacketHandler,
         @NotNull SSLEngine sslEngine,
         @NotNull NotNullConsumer<WritablePacket> packetWriter,
-        int maxPacketsByRead
+        int maxPacketsByRead,
+        @Nullable Executor sslTaskExecutor
     ) {
         super(connection, channel, bufferAllocator, updateActivityFunction, readPacketHandler, maxPacketsByRead);
         this.sslEngine = sslEngine;
         this.sslDataBuffer = bufferAllocator.takeBuffer(sslEngine.getSession().getApplicationBufferSize());
         this.sslNetworkBuffer = bufferAllocator.takeBuffer(sslEngine.getSession().getPacketBufferSize());
         this.packetWriter = packetWriter;
+        this.sslTaskExecutor = sslTaskExecutor;
+    }
+
+    @Override
+    public void startRead() {
+        if (!waitingSslTasks) {
+            super.startRead();
+        }
+    }
+
+    @Override
+    protected boolean isReadPaused() {
+
+        if (!super.isReadPaused()) {
+            return false;
+        }
+
+        var handshakeStatus = sslEngine.getHandshakeStatus();
+
+        // a handshake should be finished regardless of demand of packets
+        return handshakeStatus == HandshakeStatus.FINISHED || handshakeStatus == HandshakeStatus.NOT_HANDSHAKING;
     }
 
     @Override
@@ -68,10 +130,12 @@ public abstract class AbstractSSLPacketReader<R extends ReadablePacket, C extend
 
         if (receivedBytes == -1) {
             doHandshake(readingBuffer, -1);
-            return;
+        } else {
+            super.handleReceivedData(receivedBytes, readingBuffer);
         }
 
-        super.handleReceivedData(receivedBytes, readingBuffer);
+        // the network thread doesn't touch the buffers anymore, so the tasks can be run by the executor
+        submitSslTasks();
     }
 
     @Override
@@ -163,13 +227,14 @@ public abstract class AbstractSSLPacketReader<R extends ReadablePacket, C extend
                     return SKIP_READ_PACKETS;
                 case NEED_TASK:
 
-                    Runnable task;
-
-                    while ((task = sslEngine.getDelegatedTask()) != null) {
-                        LOGGER.debug(task, t -> "Execute SSL Engine's task: " + t.getClass());
-                        task.run();
+                    if (sslTaskExecutor != null) {
+                        waitingSslTasks = true;
+                        sslTasksBuffer = receivedBuffer;
+                        return WAIT_SSL_TASKS;
                     }
 
+                    runDelegatedTasks();
+
                     handshakeStatus = sslEngine.getHandshakeStatus();
 
                     LOGGER.debug(handshakeStatus, status -> "Handshake status: " + status + " after engine tasks");
@@ -200,6 +265,108 @@ public abstract class AbstractSSLPacketReader<R extends ReadablePacket, C extend
         return decryptAndRead(receivedBuffer);
     }
 
+    /**
+     * Run delegated tasks of the SSL engine in the current thread.
+     */
+    protected void runDelegatedTasks() {
+
+        Runnable task;
+
+        while ((task = sslEngine.getDelegatedTask()) != null) {
+            LOGGER.debug(task, t -> "Execute SSL Engine's task: " + t.getClass());
+            task.run();
+        }
+    }
+
+    /**
+     * Submit waiting delegated tasks of the SSL engine to the executor. Only the tasks are run by the executor,
+     * the handshake is continued by a thread of the channel after them.
+     */
+    protected void submitSslTasks() {
+
+        var receivedBuffer = sslTasksBuffer;
+        var executor = sslTaskExecutor;
+
+        if (receivedBuffer == null || executor == null) {
+            return;
+        }
+
+        sslTasksBuffer = null;
+
+        if (connection.isClosed()) {
+            return;
+        }
+
+        try {
+            executor.execute(() -> runSslTasks(receivedBuffer));
+        } catch (RejectedExecutionException e) {
+            LOGGER.warning("SSL engine's tasks were rejected by the executor, will run them on the network thread");
+            runDelegatedTasks();
+            onSslTasksFinished(receivedBuffer);
+        }
+    }
+
+    /**
+     * Run delegated tasks of the SSL engine by the executor and return to the I/O context of the connection by
+     * an empty read, which is completed right away by a thread of the channel.
+     *
+     * @param receivedBuffer the buffer with received data.
+     */
+    protected void runSslTasks(@NotNull ByteBuffer receivedBuffer) {
+        try {
+            runDelegatedTasks();
+            channel.read(NetworkUtils.EMPTY_BUFFER, receivedBuffer, sslTasksHandler);
+        } catch (RuntimeException e) {
+            failHandshake(e);
+        }
+    }
+
+    /**
+     * Continue the handshake after finishing delegated tasks of the SSL engine and resume reading, it's called in
+     * the I/O context of the connection.
+     *
+     * @param receivedBuffer the buffer with received data.
+     */
+    protected void onSslTasksFinished(@NotNull ByteBuffer receivedBuffer) {
+
+        var handshakeStatus = sslEngine.getHandshakeStatus();
+
+        LOGGER.debug(handshakeStatus, status -> "Handshake status: " + status + " after engine tasks");
+
+        try {
+            if (doHandshake(receivedBuffer, receivedBuffer.limit()) == WAIT_SSL_TASKS) {
+                submitSslTasks();
+                return;
+            }
+        } catch (Exception e) {
+            failHandshake(e);
+            return;
+        }
+
+        waitingSslTasks = false;
+        startRead();
+    }
+
+    /**
+     * Close the connection because the handshake was broken.
+     *
+     * @param exception the reason.
+     */
+    protected void failHandshake(@NotNull Throwable exception) {
+        LOGGER.error("SSL handshake with " + connection.getRemoteAddress() + " failed, the connection will be closed");
+        LOGGER.error(exception);
+        sslTasksBuffer = null;
+        connection.close();
+    }
+
+    /**
+     * Decrypt received records and read packets from them. Records are unwrapped right after not completed data
+     * in {@link #sslDataBuffer} and packets are read from this buffer in place, so decrypted data isn't copied
+     * to pending buffers.
+     *
+     * @param receivedBuffer the buffer with received records.
+     * @return count of read packets.
+     */
     protected int decryptAndRead(@NotNull ByteBuffer receivedBuffer) {
 
         int total = 0;
@@ -209,31 +376,27 @@ public abstract class AbstractSSLPacketReader<R extends ReadablePacket, C extend
             SSLEngineResult result;
             try {
                 LOGGER.debug(receivedBuffer, buf -> "Try to decrypt data:\n" + hexDump(buf));
-                result = sslEngine.unwrap(receivedBuffer, sslDataBuffer.clear());
+                result = sslEngine.unwrap(receivedBuffer, sslDataBuffer);
             } catch (SSLException e) {
-                var handshakeStatus = sslEngine.getHandshakeStatus();
                 throw new IllegalStateException(e);
             }
 
             switch (result.getStatus()) {
                 case OK:
-                    sslDataBuffer.flip();
-                    LOGGER.debug(sslDataBuffer, buf -> "Decrypted data:\n" + hexDump(buf));
-                    total += readPackets(sslDataBuffer, pendingBuffer);
+                    LOGGER.debug(result, res -> "Decrypted " + res.bytesProduced() + " bytes");
+                    total += readDecryptedPackets();
                     break;
                 case BUFFER_OVERFLOW:
-                    increaseDataBuffer();
-                    return decryptAndRead(receivedBuffer);
+                    ensureDataBufferSpace(sslEngine.getSession().getApplicationBufferSize());
+                    break;
                 case CLOSED:
                     closeConnection();
                     return SKIP_READ_PACKETS;
+                case BUFFER_UNDERFLOW:
+                    // the rest of received data is a part of a next record
+                    receivedBuffer.compact();
+                    return total;
                 default:
-
-                    if (receivedBuffer.position() > 0) {
-                        receivedBuffer.compact();
-                        return total;
-                    }
-
                     throw new IllegalStateException("Invalid SSL status: " + result.getStatus());
             }
         }
@@ -251,12 +414,105 @@ public abstract class AbstractSSLPacketReader<R extends ReadablePacket, C extend
         );
     }
 
-    private void increaseDataBuffer() {
-        sslDataBuffer = NetworkUtils.increaseApplicationBuffer(
-            sslDataBuffer,
-            bufferAllocator,
-            sslEngine
-        );
+    /**
+     * Read packets from decrypted data in {@link #sslDataBuffer}. Data of a not completed packet stays in the buffer
+     * to be completed by next records.
+     *
+     * @return count of read packets.
+     */
+    protected int readDecryptedPackets() {
+
+        var buffer = sslDataBuffer.flip();
+        var maxPacketsByRead = getMaxPacketsByRead();
+
+        var readPackets = 0;
+        var waitingPacketLength = 0;
+
+        while (readPackets < maxPacketsByRead && canStartReadPacket(buffer)) {
+
+            var startPosition = buffer.position();
+            var packetLength = readPacketLength(buffer);
+            var dataLength = getDataLength(packetLength, buffer.position() - startPosition, buffer);
+            var endPosition = startPosition + packetLength;
+
+            if (packetLength == -1 || endPosition > buffer.limit()) {
+
+                // packets are collected to the data buffer here, so streaming packets are limited too
+                if (isTooBigPacket(packetLength)) {
+                    rejectTooBigPacket(packetLength);
+                    return readPackets;
+                }
+
+                buffer.position(startPosition);
+                waitingPacketLength = packetLength;
+                break;
+            }
+
+            if (readPacket(buffer, startPosition, packetLength, dataLength)) {
+                readPackets++;
+            }
+
+            if (connection.isClosed()) {
+                return readPackets;
+            }
+
+            buffer.position(endPosition);
+        }
+
+        if (readPackets >= maxPacketsByRead && buffer.hasRemaining()) {
+            metrics.recordReadLimitHit();
+        }
+
+        buffer.compact();
+
+        // the rest of the waiting packet and a next record should fit the buffer without copying
+        if (waitingPacketLength > buffer.position()) {
+            var applicationBufferSize = sslEngine.getSession().getApplicationBufferSize();
+            ensureDataBufferSpace(waitingPacketLength - buffer.position() + applicationBufferSize);
+        } else if (buffer.position() == 0) {
+            shrinkDataBuffer();
+        }
+
+        return readPackets;
+    }
+
+    /**
+     * Make sure that the data buffer has enough free space, the buffer is replaced by a bigger one if it hasn't.
+     *
+     * @param required the required free space.
+     */
+    private void ensureDataBufferSpace(int required) {
+
+        var current = sslDataBuffer;
+
+        if (current.remaining() >= required) {
+            return;
+        }
+
+        LOGGER.debug(current, required, (buf, req) -> "Increase ssl data buffer " + buf + " to get " + req + " bytes");
+
+        var newBuffer = bufferAllocator.takeBuffer(current.position() + required);
+        newBuffer.put(current.flip());
+
+        metrics.recordTempBufferAllocation();
+
+        bufferAllocator.putBuffer(current);
+
+        sslDataBuffer = newBuffer;
+    }
+
+    /**
+     * Return the empty data buffer to the allocator if it was increased for a big packet.
+     */
+    private void shrinkDataBuffer() {
+
+        var current = sslDataBuffer;
+        var applicationBufferSize = sslEngine.getSession().getApplicationBufferSize();
+
+        if (current.capacity() > applicationBufferSize * 2) {
+            sslDataBuffer = bufferAllocator.takeBuffer(applicationBufferSize);
+            bufferAllocator.putBuffer(current);
+        }
     }
 
     protected void closeConnection() {
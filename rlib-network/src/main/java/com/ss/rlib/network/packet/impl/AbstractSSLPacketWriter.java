@@ -47,7 +47,8 @@ public abstract class AbstractSSLPacketWriter<W extends WritablePacket, C extend
         @NotNull NotNullBiConsumer<WritablePacket, Boolean> sentPacketHandler,
         @NotNull SSLEngine sslEngine,
         @NotNull NotNullConsumer<WritablePacket> packetWriter,
-        @NotNull NotNullConsumer<WritablePacket> queueAtFirst
+        @NotNull NotNullConsumer<WritablePacket> queueAtFirst,
+        int maxPacketsByWrite
     ) {
         super(
             connection,
@@ -56,7 +57,8 @@ public abstract class AbstractSSLPacketWriter<W extends WritablePacket, C extend
             updateActivityFunction,
             packetProvider,
             writtenPacketHandler,
-            sentPacketHandler
+            sentPacketHandler,
+            maxPacketsByWrite
         );
         this.sslEngine = sslEngine;
         this.packetWriter = packetWriter;
@@ -77,6 +79,12 @@ public abstract class AbstractSSLPacketWriter<W extends WritablePacket, C extend
         super.writeNextPacket();
     }
 
+    @Override
+    protected boolean canWriteBatch() {
+        var status = sslEngine.getHandshakeStatus();
+        return status == HandshakeStatus.FINISHED || status == HandshakeStatus.NOT_HANDSHAKING;
+    }
+
     @Override
     protected @NotNull ByteBuffer serialize(@NotNull WritablePacket packet) {
 
@@ -190,6 +198,10 @@ public abstract class AbstractSSLPacketWriter<W extends WritablePacket, C extend
                         task.run();
                     }
                     handshakeStatus = sslEngine.getHandshakeStatus();
+                    // the tasks are running by the packet reader, it will request wrapping after them
+                    if (handshakeStatus == HandshakeStatus.NEED_TASK) {
+                        return EMPTY_BUFFER;
+                    }
                     break;
                 case NEED_UNWRAP:
                     break;
@@ -3,6 +3,7 @@ package com.ss.rlib.network.packet.impl;
 import com.ss.rlib.network.packet.WritablePacket;
 import org.jetbrains.annotations.NotNull;
 
+import java.nio.BufferOverflowException;
 import java.nio.ByteBuffer;
 
 /**
@@ -17,6 +18,9 @@ public abstract class AbstractWritablePacket extends AbstractPacket implements W
         try {
             writeImpl(buffer);
             return true;
+        } catch (BufferOverflowException e) {
+            // a packet writer serializes a packet with unknown expected length again to a bigger buffer
+            throw e;
         } catch (Exception e) {
             handleException(buffer, e);
             return false;
@@ -0,0 +1,276 @@
+package com.ss.rlib.network.packet.impl;
+
+import com.ss.rlib.network.packet.StringCodec;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * The implementation of compact string encoding: a variable length count of bytes and bytes of the string in
+ * UTF-8 or Latin-1. Strings are encoded to and decoded from a backing array of a buffer directly if the buffer
+ * has it. Short strings can be interned by a small cache, so repeated strings like names of commands are read
+ * without allocations.
+ *
+ * @author JavaSaBr
+ * @since 9.9.0
+ */
+public class CompactStringCodec implements StringCodec {
+
+    private static final class InternedString {
+
+        private final @NotNull byte[] bytes;
+        private final @NotNull String string;
+
+        private InternedString(@NotNull byte[] bytes, @NotNull String string) {
+            this.bytes = bytes;
+            this.string = string;
+        }
+    }
+
+    /**
+     * The max count of bytes of strings which can be interned.
+     */
+    public static final int MAX_INTERNED_LENGTH = 64;
+
+    private final @NotNull Charset charset;
+    private final @Nullable InternedString[] internedStrings;
+
+    private final boolean latin1;
+
+    public CompactStringCodec(@NotNull Charset charset) {
+        this(charset, 0);
+    }
+
+    /**
+     * Create a new compact codec.
+     *
+     * @param charset         the charset, UTF-8 or ISO-8859-1.
+     * @param internCacheSize the size of the cache to intern short strings or 0 to disable interning.
+     */
+    public CompactStringCodec(@NotNull Charset charset, int internCacheSize) {
+
+        if (!StandardCharsets.UTF_8.equals(charset) && !StandardCharsets.ISO_8859_1.equals(charset)) {
+            throw new IllegalArgumentException("Unsupported charset " + charset);
+        }
+
+        this.charset = charset;
+        this.latin1 = StandardCharsets.ISO_8859_1.equals(charset);
+        this.internedStrings = internCacheSize > 0 ?
+            new InternedString[Integer.highestOneBit(Math.max(internCacheSize, 2) - 1) << 1] : null;
+    }
+
+    @Override
+    public int getLength(@NotNull String string) {
+        var length = getEncodedLength(string);
+        return getVarIntLength(length) + length;
+    }
+
+    @Override
+    public void write(@NotNull ByteBuffer buffer, @NotNull String string) {
+
+        var length = getEncodedLength(string);
+
+        writeVarInt(buffer, length);
+
+        if (buffer.remaining() < length) {
+            throw new BufferOverflowException();
+        } else if (!buffer.hasArray()) {
+            var bytes = new byte[length];
+            encode(string, bytes, 0);
+            buffer.put(bytes);
+            return;
+        }
+
+        encode(string, buffer.array(), buffer.arrayOffset() + buffer.position());
+
+        buffer.position(buffer.position() + length);
+    }
+
+    @Override
+    public @NotNull String read(@NotNull ByteBuffer buffer) {
+
+        var length = readVarInt(buffer);
+
+        if (length < 0 || length > buffer.remaining()) {
+            throw new IllegalStateException("Found too long string " + length + " from buffer " + buffer);
+        }
+
+        String result;
+
+        if (internedStrings != null && length <= MAX_INTERNED_LENGTH) {
+            result = readInterned(buffer, length, internedStrings);
+        } else if (buffer.hasArray()) {
+            result = new String(buffer.array(), buffer.arrayOffset() + buffer.position(), length, charset);
+        } else {
+            var bytes = new byte[length];
+            buffer.get(bytes);
+            return new String(bytes, charset);
+        }
+
+        buffer.position(buffer.position() + length);
+
+        return result;
+    }
+
+    private @NotNull String readInterned(
+        @NotNull ByteBuffer buffer,
+        int length,
+        @NotNull InternedString[] internedStrings
+    ) {
+
+        var position = buffer.position();
+        var hash = 1;
+
+        for (int i = 0; i < length; i++) {
+            hash = 31 * hash + buffer.get(position + i);
+        }
+
+        var index = (hash ^ (hash >>> 16)) & (internedStrings.length - 1);
+        var interned = internedStrings[index];
+
+        if (interned != null && isSameBytes(buffer, position, length, interned.bytes)) {
+            return interned.string;
+        }
+
+        var bytes = new byte[length];
+
+        for (int i = 0; i < length; i++) {
+            bytes[i] = buffer.get(position + i);
+        }
+
+        var string = new String(bytes, charset);
+
+        internedStrings[index] = new InternedString(bytes, string);
+
+        return string;
+    }
+
+    private static boolean isSameBytes(@NotNull ByteBuffer buffer, int position, int length, @NotNull byte[] bytes) {
+
+        if (bytes.length != length) {
+            return false;
+        } else if (buffer.hasArray()) {
+            var offset = buffer.arrayOffset() + position;
+            return Arrays.equals(buffer.array(), offset, offset + length, bytes, 0, length);
+        }
+
+        for (int i = 0; i < length; i++) {
+            if (buffer.get(position + i) != bytes[i]) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    private int getEncodedLength(@NotNull String string) {
+
+        var length = string.length();
+
+        if (latin1) {
+            return length;
+        }
+
+        var result = length;
+
+        for (int i = 0; i < length; i++) {
+
+            var ch = string.charAt(i);
+
+            if (ch < 0x80) {
+                continue;
+            } else if (ch < 0x800) {
+                result += 1;
+            } else if (Character.isHighSurrogate(ch) && i + 1 < length && Character.isLowSurrogate(string.charAt(i + 1))) {
+                // 2 chars of a surrogate pair are encoded to 4 bytes
+                result += 2;
+                i++;
+            } else if (!Character.isSurrogate(ch)) {
+                result += 2;
+            }
+        }
+
+        return result;
+    }
+
+    private void encode(@NotNull String string, @NotNull byte[] array, int offset) {
+        if (latin1) {
+            encodeLatin1(string, array, offset);
+        } else {
+            encodeUtf8(string, array, offset);
+        }
+    }
+
+    private static void encodeLatin1(@NotNull String string, @NotNull byte[] array, int offset) {
+        for (int i = 0, length = string.length(); i < length; i++) {
+            var ch = string.charAt(i);
+            array[offset + i] = (byte) (ch > 0xFF ? '?' : ch);
+        }
+    }
+
+    private static void encodeUtf8(@NotNull String string, @NotNull byte[] array, int offset) {
+
+        var position = offset;
+
+        for (int i = 0, length = string.length(); i < length; i++) {
+
+            var ch = string.charAt(i);
+
+            if (ch < 0x80) {
+                array[position++] = (byte) ch;
+            } else if (ch < 0x800) {
+                array[position++] = (byte) (0xC0 | ch >> 6);
+                array[position++] = (byte) (0x80 | ch & 0x3F);
+            } else if (Character.isHighSurrogate(ch) && i + 1 < length && Character.isLowSurrogate(string.charAt(i + 1))) {
+                var codePoint = Character.toCodePoint(ch, string.charAt(++i));
+                array[position++] = (byte) (0xF0 | codePoint >> 18);
+                array[position++] = (byte) (0x80 | codePoint >> 12 & 0x3F);
+                array[position++] = (byte) (0x80 | codePoint >> 6 & 0x3F);
+                array[position++] = (byte) (0x80 | codePoint & 0x3F);
+            } else if (Character.isSurrogate(ch)) {
+                // a not paired surrogate is replaced like by String.getBytes
+                array[position++] = '?';
+            } else {
+                array[position++] = (byte) (0xE0 | ch >> 12);
+                array[position++] = (byte) (0x80 | ch >> 6 & 0x3F);
+                array[position++] = (byte) (0x80 | ch & 0x3F);
+            }
+        }
+    }
+
+    private static int getVarIntLength(int value) {
+        return value < 0x80 ? 1 : value < 0x4000 ? 2 : value < 0x200000 ? 3 : value < 0x10000000 ? 4 : 5;
+    }
+
+    private static void writeVarInt(@NotNull ByteBuffer buffer, int value) {
+
+        while ((value & ~0x7F) != 0) {
+            buffer.put((byte) (value & 0x7F | 0x80));
+            value >>>= 7;
+        }
+
+        buffer.put((byte) value);
+    }
+
+    private static int readVarInt(@NotNull ByteBuffer buffer) {
+
+        var result = 0;
+
+        for (int shift = 0; shift < 35; shift += 7) {
+
+            var value = buffer.get();
+            result |= (value & 0x7F) << shift;
+
+            if (value >= 0) {
+                return result;
+            }
+        }
+
+        throw new IllegalStateException("Found too long variable length int in buffer " + buffer);
+    }
+}
@@ -0,0 +1,126 @@
+package com.ss.rlib.network.packet.impl;
+
+import com.ss.rlib.common.function.NotNullConsumer;
+import com.ss.rlib.network.packet.PacketQoS;
+import com.ss.rlib.network.packet.WritablePacket;
+import com.ss.rlib.network.packet.WritablePacketQueue;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * The implementation of {@link WritablePacketQueue} which replaces queued {@link PacketQoS#CONFLATABLE} packets
+ * by newer packets with equal conflation keys. A conflatable packet is stored in a slot which keeps its place in
+ * the queue, so a newer packet is written at the place of the replaced one and other packets are never reordered.
+ * A replaced packet is given to the superseded packets handler.
+ *
+ * @author JavaSaBr
+ * @since 9.9.0
+ */
+public class ConflatingWritablePacketQueue implements WritablePacketQueue {
+
+    /**
+     * The slot of conflatable packets in the queue, a packet of the slot can be replaced until the slot is polled.
+     */
+    private static final class Slot {
+
+        private static final VarHandle PACKET;
+
+        static {
+            try {
+                PACKET = MethodHandles.lookup().findVarHandle(Slot.class, "packet", WritablePacket.class);
+            } catch (ReflectiveOperationException e) {
+                throw new ExceptionInInitializerError(e);
+            }
+        }
+
+        private final @NotNull Object key;
+
+        private volatile @Nullable WritablePacket packet;
+
+        private Slot(@NotNull Object key, @NotNull WritablePacket packet) {
+            this.key = key;
+            this.packet = packet;
+        }
+    }
+
+    /**
+     * The queue of packets and slots of conflatable packets.
+     */
+    private final @NotNull LockFreeLaneQueue<Object> queue;
+    private final @NotNull Map<Object, Slot> slots;
+    private final @NotNull NotNullConsumer<WritablePacket> supersededHandler;
+
+    public ConflatingWritablePacketQueue(@NotNull NotNullConsumer<WritablePacket> supersededHandler) {
+        this.queue = new LockFreeLaneQueue<>();
+        this.slots = new ConcurrentHashMap<>();
+        this.supersededHandler = supersededHandler;
+    }
+
+    @Override
+    public void add(@NotNull WritablePacket packet) {
+
+        var key = packet.getQoS() == PacketQoS.CONFLATABLE ? packet.getConflationKey() : null;
+
+        if (key == null) {
+            queue.add(packet);
+            return;
+        }
+
+        while (true) {
+
+            var slot = slots.get(key);
+
+            if (slot == null) {
+
+                var newSlot = new Slot(key, packet);
+
+                if (slots.putIfAbsent(key, newSlot) == null) {
+                    queue.add(newSlot);
+                    return;
+                }
+
+                continue;
+            }
+
+            var prev = slot.packet;
+
+            // the slot is already polled to write, so the packet should be queued in a new slot
+            if (prev == null) {
+                slots.remove(key, slot);
+            } else if (Slot.PACKET.compareAndSet(slot, prev, packet)) {
+                supersededHandler.accept(prev);
+                return;
+            }
+        }
+    }
+
+    @Override
+    public void addPriority(@NotNull WritablePacket packet) {
+        queue.addPriority(packet);
+    }
+
+    @Override
+    public @Nullable WritablePacket poll() {
+
+        var element = queue.poll();
+
+        if (!(element instanceof Slot)) {
+            return (WritablePacket) element;
+        }
+
+        var slot = (Slot) element;
+        slots.remove(slot.key, slot);
+
+        return (WritablePacket) Slot.PACKET.getAndSet(slot, null);
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return queue.isEmpty();
+    }
+}
@@ -0,0 +1,11 @@
+package com.ss.rlib.network.packet.impl;
+
+import com.ss.rlib.network.datagram.impl.DefaultDatagramConnection;
+
+/**
+ * @author JavaSaBr
+ * @since 9.9.0
+ */
+public class DefaultDatagramReadablePacket extends
+    AbstractIdBasedReadablePacket<DefaultDatagramConnection, DefaultDatagramReadablePacket> {
+}
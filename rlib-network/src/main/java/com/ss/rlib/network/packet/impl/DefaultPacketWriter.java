@@ -31,7 +31,8 @@ public class DefaultPacketWriter<W extends WritablePacket, C extends Connection<
         @NotNull NullableSupplier<WritablePacket> nextWritePacketSupplier,
         @NotNull NotNullConsumer<WritablePacket> writtenPacketHandler,
         @NotNull NotNullBiConsumer<WritablePacket, Boolean> sentPacketHandler,
-        int packetLengthHeaderSize
+        int packetLengthHeaderSize,
+        int maxPacketsByWrite
     ) {
         super(
             connection,
@@ -40,14 +41,15 @@ public class DefaultPacketWriter<W extends WritablePacket, C extends Connection<
             updateActivityFunction,
             nextWritePacketSupplier,
             writtenPacketHandler,
-            sentPacketHandler
+            sentPacketHandler,
+            maxPacketsByWrite
         );
         this.packetLengthHeaderSize = packetLengthHeaderSize;
     }
 
     @Override
     protected int getTotalSize(@NotNull WritablePacket packet, int expectedLength) {
-        return expectedLength + packetLengthHeaderSize;
+        return expectedLength + packetLengthHeaderSize + getCompressionFlagSize();
     }
 
     @Override
@@ -58,7 +60,7 @@ public class DefaultPacketWriter<W extends WritablePacket, C extends Connection<
         @NotNull ByteBuffer firstBuffer,
         @NotNull ByteBuffer secondBuffer
     ) {
-        firstBuffer.clear().position(packetLengthHeaderSize);
+        firstBuffer.clear().position(packetLengthHeaderSize + getCompressionFlagSize());
         return true;
     }
 
@@ -70,7 +72,13 @@ public class DefaultPacketWriter<W extends WritablePacket, C extends Connection<
         @NotNull ByteBuffer firstBuffer,
         @NotNull ByteBuffer secondBuffer
     ) {
-        return writePacketLength(firstBuffer, firstBuffer.limit()).position(0);
+        var resultBuffer = compress(firstBuffer, secondBuffer, packetLengthHeaderSize);
+        return writePacketLength(resultBuffer, resultBuffer.limit() + streamingRemaining).position(0);
+    }
+
+    @Override
+    protected int getPacketLengthHeaderSize() {
+        return packetLengthHeaderSize;
     }
 
     protected @NotNull ByteBuffer writePacketLength(@NotNull ByteBuffer buffer, int packetLength) {
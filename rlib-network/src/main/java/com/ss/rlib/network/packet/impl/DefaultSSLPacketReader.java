@@ -11,6 +11,7 @@ import org.jetbrains.annotations.Nullable;
 import javax.net.ssl.SSLEngine;
 import java.nio.ByteBuffer;
 import java.nio.channels.AsynchronousSocketChannel;
+import java.util.concurrent.Executor;
 import java.util.function.IntFunction;
 
 /**
@@ -34,7 +35,8 @@ public class DefaultSSLPacketReader<R extends ReadablePacket, C extends Connecti
         @NotNull SSLEngine sslEngine,
         @NotNull NotNullConsumer<WritablePacket> packetWriter,
         int packetLengthHeaderSize,
-        int maxPacketsByRead
+        int maxPacketsByRead,
+        @Nullable Executor sslTaskExecutor
     ) {
         super(
             connection,
@@ -44,7 +46,8 @@ public class DefaultSSLPacketReader<R extends ReadablePacket, C extends Connecti
             readPacketHandler,
             sslEngine,
             packetWriter,
-            maxPacketsByRead
+            maxPacketsByRead,
+            sslTaskExecutor
         );
         this.readPacketFactory = readPacketFactory;
         this.packetLengthHeaderSize = packetLengthHeaderSize;
@@ -31,7 +31,8 @@ public class DefaultSSLPacketWriter<W extends WritablePacket, C extends Connecti
         @NotNull SSLEngine sslEngine,
         @NotNull NotNullConsumer<WritablePacket> packetWriter,
         @NotNull NotNullConsumer<WritablePacket> queueAtFirst,
-        int packetLengthHeaderSize
+        int packetLengthHeaderSize,
+        int maxPacketsByWrite
     ) {
         super(
             connection,
@@ -43,14 +44,15 @@ public class DefaultSSLPacketWriter<W extends WritablePacket, C extends Connecti
             sentPacketHandler,
             sslEngine,
             packetWriter,
-            queueAtFirst
+            queueAtFirst,
+            maxPacketsByWrite
         );
         this.packetLengthHeaderSize = packetLengthHeaderSize;
     }
 
     @Override
     protected int getTotalSize(@NotNull WritablePacket packet, int expectedLength) {
-        return expectedLength + packetLengthHeaderSize;
+        return expectedLength + packetLengthHeaderSize + getCompressionFlagSize();
     }
 
     @Override
@@ -61,7 +63,7 @@ public class DefaultSSLPacketWriter<W extends WritablePacket, C extends Connecti
         @NotNull ByteBuffer firstBuffer,
         @NotNull ByteBuffer secondBuffer
     ) {
-        firstBuffer.clear().position(packetLengthHeaderSize);
+        firstBuffer.clear().position(packetLengthHeaderSize + getCompressionFlagSize());
         return true;
     }
 
@@ -73,7 +75,13 @@ public class DefaultSSLPacketWriter<W extends WritablePacket, C extends Connecti
         @NotNull ByteBuffer firstBuffer,
         @NotNull ByteBuffer secondBuffer
     ) {
-        return writePacketLength(firstBuffer, firstBuffer.limit()).position(0);
+        var resultBuffer = compress(firstBuffer, secondBuffer, packetLengthHeaderSize);
+        return writePacketLength(resultBuffer, resultBuffer.limit() + streamingRemaining).position(0);
+    }
+
+    @Override
+    protected int getPacketLengthHeaderSize() {
+        return packetLengthHeaderSize;
     }
 
     protected @NotNull ByteBuffer writePacketLength(@NotNull ByteBuffer buffer, int packetLength) {
@@ -0,0 +1,107 @@
+package com.ss.rlib.network.packet.impl;
+
+import com.ss.rlib.network.packet.PacketCompressor;
+import org.jetbrains.annotations.NotNull;
+
+import java.nio.ByteBuffer;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+/**
+ * The implementation of a packet compressor based on Deflate of JDK. Deflaters and inflaters are thread-local and
+ * shared by all compressors, so connections don't hold native memory of zlib and compression doesn't allocate
+ * anything per packet. Both work with heap and direct buffers without copying data.
+ *
+ * @author JavaSaBr
+ * @since 9.9.0
+ */
+public class DeflatePacketCompressor implements PacketCompressor {
+
+    private static final ThreadLocal<Deflater> DEFLATER = ThreadLocal.withInitial(Deflater::new);
+    private static final ThreadLocal<Inflater> INFLATER = ThreadLocal.withInitial(Inflater::new);
+
+    private final int level;
+    private final int threshold;
+
+    private volatile boolean closed;
+
+    /**
+     * Create a new compressor.
+     *
+     * @param level     the compression level from {@link Deflater#BEST_SPEED} to {@link Deflater#BEST_COMPRESSION}.
+     * @param threshold the min length of packet's data to compress it.
+     */
+    public DeflatePacketCompressor(int level, int threshold) {
+        this.level = level;
+        this.threshold = threshold;
+    }
+
+    @Override
+    public int getThreshold() {
+        return threshold;
+    }
+
+    @Override
+    public boolean compress(@NotNull ByteBuffer source, @NotNull ByteBuffer destination) {
+
+        if (closed) {
+            return false;
+        }
+
+        var deflater = DEFLATER.get();
+        deflater.reset();
+        deflater.setLevel(level);
+        deflater.setInput(source);
+        deflater.finish();
+
+        while (!deflater.finished()) {
+
+            if (!destination.hasRemaining()) {
+                return false;
+            }
+
+            deflater.deflate(destination);
+        }
+
+        return true;
+    }
+
+    @Override
+    public void decompress(@NotNull ByteBuffer source, @NotNull ByteBuffer destination) {
+
+        if (closed) {
+            throw new IllegalStateException("The compressor is already closed.");
+        }
+
+        var inflater = INFLATER.get();
+        inflater.reset();
+        inflater.setInput(source);
+
+        try {
+
+            while (!inflater.finished()) {
+
+                if (inflater.inflate(destination) > 0 || inflater.finished()) {
+                    continue;
+                }
+
+                if (inflater.needsInput() || inflater.needsDictionary() || !destination.hasRemaining()) {
+                    throw new IllegalStateException("The compressed data is corrupted or has another length.");
+                }
+            }
+
+        } catch (DataFormatException e) {
+            throw new IllegalStateException("The compressed data is corrupted.", e);
+        }
+
+        if (destination.hasRemaining()) {
+            throw new IllegalStateException("The compressed data has another original length.");
+        }
+    }
+
+    @Override
+    public void close() {
+        closed = true;
+    }
+}
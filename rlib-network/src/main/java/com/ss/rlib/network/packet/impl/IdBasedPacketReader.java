@@ -52,6 +52,11 @@ public class IdBasedPacketReader<R extends IdBasedReadablePacket<R>, C extends C
         return buffer.remaining() > packetLengthHeaderSize;
     }
 
+    @Override
+    protected int getPacketTypeHeaderSize() {
+        return packetIdHeaderSize;
+    }
+
     @Override
     protected int readPacketLength(@NotNull ByteBuffer buffer) {
         return readHeader(buffer, packetLengthHeaderSize);
@@ -64,7 +69,6 @@ public class IdBasedPacketReader<R extends IdBasedReadablePacket<R>, C extends C
         int packetLength,
         int dataLength
     ) {
-        return packetRegistry.findById(readHeader(buffer, packetIdHeaderSize))
-            .newInstance();
+        return packetRegistry.newInstance(readHeader(buffer, packetIdHeaderSize));
     }
 }
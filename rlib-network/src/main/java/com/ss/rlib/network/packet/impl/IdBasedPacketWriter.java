@@ -29,7 +29,8 @@ public class IdBasedPacketWriter<W extends IdBasedWritablePacket, C extends Conn
         @NotNull NotNullConsumer<WritablePacket> writtenPacketHandler,
         @NotNull NotNullBiConsumer<WritablePacket, Boolean> sentPacketHandler,
         int packetLengthHeaderSize,
-        int packetIdHeaderSize
+        int packetIdHeaderSize,
+        int maxPacketsByWrite
     ) {
         super(
             connection,
@@ -39,11 +40,17 @@ public class IdBasedPacketWriter<W extends IdBasedWritablePacket, C extends Conn
             nextWritePacketSupplier,
             writtenPacketHandler,
             sentPacketHandler,
-            packetLengthHeaderSize
+            packetLengthHeaderSize,
+            maxPacketsByWrite
         );
         this.packetIdHeaderSize = packetIdHeaderSize;
     }
 
+    @Override
+    protected int getTotalSize(@NotNull WritablePacket packet, int expectedLength) {
+        return super.getTotalSize(packet, expectedLength) + packetIdHeaderSize;
+    }
+
     @Override
     protected boolean onWrite(
         @NotNull W packet,
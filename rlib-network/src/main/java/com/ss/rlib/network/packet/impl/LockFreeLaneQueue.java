@@ -0,0 +1,207 @@
+package com.ss.rlib.network.packet.impl;
+
+import com.ss.rlib.common.util.ClassUtils;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+
+/**
+ * The lock-free queue for many producers and one consumer with the priority lane, elements are stored in linked
+ * chunks of slots. It's used by queues of pending packets which store not only packets.
+ *
+ * @param <E> the type of elements.
+ * @author JavaSaBr
+ * @since 9.9.0
+ */
+final class LockFreeLaneQueue<E> {
+
+    /**
+     * The count of slots in one chunk.
+     */
+    private static final int CHUNK_SIZE = 32;
+
+    /**
+     * The mark of a slot which was passed by the consumer, a producer which didn't store its element to the slot
+     * yet takes a new slot.
+     */
+    private static final Object TAKEN = new Object();
+
+    private static final class Chunk {
+
+        private static final VarHandle SLOTS = MethodHandles.arrayElementVarHandle(Object[].class);
+        private static final VarHandle ADD_INDEX;
+        private static final VarHandle POLL_INDEX;
+        private static final VarHandle NEXT;
+
+        static {
+            try {
+                var lookup = MethodHandles.lookup();
+                ADD_INDEX = lookup.findVarHandle(Chunk.class, "addIndex", int.class);
+                POLL_INDEX = lookup.findVarHandle(Chunk.class, "pollIndex", int.class);
+                NEXT = lookup.findVarHandle(Chunk.class, "next", Chunk.class);
+            } catch (ReflectiveOperationException e) {
+                throw new ExceptionInInitializerError(e);
+            }
+        }
+
+        private final @NotNull Object[] slots;
+
+        /**
+         * The index of a next slot to add an element, it can exceed the size when this chunk is full.
+         */
+        private volatile int addIndex;
+
+        /**
+         * The index of a next slot to poll an element, it can exceed the size when this chunk is polled.
+         */
+        private volatile int pollIndex;
+
+        private volatile @Nullable Chunk next;
+
+        private Chunk() {
+            this.slots = new Object[CHUNK_SIZE];
+        }
+
+        private Chunk(@NotNull Object first) {
+            this();
+            this.slots[0] = first;
+            this.addIndex = 1;
+        }
+    }
+
+    private static final class Lane<E> {
+
+        private static final VarHandle HEAD;
+        private static final VarHandle TAIL;
+
+        static {
+            try {
+                var lookup = MethodHandles.lookup();
+                HEAD = lookup.findVarHandle(Lane.class, "head", Chunk.class);
+                TAIL = lookup.findVarHandle(Lane.class, "tail", Chunk.class);
+            } catch (ReflectiveOperationException e) {
+                throw new ExceptionInInitializerError(e);
+            }
+        }
+
+        /**
+         * The chunk to poll elements.
+         */
+        private volatile @NotNull Chunk head;
+
+        /**
+         * The chunk to add elements.
+         */
+        private volatile @NotNull Chunk tail;
+
+        private Lane() {
+            var chunk = new Chunk();
+            this.head = chunk;
+            this.tail = chunk;
+        }
+
+        private void add(@NotNull E element) {
+
+            while (true) {
+
+                var tail = this.tail;
+                var index = (int) Chunk.ADD_INDEX.getAndAdd(tail, 1);
+
+                if (index < CHUNK_SIZE) {
+
+                    // the slot can be already passed by the consumer, so the element should be added again
+                    if (Chunk.SLOTS.compareAndSet(tail.slots, index, null, element)) {
+                        return;
+                    }
+
+                    continue;
+                }
+
+                if (tail != this.tail) {
+                    continue;
+                }
+
+                var next = tail.next;
+
+                if (next != null) {
+                    TAIL.compareAndSet(this, tail, next);
+                } else if (Chunk.NEXT.compareAndSet(tail, null, new Chunk(element))) {
+                    TAIL.compareAndSet(this, tail, tail.next);
+                    return;
+                }
+            }
+        }
+
+        private @Nullable E poll() {
+
+            while (true) {
+
+                var head = this.head;
+
+                if (head.pollIndex >= head.addIndex && head.next == null) {
+                    return null;
+                }
+
+                // the atomic increment keeps the lane consistent if the queue is cleared during closing a connection
+                var index = (int) Chunk.POLL_INDEX.getAndAdd(head, 1);
+
+                if (index >= CHUNK_SIZE) {
+
+                    var next = head.next;
+
+                    if (next == null) {
+                        return null;
+                    }
+
+                    HEAD.compareAndSet(this, head, next);
+                    continue;
+                }
+
+                var element = Chunk.SLOTS.getAndSet(head.slots, index, TAKEN);
+
+                // a producer took the slot, but didn't store its element yet
+                if (element != null) {
+                    return ClassUtils.unsafeNNCast(element);
+                }
+            }
+        }
+
+        private boolean isEmpty() {
+            var head = this.head;
+            return head.pollIndex >= Math.min(head.addIndex, CHUNK_SIZE) && head.next == null;
+        }
+    }
+
+    private final @NotNull Lane<E> priorityLane;
+    private final @NotNull Lane<E> lane;
+
+    LockFreeLaneQueue() {
+        this.priorityLane = new Lane<>();
+        this.lane = new Lane<>();
+    }
+
+    void add(@NotNull E element) {
+        lane.add(element);
+    }
+
+    void addPriority(@NotNull E element) {
+        priorityLane.add(element);
+    }
+
+    @Nullable E poll() {
+
+        var element = priorityLane.poll();
+
+        if (element != null) {
+            return element;
+        }
+
+        return lane.poll();
+    }
+
+    boolean isEmpty() {
+        return priorityLane.isEmpty() && lane.isEmpty();
+    }
+}
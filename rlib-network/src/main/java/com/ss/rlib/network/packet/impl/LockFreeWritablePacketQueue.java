@@ -0,0 +1,43 @@
+package com.ss.rlib.network.packet.impl;
+
+import com.ss.rlib.network.packet.WritablePacket;
+import com.ss.rlib.network.packet.WritablePacketQueue;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * The lock-free implementation of {@link WritablePacketQueue} for many producers and one consumer. Packets are
+ * stored in linked chunks of slots, a producer takes a slot by one atomic increment of an index of the last chunk,
+ * so producers never wait for each other or for the consumer and a new chunk is allocated only when the last chunk
+ * is full. Packets of the priority lane are stored in separated chunks which are always polled first.
+ *
+ * @author JavaSaBr
+ */
+public class LockFreeWritablePacketQueue implements WritablePacketQueue {
+
+    private final @NotNull LockFreeLaneQueue<WritablePacket> queue;
+
+    public LockFreeWritablePacketQueue() {
+        this.queue = new LockFreeLaneQueue<>();
+    }
+
+    @Override
+    public void add(@NotNull WritablePacket packet) {
+        queue.add(packet);
+    }
+
+    @Override
+    public void addPriority(@NotNull WritablePacket packet) {
+        queue.addPriority(packet);
+    }
+
+    @Override
+    public @Nullable WritablePacket poll() {
+        return queue.poll();
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return queue.isEmpty();
+    }
+}
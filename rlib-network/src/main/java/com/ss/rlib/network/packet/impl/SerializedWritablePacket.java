@@ -0,0 +1,118 @@
+package com.ss.rlib.network.packet.impl;
+
+import com.ss.rlib.common.concurrent.atomic.AtomicInteger;
+import com.ss.rlib.network.BufferAllocator;
+import com.ss.rlib.network.packet.PacketQoS;
+import com.ss.rlib.network.packet.WritablePacket;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.nio.ByteBuffer;
+
+/**
+ * The packet which is already serialized with all headers to a buffer, so it can be written as is by many
+ * connections with the same packet format. Every connection writes own read-only view of the buffer and releases
+ * the packet when writing is finished, the buffer is returned to the allocator by the last release.
+ *
+ * @author JavaSaBr
+ * @since 9.9.0
+ */
+public final class SerializedWritablePacket implements WritablePacket {
+
+    private final @NotNull ByteBuffer data;
+    private final @NotNull BufferAllocator bufferAllocator;
+    private final @NotNull String name;
+    private final @NotNull PacketQoS qoS;
+    private final @Nullable Object conflationKey;
+    private final @NotNull AtomicInteger references;
+
+    /**
+     * Create a new serialized packet with one reference which is owned by the creator.
+     *
+     * @param data            the buffer with serialized data from the position 0 to the limit.
+     * @param bufferAllocator the allocator of the buffer.
+     * @param name            the name of the source packet.
+     */
+    public SerializedWritablePacket(
+        @NotNull ByteBuffer data,
+        @NotNull BufferAllocator bufferAllocator,
+        @NotNull String name
+    ) {
+        this(data, bufferAllocator, name, PacketQoS.RELIABLE, null);
+    }
+
+    /**
+     * Create a new serialized packet with one reference which is owned by the creator.
+     *
+     * @param data            the buffer with serialized data from the position 0 to the limit.
+     * @param bufferAllocator the allocator of the buffer.
+     * @param name            the name of the source packet.
+     * @param qoS             the delivery class of the source packet.
+     * @param conflationKey   the conflation key of the source packet.
+     */
+    public SerializedWritablePacket(
+        @NotNull ByteBuffer data,
+        @NotNull BufferAllocator bufferAllocator,
+        @NotNull String name,
+        @NotNull PacketQoS qoS,
+        @Nullable Object conflationKey
+    ) {
+        this.data = data;
+        this.bufferAllocator = bufferAllocator;
+        this.name = name;
+        this.qoS = qoS;
+        this.conflationKey = conflationKey;
+        this.references = new AtomicInteger(1);
+    }
+
+    /**
+     * Get a new read-only view of the serialized data.
+     *
+     * @return the read-only view of the serialized data.
+     */
+    public @NotNull ByteBuffer getData() {
+        return data.asReadOnlyBuffer();
+    }
+
+    /**
+     * Increase the count of references to this packet.
+     */
+    public void retain() {
+        references.incrementAndGet();
+    }
+
+    /**
+     * Decrease the count of references to this packet and return the buffer to the allocator when the count
+     * reaches zero.
+     */
+    public void release() {
+        if (references.decrementAndGet() == 0) {
+            bufferAllocator.putBuffer(data);
+        }
+    }
+
+    @Override
+    public boolean write(@NotNull ByteBuffer buffer) {
+        throw new IllegalStateException("The serialized packet can be written only as is.");
+    }
+
+    @Override
+    public @NotNull String getName() {
+        return name;
+    }
+
+    @Override
+    public @NotNull PacketQoS getQoS() {
+        return qoS;
+    }
+
+    @Override
+    public @Nullable Object getConflationKey() {
+        return conflationKey;
+    }
+
+    @Override
+    public @NotNull String toString() {
+        return "SerializedWritablePacket{" + "name='" + name + '\'' + ", length=" + data.limit() + '}';
+    }
+}
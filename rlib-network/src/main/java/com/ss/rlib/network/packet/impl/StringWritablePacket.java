@@ -21,7 +21,7 @@ public class StringWritablePacket extends AbstractWritablePacket {
 
     @Override
     public int getExpectedLength() {
-        return 4 + data.length() * 2;
+        return getStringCodec().getLength(data);
     }
 
     @Override
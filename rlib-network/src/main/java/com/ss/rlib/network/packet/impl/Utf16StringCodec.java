@@ -0,0 +1,48 @@
+package com.ss.rlib.network.packet.impl;
+
+import com.ss.rlib.network.packet.StringCodec;
+import org.jetbrains.annotations.NotNull;
+
+import java.nio.ByteBuffer;
+
+/**
+ * The implementation of the legacy string encoding: 4 bytes of chars count and 2 bytes per char in the buffer's
+ * byte order. Chars are copied by bulk operations of a char view of the buffer.
+ *
+ * @author JavaSaBr
+ * @since 9.9.0
+ */
+public class Utf16StringCodec implements StringCodec {
+
+    @Override
+    public int getLength(@NotNull String string) {
+        return 4 + string.length() * 2;
+    }
+
+    @Override
+    public void write(@NotNull ByteBuffer buffer, @NotNull String string) {
+
+        var length = string.length();
+
+        buffer.putInt(length);
+        buffer.asCharBuffer().put(string);
+        buffer.position(buffer.position() + length * 2);
+    }
+
+    @Override
+    public @NotNull String read(@NotNull ByteBuffer buffer) {
+
+        var length = buffer.getInt();
+
+        if (length < 0 || length > buffer.remaining() / 2) {
+            throw new IllegalStateException("Found too long string " + length + " from buffer " + buffer);
+        }
+
+        var array = new char[length];
+
+        buffer.asCharBuffer().get(array);
+        buffer.position(buffer.position() + length * 2);
+
+        return new String(array);
+    }
+}
@@ -1,9 +1,11 @@
 package com.ss.rlib.network.packet.impl;
 
+import com.ss.rlib.network.packet.PacketQoS;
 import com.ss.rlib.network.packet.WritablePacket;
 import lombok.Getter;
 import lombok.RequiredArgsConstructor;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 
 import java.nio.ByteBuffer;
 
@@ -30,6 +32,16 @@ public class WritablePacketWrapper<A, W extends WritablePacket> implements Writa
         return packet.getExpectedLength();
     }
 
+    @Override
+    public @NotNull PacketQoS getQoS() {
+        return packet.getQoS();
+    }
+
+    @Override
+    public @Nullable Object getConflationKey() {
+        return packet.getConflationKey();
+    }
+
     @Override
     public @NotNull String getName() {
         return "WritablePacketWrapper";
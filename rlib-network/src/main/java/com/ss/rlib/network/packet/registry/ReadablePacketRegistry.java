@@ -129,4 +129,16 @@ public interface ReadablePacketRegistry<R extends IdBasedReadablePacket<R>> {
      * @throws IllegalArgumentException if can't find a packet by the id.
      */
     @NotNull R findById(int id);
+
+    /**
+     * Create a new instance of a packet by the id.
+     *
+     * @param id the packet id.
+     * @return the new instance of the packet.
+     * @throws IllegalArgumentException if can't find a packet by the id.
+     * @since 9.9.0
+     */
+    default @NotNull R newInstance(int id) {
+        return findById(id).newInstance();
+    }
 }
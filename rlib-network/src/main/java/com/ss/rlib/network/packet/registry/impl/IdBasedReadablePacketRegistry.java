@@ -7,11 +7,13 @@ import com.ss.rlib.logger.api.Logger;
 import com.ss.rlib.logger.api.LoggerManager;
 import com.ss.rlib.network.annotation.PacketDescription;
 import com.ss.rlib.network.packet.IdBasedReadablePacket;
+import com.ss.rlib.network.packet.ReusableReadablePacket;
 import com.ss.rlib.network.packet.registry.ReadablePacketRegistry;
 import lombok.AccessLevel;
 import lombok.Getter;
 import lombok.Setter;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 
 import java.util.Arrays;
 import java.util.function.Supplier;
@@ -37,8 +39,16 @@ public class IdBasedReadablePacketRegistry<R extends IdBasedReadablePacket<R>> i
     @Setter(AccessLevel.PRIVATE)
     private volatile R[] idToPacket;
 
+    /**
+     * The array of packet id to factory of new instances, it's null for packets without a factory.
+     */
+    @Getter(AccessLevel.PRIVATE)
+    @Setter(AccessLevel.PRIVATE)
+    private volatile Supplier<?>[] idToFactory;
+
     public IdBasedReadablePacketRegistry(@NotNull Class<? extends R> type) {
         this.idToPacket = ArrayUtils.create(type, 0);
+        this.idToFactory = new Supplier<?>[0];
         this.type = type;
     }
 
@@ -93,7 +103,8 @@ public class IdBasedReadablePacketRegistry<R extends IdBasedReadablePacket<R>> i
             .max()
             .orElseThrow(() -> new IllegalStateException("Not found any packet id"));
 
-        setIdToPacket(Arrays.copyOf(getIdToPacket(), maxId + 1));
+        setIdToPacket(Arrays.copyOf(getIdToPacket(), Math.max(maxId + 1, getIdToPacket().length)));
+        setIdToFactory(Arrays.copyOf(getIdToFactory(), getIdToPacket().length));
 
         var idToPacket = getIdToPacket();
 
@@ -130,14 +141,15 @@ public class IdBasedReadablePacketRegistry<R extends IdBasedReadablePacket<R>> i
      *                                  wrong id or some class is already presented with the same id.
      */
     public @NotNull IdBasedReadablePacketRegistry<R> register(@NotNull Class<? extends R> cs) {
-        return register(cs, () -> ClassUtils.newInstance(cs));
+        register(getPacketId(cs), cs, ClassUtils.newInstance(cs), null);
+        return this;
     }
 
     /**
      * Register a class of readable packet.
      *
      * @param cs      the class.
-     * @param factory the instance factory.
+     * @param factory the instance factory which is used to create new instances of the packet as well.
      * @param <P>     the packet's type.
      * @return the reference to this registry.
      * @throws IllegalArgumentException if this class doesn't have {@link PacketDescription},
@@ -147,6 +159,38 @@ public class IdBasedReadablePacketRegistry<R extends IdBasedReadablePacket<R>> i
         @NotNull Class<P> cs,
         @NotNull Supplier<P> factory
     ) {
+        register(getPacketId(cs), cs, factory.get(), factory);
+        return this;
+    }
+
+    /**
+     * Register a class of readable packet by the known id without reflection, it's used by generated registries
+     * of packets.
+     *
+     * @param id      the packet id.
+     * @param cs      the class.
+     * @param factory the instance factory which is used to create new instances of the packet as well.
+     * @return the reference to this registry.
+     * @throws IllegalArgumentException if this class isn't compatible with this registry, wrong id or some class is
+     *                                  already presented with the same id.
+     * @since 9.9.0
+     */
+    public @NotNull IdBasedReadablePacketRegistry<R> register(
+        int id,
+        @NotNull Class<?> cs,
+        @NotNull Supplier<? extends IdBasedReadablePacket<?>> factory
+    ) {
+
+        if (!type.isAssignableFrom(cs)) {
+            throw new IllegalArgumentException("Class " + cs + " is incompatible with packet's type " + type);
+        }
+
+        register(id, cs, type.cast(factory.get()), factory);
+
+        return this;
+    }
+
+    private int getPacketId(@NotNull Class<?> cs) {
 
         var description = cs.getAnnotation(PacketDescription.class);
 
@@ -154,30 +198,33 @@ public class IdBasedReadablePacketRegistry<R extends IdBasedReadablePacket<R>> i
             throw new IllegalArgumentException("Class " + cs + " doesn't have packet description annotation.");
         }
 
-        var id = description.id();
+        return description.id();
+    }
+
+    private void register(int id, @NotNull Class<?> cs, @NotNull R packet, @Nullable Supplier<?> factory) {
 
         if (id < 0) {
             throw new IllegalArgumentException("Class " + cs + " has wrong packet id: " + id);
         }
 
         var idToPacket = getIdToPacket();
+        var idToFactory = getIdToFactory();
 
-        if (id < idToPacket.length) {
-            if (idToPacket[id] != null) {
-                throw new IllegalArgumentException("Class " + idToPacket[id].getClass() +
-                    " is already has the same id: " + id);
-            } else {
-                idToPacket[id] = ClassUtils.newInstance(cs);
-                return this;
-            }
+        if (id < idToPacket.length && idToPacket[id] != null) {
+            throw new IllegalArgumentException("Class " + idToPacket[id].getClass() +
+                " is already has the same id: " + id);
         }
 
-        idToPacket = Arrays.copyOf(getIdToPacket(), id + 1);
-        idToPacket[id] = factory.get();
+        if (id >= idToPacket.length) {
+            idToPacket = Arrays.copyOf(idToPacket, id + 1);
+            idToFactory = Arrays.copyOf(idToFactory, id + 1);
+        }
 
-        setIdToPacket(idToPacket);
+        idToPacket[id] = packet;
+        idToFactory[id] = factory;
 
-        return this;
+        setIdToFactory(idToFactory);
+        setIdToPacket(idToPacket);
     }
 
     @Override
@@ -197,4 +244,19 @@ public class IdBasedReadablePacketRegistry<R extends IdBasedReadablePacket<R>> i
 
         return packet;
     }
+
+    @Override
+    public @NotNull R newInstance(int id) {
+
+        var packet = findById(id);
+        var idToFactory = getIdToFactory();
+        var factory = id < idToFactory.length ? idToFactory[id] : null;
+
+        // reusable packets are taken from their pools by the registered instance
+        if (factory == null || packet instanceof ReusableReadablePacket) {
+            return packet.newInstance();
+        }
+
+        return type.cast(factory.get());
+    }
 }
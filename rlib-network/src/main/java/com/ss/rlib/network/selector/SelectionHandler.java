@@ -0,0 +1,20 @@
+package com.ss.rlib.network.selector;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.nio.channels.SelectionKey;
+
+/**
+ * The interface to implement a handler of selected keys of {@link SelectorEventLoop}.
+ *
+ * @author JavaSaBr
+ */
+public interface SelectionHandler {
+
+    /**
+     * Handle the selected key, it's called in the thread of the event loop.
+     *
+     * @param key the selected key.
+     */
+    void handleSelection(@NotNull SelectionKey key);
+}
@@ -0,0 +1,288 @@
+package com.ss.rlib.network.selector;
+
+import static com.ss.rlib.common.util.Utils.uncheckedGet;
+import com.ss.rlib.common.util.Utils;
+import com.ss.rlib.logger.api.Logger;
+import com.ss.rlib.logger.api.LoggerManager;
+import org.jetbrains.annotations.NotNull;
+
+import java.io.IOException;
+import java.nio.channels.SelectableChannel;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.util.PriorityQueue;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * The event loop which owns one selector and one thread. All selected keys, all submitted tasks and all scheduled
+ * tasks are handled in the thread of the loop.
+ *
+ * @author JavaSaBr
+ * @since 9.9.0
+ */
+public class SelectorEventLoop implements Runnable {
+
+    /**
+     * The task which is scheduled to run in the thread of the loop after a delay.
+     */
+    public static final class ScheduledTask implements Comparable<ScheduledTask> {
+
+        private final @NotNull Runnable task;
+        private final long deadline;
+
+        private volatile boolean cancelled;
+
+        private ScheduledTask(@NotNull Runnable task, long deadline) {
+            this.task = task;
+            this.deadline = deadline;
+        }
+
+        /**
+         * Cancel this task if it isn't run yet.
+         */
+        public void cancel() {
+            cancelled = true;
+        }
+
+        @Override
+        public int compareTo(@NotNull ScheduledTask another) {
+            return Long.compare(deadline - another.deadline, 0);
+        }
+    }
+
+    private static final Logger LOGGER = LoggerManager.getLogger(SelectorEventLoop.class);
+
+    private final @NotNull Selector selector;
+    private final @NotNull Thread thread;
+    private final @NotNull Queue<Runnable> tasks;
+    private final @NotNull AtomicBoolean wakenUp;
+    private final @NotNull AtomicInteger channels;
+
+    /**
+     * The scheduled tasks ordered by deadlines, it's used only in the thread of the loop.
+     */
+    private final @NotNull PriorityQueue<ScheduledTask> scheduledTasks;
+
+    private volatile boolean running;
+
+    public SelectorEventLoop(@NotNull ThreadFactory threadFactory) {
+        this.selector = uncheckedGet(Selector::open);
+        this.thread = threadFactory.newThread(this);
+        this.tasks = new ConcurrentLinkedQueue<>();
+        this.wakenUp = new AtomicBoolean(false);
+        this.channels = new AtomicInteger(0);
+        this.scheduledTasks = new PriorityQueue<>();
+        this.running = true;
+        this.thread.start();
+    }
+
+    /**
+     * Check whether the current thread is the thread of this loop.
+     *
+     * @return true if the current thread is the thread of this loop.
+     */
+    public boolean inEventLoop() {
+        return Thread.currentThread() == thread;
+    }
+
+    /**
+     * Submit a task to run in the thread of this loop.
+     *
+     * @param task the task.
+     */
+    public void execute(@NotNull Runnable task) {
+
+        tasks.add(task);
+
+        if (!inEventLoop() && wakenUp.compareAndSet(false, true)) {
+            selector.wakeup();
+        }
+    }
+
+    /**
+     * Schedule a task to run in the thread of this loop after the delay.
+     *
+     * @param task  the task.
+     * @param delay the delay.
+     * @param unit  the unit of the delay.
+     * @return the scheduled task to cancel it.
+     */
+    public @NotNull ScheduledTask schedule(@NotNull Runnable task, long delay, @NotNull TimeUnit unit) {
+
+        var scheduled = new ScheduledTask(task, System.nanoTime() + unit.toNanos(delay));
+
+        if (inEventLoop()) {
+            scheduledTasks.add(scheduled);
+        } else {
+            execute(() -> scheduledTasks.add(scheduled));
+        }
+
+        return scheduled;
+    }
+
+    /**
+     * Register a channel in the selector of this loop, it must be called in the thread of this loop.
+     *
+     * @param channel the channel.
+     * @param ops     the interest operations.
+     * @param handler the handler of selected keys of the channel.
+     * @return the selection key.
+     * @throws IOException if the channel cannot be registered.
+     */
+    public @NotNull SelectionKey register(
+        @NotNull SelectableChannel channel,
+        int ops,
+        @NotNull SelectionHandler handler
+    ) throws IOException {
+        return channel.register(selector, ops, handler);
+    }
+
+    /**
+     * Get a count of channels which are assigned to this loop.
+     *
+     * @return the count of assigned channels.
+     */
+    public int getChannels() {
+        return channels.get();
+    }
+
+    void onAssignedChannel() {
+        channels.incrementAndGet();
+    }
+
+    void onReleasedChannel() {
+        channels.decrementAndGet();
+    }
+
+    @Override
+    public void run() {
+
+        while (running) {
+
+            wakenUp.set(false);
+            try {
+
+                var timeout = tasks.isEmpty() ? getSelectTimeout() : 0;
+
+                if (timeout == 0) {
+                    selector.selectNow();
+                } else if (timeout > 0) {
+                    selector.select(timeout);
+                } else {
+                    selector.select();
+                }
+
+            } catch (IOException e) {
+                LOGGER.error(e);
+            }
+
+            handleSelectedKeys();
+            runTasks();
+            runScheduledTasks();
+        }
+
+        for (var key : selector.keys()) {
+            Utils.unchecked(key.channel(), SelectableChannel::close);
+        }
+
+        Utils.unchecked(selector, Selector::close);
+    }
+
+    private void handleSelectedKeys() {
+
+        var selectedKeys = selector.selectedKeys();
+
+        if (selectedKeys.isEmpty()) {
+            return;
+        }
+
+        for (var key : selectedKeys) {
+
+            if (!key.isValid()) {
+                continue;
+            }
+
+            try {
+                ((SelectionHandler) key.attachment()).handleSelection(key);
+            } catch (Exception e) {
+                LOGGER.error(e);
+            }
+        }
+
+        selectedKeys.clear();
+    }
+
+    private void runTasks() {
+        for (var task = tasks.poll(); task != null; task = tasks.poll()) {
+            try {
+                task.run();
+            } catch (Exception e) {
+                LOGGER.error(e);
+            }
+        }
+    }
+
+    /**
+     * Get a timeout of selecting in milliseconds until the nearest scheduled task.
+     *
+     * @return the timeout, 0 if a scheduled task should be run now or -1 if there are no scheduled tasks.
+     */
+    private long getSelectTimeout() {
+
+        var nearest = scheduledTasks.peek();
+
+        while (nearest != null && nearest.cancelled) {
+            scheduledTasks.poll();
+            nearest = scheduledTasks.peek();
+        }
+
+        if (nearest == null) {
+            return -1;
+        }
+
+        var delay = nearest.deadline - System.nanoTime();
+
+        if (delay <= 0) {
+            return 0;
+        }
+
+        return Math.max(TimeUnit.NANOSECONDS.toMillis(delay), 1);
+    }
+
+    private void runScheduledTasks() {
+
+        var now = System.nanoTime();
+
+        for (var task = scheduledTasks.peek(); task != null; task = scheduledTasks.peek()) {
+
+            if (!task.cancelled && task.deadline - now > 0) {
+                return;
+            }
+
+            scheduledTasks.poll();
+
+            if (task.cancelled) {
+                continue;
+            }
+
+            try {
+                task.task.run();
+            } catch (Exception e) {
+                LOGGER.error(e);
+            }
+        }
+    }
+
+    /**
+     * Stop this loop and close all registered channels.
+     */
+    public void shutdown() {
+        running = false;
+        selector.wakeup();
+    }
+}
@@ -0,0 +1,79 @@
+package com.ss.rlib.network.selector;
+
+import com.ss.rlib.common.util.array.Array;
+import com.ss.rlib.common.util.array.ArrayFactory;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * The group of selector event loops. A new channel is assigned to the least loaded loop, loops with the same load
+ * are used by round-robin.
+ *
+ * @author JavaSaBr
+ * @since 9.9.0
+ */
+public class SelectorEventLoopGroup {
+
+    private final @NotNull Array<SelectorEventLoop> eventLoops;
+    private final @NotNull AtomicInteger nextIndex;
+
+    public SelectorEventLoopGroup(@NotNull ThreadFactory threadFactory, int size) {
+        this.eventLoops = ArrayFactory.newArray(SelectorEventLoop.class, size);
+        this.nextIndex = new AtomicInteger(0);
+
+        for (int i = 0; i < size; i++) {
+            eventLoops.add(new SelectorEventLoop(threadFactory));
+        }
+    }
+
+    /**
+     * Get a loop to assign a new channel.
+     *
+     * @return the least loaded loop.
+     */
+    public @NotNull SelectorEventLoop next() {
+
+        var size = eventLoops.size();
+        var start = Math.floorMod(nextIndex.getAndIncrement(), size);
+        var result = eventLoops.get(start);
+
+        for (int i = 1; i < size && result.getChannels() > 0; i++) {
+
+            var eventLoop = eventLoops.get((start + i) % size);
+
+            if (eventLoop.getChannels() < result.getChannels()) {
+                result = eventLoop;
+            }
+        }
+
+        return result;
+    }
+
+    /**
+     * Get a loop by its index.
+     *
+     * @param index the index.
+     * @return the loop.
+     */
+    public @NotNull SelectorEventLoop get(int index) {
+        return eventLoops.get(index);
+    }
+
+    /**
+     * Get a count of loops in this group.
+     *
+     * @return the count of loops.
+     */
+    public int size() {
+        return eventLoops.size();
+    }
+
+    /**
+     * Stop all loops of this group.
+     */
+    public void shutdown() {
+        eventLoops.forEach(SelectorEventLoop::shutdown);
+    }
+}
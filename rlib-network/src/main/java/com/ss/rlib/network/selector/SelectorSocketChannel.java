@@ -0,0 +1,684 @@
+package com.ss.rlib.network.selector;
+
+import com.ss.rlib.common.util.ClassUtils;
+import com.ss.rlib.common.util.Utils;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.IOException;
+import java.net.SocketAddress;
+import java.net.SocketOption;
+import java.nio.ByteBuffer;
+import java.nio.channels.*;
+import java.nio.channels.spi.AsynchronousChannelProvider;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * The implementation of {@link AsynchronousSocketChannel} on top of a non-blocking {@link SocketChannel} and
+ * {@link SelectorEventLoop}, so packet readers and writers work with it as with any other asynchronous channel.
+ * All operations are run in the thread of the loop, an operation which is started by another thread is submitted to
+ * the loop, so completion handlers are always invoked by the thread of the loop. An operation is tried right away and
+ * interest of the selector is registered only when the operation would block. Completion handlers of immediately
+ * completed operations are invoked directly, up to {@link #MAX_DIRECT_COMPLETIONS} nested invocations. Timeouts of
+ * waiting operations are scheduled in the loop, an operation which timed out is failed by
+ * {@link InterruptedByTimeoutException}.
+ *
+ * @author JavaSaBr
+ * @since 9.9.0
+ */
+public class SelectorSocketChannel extends AsynchronousSocketChannel implements SelectionHandler {
+
+    public static final int MAX_DIRECT_COMPLETIONS = 16;
+
+    private static final ThreadLocal<int[]> COMPLETION_DEPTH = ThreadLocal.withInitial(() -> new int[1]);
+
+    private static final CompletionHandler<Object, CompletableFuture<Object>> FUTURE_HANDLER =
+        new CompletionHandler<>() {
+
+            @Override
+            public void completed(@Nullable Object result, @NotNull CompletableFuture<Object> future) {
+                future.complete(result);
+            }
+
+            @Override
+            public void failed(@NotNull Throwable exc, @NotNull CompletableFuture<Object> future) {
+                future.completeExceptionally(exc);
+            }
+        };
+
+    private static <V> @NotNull CompletionHandler<V, CompletableFuture<V>> futureHandler() {
+        return ClassUtils.unsafeNNCast(FUTURE_HANDLER);
+    }
+
+    private final @NotNull SocketChannel channel;
+    private final @NotNull SelectorEventLoop eventLoop;
+    private final @NotNull AtomicBoolean closed;
+    private final @NotNull AtomicBoolean reading;
+    private final @NotNull AtomicBoolean writing;
+
+    /**
+     * The selection key, it's used only in the thread of the loop.
+     */
+    private @Nullable SelectionKey key;
+
+    private @Nullable ByteBuffer readBuffer;
+    private @Nullable ByteBuffer[] readBuffers;
+    private int readOffset;
+    private int readLength;
+    private long readTimeout;
+    private @Nullable Object readAttachment;
+    private @Nullable CompletionHandler<Integer, Object> readHandler;
+    private @Nullable CompletionHandler<Long, Object> scatteringReadHandler;
+    private @Nullable SelectorEventLoop.ScheduledTask readTimeoutTask;
+    private boolean readWaiting;
+
+    private @Nullable ByteBuffer writeBuffer;
+    private @Nullable ByteBuffer[] writeBuffers;
+    private int writeOffset;
+    private int writeLength;
+    private long writeTimeout;
+    private @Nullable Object writeAttachment;
+    private @Nullable CompletionHandler<Integer, Object> writeHandler;
+    private @Nullable CompletionHandler<Long, Object> gatheringWriteHandler;
+    private @Nullable SelectorEventLoop.ScheduledTask writeTimeoutTask;
+    private boolean writeWaiting;
+
+    private @Nullable Object connectAttachment;
+    private @Nullable CompletionHandler<Void, Object> connectHandler;
+
+    public SelectorSocketChannel(@NotNull SelectorEventLoop eventLoop, @NotNull SocketChannel channel) {
+        super(AsynchronousChannelProvider.provider());
+        this.eventLoop = eventLoop;
+        this.channel = channel;
+        this.closed = new AtomicBoolean(false);
+        this.reading = new AtomicBoolean(false);
+        this.writing = new AtomicBoolean(false);
+
+        Utils.unchecked(channel, ch -> ch.configureBlocking(false));
+
+        eventLoop.onAssignedChannel();
+        eventLoop.execute(this::register);
+    }
+
+    private void register() {
+
+        if (key != null || !channel.isOpen()) {
+            return;
+        }
+
+        try {
+            key = eventLoop.register(channel, 0, this);
+        } catch (IOException e) {
+            Utils.unchecked(this, SelectorSocketChannel::close);
+        }
+    }
+
+    private boolean addInterest(int ops) {
+
+        register();
+
+        var key = this.key;
+
+        if (key == null || !key.isValid()) {
+            return false;
+        }
+
+        key.interestOps(key.interestOps() | ops);
+        return true;
+    }
+
+    private void removeInterest(@NotNull SelectionKey key, int ops) {
+        key.interestOps(key.interestOps() & ~ops);
+    }
+
+    @Override
+    public void handleSelection(@NotNull SelectionKey key) {
+
+        var readyOps = key.readyOps();
+
+        if ((readyOps & SelectionKey.OP_CONNECT) != 0) {
+            removeInterest(key, SelectionKey.OP_CONNECT);
+            finishConnect();
+        }
+
+        if ((readyOps & SelectionKey.OP_WRITE) != 0 && key.isValid()) {
+            removeInterest(key, SelectionKey.OP_WRITE);
+            writeWaiting = false;
+            doWrite(false);
+        }
+
+        if ((readyOps & SelectionKey.OP_READ) != 0 && key.isValid()) {
+            removeInterest(key, SelectionKey.OP_READ);
+            readWaiting = false;
+            doRead(false);
+        }
+    }
+
+    @Override
+    public <A> void connect(
+        @NotNull SocketAddress remote,
+        @Nullable A attachment,
+        @NotNull CompletionHandler<Void, ? super A> handler
+    ) {
+        eventLoop.execute(() -> {
+
+            connectAttachment = attachment;
+            connectHandler = ClassUtils.unsafeNNCast(handler);
+
+            try {
+
+                if (channel.connect(remote)) {
+                    completeConnect(null);
+                } else if (!addInterest(SelectionKey.OP_CONNECT)) {
+                    completeConnect(new AsynchronousCloseException());
+                }
+
+            } catch (IOException e) {
+                completeConnect(e);
+            }
+        });
+    }
+
+    private void finishConnect() {
+        try {
+            channel.finishConnect();
+            completeConnect(null);
+        } catch (IOException e) {
+            completeConnect(e);
+        }
+    }
+
+    private void completeConnect(@Nullable Throwable exception) {
+
+        var handler = connectHandler;
+        var attachment = connectAttachment;
+
+        connectHandler = null;
+        connectAttachment = null;
+
+        if (handler == null) {
+            return;
+        } else if (exception != null) {
+            Utils.unchecked(this, SelectorSocketChannel::close);
+            handler.failed(exception, attachment);
+        } else {
+            handler.completed(null, attachment);
+        }
+    }
+
+    @Override
+    public @NotNull Future<Void> connect(@NotNull SocketAddress remote) {
+        var future = new CompletableFuture<Void>();
+        connect(remote, future, futureHandler());
+        return future;
+    }
+
+    @Override
+    public <A> void read(
+        @NotNull ByteBuffer dst,
+        long timeout,
+        @NotNull TimeUnit unit,
+        @Nullable A attachment,
+        @NotNull CompletionHandler<Integer, ? super A> handler
+    ) {
+
+        if (dst.isReadOnly()) {
+            throw new IllegalArgumentException("Read-only buffer");
+        } else if (!reading.compareAndSet(false, true)) {
+            throw new ReadPendingException();
+        }
+
+        readBuffer = dst;
+        readTimeout = unit.toNanos(timeout);
+        readAttachment = attachment;
+        readHandler = ClassUtils.unsafeNNCast(handler);
+
+        startRead();
+    }
+
+    @Override
+    public <A> void read(
+        @NotNull ByteBuffer[] dsts,
+        int offset,
+        int length,
+        long timeout,
+        @NotNull TimeUnit unit,
+        @Nullable A attachment,
+        @NotNull CompletionHandler<Long, ? super A> handler
+    ) {
+
+        if (offset < 0 || length < 0 || offset > dsts.length - length) {
+            throw new IndexOutOfBoundsException();
+        }
+
+        for (int i = offset, end = offset + length; i < end; i++) {
+            if (dsts[i].isReadOnly()) {
+                throw new IllegalArgumentException("Read-only buffer");
+            }
+        }
+
+        if (!reading.compareAndSet(false, true)) {
+            throw new ReadPendingException();
+        }
+
+        readBuffers = dsts;
+        readOffset = offset;
+        readLength = length;
+        readTimeout = unit.toNanos(timeout);
+        readAttachment = attachment;
+        scatteringReadHandler = ClassUtils.unsafeNNCast(handler);
+
+        startRead();
+    }
+
+    private void startRead() {
+        if (eventLoop.inEventLoop()) {
+            doRead(true);
+        } else {
+            eventLoop.execute(() -> doRead(true));
+        }
+    }
+
+    private void doRead(boolean direct) {
+
+        if (!channel.isOpen()) {
+            completeRead(0, new AsynchronousCloseException());
+            return;
+        }
+
+        // a read to full buffers doesn't wait for the selector, so it's continued by a task of the loop
+        if (direct && COMPLETION_DEPTH.get()[0] >= MAX_DIRECT_COMPLETIONS) {
+            eventLoop.execute(() -> doRead(false));
+            return;
+        }
+
+        // a read to full buffers is completed right away as by other asynchronous channels
+        if (!hasReadRemaining()) {
+            completeRead(0, null);
+            return;
+        }
+
+        long received;
+        try {
+            if (readBuffer != null) {
+                received = channel.read(readBuffer);
+            } else {
+                received = channel.read(readBuffers, readOffset, readLength);
+            }
+        } catch (IOException e) {
+            completeRead(0, e);
+            return;
+        }
+
+        if (received == 0) {
+            waitForRead();
+        } else {
+            completeRead(received, null);
+        }
+    }
+
+    private boolean hasReadRemaining() {
+
+        if (readBuffer != null) {
+            return readBuffer.hasRemaining();
+        }
+
+        for (int i = readOffset, end = readOffset + readLength; i < end; i++) {
+            if (readBuffers[i].hasRemaining()) {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    private void waitForRead() {
+
+        if (!addInterest(SelectionKey.OP_READ)) {
+            completeRead(0, new AsynchronousCloseException());
+            return;
+        }
+
+        readWaiting = true;
+
+        if (readTimeout > 0 && readTimeoutTask == null) {
+            readTimeoutTask = eventLoop.schedule(this::onReadTimeout, readTimeout, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    private void onReadTimeout() {
+
+        readTimeoutTask = null;
+
+        if (!readWaiting) {
+            return;
+        }
+
+        readWaiting = false;
+
+        var key = this.key;
+
+        if (key != null && key.isValid()) {
+            removeInterest(key, SelectionKey.OP_READ);
+        }
+
+        completeRead(0, new InterruptedByTimeoutException());
+    }
+
+    private void completeRead(long received, @Nullable Throwable exception) {
+
+        var handler = readHandler;
+        var scatteringHandler = scatteringReadHandler;
+        var attachment = readAttachment;
+        var timeoutTask = readTimeoutTask;
+
+        if (timeoutTask != null) {
+            readTimeoutTask = null;
+            timeoutTask.cancel();
+        }
+
+        readBuffer = null;
+        readBuffers = null;
+        readHandler = null;
+        scatteringReadHandler = null;
+        readAttachment = null;
+        reading.set(false);
+
+        var depth = COMPLETION_DEPTH.get();
+        depth[0]++;
+        try {
+
+            if (handler != null) {
+                if (exception != null) {
+                    handler.failed(exception, attachment);
+                } else {
+                    handler.completed((int) received, attachment);
+                }
+            } else if (scatteringHandler != null) {
+                if (exception != null) {
+                    scatteringHandler.failed(exception, attachment);
+                } else {
+                    scatteringHandler.completed(received, attachment);
+                }
+            }
+
+        } finally {
+            depth[0]--;
+        }
+    }
+
+    @Override
+    public @NotNull Future<Integer> read(@NotNull ByteBuffer dst) {
+        var future = new CompletableFuture<Integer>();
+        read(dst, 0L, TimeUnit.MILLISECONDS, future, futureHandler());
+        return future;
+    }
+
+    @Override
+    public <A> void write(
+        @NotNull ByteBuffer src,
+        long timeout,
+        @NotNull TimeUnit unit,
+        @Nullable A attachment,
+        @NotNull CompletionHandler<Integer, ? super A> handler
+    ) {
+
+        if (!writing.compareAndSet(false, true)) {
+            throw new WritePendingException();
+        }
+
+        writeBuffer = src;
+        writeTimeout = unit.toNanos(timeout);
+        writeAttachment = attachment;
+        writeHandler = ClassUtils.unsafeNNCast(handler);
+
+        startWrite();
+    }
+
+    @Override
+    public <A> void write(
+        @NotNull ByteBuffer[] srcs,
+        int offset,
+        int length,
+        long timeout,
+        @NotNull TimeUnit unit,
+        @Nullable A attachment,
+        @NotNull CompletionHandler<Long, ? super A> handler
+    ) {
+
+        if (offset < 0 || length < 0 || offset > srcs.length - length) {
+            throw new IndexOutOfBoundsException();
+        } else if (!writing.compareAndSet(false, true)) {
+            throw new WritePendingException();
+        }
+
+        writeBuffers = srcs;
+        writeOffset = offset;
+        writeLength = length;
+        writeTimeout = unit.toNanos(timeout);
+        writeAttachment = attachment;
+        gatheringWriteHandler = ClassUtils.unsafeNNCast(handler);
+
+        startWrite();
+    }
+
+    private void startWrite() {
+        if (eventLoop.inEventLoop()) {
+            doWrite(true);
+        } else {
+            eventLoop.execute(() -> doWrite(true));
+        }
+    }
+
+    private void doWrite(boolean direct) {
+
+        if (!channel.isOpen()) {
+            completeWrite(0, new AsynchronousCloseException());
+            return;
+        }
+
+        if (direct && COMPLETION_DEPTH.get()[0] >= MAX_DIRECT_COMPLETIONS) {
+            waitForWrite();
+            return;
+        }
+
+        long written;
+        try {
+            if (writeBuffer != null) {
+                written = channel.write(writeBuffer);
+            } else {
+                written = channel.write(writeBuffers, writeOffset, writeLength);
+            }
+        } catch (IOException e) {
+            completeWrite(0, e);
+            return;
+        }
+
+        if (written > 0 || !hasWriteRemaining()) {
+            completeWrite(written, null);
+        } else {
+            waitForWrite();
+        }
+    }
+
+    private boolean hasWriteRemaining() {
+
+        if (writeBuffer != null) {
+            return writeBuffer.hasRemaining();
+        }
+
+        for (int i = writeOffset, end = writeOffset + writeLength; i < end; i++) {
+            if (writeBuffers[i].hasRemaining()) {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    private void waitForWrite() {
+
+        if (!channel.isOpen() || !addInterest(SelectionKey.OP_WRITE)) {
+            completeWrite(0, new AsynchronousCloseException());
+            return;
+        }
+
+        writeWaiting = true;
+
+        if (writeTimeout > 0 && writeTimeoutTask == null) {
+            writeTimeoutTask = eventLoop.schedule(this::onWriteTimeout, writeTimeout, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    private void onWriteTimeout() {
+
+        writeTimeoutTask = null;
+
+        if (!writeWaiting) {
+            return;
+        }
+
+        writeWaiting = false;
+
+        var key = this.key;
+
+        if (key != null && key.isValid()) {
+            removeInterest(key, SelectionKey.OP_WRITE);
+        }
+
+        completeWrite(0, new InterruptedByTimeoutException());
+    }
+
+    private void completeWrite(long written, @Nullable Throwable exception) {
+
+        var handler = writeHandler;
+        var gatheringHandler = gatheringWriteHandler;
+        var attachment = writeAttachment;
+        var timeoutTask = writeTimeoutTask;
+
+        if (timeoutTask != null) {
+            writeTimeoutTask = null;
+            timeoutTask.cancel();
+        }
+
+        writeBuffer = null;
+        writeBuffers = null;
+        writeHandler = null;
+        gatheringWriteHandler = null;
+        writeAttachment = null;
+        writing.set(false);
+
+        var depth = COMPLETION_DEPTH.get();
+        depth[0]++;
+        try {
+
+            if (handler != null) {
+                if (exception != null) {
+                    handler.failed(exception, attachment);
+                } else {
+                    handler.completed((int) written, attachment);
+                }
+            } else if (gatheringHandler != null) {
+                if (exception != null) {
+                    gatheringHandler.failed(exception, attachment);
+                } else {
+                    gatheringHandler.completed(written, attachment);
+                }
+            }
+
+        } finally {
+            depth[0]--;
+        }
+    }
+
+    @Override
+    public @NotNull Future<Integer> write(@NotNull ByteBuffer src) {
+        var future = new CompletableFuture<Integer>();
+        write(src, 0L, TimeUnit.MILLISECONDS, future, futureHandler());
+        return future;
+    }
+
+    @Override
+    public @NotNull AsynchronousSocketChannel bind(@Nullable SocketAddress local) throws IOException {
+        channel.bind(local);
+        return this;
+    }
+
+    @Override
+    public <T> @NotNull AsynchronousSocketChannel setOption(
+        @NotNull SocketOption<T> name,
+        @NotNull T value
+    ) throws IOException {
+        channel.setOption(name, value);
+        return this;
+    }
+
+    @Override
+    public <T> @Nullable T getOption(@NotNull SocketOption<T> name) throws IOException {
+        return channel.getOption(name);
+    }
+
+    @Override
+    public @NotNull Set<SocketOption<?>> supportedOptions() {
+        return channel.supportedOptions();
+    }
+
+    @Override
+    public @NotNull AsynchronousSocketChannel shutdownInput() throws IOException {
+        channel.shutdownInput();
+        return this;
+    }
+
+    @Override
+    public @NotNull AsynchronousSocketChannel shutdownOutput() throws IOException {
+        channel.shutdownOutput();
+        return this;
+    }
+
+    @Override
+    public @Nullable SocketAddress getRemoteAddress() throws IOException {
+        return channel.getRemoteAddress();
+    }
+
+    @Override
+    public @Nullable SocketAddress getLocalAddress() throws IOException {
+        return channel.getLocalAddress();
+    }
+
+    @Override
+    public boolean isOpen() {
+        return channel.isOpen();
+    }
+
+    @Override
+    public void close() throws IOException {
+
+        if (!closed.compareAndSet(false, true)) {
+            return;
+        }
+
+        channel.close();
+
+        eventLoop.execute(() -> {
+
+            eventLoop.onReleasedChannel();
+
+            // only waiting operations should be failed here, other operations see the closed channel themselves
+            if (readWaiting) {
+                readWaiting = false;
+                completeRead(0, new AsynchronousCloseException());
+            }
+
+            if (writeWaiting) {
+                writeWaiting = false;
+                completeWrite(0, new AsynchronousCloseException());
+            }
+
+            completeConnect(new AsynchronousCloseException());
+        });
+    }
+}
@@ -0,0 +1,78 @@
+package com.ss.rlib.network.server.impl;
+
+import com.ss.rlib.common.concurrent.GroupThreadFactory;
+import com.ss.rlib.common.util.array.Array;
+import com.ss.rlib.common.util.array.ArrayFactory;
+import com.ss.rlib.network.Network;
+import com.ss.rlib.network.ServerNetworkConfig;
+import com.ss.rlib.network.UnsafeConnection;
+import com.ss.rlib.network.impl.AbstractNetwork;
+import com.ss.rlib.network.server.ServerNetwork;
+import org.jetbrains.annotations.NotNull;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.FluxSink;
+
+import java.nio.channels.AsynchronousSocketChannel;
+import java.util.function.BiFunction;
+import java.util.function.Consumer;
+
+/**
+ * The base implementation of {@link ServerNetwork}.
+ *
+ * @author JavaSaBr
+ */
+public abstract class AbstractServerNetwork<C extends UnsafeConnection<?, ?>> extends AbstractNetwork<C> implements
+    ServerNetwork<C> {
+
+    protected final @NotNull Array<Consumer<? super C>> subscribers;
+
+    protected AbstractServerNetwork(
+        @NotNull ServerNetworkConfig config,
+        @NotNull BiFunction<Network<C>, AsynchronousSocketChannel, C> channelToConnection
+    ) {
+        super(config, channelToConnection);
+        this.subscribers = ArrayFactory.newCopyOnModifyArray(Consumer.class);
+    }
+
+    /**
+     * Create a thread factory of network threads by the server network config.
+     *
+     * @param config the server network config.
+     * @return the new thread factory.
+     */
+    protected static @NotNull GroupThreadFactory newThreadFactory(@NotNull ServerNetworkConfig config) {
+        return new GroupThreadFactory(
+            config.getThreadGroupName(),
+            config.getThreadConstructor(),
+            config.getThreadPriority(),
+            false
+        );
+    }
+
+    /**
+     * Start accepting a next connection.
+     */
+    protected abstract void acceptNext();
+
+    protected void onAccept(@NotNull C connection) {
+        connection.onConnected();
+        subscribers.forEachR(connection, Consumer::accept);
+    }
+
+    @Override
+    public void onAccept(@NotNull Consumer<? super C> consumer) {
+        subscribers.add(consumer);
+        acceptNext();
+    }
+
+    @Override
+    public @NotNull Flux<C> accepted() {
+        return Flux.create(this::registerFluxOnAccepted);
+    }
+
+    protected void registerFluxOnAccepted(@NotNull FluxSink<C> sink) {
+        Consumer<? super C> listener = sink::next;
+        onAccept(listener);
+        sink.onDispose(() -> subscribers.remove(listener));
+    }
+}
@@ -1,22 +1,16 @@
 package com.ss.rlib.network.server.impl;
 
 import static com.ss.rlib.common.util.Utils.uncheckedGet;
-import com.ss.rlib.common.concurrent.GroupThreadFactory;
 import com.ss.rlib.common.util.ClassUtils;
 import com.ss.rlib.common.util.Utils;
-import com.ss.rlib.common.util.array.Array;
-import com.ss.rlib.common.util.array.ArrayFactory;
 import com.ss.rlib.logger.api.Logger;
 import com.ss.rlib.logger.api.LoggerManager;
 import com.ss.rlib.network.Network;
 import com.ss.rlib.network.ServerNetworkConfig;
 import com.ss.rlib.network.UnsafeConnection;
-import com.ss.rlib.network.impl.AbstractNetwork;
 import com.ss.rlib.network.server.ServerNetwork;
 import com.ss.rlib.network.util.NetworkUtils;
 import org.jetbrains.annotations.NotNull;
-import reactor.core.publisher.Flux;
-import reactor.core.publisher.FluxSink;
 
 import java.io.IOException;
 import java.net.InetSocketAddress;
@@ -26,15 +20,13 @@ import java.util.concurrent.SynchronousQueue;
 import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
 import java.util.function.BiFunction;
-import java.util.function.Consumer;
 
 /**
  * The base implementation of {@link ServerNetwork}.
  *
  * @author JavaSaBr
  */
-public final class DefaultServerNetwork<C extends UnsafeConnection<?, ?>> extends AbstractNetwork<C> implements
-    ServerNetwork<C> {
+public final class DefaultServerNetwork<C extends UnsafeConnection<?, ?>> extends AbstractServerNetwork<C> {
 
     protected static final Logger LOGGER = LoggerManager.getLogger(DefaultServerNetwork.class);
 
@@ -45,7 +37,7 @@ public final class DefaultServerNetwork<C extends UnsafeConnection<?, ?>> extend
 
         @Override
         public void completed(@NotNull AsynchronousSocketChannel channel, @NotNull DefaultServerNetwork<C> network) {
-            var connection = network.channelToConnection.apply(DefaultServerNetwork.this, channel);
+            var connection = network.createConnection(channel);
             LOGGER.debug(connection, conn -> "Accepted new connection: " + conn.getRemoteAddress());
             network.onAccept(connection);
             network.acceptNext();
@@ -68,7 +60,6 @@ public final class DefaultServerNetwork<C extends UnsafeConnection<?, ?>> extend
 
     protected final AsynchronousChannelGroup group;
     protected final AsynchronousServerSocketChannel channel;
-    protected final Array<Consumer<? super C>> subscribers;
 
     public DefaultServerNetwork(
         @NotNull ServerNetworkConfig config,
@@ -77,12 +68,7 @@ public final class DefaultServerNetwork<C extends UnsafeConnection<?, ?>> extend
 
         super(config, channelToConnection);
 
-        var threadFactory = new GroupThreadFactory(
-            config.getThreadGroupName(),
-            config.getThreadConstructor(),
-            config.getThreadPriority(),
-            false
-        );
+        var threadFactory = newThreadFactory(config);
 
         var executor = config.getThreadGroupMinSize() < config.getThreadGroupMaxSize() ? new ThreadPoolExecutor(
             config.getThreadGroupMinSize(),
@@ -109,7 +95,8 @@ public final class DefaultServerNetwork<C extends UnsafeConnection<?, ?>> extend
 
         this.group = uncheckedGet(executor, AsynchronousChannelGroup::withThreadPool);
         this.channel = uncheckedGet(group, AsynchronousServerSocketChannel::open);
-        this.subscribers = ArrayFactory.newCopyOnModifyArray(Consumer.class);
+
+        NetworkUtils.setSocketOptions(channel, config);
     }
 
     @Override
@@ -149,6 +136,7 @@ public final class DefaultServerNetwork<C extends UnsafeConnection<?, ?>> extend
         return ClassUtils.unsafeNNCast(this);
     }
 
+    @Override
     protected void acceptNext() {
         if (channel.isOpen()) {
             try { channel.accept(this, acceptHandler); }
@@ -158,30 +146,9 @@ public final class DefaultServerNetwork<C extends UnsafeConnection<?, ?>> extend
         }
     }
 
-    protected void onAccept(@NotNull C connection) {
-        connection.onConnected();
-        subscribers.forEachR(connection, Consumer::accept);
-    }
-
-    @Override
-    public void onAccept(@NotNull Consumer<? super C> consumer) {
-        subscribers.add(consumer);
-        acceptNext();
-    }
-
-    @Override
-    public @NotNull Flux<C> accepted() {
-        return Flux.create(this::registerFluxOnAccepted);
-    }
-
-    protected void registerFluxOnAccepted(@NotNull FluxSink<C> sink) {
-        Consumer<? super C> listener = sink::next;
-        onAccept(listener);
-        sink.onDispose(() -> subscribers.remove(listener));
-    }
-
     @Override
     public void shutdown() {
+        super.shutdown();
         Utils.unchecked(channel, AsynchronousChannel::close);
         group.shutdown();
     }
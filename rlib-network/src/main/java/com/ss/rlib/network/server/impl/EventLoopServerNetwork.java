@@ -0,0 +1,204 @@
+package com.ss.rlib.network.server.impl;
+
+import static com.ss.rlib.common.util.Utils.uncheckedGet;
+import com.ss.rlib.common.concurrent.GroupThreadFactory;
+import com.ss.rlib.common.util.ClassUtils;
+import com.ss.rlib.common.util.Utils;
+import com.ss.rlib.common.util.array.Array;
+import com.ss.rlib.common.util.array.ArrayFactory;
+import com.ss.rlib.logger.api.Logger;
+import com.ss.rlib.logger.api.LoggerManager;
+import com.ss.rlib.network.Network;
+import com.ss.rlib.network.ServerNetworkConfig;
+import com.ss.rlib.network.UnsafeConnection;
+import com.ss.rlib.network.server.ServerNetwork;
+import com.ss.rlib.network.util.NetworkUtils;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.StandardSocketOptions;
+import java.nio.channels.*;
+import java.util.function.BiFunction;
+
+/**
+ * The implementation of {@link ServerNetwork} with pinned event loops. Every event loop is a channel group with
+ * one thread and own accepting channel, all accepting channels are bound to the same address using
+ * {@link StandardSocketOptions#SO_REUSEPORT}. So the OS spreads new connections across the loops and all read/write
+ * completions of an accepted connection run on the thread of its loop. Only Linux balances connections between
+ * sockets with SO_REUSEPORT, other systems such as macOS and BSD give all connections to one of the sockets, so only
+ * one event loop is used on them as well as when the OS doesn't support SO_REUSEPORT.
+ *
+ * @author JavaSaBr
+ * @since 9.9.0
+ */
+public final class EventLoopServerNetwork<C extends UnsafeConnection<?, ?>> extends AbstractServerNetwork<C> {
+
+    protected static final Logger LOGGER = LoggerManager.getLogger(EventLoopServerNetwork.class);
+
+    private final class EventLoop implements CompletionHandler<AsynchronousSocketChannel, Void> {
+
+        private final @NotNull AsynchronousChannelGroup group;
+        private final @NotNull AsynchronousServerSocketChannel channel;
+
+        private EventLoop(@NotNull GroupThreadFactory threadFactory) {
+            this.group = uncheckedGet(threadFactory, factory -> AsynchronousChannelGroup.withFixedThreadPool(1, factory));
+            this.channel = uncheckedGet(group, AsynchronousServerSocketChannel::open);
+
+            if (isReusePortSupported()) {
+                Utils.unchecked(channel, ch -> ch.setOption(StandardSocketOptions.SO_REUSEPORT, true));
+            }
+
+            NetworkUtils.setSocketOptions(channel, config);
+        }
+
+        private boolean isReusePortSupported() {
+            return channel.supportedOptions()
+                .contains(StandardSocketOptions.SO_REUSEPORT);
+        }
+
+        @Override
+        public void completed(@NotNull AsynchronousSocketChannel channel, @Nullable Void attachment) {
+            var connection = createConnection(channel);
+            LOGGER.debug(connection, conn -> "Accepted new connection: " + conn.getRemoteAddress());
+            onAccept(connection);
+            acceptNext();
+        }
+
+        @Override
+        public void failed(@NotNull Throwable exc, @Nullable Void attachment) {
+            if (exc instanceof AsynchronousCloseException) {
+                LOGGER.warning("Server event loop was closed");
+            } else {
+                LOGGER.error("Got exception during accepting new connection:");
+                LOGGER.error(exc);
+
+                if (channel.isOpen()) {
+                    acceptNext();
+                }
+            }
+        }
+
+        private void acceptNext() {
+            if (channel.isOpen()) {
+                try { channel.accept(null, this); }
+                catch (AcceptPendingException ignored) {}
+            } else {
+                LOGGER.warning("Cannot accept a next connection because server channel is already closed");
+            }
+        }
+
+        private void shutdown() {
+            Utils.unchecked(channel, AsynchronousChannel::close);
+            group.shutdown();
+        }
+    }
+
+    private final @NotNull Array<EventLoop> eventLoops;
+
+    public EventLoopServerNetwork(
+        @NotNull ServerNetworkConfig config,
+        @NotNull BiFunction<Network<C>, AsynchronousSocketChannel, C> channelToConnection
+    ) {
+        super(config, channelToConnection);
+
+        var threadFactory = newThreadFactory(config);
+        var first = new EventLoop(threadFactory);
+        var reusePort = first.isReusePortSupported();
+        var balanced = reusePort && isReusePortBalanced();
+
+        var loops = balanced ? Math.max(config.getThreadGroupMaxSize(), 1) : 1;
+
+        if (!reusePort && config.getThreadGroupMaxSize() > 1) {
+            LOGGER.warning("SO_REUSEPORT isn't supported, so only one event loop will be used");
+        } else if (!balanced && config.getThreadGroupMaxSize() > 1) {
+            LOGGER.warning("SO_REUSEPORT doesn't balance connections on this OS, so only one event loop will be used");
+        }
+
+        this.eventLoops = ArrayFactory.newArray(EventLoop.class, loops);
+        this.eventLoops.add(first);
+
+        for (int i = 1; i < loops; i++) {
+            eventLoops.add(new EventLoop(threadFactory));
+        }
+
+        LOGGER.info(config, conf -> "Server network configuration: {\n" +
+            "  eventLoops: " + eventLoops.size() + ",\n" +
+            "  priority: " + conf.getThreadPriority() + ",\n" +
+            "  groupName: \"" + conf.getThreadGroupName() + "\",\n" +
+            "  readBufferSize: " + conf.getReadBufferSize() + ",\n" +
+            "  pendingBufferSize: " + conf.getPendingBufferSize() + ",\n" +
+            "  writeBufferSize: " + conf.getWriteBufferSize() + "\n" +
+            "}");
+    }
+
+    /**
+     * Check that the OS balances new connections between sockets which are bound to the same address using
+     * SO_REUSEPORT, it's done only by Linux.
+     */
+    private static boolean isReusePortBalanced() {
+        return System.getProperty("os.name", "").startsWith("Linux");
+    }
+
+    @Override
+    public @NotNull InetSocketAddress start() {
+
+        InetSocketAddress address = null;
+
+        var first = eventLoops.get(0);
+
+        while (address == null) {
+
+            address = new InetSocketAddress(NetworkUtils.getAvailablePort(1500));
+            try {
+                first.channel.bind(address);
+            } catch (IOException e) {
+                address = null;
+            }
+        }
+
+        for (int i = 1; i < eventLoops.size(); i++) {
+            Utils.unchecked(eventLoops.get(i).channel, address, AsynchronousServerSocketChannel::bind);
+        }
+
+        LOGGER.info(address, adr -> "Started server socket on address: " + adr);
+
+        if (!subscribers.isEmpty()) {
+            acceptNext();
+        }
+
+        return address;
+    }
+
+    @Override
+    public <S extends ServerNetwork<C>> @NotNull S start(@NotNull InetSocketAddress serverAddress) {
+
+        for (var eventLoop : eventLoops) {
+            Utils.unchecked(eventLoop.channel, serverAddress, AsynchronousServerSocketChannel::bind);
+        }
+
+        LOGGER.info(serverAddress, addr -> "Started server socket on address: " + addr);
+
+        if (!subscribers.isEmpty()) {
+            acceptNext();
+        }
+
+        return ClassUtils.unsafeNNCast(this);
+    }
+
+    @Override
+    protected void acceptNext() {
+        for (var eventLoop : eventLoops) {
+            eventLoop.acceptNext();
+        }
+    }
+
+    @Override
+    public void shutdown() {
+        super.shutdown();
+        for (var eventLoop : eventLoops) {
+            eventLoop.shutdown();
+        }
+    }
+}
@@ -0,0 +1,163 @@
+package com.ss.rlib.network.server.impl;
+
+import static com.ss.rlib.common.util.Utils.uncheckedGet;
+import com.ss.rlib.common.util.ClassUtils;
+import com.ss.rlib.common.util.Utils;
+import com.ss.rlib.logger.api.Logger;
+import com.ss.rlib.logger.api.LoggerManager;
+import com.ss.rlib.network.Network;
+import com.ss.rlib.network.ServerNetworkConfig;
+import com.ss.rlib.network.UnsafeConnection;
+import com.ss.rlib.network.selector.SelectionHandler;
+import com.ss.rlib.network.selector.SelectorEventLoop;
+import com.ss.rlib.network.selector.SelectorEventLoopGroup;
+import com.ss.rlib.network.selector.SelectorSocketChannel;
+import com.ss.rlib.network.server.ServerNetwork;
+import com.ss.rlib.network.util.NetworkUtils;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.channels.AsynchronousSocketChannel;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.util.function.BiFunction;
+
+/**
+ * The implementation of {@link ServerNetwork} which uses {@link SelectorSocketChannel} and a group of selector event
+ * loops. The server channel is handled by the first loop, every accepted connection is assigned to the least loaded
+ * loop and all its reads and completions run on the thread of this loop. The count of loops is
+ * {@link ServerNetworkConfig#getThreadGroupMaxSize()}.
+ *
+ * @author JavaSaBr
+ * @since 9.9.0
+ */
+public final class SelectorServerNetwork<C extends UnsafeConnection<?, ?>> extends AbstractServerNetwork<C> implements
+    SelectionHandler {
+
+    protected static final Logger LOGGER = LoggerManager.getLogger(SelectorServerNetwork.class);
+
+    private final @NotNull SelectorEventLoopGroup eventLoopGroup;
+    private final @NotNull SelectorEventLoop acceptLoop;
+    private final @NotNull ServerSocketChannel channel;
+
+    private volatile @Nullable SelectionKey acceptKey;
+
+    public SelectorServerNetwork(
+        @NotNull ServerNetworkConfig config,
+        @NotNull BiFunction<Network<C>, AsynchronousSocketChannel, C> channelToConnection
+    ) {
+        super(config, channelToConnection);
+
+        var loops = Math.max(config.getThreadGroupMaxSize(), 1);
+
+        this.eventLoopGroup = new SelectorEventLoopGroup(newThreadFactory(config), loops);
+        this.acceptLoop = eventLoopGroup.get(0);
+        this.channel = uncheckedGet(ServerSocketChannel::open);
+
+        Utils.unchecked(channel, ch -> ch.configureBlocking(false));
+        NetworkUtils.setSocketOptions(channel, config);
+
+        LOGGER.info(config, conf -> "Server network configuration: {\n" +
+            "  transport: \"selector\",\n" +
+            "  eventLoops: " + loops + ",\n" +
+            "  priority: " + conf.getThreadPriority() + ",\n" +
+            "  groupName: \"" + conf.getThreadGroupName() + "\",\n" +
+            "  readBufferSize: " + conf.getReadBufferSize() + ",\n" +
+            "  pendingBufferSize: " + conf.getPendingBufferSize() + ",\n" +
+            "  writeBufferSize: " + conf.getWriteBufferSize() + "\n" +
+            "}");
+    }
+
+    @Override
+    public @NotNull InetSocketAddress start() {
+
+        InetSocketAddress address = null;
+
+        while (address == null) {
+
+            address = new InetSocketAddress(NetworkUtils.getAvailablePort(1500));
+            try {
+                channel.bind(address);
+            } catch (IOException e) {
+                address = null;
+            }
+        }
+
+        LOGGER.info(address, adr -> "Started server socket on address: " + adr);
+
+        if (!subscribers.isEmpty()) {
+            acceptNext();
+        }
+
+        return address;
+    }
+
+    @Override
+    public <S extends ServerNetwork<C>> @NotNull S start(@NotNull InetSocketAddress serverAddress) {
+        Utils.unchecked(channel, serverAddress, ServerSocketChannel::bind);
+
+        LOGGER.info(serverAddress, addr -> "Started server socket on address: " + addr);
+
+        if (!subscribers.isEmpty()) {
+            acceptNext();
+        }
+
+        return ClassUtils.unsafeNNCast(this);
+    }
+
+    @Override
+    protected void acceptNext() {
+        if (channel.isOpen()) {
+            acceptLoop.execute(this::registerAccept);
+        } else {
+            LOGGER.warning("Cannot accept a next connection because server channel is already closed");
+        }
+    }
+
+    private void registerAccept() {
+
+        if (acceptKey != null || !channel.isOpen()) {
+            return;
+        }
+
+        try {
+            acceptKey = acceptLoop.register(channel, SelectionKey.OP_ACCEPT, this);
+        } catch (IOException e) {
+            LOGGER.error("Got exception during registering server channel:");
+            LOGGER.error(e);
+        }
+    }
+
+    @Override
+    public void handleSelection(@NotNull SelectionKey key) {
+        while (true) {
+
+            SocketChannel accepted;
+            try {
+                accepted = channel.accept();
+            } catch (IOException e) {
+                LOGGER.error("Got exception during accepting new connection:");
+                LOGGER.error(e);
+                return;
+            }
+
+            if (accepted == null) {
+                return;
+            }
+
+            var connection = createConnection(new SelectorSocketChannel(eventLoopGroup.next(), accepted));
+            LOGGER.debug(connection, conn -> "Accepted new connection: " + conn.getRemoteAddress());
+            onAccept(connection);
+        }
+    }
+
+    @Override
+    public void shutdown() {
+        super.shutdown();
+        Utils.unchecked(channel, ServerSocketChannel::close);
+        eventLoopGroup.shutdown();
+    }
+}
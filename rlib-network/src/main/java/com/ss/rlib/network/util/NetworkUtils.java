@@ -2,7 +2,10 @@ package com.ss.rlib.network.util;
 
 import com.ss.rlib.common.util.Utils;
 import com.ss.rlib.common.util.array.ArrayFactory;
+import com.ss.rlib.logger.api.Logger;
+import com.ss.rlib.logger.api.LoggerManager;
 import com.ss.rlib.network.BufferAllocator;
+import com.ss.rlib.network.NetworkConfig;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
@@ -12,8 +15,10 @@ import java.io.InputStream;
 import java.net.InetAddress;
 import java.net.ServerSocket;
 import java.net.SocketAddress;
+import java.net.StandardSocketOptions;
 import java.nio.ByteBuffer;
 import java.nio.channels.AsynchronousSocketChannel;
+import java.nio.channels.NetworkChannel;
 import java.security.KeyStore;
 import java.security.SecureRandom;
 import java.security.cert.X509Certificate;
@@ -24,8 +29,12 @@ import java.util.stream.IntStream;
  */
 public class NetworkUtils {
 
+    private static final Logger LOGGER = LoggerManager.getLogger(NetworkUtils.class);
+
     public static final @NotNull ByteBuffer EMPTY_BUFFER = ByteBuffer.allocate(0);
 
+    private static final ThreadLocal<Boolean> NETWORK_THREAD = ThreadLocal.withInitial(() -> Boolean.FALSE);
+
     public static class AllTrustManager implements X509TrustManager {
 
         public static final @NotNull X509Certificate[] EMPTY_CERTS = new X509Certificate[0];
@@ -38,10 +47,70 @@ public class NetworkUtils {
         public void checkServerTrusted(@NotNull X509Certificate[] certificates, @NotNull String arg1) { }
     }
 
+    /**
+     * Mark the current thread as a network thread, it's called by completion handlers of channels.
+     *
+     * @since 9.9.0
+     */
+    public static void markNetworkThread() {
+        if (!NETWORK_THREAD.get()) {
+            NETWORK_THREAD.set(Boolean.TRUE);
+        }
+    }
+
+    /**
+     * Check whether the current thread handled any completion of a channel, such thread can be needed to write
+     * pending packets, so it must not be blocked by waiting for writability.
+     *
+     * @return true if the current thread is a network thread.
+     * @since 9.9.0
+     */
+    public static boolean isNetworkThread() {
+        return NETWORK_THREAD.get();
+    }
+
     public static @NotNull SocketAddress getRemoteAddress(@NotNull AsynchronousSocketChannel socketChannel) {
         return Utils.uncheckedGet(socketChannel, AsynchronousSocketChannel::getRemoteAddress);
     }
 
+    /**
+     * Apply socket options from the config to the channel, options which aren't supported by the channel are
+     * skipped, so it can be used for server channels as well.
+     *
+     * @param channel the channel.
+     * @param config  the network config.
+     * @since 9.9.0
+     */
+    public static void setSocketOptions(@NotNull NetworkChannel channel, @NotNull NetworkConfig config) {
+
+        var supportedOptions = channel.supportedOptions();
+        try {
+
+            if (config.isTcpNoDelay() && supportedOptions.contains(StandardSocketOptions.TCP_NODELAY)) {
+                channel.setOption(StandardSocketOptions.TCP_NODELAY, Boolean.TRUE);
+            }
+
+            if (config.isKeepAlive() && supportedOptions.contains(StandardSocketOptions.SO_KEEPALIVE)) {
+                channel.setOption(StandardSocketOptions.SO_KEEPALIVE, Boolean.TRUE);
+            }
+
+            var receiveBufferSize = config.getSocketReceiveBufferSize();
+
+            if (receiveBufferSize > 0 && supportedOptions.contains(StandardSocketOptions.SO_RCVBUF)) {
+                channel.setOption(StandardSocketOptions.SO_RCVBUF, receiveBufferSize);
+            }
+
+            var sendBufferSize = config.getSocketSendBufferSize();
+
+            if (sendBufferSize > 0 && supportedOptions.contains(StandardSocketOptions.SO_SNDBUF)) {
+                channel.setOption(StandardSocketOptions.SO_SNDBUF, sendBufferSize);
+            }
+
+        } catch (IOException e) {
+            LOGGER.warning(channel, e, (ch, ex) -> "Cannot set socket options of the channel " + ch + ": " + ex);
+        }
+    }
+
     public static @NotNull SSLContext createSslContext(
         @NotNull InputStream keyStoreData,
         @NotNull String keyStorePassword
@@ -0,0 +1,104 @@
+package com.ss.rlib.network.test;
+
+import com.ss.rlib.network.packet.PacketQoS;
+import com.ss.rlib.network.packet.WritablePacket;
+import com.ss.rlib.network.packet.impl.ConflatingWritablePacketQueue;
+import com.ss.rlib.network.packet.impl.StringWritablePacket;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The tests of conflating queue of pending packets.
+ *
+ * @author JavaSaBr
+ */
+public class ConflatingWritablePacketQueueTest {
+
+    private static class PositionMessage extends StringWritablePacket {
+
+        private final int entityId;
+
+        private PositionMessage(int entityId, @NotNull String position) {
+            super(position);
+            this.entityId = entityId;
+        }
+
+        @Override
+        public @NotNull PacketQoS getQoS() {
+            return PacketQoS.CONFLATABLE;
+        }
+
+        @Override
+        public @Nullable Object getConflationKey() {
+            return entityId;
+        }
+    }
+
+    @Test
+    void shouldReplaceQueuedPacketsInPlace() {
+
+        var superseded = new ArrayList<WritablePacket>();
+        var queue = new ConflatingWritablePacketQueue(superseded::add);
+
+        var firstPosition = new PositionMessage(1, "1:1");
+        var chat = new StringWritablePacket("Hello");
+        var secondPosition = new PositionMessage(1, "1:2");
+        var otherPosition = new PositionMessage(2, "2:1");
+        var thirdPosition = new PositionMessage(1, "1:3");
+
+        queue.add(firstPosition);
+        queue.add(chat);
+        queue.add(secondPosition);
+        queue.add(otherPosition);
+        queue.add(thirdPosition);
+
+        Assertions.assertEquals(List.of(firstPosition, secondPosition), superseded);
+        Assertions.assertSame(thirdPosition, queue.poll());
+        Assertions.assertSame(chat, queue.poll());
+        Assertions.assertSame(otherPosition, queue.poll());
+        Assertions.assertNull(queue.poll());
+        Assertions.assertTrue(queue.isEmpty());
+    }
+
+    @Test
+    void shouldNotReplacePacketsTakenToWrite() {
+
+        var superseded = new ArrayList<WritablePacket>();
+        var queue = new ConflatingWritablePacketQueue(superseded::add);
+
+        var firstPosition = new PositionMessage(1, "1:1");
+        var secondPosition = new PositionMessage(1, "1:2");
+
+        queue.add(firstPosition);
+
+        Assertions.assertSame(firstPosition, queue.poll());
+
+        queue.add(secondPosition);
+
+        Assertions.assertTrue(superseded.isEmpty());
+        Assertions.assertSame(secondPosition, queue.poll());
+        Assertions.assertNull(queue.poll());
+    }
+
+    @Test
+    void shouldNeverReplaceReliablePackets() {
+
+        var superseded = new ArrayList<WritablePacket>();
+        var queue = new ConflatingWritablePacketQueue(superseded::add);
+
+        var first = new StringWritablePacket("First");
+        var second = new StringWritablePacket("Second");
+
+        queue.add(first);
+        queue.add(second);
+
+        Assertions.assertTrue(superseded.isEmpty());
+        Assertions.assertSame(first, queue.poll());
+        Assertions.assertSame(second, queue.poll());
+    }
+}
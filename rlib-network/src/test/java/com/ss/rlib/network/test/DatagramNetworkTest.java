@@ -0,0 +1,209 @@
+package com.ss.rlib.network.test;
+
+import static com.ss.rlib.network.NetworkFactory.newDefaultDatagramNetwork;
+import com.ss.rlib.network.DatagramNetworkConfig;
+import com.ss.rlib.network.DatagramNetworkConfig.SimpleDatagramNetworkConfig;
+import com.ss.rlib.network.annotation.PacketDescription;
+import com.ss.rlib.network.datagram.impl.DefaultDatagramConnection;
+import com.ss.rlib.network.impl.PooledBufferAllocator;
+import com.ss.rlib.network.packet.impl.DefaultDatagramReadablePacket;
+import com.ss.rlib.network.packet.impl.DefaultWritablePacket;
+import com.ss.rlib.network.packet.registry.ReadablePacketRegistry;
+import lombok.RequiredArgsConstructor;
+import lombok.SneakyThrows;
+import org.jetbrains.annotations.NotNull;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.DatagramChannel;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * The tests of datagram network.
+ *
+ * @author JavaSaBr
+ */
+public class DatagramNetworkTest {
+
+    @PacketDescription(id = 1)
+    public static class Position extends DefaultDatagramReadablePacket {
+
+        private volatile int x;
+
+        @Override
+        protected void readImpl(@NotNull DefaultDatagramConnection connection, @NotNull ByteBuffer buffer) {
+            super.readImpl(connection, buffer);
+            x = readInt(buffer);
+        }
+    }
+
+    @RequiredArgsConstructor
+    @PacketDescription(id = 1)
+    public static class PositionMessage extends DefaultWritablePacket {
+
+        private final int x;
+
+        @Override
+        protected void writeImpl(@NotNull ByteBuffer buffer) {
+            super.writeImpl(buffer);
+            writeInt(buffer, x);
+        }
+    }
+
+    private static final ReadablePacketRegistry<DefaultDatagramReadablePacket> PACKET_REGISTRY =
+        ReadablePacketRegistry.of(DefaultDatagramReadablePacket.class, Position.class);
+
+    @Test
+    @SneakyThrows
+    void shouldExchangePacketsOverLoopback() {
+
+        var packetCount = 100;
+
+        var serverNetwork = newDefaultDatagramNetwork(PACKET_REGISTRY);
+        var clientNetwork = newDefaultDatagramNetwork(PACKET_REGISTRY);
+        try {
+
+            var accepted = new AtomicInteger();
+
+            serverNetwork.onAccept(connection -> {
+                accepted.incrementAndGet();
+                connection.onReceive((conn, packet) ->
+                    connection.send(new PositionMessage(((Position) packet).x * 2)));
+            });
+
+            var serverAddress = serverNetwork.start(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0));
+            var clientToServer = clientNetwork.connect(serverAddress);
+
+            var counter = new CountDownLatch(packetCount);
+            var sum = new AtomicInteger();
+
+            clientToServer.onReceive((connection, packet) -> {
+                sum.addAndGet(((Position) packet).x);
+                counter.countDown();
+            });
+
+            for (int i = 1; i <= packetCount; i++) {
+                Assertions.assertTrue(clientToServer.sendWithFeedback(new PositionMessage(i)).join());
+            }
+
+            Assertions.assertTrue(counter.await(10, TimeUnit.SECONDS), "Still wait for " + counter.getCount());
+            Assertions.assertEquals(packetCount * (packetCount + 1), sum.get());
+            Assertions.assertEquals(1, accepted.get());
+            Assertions.assertSame(clientToServer, clientNetwork.connect(serverAddress));
+
+        } finally {
+            clientNetwork.shutdown();
+            serverNetwork.shutdown();
+        }
+    }
+
+    @Test
+    @SneakyThrows
+    void shouldDropStalePackets() {
+
+        DatagramNetworkConfig config = SimpleDatagramNetworkConfig.builder()
+            .sequenced(true)
+            .build();
+
+        var serverNetwork = newDefaultDatagramNetwork(config, new PooledBufferAllocator(config), PACKET_REGISTRY);
+        try (var channel = DatagramChannel.open()) {
+
+            List<Integer> received = new CopyOnWriteArrayList<>();
+            var counter = new CountDownLatch(4);
+
+            serverNetwork.onAccept(connection -> connection.onReceive((conn, packet) -> {
+                received.add(((Position) packet).x);
+                counter.countDown();
+            }));
+
+            var serverAddress = serverNetwork.start(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0));
+
+            // the datagram with sequence 1 is stale and the sequence numbers wrap around after Integer.MAX_VALUE
+            int[][] datagrams = {{2, 20}, {1, 10}, {3, 30}, {Integer.MAX_VALUE, 40}, {Integer.MIN_VALUE, 50}};
+
+            for (var datagram : datagrams) {
+
+                var buffer = ByteBuffer.allocate(10)
+                    .putInt(datagram[0])
+                    .putShort((short) 1)
+                    .putInt(datagram[1])
+                    .flip();
+
+                channel.send(buffer, serverAddress);
+            }
+
+            Assertions.assertTrue(counter.await(10, TimeUnit.SECONDS), "Still wait for " + counter.getCount());
+            Assertions.assertEquals(List.of(20, 30, 40, 50), received);
+
+        } finally {
+            serverNetwork.shutdown();
+        }
+    }
+
+    @Test
+    @SneakyThrows
+    void shouldDropDatagramsOfNewPeersOverLimit() {
+
+        DatagramNetworkConfig config = SimpleDatagramNetworkConfig.builder()
+            .maxPeers(2)
+            .build();
+
+        var serverNetwork = newDefaultDatagramNetwork(config, new PooledBufferAllocator(config), PACKET_REGISTRY);
+        var channels = new DatagramChannel[3];
+        try {
+
+            var accepted = new AtomicInteger();
+            var received = new CopyOnWriteArrayList<Integer>();
+            var counter = new CountDownLatch(4);
+
+            serverNetwork.onAccept(connection -> {
+                accepted.incrementAndGet();
+                connection.onReceive((conn, packet) -> {
+                    received.add(((Position) packet).x);
+                    counter.countDown();
+                });
+            });
+
+            var serverAddress = serverNetwork.start(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0));
+
+            for (int i = 0; i < channels.length; i++) {
+                channels[i] = DatagramChannel.open();
+            }
+
+            // the third peer is over the limit, but the known peers are still received
+            for (int round = 0; round < 2; round++) {
+                for (int i = 0; i < channels.length; i++) {
+
+                    var buffer = ByteBuffer.allocate(6)
+                        .putShort((short) 1)
+                        .putInt(i)
+                        .flip();
+
+                    channels[i].send(buffer, serverAddress);
+                }
+            }
+
+            Assertions.assertTrue(counter.await(10, TimeUnit.SECONDS), "Still wait for " + counter.getCount());
+
+            Thread.sleep(100);
+
+            Assertions.assertEquals(2, accepted.get());
+            Assertions.assertFalse(received.contains(2), "A datagram of the third peer was received");
+
+        } finally {
+            for (var channel : channels) {
+                if (channel != null) {
+                    channel.close();
+                }
+            }
+            serverNetwork.shutdown();
+        }
+    }
+}
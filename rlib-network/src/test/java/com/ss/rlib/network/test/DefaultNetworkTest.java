@@ -9,9 +9,13 @@ import com.ss.rlib.logger.api.Logger;
 import com.ss.rlib.logger.api.LoggerManager;
 import com.ss.rlib.network.Connection;
 import com.ss.rlib.network.NetworkConfig;
+import com.ss.rlib.network.ServerNetworkConfig.SimpleServerNetworkConfig;
 import com.ss.rlib.network.annotation.PacketDescription;
 import com.ss.rlib.network.impl.DefaultBufferAllocator;
 import com.ss.rlib.network.impl.DefaultConnection;
+import com.ss.rlib.network.packet.ReusableReadablePacket;
+import com.ss.rlib.network.packet.StreamingReadablePacket;
+import com.ss.rlib.network.packet.StreamingWritablePacket;
 import com.ss.rlib.network.packet.impl.DefaultReadablePacket;
 import com.ss.rlib.network.packet.impl.DefaultWritablePacket;
 import com.ss.rlib.network.packet.impl.StringWritablePacket;
@@ -24,12 +28,19 @@ import org.jetbrains.annotations.NotNull;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
 import java.time.*;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.ThreadLocalRandom;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.stream.IntStream;
+import java.util.zip.CRC32;
 
 /**
  * The tests of default network.
@@ -60,6 +71,32 @@ public class DefaultNetworkTest extends BaseNetworkTest {
         class RequestServerTime extends DefaultWritablePacket {
         }
 
+        @RequiredArgsConstructor
+        @PacketDescription(id = 5)
+        class RequestUploadFile extends DefaultWritablePacket implements StreamingWritablePacket {
+
+            private final FileChannel channel;
+            private final int length;
+
+            private long position;
+
+            @Override
+            public int getStreamingLength() {
+                return length;
+            }
+
+            @Override
+            public boolean writeChunk(@NotNull ByteBuffer buffer) {
+                try {
+                    var read = channel.read(buffer, position);
+                    position += Math.max(read, 0);
+                    return read > 0;
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            }
+        }
+
         @ToString
         @RequiredArgsConstructor
         @PacketDescription(id = 3)
@@ -116,6 +153,72 @@ public class DefaultNetworkTest extends BaseNetworkTest {
             }
         }
 
+        @ToString
+        @PacketDescription(id = 1)
+        class ReusableRequestEchoMessage extends DefaultReadablePacket implements ReusableReadablePacket {
+
+            static final AtomicInteger CREATED = new AtomicInteger();
+
+            private volatile String message;
+
+            public ReusableRequestEchoMessage() {
+                CREATED.incrementAndGet();
+            }
+
+            @Override
+            protected void readImpl(@NotNull DefaultConnection connection, @NotNull ByteBuffer buffer) {
+                super.readImpl(connection, buffer);
+                message = readString(buffer);
+            }
+
+            @Override
+            protected void executeImpl(@NotNull DefaultConnection connection) {
+                super.executeImpl(connection);
+                connection.send(new ResponseEchoMessage(message));
+            }
+
+            @Override
+            public void free() {
+                message = null;
+            }
+        }
+
+        @ToString
+        @PacketDescription(id = 5)
+        class RequestUploadFile extends DefaultReadablePacket implements StreamingReadablePacket {
+
+            @Getter
+            private volatile int length;
+            @Getter
+            private volatile int received;
+            @Getter
+            private volatile int chunks;
+            @Getter
+            private volatile long checksum;
+
+            private final CRC32 crc32 = new CRC32();
+
+            @Override
+            public boolean startRead(@NotNull Connection<?, ?> connection, int length) {
+                this.length = length;
+                return true;
+            }
+
+            @Override
+            public boolean readChunk(@NotNull Connection<?, ?> connection, @NotNull ByteBuffer chunk) {
+                received += chunk.remaining();
+                chunks++;
+                crc32.update(chunk);
+                return true;
+            }
+
+            @Override
+            public boolean finishRead(@NotNull Connection<?, ?> connection) {
+                checksum = crc32.getValue();
+                return received == length;
+            }
+        }
+
         @ToString
         @PacketDescription(id = 2)
         class RequestServerTime extends DefaultReadablePacket {
@@ -271,4 +374,202 @@ public class DefaultNetworkTest extends BaseNetworkTest {
             Assertions.assertNull(wrongPacket, () -> "Wrong received packet: " + wrongPacket);
         }
     }
+
+    @Test
+    void shouldReuseReceivedPackets() {
+
+        var serverPacketRegistry = ReadablePacketRegistry.of(DefaultReadablePacket.class,
+            ServerPackets.ReusableRequestEchoMessage.class,
+            ServerPackets.RequestServerTime.class
+        );
+        var clientPacketRegistry = ReadablePacketRegistry.of(
+            DefaultReadablePacket.class,
+            ClientPackets.ResponseEchoMessage.class,
+            ClientPackets.ResponseServerTime.class
+        );
+
+        int packetCount = 200;
+
+        try (var testNetwork = buildDefaultNetwork(serverPacketRegistry, clientPacketRegistry)) {
+
+            var clientToServer = testNetwork.clientToServer;
+            var serverToClient = testNetwork.serverToClient;
+
+            serverToClient.onReceive((connection, packet) -> packet.execute(connection));
+
+            var pendingPacketsOnClient = clientToServer.receivedPackets()
+                .buffer(packetCount);
+
+            var messages = IntStream.range(0, packetCount)
+                .mapToObj(value -> StringUtils.generate(ThreadLocalRandom.current().nextInt(10, 100)))
+                .peek(message -> clientToServer.send(new ClientPackets.RequestEchoMessage(message)))
+                .collect(toList());
+
+            var receivedPackets = ObjectUtils.notNull(pendingPacketsOnClient.blockFirst(Duration.ofSeconds(5)));
+
+            var receivedMessages = receivedPackets.stream()
+                .map(ClientPackets.ResponseEchoMessage.class::cast)
+                .map(packet -> packet.getMessage())
+                .collect(toList());
+
+            var expectedMessages = messages.stream()
+                .map(message -> "Echo: " + message)
+                .collect(toList());
+
+            Assertions.assertEquals(expectedMessages, receivedMessages);
+            Assertions.assertTrue(
+                ServerPackets.ReusableRequestEchoMessage.CREATED.get() < packetCount / 2,
+                "Received packets weren't reused"
+            );
+        }
+    }
+
+    @Test
+    @SneakyThrows
+    void shouldStreamPacketsBiggerThanMaxPacketSize() {
+
+        var serverConfig = SimpleServerNetworkConfig.builder()
+            .maxPacketSize(16 * 1024)
+            .build();
+
+        var serverPacketRegistry = ReadablePacketRegistry.of(DefaultReadablePacket.class,
+            ServerPackets.RequestEchoMessage.class,
+            ServerPackets.RequestUploadFile.class
+        );
+        var clientPacketRegistry = ReadablePacketRegistry.of(
+            DefaultReadablePacket.class,
+            ClientPackets.ResponseEchoMessage.class
+        );
+
+        // the packet length header of default connections has 2 bytes, so the packet can't be bigger than 64 KiB
+        var data = new byte[60_000];
+        ThreadLocalRandom.current().nextBytes(data);
+
+        var expectedChecksum = new CRC32();
+        expectedChecksum.update(data);
+
+        var file = Files.createTempFile("rlib-streaming", ".bin");
+
+        try (var testNetwork = buildDefaultNetwork(
+            serverConfig,
+            new DefaultBufferAllocator(serverConfig),
+            serverPacketRegistry,
+            NetworkConfig.DEFAULT_CLIENT,
+            new DefaultBufferAllocator(NetworkConfig.DEFAULT_CLIENT),
+            clientPacketRegistry
+        ); var channel = FileChannel.open(Files.write(file, data))) {
+
+            var clientToServer = testNetwork.clientToServer;
+            var serverToClient = testNetwork.serverToClient;
+
+            var pendingPacketsOnServer = serverToClient.receivedPackets()
+                .buffer(2);
+
+            clientToServer.send(new ClientPackets.RequestUploadFile(channel, data.length));
+            clientToServer.send(new ClientPackets.RequestEchoMessage("after streaming"));
+
+            var receivedPackets = ObjectUtils.notNull(pendingPacketsOnServer.blockFirst(Duration.ofSeconds(10)));
+
+            Assertions.assertEquals(2, receivedPackets.size(), "Didn't receive all packets");
+
+            var uploadFile = (ServerPackets.RequestUploadFile) receivedPackets.get(0);
+
+            Assertions.assertEquals(data.length, uploadFile.getReceived());
+            Assertions.assertEquals(expectedChecksum.getValue(), uploadFile.getChecksum());
+            Assertions.assertTrue(uploadFile.getChunks() > 1, "Streaming data was received by one chunk");
+            Assertions.assertTrue(receivedPackets.get(1) instanceof ServerPackets.RequestEchoMessage);
+
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    @Test
+    @SneakyThrows
+    void shouldCloseConnectionWithTooBigPacket() {
+
+        var serverConfig = SimpleServerNetworkConfig.builder()
+            .maxPacketSize(1024)
+            .build();
+
+        var serverPacketRegistry = ReadablePacketRegistry.of(DefaultReadablePacket.class,
+            ServerPackets.RequestEchoMessage.class
+        );
+        var clientPacketRegistry = ReadablePacketRegistry.of(
+            DefaultReadablePacket.class,
+            ClientPackets.ResponseEchoMessage.class
+        );
+
+        try (var testNetwork = buildDefaultNetwork(
+            serverConfig,
+            new DefaultBufferAllocator(serverConfig),
+            serverPacketRegistry,
+            NetworkConfig.DEFAULT_CLIENT,
+            new DefaultBufferAllocator(NetworkConfig.DEFAULT_CLIENT),
+            clientPacketRegistry
+        )) {
+
+            var clientToServer = testNetwork.clientToServer;
+            var serverToClient = testNetwork.serverToClient;
+
+            clientToServer.send(new ClientPackets.RequestEchoMessage(StringUtils.generate(2048)));
+
+            var deadline = System.currentTimeMillis() + 5000;
+
+            while (!serverToClient.isClosed() && System.currentTimeMillis() < deadline) {
+                Thread.sleep(10);
+            }
+
+            Assertions.assertTrue(serverToClient.isClosed(), "The connection with too big packet wasn't closed");
+        }
+    }
+
+    @Test
+    void shouldSerializePacketsBiggerThanWriteBuffer() {
+
+        var serverPacketRegistry = ReadablePacketRegistry.of(DefaultReadablePacket.class,
+            ServerPackets.RequestEchoMessage.class
+        );
+        var clientPacketRegistry = ReadablePacketRegistry.of(
+            DefaultReadablePacket.class,
+            ClientPackets.ResponseEchoMessage.class
+        );
+
+        int packetCount = 50;
+
+        try (var testNetwork = buildDefaultNetwork(serverPacketRegistry, clientPacketRegistry)) {
+
+            var clientToServer = testNetwork.clientToServer;
+            var serverToClient = testNetwork.serverToClient;
+
+            serverToClient.onReceive((connection, packet) -> packet.execute(connection));
+
+            var writeBufferSize = testNetwork.serverNetworkConfig.getWriteBufferSize();
+            var pendingPacketsOnClient = clientToServer.receivedPackets()
+                .buffer(packetCount);
+
+            // the echo packets don't know their expected length, so they overflow the write buffers at first
+            var messages = IntStream.range(0, packetCount)
+                .mapToObj(value -> StringUtils.generate(writeBufferSize, writeBufferSize * 8))
+                .peek(message -> clientToServer.send(new ClientPackets.RequestEchoMessage(message)))
+                .collect(toList());
+
+            var receivedPackets = ObjectUtils.notNull(pendingPacketsOnClient.blockFirst(Duration.ofSeconds(5)));
+
+            var receivedMessages = receivedPackets.stream()
+                .map(ClientPackets.ResponseEchoMessage.class::cast)
+                .map(packet -> packet.getMessage())
+                .collect(toList());
+
+            Assertions.assertEquals(packetCount, receivedMessages.size());
+
+            for (int i = 0; i < packetCount; i++) {
+
+                var expected = ("Echo: " + messages.get(i)).getBytes(StandardCharsets.UTF_8);
+                var received = receivedMessages.get(i).getBytes(StandardCharsets.UTF_8);
+
+                Assertions.assertArrayEquals(expected, received, "Wrong payload of packet " + i);
+            }
+        }
+    }
 }
@@ -112,6 +112,22 @@ public class IdBasedReadablePacketRegistryTest {
         Assertions.assertTrue(registry.findById(10) instanceof PrivateImpl2);
     }
 
+    @Test
+    void shouldCreatePrivatePacketsByFactories() {
+
+        var registry = new IdBasedReadablePacketRegistry<>(PrivateBase.class)
+            .register(10, PrivateImpl2.class, PrivateImpl2::new)
+            .register(PrivateImpl1.class, PrivateImpl1::new);
+
+        Assertions.assertTrue(registry.newInstance(1) instanceof PrivateImpl1);
+        Assertions.assertTrue(registry.newInstance(10) instanceof PrivateImpl2);
+        Assertions.assertNotSame(registry.findById(10), registry.newInstance(10));
+        Assertions.assertThrows(
+            IllegalArgumentException.class,
+            () -> registry.register(1, PrivateImpl2.class, PrivateImpl2::new)
+        );
+    }
+
     @Test
     void shouldNotAcceptWrongTypes() {
 
@@ -0,0 +1,260 @@
+package com.ss.rlib.network.test;
+
+import com.ss.rlib.network.packet.impl.LockFreeWritablePacketQueue;
+import com.ss.rlib.network.packet.impl.StringWritablePacket;
+import lombok.SneakyThrows;
+import org.jetbrains.annotations.NotNull;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * The tests of lock-free queue of pending packets.
+ *
+ * @author JavaSaBr
+ */
+public class LockFreeWritablePacketQueueTest {
+
+    private static final int PRODUCERS = 4;
+    private static final int PACKETS_BY_PRODUCER = 50_000;
+    private static final int NORMAL_PACKETS_BEFORE_PRIORITY = 100;
+
+    private static class SequencedPacket extends StringWritablePacket {
+
+        private final int producer;
+        private final int sequence;
+        private final boolean priority;
+
+        private volatile boolean polled;
+
+        private SequencedPacket(int producer, int sequence, boolean priority) {
+            super(producer + ":" + sequence);
+            this.producer = producer;
+            this.sequence = sequence;
+            this.priority = priority;
+        }
+    }
+
+    @Test
+    @SneakyThrows
+    void shouldKeepOrderOfEveryProducer() {
+
+        var queue = new LockFreeWritablePacketQueue();
+        var start = new CountDownLatch(1);
+        var errors = new ConcurrentLinkedQueue<String>();
+        var producers = startProducers(start, PRODUCERS, sequence -> false, queue, errors);
+        var lastSequences = new int[PRODUCERS];
+
+        Arrays.fill(lastSequences, -1);
+        start.countDown();
+
+        var deadline = System.currentTimeMillis() + 30_000;
+
+        for (int received = 0; received < PRODUCERS * PACKETS_BY_PRODUCER; ) {
+
+            var packet = (SequencedPacket) queue.poll();
+
+            if (packet == null) {
+                Assertions.assertTrue(System.currentTimeMillis() < deadline, "Still wait for packets...");
+                continue;
+            }
+
+            Assertions.assertEquals(
+                lastSequences[packet.producer] + 1,
+                packet.sequence,
+                "Wrong order of packets of the producer " + packet.producer
+            );
+
+            lastSequences[packet.producer] = packet.sequence;
+            received++;
+        }
+
+        joinAll(producers);
+
+        Assertions.assertTrue(errors.isEmpty(), errors::toString);
+        Assertions.assertNull(queue.poll());
+        Assertions.assertTrue(queue.isEmpty());
+    }
+
+    @Test
+    @SneakyThrows
+    void shouldPollPriorityPacketsBeforeOtherPackets() {
+
+        var queue = new LockFreeWritablePacketQueue();
+
+        for (int i = 0; i < NORMAL_PACKETS_BEFORE_PRIORITY; i++) {
+            queue.add(new SequencedPacket(0, i, false));
+        }
+
+        var priorityProducer = new Thread(() -> queue.addPriority(new SequencedPacket(1, 0, true)));
+        priorityProducer.start();
+        priorityProducer.join();
+
+        Assertions.assertTrue(((SequencedPacket) queue.poll()).priority);
+
+        var start = new CountDownLatch(1);
+        var priorityAdded = new AtomicInteger();
+        var producers = new ArrayList<Thread>();
+
+        producers.add(newProducer(start, () -> {
+            for (int i = 0; i < PACKETS_BY_PRODUCER; i++) {
+                queue.add(new SequencedPacket(0, i, false));
+            }
+        }));
+
+        producers.add(newProducer(start, () -> {
+            for (int i = 0; i < PACKETS_BY_PRODUCER / 10; i++) {
+                queue.addPriority(new SequencedPacket(1, i, true));
+                priorityAdded.incrementAndGet();
+            }
+        }));
+
+        start.countDown();
+
+        var total = PACKETS_BY_PRODUCER + PACKETS_BY_PRODUCER / 10 + NORMAL_PACKETS_BEFORE_PRIORITY;
+        var priorityPolled = 0;
+        var deadline = System.currentTimeMillis() + 30_000;
+
+        for (int received = 0; received < total; ) {
+
+            var waitingPriority = priorityAdded.get() > priorityPolled;
+            var packet = (SequencedPacket) queue.poll();
+
+            if (packet == null) {
+                Assertions.assertTrue(System.currentTimeMillis() < deadline, "Still wait for packets...");
+                continue;
+            }
+
+            if (packet.priority) {
+                priorityPolled++;
+            } else {
+                Assertions.assertFalse(waitingPriority, "A packet overtook an added priority packet");
+            }
+
+            received++;
+        }
+
+        joinAll(producers);
+
+        Assertions.assertTrue(queue.isEmpty());
+    }
+
+    @Test
+    @SneakyThrows
+    void shouldNotBeEmptyUntilAddedPacketIsPolled() {
+
+        var queue = new LockFreeWritablePacketQueue();
+        var start = new CountDownLatch(1);
+        var errors = new ConcurrentLinkedQueue<String>();
+        var producers = startProducers(start, PRODUCERS, sequence -> sequence % 7 == 0, queue, errors);
+
+        start.countDown();
+
+        var deadline = System.currentTimeMillis() + 30_000;
+
+        for (int received = 0; received < PRODUCERS * PACKETS_BY_PRODUCER; ) {
+
+            var packet = (SequencedPacket) queue.poll();
+
+            if (packet == null) {
+                Assertions.assertTrue(System.currentTimeMillis() < deadline, "Still wait for packets...");
+                continue;
+            }
+
+            packet.polled = true;
+            received++;
+        }
+
+        joinAll(producers);
+
+        Assertions.assertTrue(errors.isEmpty(), errors::toString);
+        Assertions.assertTrue(queue.isEmpty());
+        Assertions.assertNull(queue.poll());
+    }
+
+    @FunctionalInterface
+    private interface PriorityFilter {
+
+        boolean isPriority(int sequence);
+    }
+
+    private static @NotNull List<Thread> startProducers(
+        @NotNull CountDownLatch start,
+        int count,
+        @NotNull PriorityFilter priorityFilter,
+        @NotNull LockFreeWritablePacketQueue queue,
+        @NotNull ConcurrentLinkedQueue<String> errors
+    ) {
+
+        var producers = new ArrayList<Thread>(count);
+
+        for (int i = 0; i < count; i++) {
+
+            var producer = i;
+
+            producers.add(newProducer(start, () -> {
+                for (int sequence = 0; sequence < PACKETS_BY_PRODUCER; sequence++) {
+
+                    var priority = priorityFilter.isPriority(sequence);
+                    var packet = new SequencedPacket(producer, sequence, priority);
+
+                    if (priority) {
+                        queue.addPriority(packet);
+                    } else {
+                        queue.add(packet);
+                    }
+
+                    // the added packet can be already polled, otherwise the queue can't be empty
+                    if (queue.isEmpty() && !awaitPolled(packet)) {
+                        errors.add("The queue is empty, but the packet " + packet.getData() + " wasn't polled");
+                    }
+                }
+            }));
+        }
+
+        return producers;
+    }
+
+    private static boolean awaitPolled(@NotNull SequencedPacket packet) {
+
+        var deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(1);
+
+        while (!packet.polled && System.nanoTime() < deadline) {
+            Thread.onSpinWait();
+        }
+
+        return packet.polled;
+    }
+
+    private static @NotNull Thread newProducer(
+        @NotNull CountDownLatch start,
+        @NotNull Runnable task
+    ) {
+
+        var thread = new Thread(() -> {
+            try {
+                start.await();
+            } catch (InterruptedException e) {
+                throw new RuntimeException(e);
+            }
+            task.run();
+        });
+
+        thread.start();
+        return thread;
+    }
+
+    @SneakyThrows
+    private static void joinAll(@NotNull List<Thread> threads) {
+        for (var thread : threads) {
+            thread.join();
+        }
+    }
+}
@@ -0,0 +1,179 @@
+package com.ss.rlib.network.test;
+
+import static java.util.stream.Collectors.toList;
+import com.ss.rlib.network.annotation.PacketDescription;
+import com.ss.rlib.network.dispatch.DispatchMode;
+import com.ss.rlib.network.dispatch.PacketDispatcher;
+import com.ss.rlib.network.dispatch.impl.DefaultPacketDispatcher;
+import com.ss.rlib.network.impl.DefaultConnection;
+import com.ss.rlib.network.packet.impl.DefaultReadablePacket;
+import com.ss.rlib.network.packet.impl.DefaultWritablePacket;
+import com.ss.rlib.network.packet.registry.ReadablePacketRegistry;
+import lombok.RequiredArgsConstructor;
+import lombok.SneakyThrows;
+import org.jetbrains.annotations.NotNull;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+
+/**
+ * The tests of packet dispatcher.
+ *
+ * @author JavaSaBr
+ */
+public class PacketDispatcherTest extends BaseNetworkTest {
+
+    @RequiredArgsConstructor
+    @PacketDescription(id = 1)
+    public static class ValueMessage extends DefaultWritablePacket {
+
+        private final int value;
+
+        @Override
+        protected void writeImpl(@NotNull ByteBuffer buffer) {
+            super.writeImpl(buffer);
+            writeInt(buffer, value);
+        }
+    }
+
+    @PacketDescription(id = 2)
+    public static class PingMessage extends DefaultWritablePacket {
+    }
+
+    @PacketDescription(id = 3)
+    public static class UnknownMessage extends DefaultWritablePacket {
+    }
+
+    @PacketDescription(id = 1)
+    public static class Value extends DefaultReadablePacket {
+
+        private volatile int value;
+
+        @Override
+        protected void readImpl(@NotNull DefaultConnection connection, @NotNull ByteBuffer buffer) {
+            super.readImpl(connection, buffer);
+            value = readInt(buffer);
+        }
+    }
+
+    @PacketDescription(id = 2)
+    public static class Ping extends DefaultReadablePacket {
+    }
+
+    @PacketDescription(id = 3)
+    public static class Unknown extends DefaultReadablePacket {
+    }
+
+    @Test
+    @SneakyThrows
+    void shouldRoutePacketsByType() {
+
+        var valueCount = 1000;
+
+        var registry = ReadablePacketRegistry.of(DefaultReadablePacket.class, Value.class, Ping.class, Unknown.class);
+        var executor = Executors.newFixedThreadPool(4);
+
+        try (var testNetwork = buildDefaultNetwork(registry, registry)) {
+
+            var values = new CopyOnWriteArrayList<Integer>();
+            var valueThreads = new CopyOnWriteArrayList<Thread>();
+            var receivedValues = new CountDownLatch(valueCount);
+            var pingThreads = new CopyOnWriteArrayList<Thread>();
+            var unknownPackets = new AtomicInteger();
+            var receivedAll = new CountDownLatch(2);
+
+            PacketDispatcher.<DefaultConnection, DefaultReadablePacket>of(executor)
+                .route(Value.class, DispatchMode.SERIAL, (connection, packet) -> {
+                    values.add(packet.value);
+                    valueThreads.add(Thread.currentThread());
+                    receivedValues.countDown();
+                })
+                .route(Ping.class, (connection, packet) -> {
+                    pingThreads.add(Thread.currentThread());
+                    receivedAll.countDown();
+                })
+                .otherwise((connection, packet) -> {
+                    unknownPackets.incrementAndGet();
+                    receivedAll.countDown();
+                })
+                .attach(testNetwork.serverToClient);
+
+            for (int i = 0; i < valueCount; i++) {
+                testNetwork.clientToServer.send(new ValueMessage(i));
+            }
+
+            testNetwork.clientToServer.send(new PingMessage());
+            testNetwork.clientToServer.send(new UnknownMessage());
+
+            Assertions.assertTrue(receivedValues.await(5, TimeUnit.SECONDS), "Still wait for values...");
+            Assertions.assertTrue(receivedAll.await(5, TimeUnit.SECONDS), "Still wait for other packets...");
+
+            Assertions.assertEquals(IntStream.range(0, valueCount).boxed().collect(toList()), values);
+            Assertions.assertEquals(1, unknownPackets.get());
+
+            // values were handled by the executor, not by the I/O thread
+            var ioThread = pingThreads.get(0);
+            Assertions.assertTrue(valueThreads.stream().noneMatch(ioThread::equals));
+
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    @SneakyThrows
+    void shouldNotHandleSerialPacketsOfClosedConnection() {
+
+        var registry = ReadablePacketRegistry.of(DefaultReadablePacket.class, Value.class, Ping.class, Unknown.class);
+        var executor = Executors.newSingleThreadExecutor();
+
+        try (var testNetwork = buildDefaultNetwork(registry, registry)) {
+
+            var handledValues = new AtomicInteger();
+            var dispatcher = new DefaultPacketDispatcher<DefaultConnection, DefaultReadablePacket>(executor) {
+
+                int getSerialExecutorCount() {
+                    return serialExecutors.size();
+                }
+            };
+
+            dispatcher.route(Value.class, DispatchMode.SERIAL, (connection, packet) -> handledValues.incrementAndGet());
+
+            var connection = testNetwork.serverToClient;
+            var executorBlocked = new CountDownLatch(1);
+
+            // the queued packet is handled only after closing the connection
+            executor.execute(() -> {
+                try {
+                    executorBlocked.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            });
+
+            dispatcher.dispatch(connection, new Value());
+
+            Assertions.assertEquals(1, dispatcher.getSerialExecutorCount());
+
+            connection.close();
+            executorBlocked.countDown();
+
+            dispatcher.dispatch(connection, new Value());
+
+            executor.submit(() -> {}).get(5, TimeUnit.SECONDS);
+
+            Assertions.assertEquals(0, handledValues.get());
+            Assertions.assertEquals(0, dispatcher.getSerialExecutorCount());
+
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
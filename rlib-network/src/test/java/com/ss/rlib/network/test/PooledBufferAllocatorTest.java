@@ -0,0 +1,168 @@
+package com.ss.rlib.network.test;
+
+import com.ss.rlib.network.NetworkConfig;
+import com.ss.rlib.network.NetworkConfig.SimpleNetworkConfig;
+import com.ss.rlib.network.impl.PooledBufferAllocator;
+import lombok.SneakyThrows;
+import org.jetbrains.annotations.NotNull;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.ArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * @author JavaSaBr
+ */
+public class PooledBufferAllocatorTest {
+
+    private static final NetworkConfig DIRECT_CONFIG = new NetworkConfig() {
+
+        @Override
+        public @NotNull ByteOrder getByteOrder() {
+            return ByteOrder.LITTLE_ENDIAN;
+        }
+
+        @Override
+        public boolean isDirectByteBuffer() {
+            return true;
+        }
+    };
+
+    @Test
+    void shouldReuseBuffersBySizeClass() {
+
+        var allocator = new PooledBufferAllocator(NetworkConfig.DEFAULT_CLIENT);
+
+        var buffer = allocator.takeBuffer(100);
+
+        Assertions.assertEquals(128, buffer.capacity());
+        Assertions.assertEquals(1, allocator.getMisses());
+        Assertions.assertEquals(0, allocator.getRetainedBytes());
+
+        buffer.putInt(10);
+        allocator.putBuffer(buffer);
+
+        Assertions.assertEquals(128, allocator.getRetainedBytes());
+
+        var reused = allocator.takeBuffer(120);
+
+        Assertions.assertSame(buffer, reused);
+        Assertions.assertEquals(0, reused.position());
+        Assertions.assertEquals(1, allocator.getHits());
+        Assertions.assertEquals(0, allocator.getRetainedBytes());
+
+        var another = allocator.takeBuffer(129);
+
+        Assertions.assertEquals(256, another.capacity());
+        Assertions.assertEquals(2, allocator.getMisses());
+    }
+
+    @Test
+    void shouldNotRetainMoreThanLimit() {
+
+        var config = SimpleNetworkConfig.builder()
+            .build();
+
+        var allocator = new PooledBufferAllocator(config, 256, PooledBufferAllocator.DEFAULT_ARENA_SIZE, 0);
+
+        var first = allocator.takeBuffer(128);
+        var second = allocator.takeBuffer(128);
+        var third = allocator.takeBuffer(128);
+
+        allocator.putBuffer(first);
+        allocator.putBuffer(second);
+        allocator.putBuffer(third);
+
+        Assertions.assertEquals(256, allocator.getRetainedBytes());
+
+        // not power-of-two buffers are not pooled
+        allocator.putBuffer(ByteBuffer.allocate(100));
+
+        Assertions.assertEquals(256, allocator.getRetainedBytes());
+    }
+
+    @Test
+    @SneakyThrows
+    void shouldNotRetainMoreThanLimitInThreadCaches() {
+
+        var config = SimpleNetworkConfig.builder()
+            .build();
+
+        var allocator = new PooledBufferAllocator(config, 4 * 128, PooledBufferAllocator.DEFAULT_ARENA_SIZE, 8);
+        var allTaken = new CountDownLatch(4);
+        var maxRetainedBytes = new AtomicLong();
+        var threads = new ArrayList<Thread>();
+
+        for (int i = 0; i < 4; i++) {
+
+            var thread = new Thread(() -> {
+
+                var buffers = new ArrayList<ByteBuffer>();
+
+                for (int j = 0; j < 8; j++) {
+                    buffers.add(allocator.takeBuffer(128));
+                }
+
+                allTaken.countDown();
+
+                try {
+                    allTaken.await();
+                } catch (InterruptedException e) {
+                    throw new RuntimeException(e);
+                }
+
+                for (var buffer : buffers) {
+                    allocator.putBuffer(buffer);
+                    maxRetainedBytes.accumulateAndGet(allocator.getRetainedBytes(), Math::max);
+                }
+            });
+
+            thread.start();
+            threads.add(thread);
+        }
+
+        for (var thread : threads) {
+            thread.join();
+        }
+
+        Assertions.assertEquals(4 * 128, maxRetainedBytes.get());
+        Assertions.assertEquals(4 * 128, allocator.getRetainedBytes());
+        Assertions.assertEquals(0, allocator.getHits());
+
+        // the buffers of caches of the terminated threads are reused by this thread
+        for (int i = 0; i < 4; i++) {
+            Assertions.assertEquals(128, allocator.takeBuffer(128).capacity());
+        }
+
+        Assertions.assertEquals(4, allocator.getHits());
+        Assertions.assertEquals(0, allocator.getRetainedBytes());
+    }
+
+    @Test
+    void shouldSliceDirectBuffersFromArena() {
+
+        var allocator = new PooledBufferAllocator(DIRECT_CONFIG, 1024 * 1024, 64 * 1024, 8);
+
+        var first = allocator.takeBuffer(1024);
+        var second = allocator.takeBuffer(1024);
+
+        Assertions.assertTrue(first.isDirect());
+        Assertions.assertEquals(1024, first.capacity());
+        Assertions.assertEquals(ByteOrder.LITTLE_ENDIAN, first.order());
+
+        first.putInt(0, 1);
+        second.putInt(0, 2);
+
+        Assertions.assertEquals(1, first.getInt(0));
+        Assertions.assertEquals(2, second.getInt(0));
+
+        // more buffers than one arena can contain
+        for (int i = 0; i < 100; i++) {
+            Assertions.assertEquals(1024, allocator.takeBuffer(1000).capacity());
+        }
+    }
+}
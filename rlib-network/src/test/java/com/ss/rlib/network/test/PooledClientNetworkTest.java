@@ -0,0 +1,132 @@
+package com.ss.rlib.network.test;
+
+import static com.ss.rlib.network.NetworkFactory.newStringDataPooledClientNetwork;
+import static com.ss.rlib.network.NetworkFactory.newStringDataServerNetwork;
+import com.ss.rlib.network.PooledClientNetworkConfig;
+import com.ss.rlib.network.PooledClientNetworkConfig.SimplePooledClientNetworkConfig;
+import com.ss.rlib.network.impl.StringDataConnection;
+import com.ss.rlib.network.packet.impl.StringWritablePacket;
+import lombok.SneakyThrows;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.net.InetSocketAddress;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * The tests of pooled client network.
+ *
+ * @author JavaSaBr
+ */
+public class PooledClientNetworkTest {
+
+    @Test
+    @SneakyThrows
+    void shouldOpenPoolAndBalanceRequests() {
+
+        var poolSize = 4;
+        var packetCount = 400;
+
+        var serverNetwork = newStringDataServerNetwork();
+        var serverAddress = serverNetwork.start();
+
+        var accepted = new AtomicInteger();
+        var serverConnections = ConcurrentHashMap.<StringDataConnection>newKeySet();
+        var received = new CountDownLatch(packetCount);
+
+        serverNetwork.onAccept(connection -> {
+            accepted.incrementAndGet();
+            connection.onReceive((conn, packet) -> {
+                serverConnections.add(connection);
+                received.countDown();
+            });
+        });
+
+        var config = SimplePooledClientNetworkConfig.builder()
+            .threadGroupSize(2)
+            .poolSize(poolSize)
+            .build();
+
+        var clientNetwork = newStringDataPooledClientNetwork(config);
+
+        var pool = clientNetwork.getPool(serverAddress);
+        pool.ready().get(5, TimeUnit.SECONDS);
+
+        Assertions.assertSame(pool, clientNetwork.getPool(serverAddress));
+        Assertions.assertEquals(poolSize, pool.getConnections().size());
+
+        var selected = new HashSet<StringDataConnection>();
+
+        for (int i = 0; i < packetCount; i++) {
+            var connection = pool.acquire().join();
+            selected.add(connection);
+            connection.send(new StringWritablePacket("Request_" + i));
+        }
+
+        Assertions.assertTrue(received.await(5, TimeUnit.SECONDS), "Still wait for " + received.getCount());
+        Assertions.assertEquals(poolSize, accepted.get());
+        Assertions.assertEquals(poolSize, selected.size());
+        Assertions.assertEquals(poolSize, serverConnections.size());
+
+        clientNetwork.shutdown();
+        serverNetwork.shutdown();
+
+        Assertions.assertTrue(pool.isClosed());
+    }
+
+    @Test
+    @SneakyThrows
+    void shouldReconnectClosedConnections() {
+
+        var poolSize = 2;
+
+        var serverNetwork = newStringDataServerNetwork();
+        var serverAddress = serverNetwork.start();
+
+        var accepted = new CountDownLatch(poolSize * 2);
+        serverNetwork.onAccept(connection -> accepted.countDown());
+
+        var config = SimplePooledClientNetworkConfig.builder()
+            .poolSize(poolSize)
+            .reconnectMinDelay(10)
+            .reconnectMaxDelay(50)
+            .build();
+
+        var clientNetwork = newStringDataPooledClientNetwork(config);
+
+        var pool = clientNetwork.getPool(serverAddress);
+        pool.ready().get(5, TimeUnit.SECONDS);
+
+        Set<StringDataConnection> closed = new HashSet<>(pool.getConnections());
+        closed.forEach(StringDataConnection::close);
+
+        Assertions.assertTrue(accepted.await(5, TimeUnit.SECONDS), "Still wait for " + accepted.getCount());
+
+        var connection = pool.acquire().get(5, TimeUnit.SECONDS);
+
+        Assertions.assertFalse(closed.contains(connection));
+        Assertions.assertFalse(connection.isClosed());
+
+        clientNetwork.shutdown();
+        serverNetwork.shutdown();
+    }
+
+    @Test
+    void shouldFailAcquiringFromClosedPool() {
+
+        var clientNetwork = newStringDataPooledClientNetwork(PooledClientNetworkConfig.DEFAULT_POOLED_CLIENT);
+
+        var pool = clientNetwork.getPool(new InetSocketAddress("localhost", 1));
+        pool.close();
+
+        Assertions.assertTrue(pool.acquire().isCompletedExceptionally());
+        Assertions.assertTrue(pool.ready().isCompletedExceptionally());
+
+        clientNetwork.shutdown();
+    }
+}
@@ -0,0 +1,113 @@
+package com.ss.rlib.network.test;
+
+import com.ss.rlib.common.util.StringUtils;
+import com.ss.rlib.network.packet.StringCodec;
+import com.ss.rlib.network.packet.impl.CompactStringCodec;
+import org.jetbrains.annotations.NotNull;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * @author JavaSaBr
+ */
+public class StringCodecTest {
+
+    private static final String[] STRINGS = {
+        "",
+        "test",
+        "Привет мир",
+        "emoji 😀 and €",
+        StringUtils.generate(200),
+        StringUtils.generate(20000)
+    };
+
+    @Test
+    void shouldWriteAndReadStringsByAllCodecs() {
+
+        var codecs = new StringCodec[] {
+            StringCodec.UTF_16,
+            StringCodec.UTF_8,
+            new CompactStringCodec(StandardCharsets.UTF_8, 16)
+        };
+
+        for (var codec : codecs) {
+            for (var string : STRINGS) {
+                assertWriteAndRead(codec, ByteBuffer.allocate(65536), string);
+                assertWriteAndRead(codec, ByteBuffer.allocateDirect(65536), string);
+                assertWriteAndRead(codec, ByteBuffer.allocate(65536).order(ByteOrder.LITTLE_ENDIAN), string);
+            }
+        }
+    }
+
+    @Test
+    void shouldWriteUtf8AndLatin1Compactly() {
+
+        var buffer = ByteBuffer.allocate(128);
+
+        StringCodec.UTF_8.write(buffer, "test");
+
+        Assertions.assertEquals(5, buffer.position());
+        Assertions.assertEquals(5, StringCodec.UTF_8.getLength("test"));
+
+        buffer.clear();
+
+        StringCodec.LATIN_1.write(buffer, "Café");
+
+        Assertions.assertEquals(5, buffer.position());
+        Assertions.assertEquals("Café", StringCodec.LATIN_1.read(buffer.flip()));
+    }
+
+    @Test
+    void shouldWriteLegacyFormatByUtf16Codec() {
+
+        var string = "Привет test";
+        var buffer = ByteBuffer.allocate(128);
+        var expected = ByteBuffer.allocate(128);
+
+        StringCodec.UTF_16.write(buffer, string);
+
+        expected.putInt(string.length());
+
+        for (int i = 0; i < string.length(); i++) {
+            expected.putChar(string.charAt(i));
+        }
+
+        Assertions.assertEquals(expected.flip(), buffer.flip());
+    }
+
+    @Test
+    void shouldInternShortStrings() {
+
+        var codec = new CompactStringCodec(StandardCharsets.UTF_8, 16);
+        var buffer = ByteBuffer.allocate(128);
+
+        codec.write(buffer, "command");
+        codec.write(buffer, "command");
+
+        buffer.flip();
+
+        var first = codec.read(buffer);
+        var second = codec.read(buffer);
+
+        Assertions.assertEquals("command", first);
+        Assertions.assertSame(first, second);
+    }
+
+    private void assertWriteAndRead(@NotNull StringCodec codec, @NotNull ByteBuffer buffer, @NotNull String string) {
+
+        buffer.putInt(-1);
+        codec.write(buffer, string);
+
+        Assertions.assertEquals(4 + codec.getLength(string), buffer.position());
+
+        buffer.flip();
+        buffer.getInt();
+
+        Assertions.assertEquals(string, codec.read(buffer));
+        Assertions.assertFalse(buffer.hasRemaining());
+    }
+}
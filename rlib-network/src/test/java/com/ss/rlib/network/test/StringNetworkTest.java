@@ -13,26 +13,51 @@ import com.ss.rlib.logger.api.LoggerManager;
 import com.ss.rlib.network.Connection;
 import com.ss.rlib.network.Network;
 import com.ss.rlib.network.NetworkConfig;
+import com.ss.rlib.network.NetworkConfig.SimpleNetworkConfig;
+import com.ss.rlib.network.NetworkCryptor;
+import com.ss.rlib.network.NetworkTransport;
 import com.ss.rlib.network.ServerNetworkConfig.SimpleServerNetworkConfig;
+import com.ss.rlib.network.WriteOverflowPolicy;
 import com.ss.rlib.network.client.ClientNetwork;
+import com.ss.rlib.network.idle.IdleState;
 import com.ss.rlib.network.impl.DefaultBufferAllocator;
 import com.ss.rlib.network.impl.ReuseBufferAllocator;
+import com.ss.rlib.network.impl.StreamCipherNetworkCryptor;
+import com.ss.rlib.network.impl.StringDataConnection;
 import com.ss.rlib.network.packet.impl.AbstractPacketWriter;
+import com.ss.rlib.network.packet.impl.AbstractReusableWritablePacket;
 import com.ss.rlib.network.packet.impl.StringReadablePacket;
 import com.ss.rlib.network.packet.impl.StringWritablePacket;
+import com.ss.rlib.network.selector.SelectorEventLoop;
+import com.ss.rlib.network.selector.SelectorSocketChannel;
 import lombok.SneakyThrows;
 import org.jetbrains.annotations.NotNull;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
+import org.reactivestreams.Subscription;
+import reactor.core.publisher.BaseSubscriber;
 import reactor.core.publisher.Flux;
 
+import java.net.InetSocketAddress;
 import java.nio.ByteBuffer;
+import java.nio.channels.CompletionHandler;
+import java.nio.channels.InterruptedByTimeoutException;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
 import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
 import java.util.Objects;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ThreadLocalRandom;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Supplier;
 import java.util.stream.IntStream;
 
 /**
@@ -79,6 +104,183 @@ public class StringNetworkTest extends BaseNetworkTest {
         serverNetwork.shutdown();
     }
 
+    @Test
+    @SneakyThrows
+    void shouldHandleEachConnectionOnOneEventLoop() {
+
+        var serverConfig = SimpleServerNetworkConfig.builder()
+            .eventLoopMode(true)
+            .threadGroupSize(4)
+            .build();
+
+        var serverNetwork = newStringDataServerNetwork(serverConfig);
+        var serverAddress = serverNetwork.start();
+
+        int clientCount = 10;
+        int packetCount = 50;
+
+        var counter = new CountDownLatch(clientCount * packetCount);
+        var connectionThreads = new ConcurrentHashMap<Connection<?, ?>, Thread>();
+        var pinned = new AtomicBoolean(true);
+
+        serverNetwork.accepted()
+            .flatMap(Connection::receivedEvents)
+            .subscribe(event -> {
+
+                var thread = connectionThreads.putIfAbsent(event.connection, Thread.currentThread());
+
+                if (thread != null && thread != Thread.currentThread()) {
+                    pinned.set(false);
+                }
+
+                event.connection.send(new StringWritablePacket("Echo: " + event.packet.getData()));
+            });
+
+        var clientNetworks = IntStream.range(0, clientCount)
+            .mapToObj(value -> newStringDataClientNetwork())
+            .collect(toList());
+
+        for (var clientNetwork : clientNetworks) {
+            clientNetwork.connected(serverAddress)
+                .doOnNext(connection -> IntStream.range(0, packetCount)
+                    .forEach(length -> connection.send(new StringWritablePacket(StringUtils.generate(length)))))
+                .flatMapMany(Connection::receivedEvents)
+                .subscribe(event -> counter.countDown());
+        }
+
+        Assertions.assertTrue(
+            counter.await(10000, TimeUnit.MILLISECONDS),
+            "Still wait for " + counter.getCount() + " packets..."
+        );
+
+        Assertions.assertEquals(clientCount, connectionThreads.size());
+        Assertions.assertTrue(pinned.get(), "Packets of one connection were handled by different threads");
+
+        clientNetworks.forEach(Network::shutdown);
+        serverNetwork.shutdown();
+    }
+
+    @Test
+    @SneakyThrows
+    void shouldEchoPacketsUsingSelectorTransport() {
+
+        var serverConfig = SimpleServerNetworkConfig.builder()
+            .transport(NetworkTransport.SELECTOR)
+            .threadGroupSize(2)
+            .build();
+
+        var clientConfig = SimpleNetworkConfig.builder()
+            .transport(NetworkTransport.SELECTOR)
+            .build();
+
+        var serverNetwork = newStringDataServerNetwork(serverConfig);
+        var serverAddress = serverNetwork.start();
+        var counter = new CountDownLatch(1000);
+
+        serverNetwork.accepted()
+            .flatMap(Connection::receivedEvents)
+            .subscribe(event -> event.connection.send(new StringWritablePacket("Echo: " + event.packet.getData())));
+
+        var clientNetwork = newStringDataClientNetwork(clientConfig);
+        clientNetwork.connected(serverAddress)
+            .doOnNext(connection -> IntStream.range(0, 1000)
+                .forEach(length -> connection.send(new StringWritablePacket(StringUtils.generate(length)))))
+            .flatMapMany(Connection::receivedEvents)
+            .subscribe(event -> counter.countDown());
+
+        Assertions.assertTrue(
+            counter.await(10000, TimeUnit.MILLISECONDS),
+            "Still wait for " + counter.getCount() + " packets..."
+        );
+
+        clientNetwork.shutdown();
+        serverNetwork.shutdown();
+    }
+
+    @Test
+    @SneakyThrows
+    void shouldSupportFuturesAndTimeoutsOfSelectorChannels() {
+
+        var eventLoop = new SelectorEventLoop(Thread::new);
+
+        try (var server = ServerSocketChannel.open()) {
+
+            server.bind(new InetSocketAddress("localhost", 0));
+
+            var channel = new SelectorSocketChannel(eventLoop, SocketChannel.open());
+            channel.connect(server.getLocalAddress()).get(5, TimeUnit.SECONDS);
+
+            try (var accepted = server.accept()) {
+
+                var written = channel.write(ByteBuffer.wrap(new byte[] {1, 2, 3})).get(5, TimeUnit.SECONDS);
+                var received = ByteBuffer.allocate(3);
+
+                Assertions.assertEquals(3, written);
+
+                while (received.hasRemaining()) {
+                    accepted.read(received);
+                }
+
+                Assertions.assertArrayEquals(new byte[] {1, 2, 3}, received.array());
+
+                var timedOut = new CompletableFuture<Integer>();
+                var completedInLoop = new AtomicBoolean();
+
+                channel.read(ByteBuffer.allocate(16), 100, TimeUnit.MILLISECONDS, null,
+                    new CompletionHandler<Integer, Object>() {
+
+                        @Override
+                        public void completed(Integer result, Object attachment) {
+                            timedOut.complete(result);
+                        }
+
+                        @Override
+                        public void failed(Throwable exc, Object attachment) {
+                            completedInLoop.set(eventLoop.inEventLoop());
+                            timedOut.completeExceptionally(exc);
+                        }
+                    });
+
+                var exception = Assertions.assertThrows(
+                    ExecutionException.class,
+                    () -> timedOut.get(5, TimeUnit.SECONDS)
+                );
+
+                Assertions.assertTrue(exception.getCause() instanceof InterruptedByTimeoutException);
+                Assertions.assertTrue(completedInLoop.get(), "The handler wasn't invoked in the loop");
+
+                var first = ByteBuffer.allocate(2);
+                var second = ByteBuffer.allocate(2);
+                var scatteringRead = new CompletableFuture<Long>();
+
+                accepted.write(ByteBuffer.wrap(new byte[] {4, 5, 6, 7}));
+
+                channel.read(new ByteBuffer[] {first, second}, 0, 2, 0, TimeUnit.MILLISECONDS, null,
+                    new CompletionHandler<Long, Object>() {
+
+                        @Override
+                        public void completed(Long result, Object attachment) {
+                            scatteringRead.complete(result);
+                        }
+
+                        @Override
+                        public void failed(Throwable exc, Object attachment) {
+                            scatteringRead.completeExceptionally(exc);
+                        }
+                    });
+
+                Assertions.assertTrue(scatteringRead.get(5, TimeUnit.SECONDS) > 0);
+                Assertions.assertEquals(0, channel.read(ByteBuffer.allocate(0)).get(5, TimeUnit.SECONDS));
+
+            } finally {
+                channel.close();
+            }
+
+        } finally {
+            eventLoop.shutdown();
+        }
+    }
+
     @Test
     void shouldNotUseTempBuffers() {
 
@@ -390,6 +592,671 @@ public class StringNetworkTest extends BaseNetworkTest {
         }
     }
 
+    @Test
+    void shouldGetAllPacketWithFeedbackUsingBatchWrites() {
+
+        int packetCount = 1000;
+
+        var serverConfig = SimpleServerNetworkConfig.builder()
+            .maxPacketsByWrite(50)
+            .build();
+
+        var clientConfig = SimpleNetworkConfig.builder()
+            .maxPacketsByWrite(50)
+            .build();
+
+        try (var testNetwork = buildStringNetwork(
+            serverConfig,
+            new DefaultBufferAllocator(serverConfig),
+            clientConfig,
+            new DefaultBufferAllocator(clientConfig)
+        )) {
+
+            var bufferSize = clientConfig.getWriteBufferSize();
+            var random = ThreadLocalRandom.current();
+
+            var clientToServer = testNetwork.clientToServer;
+            var serverToClient = testNetwork.serverToClient;
+
+            var pendingPacketsOnServer = serverToClient.receivedPackets()
+                .buffer(packetCount);
+
+            var messages = IntStream.range(0, packetCount)
+                .mapToObj(value -> {
+
+                    var length = value % 10 == 0 ?
+                        random.nextInt(bufferSize, bufferSize * 3) :
+                        random.nextInt(0, 50);
+
+                    return StringUtils.generate(length);
+                })
+                .collect(toList());
+
+            var asyncResults = messages.stream()
+                .map(message -> clientToServer.sendWithFeedback(new StringWritablePacket(message)))
+                .collect(toList());
+
+            CompletableFuture.allOf(asyncResults.toArray(CompletableFuture[]::new)).join();
+
+            var notSentPacket = asyncResults.stream()
+                .map(CompletableFuture::join)
+                .filter(sent -> !sent)
+                .findFirst()
+                .orElse(null);
+
+            Assertions.assertNull(notSentPacket, "Found not sent packets...");
+
+            var receivedPackets = ObjectUtils.notNull(pendingPacketsOnServer.blockFirst(Duration.ofSeconds(5)));
+
+            Assertions.assertEquals(receivedPackets.size(), packetCount, "Didn't receive all packets");
+
+            for (int i = 0; i < packetCount; i++) {
+                Assertions.assertEquals(messages.get(i), receivedPackets.get(i).getData(), "Wrong order of packets");
+            }
+        }
+    }
+
+    @Test
+    void shouldRecordMetricsOfConnections() {
+
+        int packetCount = 100;
+
+        try (var testNetwork = buildStringNetwork()) {
+
+            var clientToServer = testNetwork.clientToServer;
+            var serverToClient = testNetwork.serverToClient;
+
+            var pendingPacketsOnServer = serverToClient.receivedPackets()
+                .buffer(packetCount);
+
+            var asyncResults = IntStream.range(0, packetCount)
+                .mapToObj(value -> clientToServer.sendWithFeedback(newMessage(10, 100)))
+                .toArray(CompletableFuture[]::new);
+
+            CompletableFuture.allOf(asyncResults).join();
+
+            var receivedPackets = ObjectUtils.notNull(pendingPacketsOnServer.blockFirst(Duration.ofSeconds(5)));
+
+            Assertions.assertEquals(packetCount, receivedPackets.size(), "Didn't receive all packets");
+
+            var clientMetrics = clientToServer.getMetrics();
+            var serverMetrics = serverToClient.getMetrics();
+
+            Assertions.assertEquals(packetCount, clientMetrics.getSentPackets());
+            Assertions.assertEquals(0, clientMetrics.getPendingPackets());
+            Assertions.assertEquals(0, clientMetrics.getTempBufferAllocations());
+            Assertions.assertEquals(packetCount, serverMetrics.getReceivedPackets());
+            Assertions.assertEquals(clientMetrics.getSentBytes(), serverMetrics.getReceivedBytes());
+            Assertions.assertTrue(clientMetrics.getSentBytes() > packetCount * 10);
+        }
+    }
+
+    @Test
+    @SneakyThrows
+    void shouldBroadcastPacketSerializedOnce() {
+
+        var takenBuffers = new AtomicInteger();
+        var returnedBuffers = new AtomicInteger();
+
+        var serverAllocator = new DefaultBufferAllocator(DEFAULT_SERVER) {
+
+            @Override
+            public @NotNull ByteBuffer takeBuffer(int bufferSize) {
+                takenBuffers.incrementAndGet();
+                return super.takeBuffer(bufferSize);
+            }
+
+            @Override
+            public @NotNull DefaultBufferAllocator putBuffer(@NotNull ByteBuffer buffer) {
+                returnedBuffers.incrementAndGet();
+                return this;
+            }
+        };
+
+        var clientCount = 20;
+        var message = StringUtils.generate(100);
+        var accepted = new ConcurrentLinkedQueue<StringDataConnection>();
+        var acceptedCounter = new CountDownLatch(clientCount);
+        var receivedCounter = new CountDownLatch(clientCount);
+
+        var serverNetwork = newStringDataServerNetwork(DEFAULT_SERVER, serverAllocator);
+        var serverAddress = serverNetwork.start();
+
+        serverNetwork.onAccept(connection -> {
+            accepted.add(connection);
+            acceptedCounter.countDown();
+        });
+
+        var clientNetwork = newStringDataClientNetwork();
+
+        for (int i = 0; i < clientCount; i++) {
+            clientNetwork.connect(serverAddress)
+                .join()
+                .onReceive((connection, packet) -> {
+                    if (message.equals(packet.getData())) {
+                        receivedCounter.countDown();
+                    }
+                });
+        }
+
+        Assertions.assertTrue(acceptedCounter.await(5, TimeUnit.SECONDS), "Not all clients were accepted");
+        Assertions.assertEquals(clientCount, serverNetwork.broadcast(new StringWritablePacket(message), accepted));
+        Assertions.assertTrue(receivedCounter.await(5, TimeUnit.SECONDS), "Not all clients received the packet");
+
+        // the shared buffer and the unused second buffer
+        Assertions.assertEquals(2, takenBuffers.get());
+
+        for (int i = 0; i < 50 && returnedBuffers.get() < 2; i++) {
+            Thread.sleep(10);
+        }
+
+        Assertions.assertEquals(2, returnedBuffers.get());
+
+        clientNetwork.shutdown();
+        serverNetwork.shutdown();
+    }
+
+    @Test
+    @SneakyThrows
+    @SuppressWarnings({"rawtypes", "unchecked"})
+    void shouldReleaseSentReusableAndSerializedPackets() {
+
+        var takenBuffers = new AtomicInteger();
+        var returnedBuffers = new AtomicInteger();
+
+        var serverAllocator = new DefaultBufferAllocator(DEFAULT_SERVER) {
+
+            @Override
+            public @NotNull ByteBuffer takeBuffer(int bufferSize) {
+                takenBuffers.incrementAndGet();
+                return super.takeBuffer(bufferSize);
+            }
+
+            @Override
+            public @NotNull DefaultBufferAllocator putBuffer(@NotNull ByteBuffer buffer) {
+                returnedBuffers.incrementAndGet();
+                return this;
+            }
+        };
+
+        var serverNetwork = newStringDataServerNetwork(DEFAULT_SERVER, serverAllocator);
+        var serverAddress = serverNetwork.start();
+        var serverConnection = new CompletableFuture<StringDataConnection>();
+
+        serverNetwork.onAccept(serverConnection::complete);
+
+        var clientNetwork = newStringDataClientNetwork();
+        var receivedCounter = new CountDownLatch(3);
+        var completedCounter = new CountDownLatch(2);
+
+        clientNetwork.connect(serverAddress)
+            .join()
+            .onReceive((connection, packet) -> receivedCounter.countDown());
+
+        var connection = serverConnection.get(5, TimeUnit.SECONDS);
+        var rawConnection = (Connection) connection;
+
+        rawConnection.send(new ReusableStringPacket("Reusable", completedCounter));
+
+        var reusableFeedback = rawConnection.sendWithFeedback(
+            new ReusableStringPacket("Reusable with feedback", completedCounter));
+
+        var serialized = connection.serializeShared(new StringWritablePacket("Serialized with feedback"));
+        var serializedFeedback = rawConnection.sendWithFeedback(serialized);
+
+        // the reference of the caller
+        serialized.release();
+
+        Assertions.assertEquals(Boolean.TRUE, reusableFeedback.get(5, TimeUnit.SECONDS));
+        Assertions.assertEquals(Boolean.TRUE, serializedFeedback.get(5, TimeUnit.SECONDS));
+        Assertions.assertTrue(receivedCounter.await(5, TimeUnit.SECONDS), "Not all packets were received");
+        Assertions.assertTrue(completedCounter.await(5, TimeUnit.SECONDS), "Not all reusable packets were completed");
+
+        for (int i = 0; i < 50 && returnedBuffers.get() < takenBuffers.get(); i++) {
+            Thread.sleep(10);
+        }
+
+        Assertions.assertEquals(takenBuffers.get(), returnedBuffers.get());
+
+        clientNetwork.shutdown();
+        serverNetwork.shutdown();
+    }
+
+    private static class ReusableStringPacket extends AbstractReusableWritablePacket {
+
+        private final @NotNull String data;
+        private final @NotNull CountDownLatch completedCounter;
+
+        private ReusableStringPacket(@NotNull String data, @NotNull CountDownLatch completedCounter) {
+            this.data = data;
+            this.completedCounter = completedCounter;
+        }
+
+        @Override
+        protected void writeImpl(@NotNull ByteBuffer buffer) {
+            super.writeImpl(buffer);
+            writeString(buffer, data);
+        }
+
+        @Override
+        public int getExpectedLength() {
+            return getStringCodec().getLength(data);
+        }
+
+        @Override
+        protected void completeImpl() {
+            completedCounter.countDown();
+        }
+    }
+
+    @Test
+    @SneakyThrows
+    void shouldSendKeepAliveAndCloseIdleConnections() {
+
+        var serverConfig = SimpleServerNetworkConfig.builder()
+            .writeIdleTimeout(100)
+            .readIdleTimeout(1000)
+            .idleCheckInterval(10)
+            .build();
+
+        var idleStates = new ConcurrentLinkedQueue<IdleState>();
+        var receivedPings = new CountDownLatch(3);
+
+        var serverNetwork = newStringDataServerNetwork(serverConfig, new DefaultBufferAllocator(serverConfig));
+        var serverAddress = serverNetwork.start();
+        var asyncServerToClient = new CompletableFuture<StringDataConnection>();
+
+        serverNetwork.onAccept(asyncServerToClient::complete);
+        serverNetwork.onIdle((connection, state) -> idleStates.add(state));
+        serverNetwork.keepAlive(connection -> connection.send(new StringWritablePacket("ping")));
+
+        var clientNetwork = newStringDataClientNetwork();
+        var clientToServer = clientNetwork.connect(serverAddress).join();
+
+        clientToServer.onReceive((connection, packet) -> {
+            if ("ping".equals(packet.getData())) {
+                receivedPings.countDown();
+            }
+        });
+
+        var serverToClient = asyncServerToClient.get(5, TimeUnit.SECONDS);
+
+        Assertions.assertTrue(receivedPings.await(5, TimeUnit.SECONDS), "Didn't receive keepalive packets");
+        Assertions.assertFalse(serverToClient.isClosed(), "The connection was closed before the read idle timeout");
+
+        for (int i = 0; i < 200 && !serverToClient.isClosed(); i++) {
+            Thread.sleep(10);
+        }
+
+        Assertions.assertTrue(serverToClient.isClosed(), "The connection without reads wasn't closed");
+        Assertions.assertTrue(idleStates.contains(IdleState.WRITER_IDLE));
+        Assertions.assertTrue(idleStates.contains(IdleState.READER_IDLE));
+
+        clientNetwork.shutdown();
+        serverNetwork.shutdown();
+    }
+
+    @Test
+    @SneakyThrows
+    void shouldCompleteOverflowedPacketsAsNotSent() {
+        shouldCompleteOverflowedPacketsAsNotSent(1);
+        shouldCompleteOverflowedPacketsAsNotSent(8);
+    }
+
+    @SneakyThrows
+    private void shouldCompleteOverflowedPacketsAsNotSent(int maxPacketsByWrite) {
+
+        var clientConfig = SimpleNetworkConfig.builder()
+            .maxPacketsByWrite(maxPacketsByWrite)
+            .build();
+
+        try (var testNetwork = buildStringNetwork(
+            DEFAULT_SERVER,
+            new DefaultBufferAllocator(DEFAULT_SERVER),
+            clientConfig,
+            new DefaultBufferAllocator(clientConfig)
+        )) {
+
+            var clientToServer = testNetwork.clientToServer;
+            var serverToClient = testNetwork.serverToClient;
+
+            // the packet declares a wrong expected length, so it overflows the write buffer
+            var overflowed = new StringWritablePacket(StringUtils.generate(100_000)) {
+
+                @Override
+                public int getExpectedLength() {
+                    return 1;
+                }
+            };
+
+            var receivedPacket = serverToClient.receivedPackets()
+                .next()
+                .toFuture();
+
+            var overflowedResult = clientToServer.sendWithFeedback(overflowed);
+            var nextResult = clientToServer.sendWithFeedback(new StringWritablePacket("Next"));
+
+            Assertions.assertEquals(Boolean.FALSE, overflowedResult.get(5, TimeUnit.SECONDS));
+            Assertions.assertEquals(Boolean.TRUE, nextResult.get(5, TimeUnit.SECONDS));
+            Assertions.assertEquals("Next", receivedPacket.get(5, TimeUnit.SECONDS).getData());
+        }
+    }
+
+    @Test
+    @SneakyThrows
+    void shouldNotBlockNetworkThreadByBlockPolicy() {
+
+        var serverConfig = SimpleServerNetworkConfig.builder()
+            .writeHighWatermark(2)
+            .writeLowWatermark(1)
+            .writeOverflowPolicy(WriteOverflowPolicy.BLOCK)
+            .build();
+
+        try (var testNetwork = buildStringNetwork(serverConfig, new DefaultBufferAllocator(serverConfig))) {
+
+            var clientToServer = testNetwork.clientToServer;
+            var serverToClient = testNetwork.serverToClient;
+            var receivedReplies = new CountDownLatch(5 * 20);
+
+            // the replies are sent by the only network thread of the server over the high watermark
+            serverToClient.onReceive((connection, packet) -> {
+                for (int i = 0; i < 20; i++) {
+                    connection.send(new StringWritablePacket("Reply " + i + " to " + packet.getData()));
+                }
+            });
+
+            clientToServer.onReceive((connection, packet) -> receivedReplies.countDown());
+
+            for (int i = 0; i < 5; i++) {
+                clientToServer.send(new StringWritablePacket("Request " + i));
+            }
+
+            Assertions.assertTrue(
+                receivedReplies.await(5, TimeUnit.SECONDS),
+                "Still wait for " + receivedReplies.getCount() + " replies..."
+            );
+        }
+    }
+
+    @Test
+    @SneakyThrows
+    void shouldStopWritingToSlowSubscriberByWatermarks() {
+
+        var clientConfig = SimpleNetworkConfig.builder()
+            .writeHighWatermark(16)
+            .writeLowWatermark(4)
+            .writeOverflowPolicy(WriteOverflowPolicy.FAIL)
+            .build();
+
+        try (var testNetwork = buildStringNetwork(
+            DEFAULT_SERVER,
+            new DefaultBufferAllocator(DEFAULT_SERVER),
+            clientConfig,
+            new DefaultBufferAllocator(clientConfig)
+        )) {
+
+            var clientToServer = testNetwork.clientToServer;
+            var serverToClient = testNetwork.serverToClient;
+
+            var writableAgain = new CountDownLatch(1);
+            var receivedPackets = new AtomicInteger();
+
+            var subscriber = new BaseSubscriber<StringReadablePacket>() {
+
+                @Override
+                protected void hookOnSubscribe(@NotNull Subscription subscription) {
+                    request(1);
+                }
+
+                @Override
+                protected void hookOnNext(@NotNull StringReadablePacket packet) {
+                    receivedPackets.incrementAndGet();
+                }
+            };
+
+            serverToClient.receivedPackets().subscribe(subscriber);
+
+            clientToServer.onWritabilityChanged((connection, writable) -> {
+                if (writable) {
+                    writableAgain.countDown();
+                }
+            });
+
+            var packet = new StringWritablePacket(StringUtils.generate(4000));
+            var sentPackets = 0;
+
+            // the server doesn't read after the first packet, so the client's queue grows up to the high watermark
+            while (clientToServer.isWritable() && sentPackets < 100_000) {
+                clientToServer.send(packet);
+                sentPackets++;
+            }
+
+            Assertions.assertFalse(clientToServer.isWritable(), "The client is still writable");
+
+            var rejected = clientToServer.sendWithFeedback(packet);
+
+            Assertions.assertThrows(CompletionException.class, rejected::join);
+            Assertions.assertTrue(rejected.isCompletedExceptionally());
+
+            subscriber.request(Long.MAX_VALUE);
+
+            Assertions.assertTrue(writableAgain.await(5, TimeUnit.SECONDS), "The client isn't writable again");
+
+            for (int i = 0; i < 500 && receivedPackets.get() < sentPackets; i++) {
+                Thread.sleep(10);
+            }
+
+            Assertions.assertEquals(sentPackets, receivedPackets.get());
+
+            subscriber.dispose();
+        }
+    }
+
+    @Test
+    @SneakyThrows
+    void shouldSendCompressedPackets() {
+
+        var serverConfig = SimpleServerNetworkConfig.builder()
+            .compressionThreshold(64)
+            .build();
+
+        var clientConfig = SimpleNetworkConfig.builder()
+            .compressionThreshold(64)
+            .build();
+
+        try (var testNetwork = buildStringNetwork(
+            serverConfig,
+            new DefaultBufferAllocator(serverConfig),
+            clientConfig,
+            new DefaultBufferAllocator(clientConfig)
+        )) {
+
+            var clientToServer = testNetwork.clientToServer;
+            var serverToClient = testNetwork.serverToClient;
+
+            var messages = List.of(
+                "small",
+                "compressible ".repeat(500),
+                StringUtils.generate(1000),
+                "compressible ".repeat(10)
+            );
+
+            var pendingPacketsOnServer = serverToClient.receivedPackets()
+                .buffer(messages.size());
+
+            var rawSize = 0;
+
+            for (var message : messages) {
+                clientToServer.send(new StringWritablePacket(message));
+                rawSize += message.length();
+            }
+
+            var receivedPackets = ObjectUtils.notNull(pendingPacketsOnServer.blockFirst(Duration.ofSeconds(5)));
+
+            Assertions.assertEquals(messages.size(), receivedPackets.size(), "Didn't receive all packets");
+
+            for (int i = 0; i < messages.size(); i++) {
+                Assertions.assertEquals(messages.get(i), receivedPackets.get(i).getData(), "Wrong received packet");
+            }
+
+            Assertions.assertNotNull(clientToServer.getPacketCompressor());
+            Assertions.assertTrue(clientToServer.getMetrics().getSentBytes() < rawSize, "Data wasn't compressed");
+        }
+    }
+
+    @Test
+    @SneakyThrows
+    void shouldCloseConnectionWithTooBigDecompressedPacket() {
+
+        var serverConfig = SimpleServerNetworkConfig.builder()
+            .compressionThreshold(64)
+            .maxDecompressedPacketSize(1024)
+            .build();
+
+        var clientConfig = SimpleNetworkConfig.builder()
+            .compressionThreshold(64)
+            .build();
+
+        try (var testNetwork = buildStringNetwork(
+            serverConfig,
+            new DefaultBufferAllocator(serverConfig),
+            clientConfig,
+            new DefaultBufferAllocator(clientConfig)
+        )) {
+
+            var clientToServer = testNetwork.clientToServer;
+            var serverToClient = testNetwork.serverToClient;
+
+            // the compressed packet is small, but its original data is bigger than the limit
+            clientToServer.send(new StringWritablePacket("compressible ".repeat(500)));
+
+            var deadline = System.currentTimeMillis() + 5000;
+
+            while (!serverToClient.isClosed() && System.currentTimeMillis() < deadline) {
+                Thread.sleep(10);
+            }
+
+            Assertions.assertTrue(serverToClient.isClosed(), "The connection with too big packet wasn't closed");
+        }
+    }
+
+    @Test
+    void shouldEncryptPacketsByStreamCiphers() {
+
+        var key = new byte[32];
+        var clientIv = new byte[16];
+        var serverIv = new byte[16];
+
+        var random = ThreadLocalRandom.current();
+        random.nextBytes(key);
+        random.nextBytes(clientIv);
+        random.nextBytes(serverIv);
+
+        var clientNonce = Arrays.copyOf(clientIv, 12);
+        var serverNonce = Arrays.copyOf(serverIv, 12);
+
+        var cryptors = List.<Supplier<NetworkCryptor[]>>of(
+            () -> new NetworkCryptor[] {
+                StreamCipherNetworkCryptor.newAesCtr(key, clientIv, serverIv),
+                StreamCipherNetworkCryptor.newAesCtr(key, serverIv, clientIv)
+            },
+            () -> new NetworkCryptor[] {
+                StreamCipherNetworkCryptor.newChaCha20(key, clientNonce, serverNonce),
+                StreamCipherNetworkCryptor.newChaCha20(key, serverNonce, clientNonce)
+            }
+        );
+
+        var packetCount = 50;
+
+        for (var cryptorPair : cryptors) {
+            try (var testNetwork = buildStringNetwork()) {
+
+                var clientToServer = testNetwork.clientToServer;
+                var serverToClient = testNetwork.serverToClient;
+
+                var pair = cryptorPair.get();
+
+                clientToServer.setCryptor(pair[0]);
+                serverToClient.setCryptor(pair[1]);
+
+                serverToClient.onReceive((connection, packet) ->
+                    connection.send(new StringWritablePacket(packet.getData())));
+
+                var pendingPacketsOnClient = clientToServer.receivedPackets()
+                    .buffer(packetCount);
+
+                var messages = IntStream.range(0, packetCount)
+                    .mapToObj(value -> StringUtils.generate(10, 5000))
+                    .collect(toList());
+
+                messages.forEach(message -> clientToServer.send(new StringWritablePacket(message)));
+
+                var receivedPackets = ObjectUtils.notNull(pendingPacketsOnClient.blockFirst(Duration.ofSeconds(5)));
+
+                Assertions.assertEquals(packetCount, receivedPackets.size(), "Didn't receive all packets");
+
+                for (int i = 0; i < packetCount; i++) {
+                    Assertions.assertEquals(messages.get(i), receivedPackets.get(i).getData(), "Wrong echo packet");
+                }
+            }
+        }
+    }
+
+    @Test
+    @SneakyThrows
+    void shouldEchoPacketsUsingAdaptiveReadBuffers() {
+
+        var serverConfig = SimpleServerNetworkConfig.builder()
+            .adaptiveReadBuffer(true)
+            .minReadBufferSize(128)
+            .maxReadBufferSize(8 * 1024)
+            .tcpNoDelay(true)
+            .keepAlive(true)
+            .build();
+
+        var clientConfig = SimpleNetworkConfig.builder()
+            .adaptiveReadBuffer(true)
+            .minReadBufferSize(128)
+            .maxReadBufferSize(8 * 1024)
+            .tcpNoDelay(true)
+            .socketReceiveBufferSize(64 * 1024)
+            .socketSendBufferSize(64 * 1024)
+            .build();
+
+        try (var testNetwork = buildStringNetwork(
+            serverConfig,
+            new DefaultBufferAllocator(serverConfig),
+            clientConfig,
+            new DefaultBufferAllocator(clientConfig)
+        )) {
+
+            var clientToServer = testNetwork.clientToServer;
+            var serverToClient = testNetwork.serverToClient;
+
+            serverToClient.onReceive((connection, packet) ->
+                connection.send(new StringWritablePacket(packet.getData())));
+
+            // from small to big packets and back to small to grow and shrink read buffers
+            var messages = IntStream.range(0, 300)
+                .mapToObj(value -> value < 100 || value >= 200 ? StringUtils.generate(5, 20) :
+                    StringUtils.generate(1000, 6000))
+                .collect(toList());
+
+            var pendingPacketsOnClient = clientToServer.receivedPackets()
+                .buffer(messages.size());
+
+            messages.forEach(message -> clientToServer.send(new StringWritablePacket(message)));
+
+            var receivedPackets = ObjectUtils.notNull(pendingPacketsOnClient.blockFirst(Duration.ofSeconds(5)));
+
+            Assertions.assertEquals(messages.size(), receivedPackets.size(), "Didn't receive all packets");
+
+            for (int i = 0; i < messages.size(); i++) {
+                Assertions.assertEquals(messages.get(i), receivedPackets.get(i).getData(), "Wrong echo packet");
+            }
+        }
+    }
+
     private static @NotNull StringWritablePacket newMessage(int minMessageLength, int maxMessageLength) {
         return new StringWritablePacket(StringUtils.generate(minMessageLength, maxMessageLength));
     }
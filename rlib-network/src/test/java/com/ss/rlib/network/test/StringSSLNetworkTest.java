@@ -30,8 +30,11 @@ import java.nio.ByteBuffer;
 import java.time.Duration;
 import java.util.Scanner;
 import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
 import java.util.concurrent.ThreadLocalRandom;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.stream.IntStream;
 
 /**
@@ -313,6 +316,72 @@ public class StringSSLNetworkTest extends BaseNetworkTest {
         }
     }
 
+    @Test
+    void shouldHandshakeWithSslTaskExecutor() {
+
+        var keystoreFile = StringSSLNetworkTest.class.getResourceAsStream("/ssl/rlib_test_cert.p12");
+        var serverSSLContext = NetworkUtils.createSslContext(keystoreFile, "test");
+        var clientSSLContext = NetworkUtils.createAllTrustedClientSslContext();
+
+        var executedTasks = new AtomicInteger();
+        var executorService = Executors.newFixedThreadPool(2);
+
+        Executor sslTaskExecutor = task -> executorService.execute(() -> {
+            executedTasks.incrementAndGet();
+            task.run();
+        });
+
+        var serverConfig = ServerNetworkConfig.SimpleServerNetworkConfig.builder()
+            .sslTaskExecutor(sslTaskExecutor)
+            .build();
+
+        var clientConfig = NetworkConfig.SimpleNetworkConfig.builder()
+            .sslTaskExecutor(sslTaskExecutor)
+            .build();
+
+        int packetCount = 10;
+
+        try (var testNetwork = buildStringSSLNetwork(
+            serverConfig,
+            new DefaultBufferAllocator(serverConfig),
+            serverSSLContext,
+            clientConfig,
+            new DefaultBufferAllocator(clientConfig),
+            clientSSLContext
+        )) {
+
+            var clientToServer = testNetwork.clientToServer;
+            var serverToClient = testNetwork.serverToClient;
+
+            serverToClient.onReceive((connection, packet) ->
+                connection.send(new StringWritablePacket("Echo: " + packet.getData())));
+
+            var pendingPacketsOnClient = clientToServer.receivedPackets()
+                .buffer(packetCount);
+
+            var messages = IntStream.range(0, packetCount)
+                .mapToObj(value -> StringUtils.generate(10, 100))
+                .peek(message -> clientToServer.send(new StringWritablePacket(message)))
+                .collect(toList());
+
+            var receivedPackets = ObjectUtils.notNull(pendingPacketsOnClient.blockFirst(Duration.ofSeconds(5)));
+
+            var receivedMessages = receivedPackets.stream()
+                .map(StringReadablePacket::getData)
+                .collect(toList());
+
+            var expectedMessages = messages.stream()
+                .map(message -> "Echo: " + message)
+                .collect(toList());
+
+            Assertions.assertEquals(expectedMessages, receivedMessages);
+            Assertions.assertTrue(executedTasks.get() > 0, "SSL engine's tasks weren't run by the executor");
+
+        } finally {
+            executorService.shutdownNow();
+        }
+    }
+
     private static @NotNull StringWritablePacket newMessage(int minMessageLength, int maxMessageLength) {
         return new StringWritablePacket(StringUtils.generate(minMessageLength, maxMessageLength));
     }
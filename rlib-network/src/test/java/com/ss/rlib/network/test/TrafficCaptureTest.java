@@ -0,0 +1,128 @@
+package com.ss.rlib.network.test;
+
+import static com.ss.rlib.network.NetworkFactory.newStringDataClientNetwork;
+import static com.ss.rlib.network.NetworkFactory.newStringDataServerNetwork;
+import com.ss.rlib.network.NetworkConfig;
+import com.ss.rlib.network.capture.CaptureDirection;
+import com.ss.rlib.network.capture.ReplayMode;
+import com.ss.rlib.network.capture.TrafficCaptureReader;
+import com.ss.rlib.network.capture.TrafficReplayer;
+import com.ss.rlib.network.capture.impl.MappedTrafficCapture;
+import com.ss.rlib.network.client.ClientNetwork;
+import com.ss.rlib.network.impl.DefaultBufferAllocator;
+import com.ss.rlib.network.impl.StringDataConnection;
+import com.ss.rlib.network.packet.impl.StringWritablePacket;
+import lombok.SneakyThrows;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The tests of capturing and replaying of network traffic.
+ *
+ * @author JavaSaBr
+ */
+public class TrafficCaptureTest {
+
+    @Test
+    @SneakyThrows
+    void shouldCaptureAndReplayTraffic() {
+
+        var clientCount = 2;
+        var packetCount = 100;
+        var captureFile = Files.createTempFile("traffic", ".capture");
+
+        var serverNetwork = newStringDataServerNetwork();
+        var serverAddress = serverNetwork.start();
+
+        // a small region to check mapping of next regions
+        var capture = new MappedTrafficCapture(captureFile, 1024);
+        serverNetwork.setTrafficCapture(capture);
+
+        var clientNetworks = new ArrayList<ClientNetwork<StringDataConnection>>();
+        var sentMessages = new ArrayList<String>();
+        var echoed = new CountDownLatch(clientCount * packetCount);
+
+        serverNetwork.onAccept(connection -> connection.onReceive((conn, packet) ->
+            conn.send(new StringWritablePacket(packet.getData()))));
+
+        for (int i = 0; i < clientCount; i++) {
+
+            var clientNetwork = newStringDataClientNetwork();
+            clientNetworks.add(clientNetwork);
+
+            var connection = clientNetwork.connect(serverAddress).get(5, TimeUnit.SECONDS);
+
+            connection.onReceive((conn, packet) -> echoed.countDown());
+
+            for (int j = 0; j < packetCount; j++) {
+                var message = "Client_" + i + "_Packet_" + j;
+                sentMessages.add(message);
+                connection.send(new StringWritablePacket(message));
+            }
+        }
+
+        Assertions.assertTrue(echoed.await(5, TimeUnit.SECONDS), "Still wait for " + echoed.getCount());
+
+        clientNetworks.forEach(ClientNetwork::shutdown);
+        serverNetwork.shutdown();
+        capture.close();
+
+        var inbound = 0;
+        var outbound = 0;
+        var connectionIds = new HashSet<Integer>();
+
+        try (var reader = new TrafficCaptureReader(captureFile)) {
+            for (var frame = reader.next(); frame != null; frame = reader.next()) {
+
+                connectionIds.add(frame.getConnectionId());
+
+                if (frame.getDirection() == CaptureDirection.INBOUND) {
+                    inbound++;
+                } else {
+                    outbound++;
+                }
+            }
+        }
+
+        Assertions.assertEquals(clientCount * packetCount, inbound);
+        Assertions.assertEquals(clientCount * packetCount, outbound);
+        Assertions.assertEquals(clientCount, connectionIds.size());
+
+        var replayServerNetwork = newStringDataServerNetwork();
+        var replayServerAddress = replayServerNetwork.start();
+
+        var replayedMessages = ConcurrentHashMap.<String>newKeySet();
+        var replayed = new CountDownLatch(clientCount * packetCount);
+
+        replayServerNetwork.onAccept(connection -> connection.onReceive((conn, packet) -> {
+            replayedMessages.add(packet.getData());
+            replayed.countDown();
+        }));
+
+        var replayer = new TrafficReplayer(
+            () -> newStringDataClientNetwork(),
+            new DefaultBufferAllocator(NetworkConfig.DEFAULT_CLIENT),
+            replayServerAddress,
+            CaptureDirection.INBOUND,
+            ReplayMode.MAX_SPEED
+        );
+
+        var result = replayer.replay(captureFile);
+
+        Assertions.assertTrue(replayed.await(5, TimeUnit.SECONDS), "Still wait for " + replayed.getCount());
+        Assertions.assertEquals(clientCount, result.getConnections());
+        Assertions.assertEquals(clientCount * packetCount, result.getFrames());
+        Assertions.assertEquals(new HashSet<>(sentMessages), replayedMessages);
+
+        replayServerNetwork.shutdown();
+
+        Files.delete(captureFile);
+    }
+}